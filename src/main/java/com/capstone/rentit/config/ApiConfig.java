@@ -3,6 +3,7 @@ package com.capstone.rentit.config;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
@@ -11,7 +12,9 @@ import java.time.Duration;
 @Configuration
 public class ApiConfig {
 
+    /** 범용 외부 API 용 — NH 는 전용 풀을 쓰는 nhRestTemplate(NhApiConfig) */
     @Bean
+    @Primary
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
         factory.setConnectTimeout(Duration.ofSeconds(5));
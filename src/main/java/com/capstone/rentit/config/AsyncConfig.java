@@ -5,21 +5,17 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.ThreadPoolExecutor;
-
 @Configuration
 @EnableAsync
 public class AsyncConfig {
-    @Bean("mqttProcessorExecutor")
-    public ThreadPoolTaskExecutor mqttProcessorExecutor() {
+    /** 알림 outbox 발송 전용 — 단일 스레드로 순서대로 drain 한다. */
+    @Bean("notificationDispatchExecutor")
+    public ThreadPoolTaskExecutor notificationDispatchExecutor() {
         ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
-        exec.setCorePoolSize(20);       // 평상시 20개 스레드
-        exec.setMaxPoolSize(50);        // 필요시 최대 50개
-        exec.setQueueCapacity(500);     // 최대 500개까지 대기
-        exec.setThreadNamePrefix("mqtt-async-");
-        exec.setRejectedExecutionHandler(
-                new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+        exec.setCorePoolSize(1);
+        exec.setMaxPoolSize(1);
+        exec.setQueueCapacity(10);      // trigger 가 합쳐지므로 대기열은 거의 쓰지 않음
+        exec.setThreadNamePrefix("noti-dispatch-");
         exec.initialize();
         return exec;
     }
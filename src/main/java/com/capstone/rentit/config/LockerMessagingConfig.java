@@ -8,17 +8,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.integration.channel.DirectChannel;
-import org.springframework.integration.channel.ExecutorChannel;
-import org.springframework.integration.channel.PublishSubscribeChannel;
 import org.springframework.integration.mqtt.core.DefaultMqttPahoClientFactory;
 import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
 import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
 import org.springframework.integration.mqtt.outbound.MqttPahoMessageHandler;
-import org.springframework.integration.mqtt.support.MqttHeaders;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
-import org.springframework.messaging.support.MessageBuilder;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Profile("!test")
 @Configuration
@@ -33,6 +28,12 @@ public class LockerMessagingConfig {
     @Value("${mqtt.password:}")
     private String password;
 
+    @Value("${mqtt.qos:1}")
+    private int qos;
+
+    @Value("${mqtt.max-inflight:500}")
+    private int maxInflight;
+
     public static final String REQ_TOPIC_PREFIX = "locker/request/";
     public static final String RES_TOPIC_PREFIX = "locker/";
 
@@ -47,28 +48,17 @@ public class LockerMessagingConfig {
          opts.setPassword(password.toCharArray());
         opts.setAutomaticReconnect(true);
         opts.setCleanSession(false);      // 세션 유지 모드
-        opts.setMaxInflight(500);         // 동시에 in-flight 메시지 허용 수
+        opts.setMaxInflight(maxInflight); // 동시에 in-flight 메시지 허용 수
         factory.setConnectionOptions(opts);
         return factory;
     }
 
-    // ─── Executor (비동기) 채널 ───────────────────────────────────────────────────
-
-    @Bean
-    public ThreadPoolTaskExecutor mqttExecutor() {
-        ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
-        exec.setCorePoolSize(10);
-        exec.setMaxPoolSize(20);
-        exec.setQueueCapacity(200);
-        exec.setThreadNamePrefix("mqtt-in-");
-        exec.initialize();
-        return exec;
-    }
+    // ─── Inbound 채널 ─────────────────────────────────────────────────────────────
 
     @Bean
-    public MessageChannel mqttInboundChannel(ThreadPoolTaskExecutor mqttExecutor) {
-        // executor 달린 PublishSubscribeChannel
-        return new PublishSubscribeChannel(mqttExecutor);
+    public MessageChannel mqttInboundChannel() {
+        // 수신 스레드에서 바로 파싱 후 DeviceOrderedDispatcher 로 넘긴다 (단말별 순서 보장)
+        return new DirectChannel();
     }
 
     @Bean
@@ -80,7 +70,7 @@ public class LockerMessagingConfig {
         MqttPahoMessageDrivenChannelAdapter adapter =
                 new MqttPahoMessageDrivenChannelAdapter("rentit-server-sub", cf, topics);
         adapter.setOutputChannel(inboundCh);
-        adapter.setQos(1);
+        adapter.setQos(qos);
         return adapter;
     }
 
@@ -97,7 +87,8 @@ public class LockerMessagingConfig {
         MqttPahoMessageHandler handler =
                 new MqttPahoMessageHandler("rentit-server-pub", cf);
         handler.setAsync(true);
-        handler.setDefaultQos(1);
+        handler.setAsyncEvents(true);     // sent/delivered 이벤트로 in-flight 추적 (LockerAvailabilityPublisher)
+        handler.setDefaultQos(qos);
         return handler;
     }
 }
@@ -5,7 +5,9 @@ import com.capstone.rentit.member.repository.MemberRepository;
 import com.capstone.rentit.member.status.MemberRoleEnum;
 import com.capstone.rentit.payment.domain.Payment;
 import com.capstone.rentit.payment.domain.Wallet;
+import com.capstone.rentit.payment.domain.WalletLedgerEntry;
 import com.capstone.rentit.payment.repository.PaymentRepository;
+import com.capstone.rentit.payment.repository.WalletLedgerRepository;
 import com.capstone.rentit.payment.repository.WalletRepository;
 import com.capstone.rentit.payment.type.PaymentType;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,7 @@ public class PaymentDummyDataInitializer implements ApplicationRunner {
     private final MemberRepository memberRepository;
     private final WalletRepository walletRepository;
     private final PaymentRepository paymentRepository;
+    private final WalletLedgerRepository walletLedgerRepository;
 
     /* 샌드박스용 NH 핀-어카운트 더미 생성기 */
     private String fakeFinAcno(long memberId) {
@@ -65,8 +68,7 @@ public class PaymentDummyDataInitializer implements ApplicationRunner {
                         PaymentType.TOP_UP, w.getMemberId(), null, amt, null);
                 topUp.approve("DUMMY-" + seq.getAndIncrement());
                 paymentRepository.save(topUp);
-                w.deposit(amt);
-                walletRepository.save(w);
+                walletLedgerRepository.save(WalletLedgerEntry.credit(w.getMemberId(), amt, topUp.getId()));
             });
         }
 
@@ -91,7 +93,14 @@ public class PaymentDummyDataInitializer implements ApplicationRunner {
         p.approve(null);
         paymentRepository.save(p);
 
-        walletRepository.findById(from).ifPresent(w -> { w.withdraw(amt); walletRepository.save(w); });
-        walletRepository.findById(to).ifPresent(w -> { w.deposit(amt);  walletRepository.save(w); });
+        // 잔액이 부족해 출금이 추가되지 않으면 결제도 입금도 남기지 않는다 (원장 합계 보존)
+        if (walletLedgerRepository.appendDebit(from, amt, p.getId()) == 0) {
+            paymentRepository.delete(p);
+            System.out.println("[Dummy] Skipped " + type + " seed: insufficient balance for member " + from);
+            return;
+        }
+        if (walletRepository.existsById(to)) {
+            walletLedgerRepository.save(WalletLedgerEntry.credit(to, amt, p.getId()));
+        }
     }
 }
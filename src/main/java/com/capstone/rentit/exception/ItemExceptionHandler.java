@@ -2,6 +2,7 @@ package com.capstone.rentit.exception;
 
 import com.capstone.rentit.common.CommonResponse;
 import com.capstone.rentit.item.exception.ItemImageMissingException;
+import com.capstone.rentit.item.exception.ItemInvalidCursorException;
 import com.capstone.rentit.item.exception.ItemNotFoundException;
 import com.capstone.rentit.item.exception.ItemUnauthorizedException;
 import com.capstone.rentit.rental.exception.ItemNotReturnedException;
@@ -33,6 +34,12 @@ public class ItemExceptionHandler {
         return CommonResponse.failure(ex.getMessage());
     }
 
+    @ExceptionHandler(ItemInvalidCursorException.class)
+    public CommonResponse<Void> handleInvalidCursor(ItemInvalidCursorException ex) {
+        log.warn("Invalid item cursor: {}", ex.getMessage());
+        return CommonResponse.failure(ex.getMessage());
+    }
+
     @ExceptionHandler(ItemNotReturnedException.class)
     public CommonResponse<Void> handleNotItemReturned(ItemNotReturnedException ex) {
         log.warn("Item don't have images: {}", ex.getMessage());
@@ -2,6 +2,7 @@ package com.capstone.rentit.exception;
 
 import com.capstone.rentit.common.CommonResponse;
 import com.capstone.rentit.locker.exception.LockerNotFoundException;
+import com.capstone.rentit.locker.exception.LockerUnavailableException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -18,4 +19,10 @@ public class LockerExceptionHandler {
         log.warn("Locker not found: {}", ex.getMessage());
         return CommonResponse.failure(ex.getMessage());
     }
+
+    @ExceptionHandler(LockerUnavailableException.class)
+    public CommonResponse<Void> handleUnavailable(LockerUnavailableException ex) {
+        log.warn("Locker unavailable: {}", ex.getMessage());
+        return CommonResponse.failure(ex.getMessage());
+    }
 }
@@ -49,6 +49,18 @@ public class PaymentExceptionHandler {
         return CommonResponse.failure(ex.getMessage());
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public CommonResponse<Void> handleIdempotencyConflict(IdempotencyKeyConflictException ex) {
+        log.warn("Idempotency-Key conflict: {}", ex.getMessage());
+        return CommonResponse.failure(ex.getMessage());
+    }
+
+    @ExceptionHandler(PaymentPendingException.class)
+    public CommonResponse<Void> handlePaymentPending(PaymentPendingException ex) {
+        log.warn("Payment pending: {}", ex.getMessage());
+        return CommonResponse.failure(ex.getMessage());
+    }
+
     @ExceptionHandler(AccountNotRegisteredException.class)
     public CommonResponse<Void> handleAccountNotRegistered(AccountNotRegisteredException ex) {
         log.warn("Account Not registered: {}", ex.getMessage());
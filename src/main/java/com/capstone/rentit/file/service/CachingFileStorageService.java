@@ -0,0 +1,125 @@
+package com.capstone.rentit.file.service;
+
+import com.capstone.rentit.file.dto.UploadPresignedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 조회용 presigned URL 을 object key 단위로 캐싱하는 FileStorageService 데코레이터.
+ * 서명 만료(presign-expire-minutes) 직전까지 같은 URL 을 재사용하고, 그 이후에는 다시 서명한다.
+ */
+@Primary
+@Service
+public class CachingFileStorageService implements FileStorageService {
+
+    private record CachedUrl(String url, Instant refreshAt) {}
+
+    private final FileStorageService delegate;
+    private final Clock clock;
+    private final Duration reuseDuration;
+    private final int maxSize;
+    private final Map<String, CachedUrl> cache = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    @Autowired
+    public CachingFileStorageService(NcpObjectStorageService delegate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${ncp.object-storage.presign-expire-minutes}") long presignExpireMinutes,
+                                     @Value("${ncp.object-storage.presign-cache.refresh-margin-seconds:60}") long refreshMarginSeconds,
+                                     @Value("${ncp.object-storage.presign-cache.max-size:10000}") int maxSize) {
+        this(delegate, meterRegistry, presignExpireMinutes, refreshMarginSeconds, maxSize, Clock.systemUTC());
+    }
+
+    CachingFileStorageService(FileStorageService delegate,
+                              MeterRegistry meterRegistry,
+                              long presignExpireMinutes,
+                              long refreshMarginSeconds,
+                              int maxSize,
+                              Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.maxSize = maxSize;
+
+        // 마진이 만료 시간보다 크게 잡힌 경우에도 최소한 절반 구간은 재사용한다.
+        Duration expire = Duration.ofMinutes(presignExpireMinutes);
+        Duration reuse = expire.minusSeconds(refreshMarginSeconds);
+        this.reuseDuration = reuse.isNegative() || reuse.isZero() ? expire.dividedBy(2) : reuse;
+
+        this.hitCounter = Counter.builder("file.presign.cache")
+                .tag("result", "hit")
+                .description("presigned URL 캐시 적중 수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("file.presign.cache")
+                .tag("result", "miss")
+                .description("presigned URL 캐시 미스(신규 서명) 수")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("file.presign.cache.evictions")
+                .description("용량 초과로 제거된 presigned URL 수")
+                .register(meterRegistry);
+        Gauge.builder("file.presign.cache.size", cache, Map::size)
+                .description("캐시된 presigned URL 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String store(MultipartFile file) {
+        return delegate.store(file);
+    }
+
+    @Override
+    public UploadPresignedResponse generateUploadPresignedUrl(String originalFilename, String contentType) {
+        return delegate.generateUploadPresignedUrl(originalFilename, contentType);
+    }
+
+    @Override
+    public String generatePresignedUrl(String objectKey) {
+        if (objectKey == null || objectKey.isEmpty()) return "";
+
+        Instant now = clock.instant();
+        CachedUrl cached = cache.get(objectKey);
+        if (cached != null && now.isBefore(cached.refreshAt())) {
+            hitCounter.increment();
+            return cached.url();
+        }
+
+        missCounter.increment();
+        String url = delegate.generatePresignedUrl(objectKey);
+        cache.put(objectKey, new CachedUrl(url, now.plus(reuseDuration)));
+        if (cache.size() > maxSize) {
+            evict(now);
+        }
+        return url;
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    /** 만료된 항목을 먼저 비우고, 그래도 넘치면 임의 항목을 제거해 용량을 맞춘다. */
+    private void evict(Instant now) {
+        cache.values().removeIf(c -> !now.isBefore(c.refreshAt()));
+
+        Iterator<String> it = cache.keySet().iterator();
+        while (cache.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictionCounter.increment();
+        }
+    }
+}
@@ -44,6 +44,27 @@ public class ItemController {
         return CommonResponse.success(page);
     }
 
+    /** 목록 카드 전용 경량 조회 */
+    @GetMapping("/items/feed")
+    public CommonResponse<Page<ItemFeedResponse>> getItemFeed(
+            @ModelAttribute("form") ItemSearchForm searchForm,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC)
+            Pageable pageable) {
+
+        return CommonResponse.success(itemService.getItemFeed(searchForm, pageable));
+    }
+
+    /** 무한 스크롤용 keyset 조회 — cursor 없이 호출하면 첫 페이지 */
+    @GetMapping("/items/scroll")
+    public CommonResponse<ItemScrollResponse<ItemFeedResponse>> scrollItems(
+            @ModelAttribute("form") ItemSearchForm searchForm,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC)
+            Pageable pageable) {
+
+        return CommonResponse.success(itemService.scrollItems(searchForm, cursor, pageable));
+    }
+
     @GetMapping("/items/{itemId}")
     public CommonResponse<ItemSearchResponse> getItem(@PathVariable("itemId") Long itemId) {
 
@@ -46,6 +46,7 @@ public class Item {
     @CollectionTable(name = "item_image_keys",
             joinColumns = @JoinColumn(name = "item_id"))
     @Column(name = "object_key", nullable = false, length = 255)
+    @OrderColumn(name = "image_order")     // 등록한 순서 유지, 0 번이 목록 썸네일
     @Builder.Default
     private List<String> imageKeys = new ArrayList<>();
 
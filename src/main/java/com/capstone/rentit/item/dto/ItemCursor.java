@@ -0,0 +1,83 @@
+package com.capstone.rentit.item.dto;
+
+import com.capstone.rentit.item.exception.ItemInvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 물품 목록 keyset(seek) 페이지네이션 커서
+ *  - (정렬 키, itemId) 조합으로 마지막 위치를 기억한다.
+ *  - 클라이언트에는 Base64(URL-safe) 로 인코딩된 불투명 문자열로만 노출된다.
+ */
+public record ItemCursor(
+        String sortProperty,      // createdAt | price
+        boolean ascending,
+        String sortValue,         // 마지막 물품의 정렬 키 값 (첫 페이지면 null)
+        Long lastItemId           // 마지막 물품 ID (첫 페이지면 null)
+) {
+    public static final String CREATED_AT = "createdAt";
+    public static final String PRICE = "price";
+
+    private static final String DELIMITER = "|";
+
+    /** 첫 페이지 커서 — 정렬 규칙은 CustomItemRepositoryImpl#orderSpecifier 와 동일 */
+    public static ItemCursor first(Sort sort) {
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (PRICE.equals(property) || CREATED_AT.equals(property)) {
+                return new ItemCursor(property, order.isAscending(), null, null);
+            }
+        }
+        return new ItemCursor(CREATED_AT, false, null, null);
+    }
+
+    public boolean isFirst() {
+        return lastItemId == null;
+    }
+
+    /** 현재 페이지의 마지막 물품 다음 위치 */
+    public ItemCursor next(ItemFeedRow last) {
+        String value = PRICE.equals(sortProperty)
+                ? String.valueOf(last.price())
+                : last.createdAt().toString();
+        return new ItemCursor(sortProperty, ascending, value, last.itemId());
+    }
+
+    public long priceValue() {
+        return Long.parseLong(sortValue);
+    }
+
+    public LocalDateTime createdAtValue() {
+        return LocalDateTime.parse(sortValue);
+    }
+
+    public String encode() {
+        String raw = String.join(DELIMITER,
+                sortProperty, ascending ? "a" : "d", sortValue, String.valueOf(lastItemId));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + DELIMITER, -1);
+            if (parts.length != 4
+                    || !(PRICE.equals(parts[0]) || CREATED_AT.equals(parts[0]))
+                    || !(parts[1].equals("a") || parts[1].equals("d"))) {
+                throw new ItemInvalidCursorException("잘못된 커서입니다.");
+            }
+            ItemCursor cursor = new ItemCursor(parts[0], parts[1].equals("a"), parts[2], Long.parseLong(parts[3]));
+            // 정렬 키 형식 검증
+            if (PRICE.equals(cursor.sortProperty())) cursor.priceValue();
+            else cursor.createdAtValue();
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ItemInvalidCursorException("잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.capstone.rentit.item.dto;
+
+import com.capstone.rentit.item.status.ItemStatusEnum;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ItemFeedResponse {
+    private Long itemId;
+    private String name;
+    private long price;
+    private ItemStatusEnum status;
+    private String thumbnailUrl;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private LocalDateTime createdAt;
+    private Long ownerId;
+    private String ownerNickname;
+    private String ownerProfileImg;
+
+    public static ItemFeedResponse fromRow(ItemFeedRow row, String thumbnailUrl, String ownerProfileImgUrl) {
+        return ItemFeedResponse.builder()
+                .itemId(row.itemId())
+                .name(row.name())
+                .price(row.price())
+                .status(row.status())
+                .thumbnailUrl(thumbnailUrl)
+                .startDate(row.startDate())
+                .endDate(row.endDate())
+                .createdAt(row.createdAt())
+                .ownerId(row.ownerId())
+                .ownerNickname(row.ownerNickname())
+                .ownerProfileImg(ownerProfileImgUrl)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.capstone.rentit.item.dto;
+
+import com.capstone.rentit.item.status.ItemStatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * 물품 목록 카드용 projection (Item 엔티티/정책 컬럼을 읽지 않음)
+ */
+public record ItemFeedRow(
+        Long itemId,
+        String name,
+        Long price,
+        ItemStatusEnum status,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        LocalDateTime createdAt,
+        Long ownerId,
+        String ownerNickname,
+        String ownerProfileImg      // object key
+) { }
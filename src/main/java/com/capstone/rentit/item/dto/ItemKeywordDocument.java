@@ -0,0 +1,10 @@
+package com.capstone.rentit.item.dto;
+
+/**
+ * 키워드 검색 색인 대상 (물품 이름 + 설명)
+ */
+public record ItemKeywordDocument(
+        Long itemId,
+        String name,
+        String description
+) { }
@@ -0,0 +1,17 @@
+package com.capstone.rentit.item.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 무한 스크롤용 물품 목록 응답 (count 쿼리 없음)
+ */
+@Getter
+@Builder
+public class ItemScrollResponse<T> {
+    private List<T> content;
+    private String nextCursor;      // 다음 페이지 요청 시 그대로 전달, 마지막 페이지면 null
+    private boolean hasNext;
+}
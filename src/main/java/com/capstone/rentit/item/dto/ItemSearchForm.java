@@ -5,6 +5,7 @@ import com.capstone.rentit.member.status.MemberRoleEnum;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -28,4 +29,26 @@ public class ItemSearchForm {
     private List<MemberRoleEnum> ownerRoles;
 
     private String university;
+
+    /**
+     * 검색 쿼리와 count 캐시 키가 같은 조건을 보도록 정규화한 사본
+     *  - 키워드/대학명은 앞뒤 공백을 지우고, 비어 있으면 조건 없음(null)으로 본다.
+     *  - 대소문자는 두 쪽 모두 구분하지 않으므로 그대로 둔다.
+     */
+    public ItemSearchForm normalized() {
+        ItemSearchForm form = new ItemSearchForm();
+        form.keyword = trimToNull(keyword);
+        form.startDate = startDate;
+        form.endDate = endDate;
+        form.minPrice = minPrice;
+        form.maxPrice = maxPrice;
+        form.status = status;
+        form.ownerRoles = ownerRoles;
+        form.university = trimToNull(university);
+        return form;
+    }
+
+    private static String trimToNull(String s) {
+        return StringUtils.hasText(s) ? s.trim() : null;
+    }
 }
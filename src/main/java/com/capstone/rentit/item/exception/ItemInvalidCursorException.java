@@ -0,0 +1,7 @@
+package com.capstone.rentit.item.exception;
+
+public class ItemInvalidCursorException extends RuntimeException {
+    public ItemInvalidCursorException(String message) {
+        super(message);
+    }
+}
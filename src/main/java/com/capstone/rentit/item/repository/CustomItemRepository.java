@@ -1,15 +1,28 @@
 package com.capstone.rentit.item.repository;
 
 import com.capstone.rentit.item.domain.Item;
+import com.capstone.rentit.item.dto.ItemCursor;
+import com.capstone.rentit.item.dto.ItemFeedRow;
+import com.capstone.rentit.item.dto.ItemKeywordDocument;
 import com.capstone.rentit.item.dto.ItemSearchForm;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CustomItemRepository {
-    public Page<Item> search(ItemSearchForm form, Pageable pageable);
+    /*
+     * keywordItemIds : 서비스가 검색 색인으로 미리 찾은 keyword 일치 물품 ID
+     *                  null 이면 keyword 를 name/description LIKE 로 검색한다.
+     */
+    public List<Item> search(ItemSearchForm form, Collection<Long> keywordItemIds, Pageable pageable);
+    public List<ItemFeedRow> searchFeed(ItemSearchForm form, Collection<Long> keywordItemIds, Pageable pageable);
+    public List<ItemFeedRow> searchFeedAfter(ItemSearchForm form, Collection<Long> keywordItemIds, ItemCursor cursor, int limit);
+    public long countBy(ItemSearchForm form, Collection<Long> keywordItemIds);
+    public Map<Long, String> findThumbnailKeysByItemIds(Collection<Long> itemIds);
     public Optional<Item> findWithOwnerByItemId(Long itemId);
+    public List<ItemKeywordDocument> findKeywordDocuments();
 }
@@ -1,29 +1,34 @@
 package com.capstone.rentit.item.repository;
 
 import com.capstone.rentit.item.domain.Item;
+import com.capstone.rentit.item.dto.ItemCursor;
+import com.capstone.rentit.item.dto.ItemFeedRow;
+import com.capstone.rentit.item.dto.ItemKeywordDocument;
 import com.capstone.rentit.item.dto.ItemSearchForm;
 import com.capstone.rentit.item.status.ItemStatusEnum;
 import com.capstone.rentit.member.domain.QMember;
 import com.capstone.rentit.member.domain.QStudent;
 import com.capstone.rentit.member.status.MemberRoleEnum;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.capstone.rentit.item.domain.QItem;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -47,20 +52,114 @@ public class CustomItemRepositoryImpl implements CustomItemRepository{
     }
 
     @Override
-    public Page<Item> search(ItemSearchForm form, Pageable pageable) {
-        Predicate basicFilters               = buildBasicFilters(form);
+    public List<ItemKeywordDocument> findKeywordDocuments() {
+        return queryFactory
+                .select(Projections.constructor(ItemKeywordDocument.class,
+                        item.itemId, item.name, item.description))
+                .from(item)
+                .where(item.status.ne(ItemStatusEnum.REMOVED))
+                .fetch();
+    }
+
+    @Override
+    public List<Item> search(ItemSearchForm raw, Collection<Long> keywordItemIds, Pageable pageable) {
+        ItemSearchForm form = raw.normalized();   // count(countBy) 와 같은 조건을 보도록
+        Predicate basicFilters               = buildBasicFilters(form, keywordItemIds);
+        BooleanExpression roleFilter         = buildRoleFilter(form.getOwnerRoles());
+        BooleanExpression universityFilter   = buildUniversityFilter(form.getUniversity());
+
+        return findContentBy(basicFilters, roleFilter, universityFilter, pageable);
+    }
+
+    /**
+     * 목록 카드용 projection 조회 — Item 엔티티(정책 컬럼, imageKeys) 를 로딩하지 않는다.
+     */
+    @Override
+    public List<ItemFeedRow> searchFeed(ItemSearchForm raw, Collection<Long> keywordItemIds, Pageable pageable) {
+        ItemSearchForm form = raw.normalized();   // count(countBy) 와 같은 조건을 보도록
+        Predicate basicFilters               = buildBasicFilters(form, keywordItemIds);
+        BooleanExpression roleFilter         = buildRoleFilter(form.getOwnerRoles());
+        BooleanExpression universityFilter   = buildUniversityFilter(form.getUniversity());
+
+        JPAQuery<ItemFeedRow> q = contentQuery(feedProjection(), basicFilters, roleFilter, universityFilter)
+                .orderBy(orderSpecifier(pageable));
+        if (!pageable.isUnpaged()) {
+            q.offset(pageable.getOffset());
+            q.limit(pageable.getPageSize());
+        }
+        return q.fetch();
+    }
+
+    /**
+     * search / searchFeed 와 같은 조건의 전체 건수
+     */
+    @Override
+    public long countBy(ItemSearchForm raw, Collection<Long> keywordItemIds) {
+        ItemSearchForm form = raw.normalized();
+        Predicate basicFilters               = buildBasicFilters(form, keywordItemIds);
         BooleanExpression roleFilter         = buildRoleFilter(form.getOwnerRoles());
         BooleanExpression universityFilter   = buildUniversityFilter(form.getUniversity());
 
-        long count = countBy(basicFilters, roleFilter, universityFilter);
-        List<Item> content = findContentBy(basicFilters, roleFilter, universityFilter, pageable);
+        Long countResult = contentQuery(item.count(), basicFilters, roleFilter, universityFilter).fetchOne();
+        return (countResult != null) ? countResult : 0L;
+    }
+
+    /**
+     * keyset(seek) 방식 조회 — offset 없이 커서 이후 limit 건만 읽고, count 쿼리도 생략한다.
+     */
+    @Override
+    public List<ItemFeedRow> searchFeedAfter(ItemSearchForm raw, Collection<Long> keywordItemIds, ItemCursor cursor, int limit) {
+        ItemSearchForm form = raw.normalized();   // 페이지 조회(search/searchFeed)와 같은 조건
+        Predicate basicFilters               = buildBasicFilters(form, keywordItemIds);
+        BooleanExpression roleFilter         = buildRoleFilter(form.getOwnerRoles());
+        BooleanExpression universityFilter   = buildUniversityFilter(form.getUniversity());
 
-        return new PageImpl<>(content, pageable, count);
+        JPAQuery<ItemFeedRow> q = contentQuery(feedProjection(), basicFilters, roleFilter, universityFilter);
+
+        BooleanExpression seek = seekAfter(cursor);
+        if (seek != null) {
+            q.where(seek);
+        }
+
+        return q.orderBy(cursorOrder(cursor))
+                .limit(limit)
+                .fetch();
     }
 
-    private Predicate buildBasicFilters(ItemSearchForm form) {
+    /**
+     * 페이지 내 물품들의 썸네일(첫 번째 이미지) key 를 IN 쿼리 한 번으로 조회 (N+1 방지)
+     *  - imageKeys 의 순서 컬럼(image_order) 이 0 인 행만 읽는다.
+     */
+    @Override
+    public Map<Long, String> findThumbnailKeysByItemIds(Collection<Long> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) return Map.of();
+
+        StringPath imageKey = Expressions.stringPath("imageKey");
+        List<Tuple> rows = queryFactory
+                .select(item.itemId, imageKey)
+                .from(item)
+                .join(item.imageKeys, imageKey)
+                .where(item.itemId.in(itemIds),
+                        Expressions.numberTemplate(Integer.class, "index({0})", imageKey).eq(0))
+                .fetch();
+
+        Map<Long, String> result = new HashMap<>();
+        for (Tuple row : rows) {
+            result.putIfAbsent(row.get(item.itemId), row.get(imageKey));
+        }
+        return result;
+    }
+
+    private Expression<ItemFeedRow> feedProjection() {
+        return Projections.constructor(ItemFeedRow.class,
+                item.itemId, item.name, item.price, item.status,
+                item.startDate, item.endDate, item.createdAt,
+                member.memberId, member.nickname, member.profileImg);
+    }
+
+    private Predicate buildBasicFilters(ItemSearchForm form, Collection<Long> keywordItemIds) {
         return ExpressionUtils.allOf(
-                keywordContains(form.getKeyword()),
+                keywordContains(form.getKeyword(), keywordItemIds),
                 itemStartDateLoe(form.getStartDate()),
                 itemEndDateGoe(form.getEndDate()),
                 priceGoe(form.getMinPrice()),
@@ -83,46 +182,42 @@ public class CustomItemRepositoryImpl implements CustomItemRepository{
                 .and(student.university.equalsIgnoreCase(university));
     }
 
-    private long countBy(
+    private List<Item> findContentBy(
             Predicate basicFilter,
             BooleanExpression roleFilter,
-            BooleanExpression universityFilter
+            BooleanExpression universityFilter,
+            Pageable pageable
     ) {
-        JPAQuery<Long> q = queryFactory
-                .select(item.count())
-                .from(item);
+        JPAQuery<Item> q = contentQuery(item, basicFilter, roleFilter, universityFilter);
 
-        q.join(item.owner, member);
-
-        if (universityFilter != null) {
-            q.join(student)
-                    .on(member.memberId.eq(student.memberId));
-        }
+        // 6) 정렬
+        q.orderBy(orderSpecifier(pageable));
 
-        Predicate combined = ExpressionUtils.allOf(
-                basicFilter,
-                roleFilter,
-                universityFilter
-        );
-        if (combined != null) {
-            q.where(combined);
+        // 7) 페이징
+        if (!pageable.isUnpaged()) {
+            q.offset(pageable.getOffset());
+            q.limit(pageable.getPageSize());
         }
 
-        Long countResult = q.fetchOne();
-        return (countResult != null) ? countResult : 0L;
+        return q.fetch();
     }
 
-    private List<Item> findContentBy(
+    private <T> JPAQuery<T> contentQuery(
+            Expression<T> projection,
             Predicate basicFilter,
             BooleanExpression roleFilter,
-            BooleanExpression universityFilter,
-            Pageable pageable
+            BooleanExpression universityFilter
     ) {
-        JPAQuery<Item> q = queryFactory
-                .select(item)
+        JPAQuery<T> q = queryFactory
+                .select(projection)
                 .from(item)
-                // 1) 항상 item.owner → member FetchJoin
-                .join(item.owner, member).fetchJoin();
+                // 1) 항상 item.owner → member JOIN
+                .join(item.owner, member);
+
+        // 엔티티 조회일 때만 FetchJoin (projection 에는 불필요)
+        if (projection == item) {
+            q.fetchJoin();
+        }
 
         // 2) universityFilter가 있을 때만 Student와 ON절로 JOIN
         if (universityFilter != null) {
@@ -144,17 +239,7 @@ public class CustomItemRepositoryImpl implements CustomItemRepository{
         if (basicFilter != null) {
             q.where(basicFilter);
         }
-
-        // 6) 정렬
-        q.orderBy(orderSpecifier(pageable));
-
-        // 7) 페이징
-        if (!pageable.isUnpaged()) {
-            q.offset(pageable.getOffset());
-            q.limit(pageable.getPageSize());
-        }
-
-        return q.fetch();
+        return q;
     }
 
     private OrderSpecifier<?> orderSpecifier(Pageable pageable) {
@@ -174,8 +259,44 @@ public class CustomItemRepositoryImpl implements CustomItemRepository{
         return item.createdAt.desc();
     }
 
-    private BooleanExpression keywordContains(String kw) {
+    /** (정렬 키, itemId) 기준으로 커서 이후 행만 남기는 조건 */
+    private BooleanExpression seekAfter(ItemCursor cursor) {
+        if (cursor.isFirst()) return null;
+        Long lastId = cursor.lastItemId();
+
+        if (ItemCursor.PRICE.equals(cursor.sortProperty())) {
+            long price = cursor.priceValue();
+            return cursor.ascending()
+                    ? item.price.gt(price).or(item.price.eq(price).and(item.itemId.gt(lastId)))
+                    : item.price.lt(price).or(item.price.eq(price).and(item.itemId.lt(lastId)));
+        }
+
+        LocalDateTime createdAt = cursor.createdAtValue();
+        return cursor.ascending()
+                ? item.createdAt.gt(createdAt).or(item.createdAt.eq(createdAt).and(item.itemId.gt(lastId)))
+                : item.createdAt.lt(createdAt).or(item.createdAt.eq(createdAt).and(item.itemId.lt(lastId)));
+    }
+
+    /** keyset 정렬 — 동일 정렬 키에서도 순서가 고정되도록 itemId 를 보조 키로 사용 */
+    private OrderSpecifier<?>[] cursorOrder(ItemCursor cursor) {
+        boolean asc = cursor.ascending();
+        OrderSpecifier<?> primary = ItemCursor.PRICE.equals(cursor.sortProperty())
+                ? (asc ? item.price.asc() : item.price.desc())
+                : (asc ? item.createdAt.asc() : item.createdAt.desc());
+        return new OrderSpecifier<?>[]{ primary, asc ? item.itemId.asc() : item.itemId.desc() };
+    }
+
+    private BooleanExpression keywordContains(String kw, Collection<Long> keywordItemIds) {
         if (!StringUtils.hasText(kw)) return null;
+
+        // 1) 검색 색인으로 미리 찾은 ID
+        if (keywordItemIds != null) {
+            return keywordItemIds.isEmpty()
+                    ? Expressions.FALSE.isTrue()
+                    : item.itemId.in(keywordItemIds);
+        }
+
+        // 2) 색인 미준비 또는 hit 과다 → LIKE 검색
         String pattern = "%" + kw.toLowerCase() + "%";
         return item.name.lower().like(pattern)
                 .or(item.description.lower().like(pattern));
@@ -3,8 +3,22 @@ package com.capstone.rentit.item.repository;
 import com.capstone.rentit.item.domain.Item;
 import com.capstone.rentit.item.dto.ItemSearchForm;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long>, CustomItemRepository{
+
+    /**
+     * AVAILABLE 상태인 물품만 REQUESTED 로 선점
+     *  - 별도 SELECT ... FOR UPDATE 없이 조건부 UPDATE 한 문장으로 확인과 변경을 함께 한다.
+     *  - UPDATE 가 잡은 행 잠금은 커밋까지 유지되므로, 같은 물품의 동시 요청은 대기했다가 0 을 받는다.
+     * @return 변경된 행 수 — 1 이면 선점 성공, 0 이면 이미 다른 요청이 선점했거나 대여 불가 상태
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Item i set i.status = com.capstone.rentit.item.status.ItemStatusEnum.REQUESTED " +
+            "where i.itemId = :itemId and i.status = com.capstone.rentit.item.status.ItemStatusEnum.AVAILABLE")
+    int reserveIfAvailable(@Param("itemId") Long itemId);
 }
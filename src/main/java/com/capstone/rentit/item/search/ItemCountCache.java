@@ -0,0 +1,120 @@
+package com.capstone.rentit.item.search;
+
+import com.capstone.rentit.item.dto.ItemSearchForm;
+import com.capstone.rentit.item.status.ItemStatusEnum;
+import com.capstone.rentit.member.status.MemberRoleEnum;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 물품 검색 count 결과 캐시
+ *  - 검색 조건을 정규화한 키 단위로 짧은 TTL 동안 count 를 재사용한다.
+ *  - 물품 등록/수정/상태 변경/삭제 시 커밋 이후 전체 무효화된다.
+ *  - 캐시하는 값은 항상 정확한 count 이다 (totalElements/마지막 페이지 계산이 어긋나지 않도록).
+ */
+@Component
+public class ItemCountCache {
+
+    private record Entry(long count, long generation, Instant expiresAt) {}
+
+    /** count 결과에 영향을 주는 검색 조건만 정규화해서 담은 키 */
+    record Key(String keyword, LocalDate startDate, LocalDate endDate,
+               Integer minPrice, Integer maxPrice, ItemStatusEnum status,
+               List<MemberRoleEnum> ownerRoles, String university) {
+
+        /** 쿼리와 같은 ItemSearchForm#normalized 규칙을 거친 뒤, 대소문자 구분 없는 조건만 소문자로 맞춘다. */
+        static Key of(ItemSearchForm raw) {
+            ItemSearchForm form = raw.normalized();
+            return new Key(
+                    form.getKeyword() != null ? form.getKeyword().toLowerCase(Locale.ROOT) : null,
+                    form.getStartDate() != null ? form.getStartDate().toLocalDate() : null,
+                    form.getEndDate() != null ? form.getEndDate().toLocalDate() : null,
+                    form.getMinPrice(),
+                    form.getMaxPrice(),
+                    form.getStatus(),
+                    form.getOwnerRoles() != null ? form.getOwnerRoles().stream().distinct().sorted().toList() : List.of(),
+                    form.getUniversity() != null ? form.getUniversity().toLowerCase(Locale.ROOT) : null
+            );
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Duration ttl;
+    private final int maxSize;
+    private final Clock clock;
+
+    @Autowired
+    public ItemCountCache(@Value("${item.search.count-cache.ttl-seconds:30}") long ttlSeconds,
+                          @Value("${item.search.count-cache.max-size:1000}") int maxSize) {
+        this(Duration.ofSeconds(ttlSeconds), maxSize, Clock.systemUTC());
+    }
+
+    ItemCountCache(Duration ttl, int maxSize, Clock clock) {
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * 캐시된 count 반환, 없거나 만료/무효화되었으면 loader 로 계산해서 저장한다.
+     */
+    public long get(ItemSearchForm form, LongSupplier loader) {
+        Key key = Key.of(form);
+        Instant now = clock.instant();
+        long gen = generation.get();
+
+        Entry cached = entries.get(key);
+        if (cached != null && cached.generation() == gen && now.isBefore(cached.expiresAt())) {
+            return cached.count();
+        }
+
+        long count = loader.getAsLong();
+        // 계산 도중 무효화가 일어났다면 오래된 값이므로 저장하지 않는다.
+        if (generation.get() == gen) {
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+            entries.put(key, new Entry(count, gen, now.plus(ttl)));
+        }
+        return count;
+    }
+
+    /** 물품 변경 반영 — 트랜잭션이 있으면 커밋 이후에 무효화한다. */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow();
+                }
+            });
+        } else {
+            invalidateNow();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void invalidateNow() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+}
@@ -0,0 +1,202 @@
+package com.capstone.rentit.item.search;
+
+import com.capstone.rentit.item.dto.ItemKeywordDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 물품 키워드 검색용 인메모리 역색인 (1-gram + 2-gram)
+ *  - 한글은 형태소 분석 없이도 글자 단위 n-gram 으로 부분 일치 검색이 가능하다.
+ *  - 후보는 가장 짧은 posting 에서만 뽑고, 원문 contains 로 검증하므로
+ *    결과는 기존 lower(name/description) like '%kw%' 와 동일하다.
+ *  - 다른 인스턴스의 변경/직접 수정된 DB 는 주기적인 reconcile 로 맞춘다.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    /** name 과 description 을 이어 붙일 때 쓰는 구분자 (경계를 넘는 gram 방지) */
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> documents = new ConcurrentHashMap<>();
+    /** 메모리에서 마지막으로 반영(색인/삭제)된 시점의 전역 순번 — reconcile 이 더 최신 변경을 덮지 않도록 */
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * DB 상태로 맞춘다 (기동 시 구축도 같다).
+     * 조회 시작(startSeq) 이후 메모리에서 변경된 물품은 더 최신이므로 건너뛴다.
+     * @return DB 와 달랐던 물품 수
+     */
+    public synchronized int reconcile(long startSeq, Collection<ItemKeywordDocument> docs) {
+        Set<Long> loaded = new HashSet<>();
+        int drifted = 0;
+        for (ItemKeywordDocument d : docs) {
+            if (d.itemId() == null) continue;
+            loaded.add(d.itemId());
+            if (changedSince(d.itemId(), startSeq)) continue;
+            String text = text(d.name(), d.description());
+            if (!text.equals(documents.get(d.itemId()))) {
+                put(d.itemId(), text);
+                drifted++;
+            }
+        }
+        for (Long itemId : new ArrayList<>(documents.keySet())) {
+            if (!loaded.contains(itemId) && !changedSince(itemId, startSeq)) {
+                evict(itemId);
+                drifted++;
+            }
+        }
+        // startSeq 까지의 변경은 이번 조회 결과에 담겼다.
+        changedAt.values().removeIf(seq -> seq <= startSeq);
+
+        if (!ready) {
+            ready = true;
+            log.info("Item search index built: {} items, {} grams", documents.size(), postings.size());
+        } else if (drifted > 0) {
+            log.warn("Item search index reconciled: {} items drifted from DB", drifted);
+        }
+        return drifted;
+    }
+
+    /** reconcile 에 넘길 조회 시작 순번 */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    /** 신규/수정 물품 반영 — 트랜잭션이 있으면 커밋 이후에 반영한다. */
+    public void index(Long itemId, String name, String description) {
+        afterCommit(() -> apply(itemId, text(name, description)));
+    }
+
+    /** 삭제 물품 제거 — 트랜잭션이 있으면 커밋 이후에 반영한다. */
+    public void remove(Long itemId) {
+        afterCommit(() -> apply(itemId, null));
+    }
+
+    /**
+     * 키워드를 포함하는 물품 ID 조회
+     * @return 색인이 아직 준비되지 않았으면 empty
+     */
+    public Optional<Set<Long>> search(String keyword) {
+        if (!ready || !StringUtils.hasText(keyword)) return Optional.empty();
+
+        String kw = normalize(keyword);
+        Set<Long> smallest = null;
+        for (String gram : queryGrams(kw)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) return Optional.of(Set.of());
+            if (smallest == null || posting.size() < smallest.size()) smallest = posting;
+        }
+        if (smallest == null) return Optional.of(Set.of());
+
+        Set<Long> hits = new HashSet<>();
+        for (Long id : smallest) {
+            String text = documents.get(id);
+            if (text != null && text.contains(kw)) hits.add(id);
+        }
+        return Optional.of(hits);
+    }
+
+    /* ---------- 내부 ---------- */
+
+    /** 커밋된 변경 반영 — text 가 null 이면 제거 */
+    private synchronized void apply(Long itemId, String text) {
+        if (itemId == null) return;
+        changedAt.put(itemId, sequence.incrementAndGet());
+        if (text == null) {
+            evict(itemId);
+        } else {
+            put(itemId, text);
+        }
+    }
+
+    private boolean changedSince(Long itemId, long startSeq) {
+        Long seq = changedAt.get(itemId);
+        return seq != null && seq > startSeq;
+    }
+
+    private static String text(String name, String description) {
+        return normalize(Objects.toString(name, "")) + FIELD_SEPARATOR
+                + normalize(Objects.toString(description, ""));
+    }
+
+    private synchronized void put(Long itemId, String text) {
+        evict(itemId);
+
+        documents.put(itemId, text);
+        for (String gram : indexGrams(text)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(itemId);
+        }
+    }
+
+    private synchronized void evict(Long itemId) {
+        String old = documents.remove(itemId);
+        if (old == null) return;
+        for (String gram : indexGrams(old)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) continue;
+            posting.remove(itemId);
+            if (posting.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    /** 색인용: 모든 unigram + bigram (필드 경계를 넘는 gram 제외) */
+    static Set<String> indexGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == FIELD_SEPARATOR) continue;
+            grams.add(String.valueOf(c));
+            if (i + 1 < text.length() && text.charAt(i + 1) != FIELD_SEPARATOR) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    /** 검색용: 1글자 키워드는 unigram, 그 외에는 bigram */
+    static Set<String> queryGrams(String kw) {
+        if (kw.length() == 1) return Set.of(kw);
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 1 < kw.length(); i++) {
+            grams.add(kw.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
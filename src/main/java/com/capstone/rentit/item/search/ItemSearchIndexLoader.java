@@ -0,0 +1,35 @@
+package com.capstone.rentit.item.search;
+
+import com.capstone.rentit.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 기동 완료(더미 데이터 적재 이후) 시점에 검색 색인을 DB 로부터 구축하고,
+ * 다른 인스턴스의 변경/직접 수정된 DB 와 어긋나지 않도록 주기적으로 item 테이블과 맞춘다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndexLoader {
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${item.search.index.reconcile-interval-ms:60000}",
+            initialDelayString = "${item.search.index.reconcile-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long startSeq = itemSearchIndex.currentSequence();
+        itemSearchIndex.reconcile(startSeq, itemRepository.findKeywordDocuments());
+    }
+}
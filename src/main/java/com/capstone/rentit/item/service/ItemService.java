@@ -8,6 +8,8 @@ import com.capstone.rentit.item.exception.ItemImageMissingException;
 import com.capstone.rentit.item.exception.ItemNotFoundException;
 import com.capstone.rentit.item.exception.ItemUnauthorizedException;
 import com.capstone.rentit.item.repository.ItemRepository;
+import com.capstone.rentit.item.search.ItemCountCache;
+import com.capstone.rentit.item.search.ItemSearchIndex;
 import com.capstone.rentit.item.status.ItemStatusEnum;
 import com.capstone.rentit.member.dto.MemberDto;
 import com.capstone.rentit.rental.domain.Rental;
@@ -16,12 +18,16 @@ import com.capstone.rentit.rental.status.RentalStatusEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,21 +35,32 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemService {
 
+    /** 색인 hit 이 이보다 많으면 IN 절 대신 LIKE 검색으로 대체 */
+    private static final int MAX_KEYWORD_HITS = 1000;
+
     private final ItemRepository itemRepository;
     private final RentalRepository rentalRepository;
     private final FileStorageService fileStorageService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemCountCache itemCountCache;
 
     public Long createItem(Long memberId, ItemCreateForm form) {
         assertItemImage(form.getImageKeys());
 
         Item savedItem = itemRepository.save(Item.createItem(memberId, form));
+        itemSearchIndex.index(savedItem.getItemId(), savedItem.getName(), savedItem.getDescription());
+        itemCountCache.invalidate();
 
         return savedItem.getItemId();
     }
 
     @Transactional(readOnly = true)
     public Page<ItemSearchResponse> getAllItems(ItemSearchForm searchForm, Pageable pageable) {
-        Page<Item> page = itemRepository.search(searchForm, pageable);
+        ItemSearchForm form = searchForm.normalized();
+        Set<Long> keywordItemIds = resolveKeyword(form.getKeyword());
+        Page<Item> page = PageableExecutionUtils.getPage(
+                itemRepository.search(form, keywordItemIds, pageable), pageable,
+                () -> countBy(form, keywordItemIds));
         return page.map(item ->
                 ItemSearchResponse.fromEntity(
                 item,
@@ -52,6 +69,44 @@ public class ItemService {
                 null));
     }
 
+    /** 목록 카드 조회 — projection + 썸네일 key 일괄 조회 (쿼리 3회: content, count, thumbnail keys) */
+    @Transactional(readOnly = true)
+    public Page<ItemFeedResponse> getItemFeed(ItemSearchForm searchForm, Pageable pageable) {
+        ItemSearchForm form = searchForm.normalized();
+        Set<Long> keywordItemIds = resolveKeyword(form.getKeyword());
+        Page<ItemFeedRow> page = PageableExecutionUtils.getPage(
+                itemRepository.searchFeed(form, keywordItemIds, pageable), pageable,
+                () -> countBy(form, keywordItemIds));
+        Map<Long, String> thumbnailKeys = itemRepository.findThumbnailKeysByItemIds(
+                page.getContent().stream().map(ItemFeedRow::itemId).toList());
+        return page.map(row -> toFeedResponse(row, thumbnailKeys));
+    }
+
+    /** 무한 스크롤 (keyset) — count 쿼리 없이 다음 커서만 반환 */
+    @Transactional(readOnly = true)
+    public ItemScrollResponse<ItemFeedResponse> scrollItems(ItemSearchForm searchForm, String cursor, Pageable pageable) {
+        ItemCursor current = StringUtils.hasText(cursor)
+                ? ItemCursor.decode(cursor)
+                : ItemCursor.first(pageable.getSort());
+        int size = pageable.getPageSize();
+        ItemSearchForm form = searchForm.normalized();
+
+        // size + 1 건을 읽어 다음 페이지 존재 여부 판단
+        List<ItemFeedRow> rows = itemRepository.searchFeedAfter(
+                form, resolveKeyword(form.getKeyword()), current, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ItemFeedRow> content = hasNext ? rows.subList(0, size) : rows;
+
+        Map<Long, String> thumbnailKeys = itemRepository.findThumbnailKeysByItemIds(
+                content.stream().map(ItemFeedRow::itemId).toList());
+
+        return ItemScrollResponse.<ItemFeedResponse>builder()
+                .content(content.stream().map(row -> toFeedResponse(row, thumbnailKeys)).toList())
+                .nextCursor(hasNext ? current.next(content.get(content.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public ItemSearchResponse getItem(Long itemId) {
         Item item = findItem(itemId);
@@ -75,6 +130,8 @@ public class ItemService {
         assertOwner(item, loginMember.getMemberId());
 
         item.updateItem(form);
+        itemSearchIndex.index(item.getItemId(), item.getName(), item.getDescription());
+        itemCountCache.invalidate();
     }
 
     public void deleteItem(MemberDto loginMember, Long itemId) {
@@ -83,6 +140,32 @@ public class ItemService {
         assertOut(item);
 
         item.deleteItem();
+        itemSearchIndex.remove(item.getItemId());
+        itemCountCache.invalidate();
+    }
+
+    /**
+     * keyword 를 인메모리 검색 색인으로 물품 ID 집합으로 바꾼다.
+     * @return null 이면 색인을 쓰지 않음 (keyword 없음, 색인 미준비, hit 과다 → 리포지토리가 LIKE 검색)
+     */
+    private Set<Long> resolveKeyword(String keyword) {
+        if (!StringUtils.hasText(keyword)) return null;
+        return itemSearchIndex.search(keyword)
+                .filter(hits -> hits.size() <= MAX_KEYWORD_HITS)
+                .orElse(null);
+    }
+
+    /** count 는 마지막 페이지가 아닐 때만 호출되며, 같은 검색 조건이면 ItemCountCache 에서 재사용한다. */
+    private long countBy(ItemSearchForm form, Set<Long> keywordItemIds) {
+        return itemCountCache.get(form, () -> itemRepository.countBy(form, keywordItemIds));
+    }
+
+    private ItemFeedResponse toFeedResponse(ItemFeedRow row, Map<Long, String> thumbnailKeys) {
+        String thumbnailKey = thumbnailKeys.get(row.itemId());
+        return ItemFeedResponse.fromRow(
+                row,
+                thumbnailKey == null ? "" : fileStorageService.generatePresignedUrl(thumbnailKey),
+                fileStorageService.generatePresignedUrl(row.ownerProfileImg()));
     }
 
     private Item findItem(Long itemId) {
@@ -0,0 +1,149 @@
+package com.capstone.rentit.locker.availability;
+
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 단말별 사물함 사용 가능 여부 인메모리 비트맵
+ *  - lockerId 를 비트 위치로 쓰는 BitSet 을 단말 단위 불변 스냅샷으로 보관한다.
+ *  - 변경은 단말 키 단위 compute 로 원자적으로 교체하고, 조회는 락 없이 스냅샷을 읽는다.
+ *  - 응답 목록은 변경 시점에 미리 만들어 두므로 available 조회는 map 조회 한 번이다.
+ */
+@Slf4j
+@Component
+public class LockerAvailabilityIndex {
+
+    /** 단말 한 대의 스냅샷 — seq 는 마지막으로 변경된 시점의 전역 순번 */
+    private record Slots(BitSet registered, BitSet available, List<LockerBriefResponse> availableList, long seq) {
+
+        static Slots of(Long deviceId, BitSet registered, BitSet available, long seq) {
+            List<LockerBriefResponse> list = new ArrayList<>(available.cardinality());
+            for (int i = available.nextSetBit(0); i >= 0; i = available.nextSetBit(i + 1)) {
+                list.add(new LockerBriefResponse(deviceId, (long) i, true));
+            }
+            return new Slots(registered, available, List.copyOf(list), seq);
+        }
+
+        boolean sameState(Slots other) {
+            return registered.equals(other.registered) && available.equals(other.available);
+        }
+    }
+
+    private final Map<Long, Slots> devices = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 단말의 사용 가능 사물함 목록
+     * @return 색인이 아직 준비되지 않았으면 empty
+     */
+    public Optional<List<LockerBriefResponse>> findAvailable(Long deviceId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Slots slots = devices.get(deviceId);
+        return Optional.of(slots == null ? List.of() : slots.availableList());
+    }
+
+    /** 신규 사물함 등록 반영 (사용 가능 상태) — 트랜잭션이 있으면 커밋 이후에 반영한다. */
+    public void register(Long deviceId, Long lockerId) {
+        afterCommit(() -> apply(deviceId, lockerId, true, true));
+    }
+
+    /** 사용 가능 여부 변경 반영 — 트랜잭션이 있으면 커밋 이후에 반영한다. */
+    public void update(Long deviceId, Long lockerId, boolean available) {
+        afterCommit(() -> apply(deviceId, lockerId, available, false));
+    }
+
+    /**
+     * DB 상태로 맞춘다.
+     * 조회 시작(startSeq) 이후 메모리에서 변경된 단말은 더 최신이므로 건너뛴다.
+     * @return DB 와 달랐던 단말 수
+     */
+    public int reconcile(long startSeq, Collection<LockerBriefResponse> rows) {
+        Map<Long, BitSet[]> loaded = new HashMap<>();
+        for (LockerBriefResponse row : rows) {
+            int bit = toBit(row.lockerId());
+            if (bit < 0) continue;
+            BitSet[] sets = loaded.computeIfAbsent(row.deviceId(), id -> new BitSet[]{new BitSet(), new BitSet()});
+            sets[0].set(bit);
+            sets[1].set(bit, row.available());
+        }
+
+        int drifted = 0;
+        for (Map.Entry<Long, BitSet[]> e : loaded.entrySet()) {
+            Slots fresh = Slots.of(e.getKey(), e.getValue()[0], e.getValue()[1], startSeq);
+            Slots before = devices.get(e.getKey());
+            Slots after = devices.compute(e.getKey(), (id, cur) -> cur != null && cur.seq() > startSeq ? cur : fresh);
+            if (after == fresh && before != null && !before.sameState(fresh)) {
+                drifted++;
+            }
+        }
+        for (Long deviceId : devices.keySet()) {
+            if (!loaded.containsKey(deviceId)) {
+                devices.computeIfPresent(deviceId, (id, cur) -> cur.seq() > startSeq ? cur : null);
+            }
+        }
+
+        if (!ready) {
+            ready = true;
+            log.info("Locker availability index built: {} devices, {} lockers", devices.size(), rows.size());
+        } else if (drifted > 0) {
+            log.warn("Locker availability index reconciled: {} devices drifted from DB", drifted);
+        }
+        return drifted;
+    }
+
+    /** reconcile 에 넘길 조회 시작 순번 */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    private void apply(Long deviceId, Long lockerId, boolean available, boolean register) {
+        int bit = toBit(lockerId);
+        if (bit < 0) return;
+        long seq = sequence.incrementAndGet();
+        devices.compute(deviceId, (id, cur) -> {
+            BitSet registered = cur == null ? new BitSet() : (BitSet) cur.registered().clone();
+            BitSet avail = cur == null ? new BitSet() : (BitSet) cur.available().clone();
+            if (!register && !registered.get(bit)) {
+                return cur; // 등록되지 않은 칸은 무시 (reconcile 에서 맞춰진다)
+            }
+            registered.set(bit);
+            avail.set(bit, available);
+            return Slots.of(id, registered, avail, seq);
+        });
+    }
+
+    private static int toBit(Long lockerId) {
+        if (lockerId == null || lockerId < 0 || lockerId > Integer.MAX_VALUE - 1) {
+            return -1;
+        }
+        return lockerId.intValue();
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
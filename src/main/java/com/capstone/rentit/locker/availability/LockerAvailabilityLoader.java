@@ -0,0 +1,37 @@
+package com.capstone.rentit.locker.availability;
+
+import com.capstone.rentit.locker.repository.LockerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 기동 완료(더미 데이터 적재 이후) 시점에 사물함 비트맵을 구축하고,
+ * 직접 수정된 DB 와 어긋나지 않도록 주기적으로 locker 테이블과 맞춘다. 칸 배정기도 맞춘 색인을 따라간다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LockerAvailabilityLoader {
+
+    private final LockerRepository lockerRepository;
+    private final LockerAvailabilityIndex availabilityIndex;
+    private final LockerSlotAllocator slotAllocator;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${locker.availability.reconcile-interval-ms:60000}",
+            initialDelayString = "${locker.availability.reconcile-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long startSeq = availabilityIndex.currentSequence();
+        availabilityIndex.reconcile(startSeq, lockerRepository.findAllBrief());
+        slotAllocator.reconcile();
+    }
+}
@@ -0,0 +1,375 @@
+package com.capstone.rentit.locker.availability;
+
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 단말별 사물함 칸 배정기 (락 없음)
+ *  - 빈 칸 번호를 lock-free 큐(free-list)로 들고, 칸 상태(FREE / HELD / OCCUPIED)는 CAS 로만 바꾼다.
+ *  - available 요청 시 칸 하나를 hold TTL 동안 예약하고, 맡기기(drop-off) 이벤트에서 확정한다.
+ *    확정되지 않은 예약은 TTL 이 지나면 free-list 로 돌아간다.
+ *  - 큐에는 이미 다른 경로로 차지된 칸이 남아 있을 수 있으며, 꺼낼 때 CAS 실패로 건너뛴다 (지연 삭제).
+ *  - 단말 상태는 처음 배정할 때 {@link LockerAvailabilityIndex} 에서 만든다. 색인이 준비되지 않았으면
+ *    배정하지 않고(empty) 기존처럼 단말이 목록에서 고르게 둔다.
+ *  - 색인이 reconcile 될 때 함께 맞춘다. 커밋 전후의 일시적인 차이를 고치지 않도록 연속 두 번 어긋난 칸만 바꾼다.
+ */
+@Slf4j
+@Component
+public class LockerSlotAllocator {
+
+    /** 칸 상태 — HELD 는 예약한 대여와 만료 시각을 가진다. */
+    private sealed interface SlotState permits Free, Held, Occupied {}
+    private record Free() implements SlotState {}
+    private record Held(Long rentalId, Instant expiresAt) implements SlotState {}
+    private record Occupied() implements SlotState {}
+
+    private static final SlotState FREE = new Free();
+    private static final SlotState OCCUPIED = new Occupied();
+
+    /** 단말 한 대의 칸 상태와 free-list */
+    private static final class DeviceSlots {
+        final Map<Long, SlotState> states = new ConcurrentHashMap<>();
+        final Queue<Long> free = new ConcurrentLinkedQueue<>();
+        final Map<Long, Long> holdByRental = new ConcurrentHashMap<>();
+        /** 직전 reconcile 에서 색인과 어긋났던 칸 */
+        final Set<Long> drifting = ConcurrentHashMap.newKeySet();
+
+        void offerFree(Long lockerId) {
+            free.offer(lockerId);
+        }
+    }
+
+    private final Map<Long, DeviceSlots> devices = new ConcurrentHashMap<>();
+
+    private final LockerAvailabilityIndex availabilityIndex;
+    private final Duration holdTtl;
+    private final Clock clock;
+
+    @Autowired
+    public LockerSlotAllocator(LockerAvailabilityIndex availabilityIndex,
+                               @Value("${locker.allocation.hold-seconds:60}") long holdSeconds) {
+        this(availabilityIndex, Duration.ofSeconds(holdSeconds), Clock.systemUTC());
+    }
+
+    LockerSlotAllocator(LockerAvailabilityIndex availabilityIndex, Duration holdTtl, Clock clock) {
+        this.availabilityIndex = availabilityIndex;
+        this.holdTtl = holdTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * 대여에 칸 하나를 예약한다. 같은 대여가 이미 유효한 예약을 갖고 있으면 그 칸을 돌려준다.
+     * @return 빈 칸이 없거나 색인이 준비되지 않았으면 empty
+     */
+    public Optional<Long> reserve(Long deviceId, Long rentalId) {
+        DeviceSlots slots = slots(deviceId);
+        if (slots == null) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        Optional<Long> existing = findHold(slots, rentalId, now);
+        if (existing.isPresent()) {
+            return existing;
+        }
+
+        Held held = new Held(rentalId, now.plus(holdTtl));
+        Optional<Long> taken = pollFree(slots, held);
+        if (taken.isEmpty() && reclaimExpired(slots, now) > 0) {
+            taken = pollFree(slots, held);
+        }
+        taken.ifPresent(lockerId -> slots.holdByRental.put(rentalId, lockerId));
+        return taken;
+    }
+
+    /**
+     * 맡기기 확정 — 이 대여의 예약 칸이거나 예약 없이 비어 있는 칸이면 사용 중으로 바꾼다.
+     * 트랜잭션이 롤백되면 다시 비운다.
+     * @return 다른 대여가 예약했거나 이미 사용 중인 칸이면 false
+     */
+    public boolean confirm(Long deviceId, Long lockerId, Long rentalId) {
+        DeviceSlots slots = devices.get(deviceId);
+        if (slots == null) {
+            return true; // 아직 배정을 시작하지 않은 단말 — 기존 흐름 그대로
+        }
+        Instant now = clock.instant();
+        while (true) {
+            SlotState cur = slots.states.get(lockerId);
+            if (cur == null) {
+                // 배정 시작 이후 등록된 칸 등 추적하지 않던 칸
+                if (slots.states.putIfAbsent(lockerId, OCCUPIED) == null) break;
+                continue;
+            }
+            if (cur instanceof Occupied) {
+                return false;
+            }
+            if (cur instanceof Held h && !h.rentalId().equals(rentalId) && now.isBefore(h.expiresAt())) {
+                return false;
+            }
+            if (slots.states.replace(lockerId, cur, OCCUPIED)) {
+                if (cur instanceof Held h) {
+                    slots.holdByRental.remove(h.rentalId(), lockerId);
+                }
+                break;
+            }
+        }
+        onRollback(() -> free(deviceId, lockerId));
+        return true;
+    }
+
+    /**
+     * DB 에서 이미 사용 중으로 확인된 칸 — 트랜잭션이 끝나면(롤백 포함) 사용 중으로 둔다.
+     * confirm 의 롤백 처리(free) 보다 나중에 등록되므로 그 뒤에 적용되어, 같은 칸을 다시 배정하지 않는다.
+     */
+    public void markOccupied(Long deviceId, Long lockerId) {
+        afterCompletion(() -> {
+            DeviceSlots slots = devices.get(deviceId);
+            if (slots == null) {
+                return;
+            }
+            SlotState prev = slots.states.put(lockerId, OCCUPIED);
+            if (prev instanceof Held h) {
+                slots.holdByRental.remove(h.rentalId(), lockerId);
+            }
+        });
+    }
+
+    /** 물건을 꺼낸 칸 — 트랜잭션이 있으면 커밋 이후에 free-list 로 돌린다. */
+    public void release(Long deviceId, Long lockerId) {
+        afterCommit(() -> free(deviceId, lockerId));
+    }
+
+    /** 새로 등록된 칸 — 트랜잭션이 있으면 커밋 이후에 반영한다. */
+    public void register(Long deviceId, Long lockerId) {
+        afterCommit(() -> {
+            DeviceSlots slots = devices.get(deviceId);
+            if (slots != null && slots.states.putIfAbsent(lockerId, FREE) == null) {
+                slots.offerFree(lockerId);
+            }
+        });
+    }
+
+    /** 다른 대여가 예약 중인 칸을 뺀 목록 — 키오스크에 보여주는 사용 가능 목록용 */
+    public List<LockerBriefResponse> withoutHeld(Long deviceId, List<LockerBriefResponse> lockers) {
+        DeviceSlots slots = devices.get(deviceId);
+        if (slots == null || slots.holdByRental.isEmpty()) {
+            return lockers;
+        }
+        Instant now = clock.instant();
+        return lockers.stream()
+                .filter(l -> !(slots.states.get(l.lockerId()) instanceof Held h && now.isBefore(h.expiresAt())))
+                .toList();
+    }
+
+    /**
+     * 색인(= reconcile 된 DB 상태)과 맞춘다. release/confirm 밖에서 비워지거나 차지된 칸을 반영한다.
+     * 커밋 직전/직후처럼 잠깐 어긋난 칸은 다음 reconcile 전에 맞춰지므로, 연속 두 번 어긋난 칸만 고친다.
+     * @return 고친 칸 수
+     */
+    public int reconcile() {
+        int fixed = 0;
+        for (Map.Entry<Long, DeviceSlots> e : devices.entrySet()) {
+            Optional<List<LockerBriefResponse>> indexed = availabilityIndex.findAvailable(e.getKey());
+            if (indexed.isEmpty()) {
+                return 0; // 색인 준비 전
+            }
+            fixed += reconcile(e.getValue(), indexed.get());
+        }
+        if (fixed > 0) {
+            log.warn("Locker slot allocator reconciled: {} slots drifted from availability index", fixed);
+        }
+        return fixed;
+    }
+
+    /** 만료된 예약 회수 */
+    @Scheduled(fixedDelayString = "${locker.allocation.sweep-interval-ms:5000}")
+    public void expireHolds() {
+        Instant now = clock.instant();
+        int reclaimed = 0;
+        for (DeviceSlots slots : devices.values()) {
+            reclaimed += reclaimExpired(slots, now);
+        }
+        if (reclaimed > 0) {
+            log.info("Locker slot holds expired: {}", reclaimed);
+        }
+    }
+
+    /** 단말의 빈 칸 수 (예약/사용 중 제외) */
+    public int freeCount(Long deviceId) {
+        DeviceSlots slots = devices.get(deviceId);
+        if (slots == null) {
+            return 0;
+        }
+        return (int) slots.states.values().stream().filter(s -> s instanceof Free).count();
+    }
+
+    private DeviceSlots slots(Long deviceId) {
+        DeviceSlots slots = devices.get(deviceId);
+        if (slots != null) {
+            return slots;
+        }
+        Optional<List<LockerBriefResponse>> available = availabilityIndex.findAvailable(deviceId);
+        if (available.isEmpty()) {
+            return null;
+        }
+        return devices.computeIfAbsent(deviceId, id -> {
+            DeviceSlots created = new DeviceSlots();
+            for (LockerBriefResponse locker : available.get()) {
+                created.states.put(locker.lockerId(), FREE);
+                created.offerFree(locker.lockerId());
+            }
+            return created;
+        });
+    }
+
+    private int reconcile(DeviceSlots slots, List<LockerBriefResponse> indexed) {
+        Set<Long> available = new HashSet<>();
+        indexed.forEach(l -> available.add(l.lockerId()));
+
+        Set<Long> drifted = new HashSet<>();
+        slots.states.forEach((lockerId, state) -> {
+            boolean free = available.contains(lockerId);
+            if (free ? state instanceof Occupied : !(state instanceof Occupied)) {
+                drifted.add(lockerId);
+            }
+        });
+        available.stream().filter(id -> !slots.states.containsKey(id)).forEach(drifted::add);
+
+        Set<Long> stillDrifting = new HashSet<>(drifted);
+        for (Long lockerId : drifted) {
+            if (slots.drifting.contains(lockerId) && fix(slots, lockerId, available.contains(lockerId))) {
+                stillDrifting.remove(lockerId);
+            }
+        }
+        int fixed = drifted.size() - stillDrifting.size();
+        slots.drifting.clear();
+        slots.drifting.addAll(stillDrifting);
+        return fixed;
+    }
+
+    /** 색인 상태로 한 칸을 바꾼다 — 그 사이 상태가 바뀌었으면(CAS 실패) 다음 reconcile 에 맡긴다. */
+    private boolean fix(DeviceSlots slots, Long lockerId, boolean available) {
+        SlotState cur = slots.states.get(lockerId);
+        if (available) {
+            if (cur == null) {
+                if (slots.states.putIfAbsent(lockerId, FREE) != null) return false;
+            } else if (!(cur instanceof Occupied) || !slots.states.replace(lockerId, cur, FREE)) {
+                return false;
+            }
+            slots.offerFree(lockerId);
+        } else {
+            if (cur == null || cur instanceof Occupied || !slots.states.replace(lockerId, cur, OCCUPIED)) {
+                return false;
+            }
+            if (cur instanceof Held h) {
+                slots.holdByRental.remove(h.rentalId(), lockerId);
+            }
+        }
+        return true;
+    }
+
+    private void free(Long deviceId, Long lockerId) {
+        DeviceSlots slots = devices.get(deviceId);
+        if (slots == null || lockerId == null) {
+            return;
+        }
+        SlotState prev = slots.states.put(lockerId, FREE);
+        if (prev instanceof Held h) {
+            slots.holdByRental.remove(h.rentalId(), lockerId);
+        }
+        if (!(prev instanceof Free)) {
+            slots.offerFree(lockerId);
+        }
+    }
+
+    private Optional<Long> pollFree(DeviceSlots slots, Held held) {
+        Long lockerId;
+        while ((lockerId = slots.free.poll()) != null) {
+            if (slots.states.replace(lockerId, FREE, held)) {
+                return Optional.of(lockerId);
+            }
+            // 이미 다른 경로로 차지된 칸 — 버린다.
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Long> findHold(DeviceSlots slots, Long rentalId, Instant now) {
+        Long lockerId = slots.holdByRental.get(rentalId);
+        if (lockerId != null
+                && slots.states.get(lockerId) instanceof Held h
+                && h.rentalId().equals(rentalId) && now.isBefore(h.expiresAt())) {
+            return Optional.of(lockerId);
+        }
+        return Optional.empty();
+    }
+
+    private int reclaimExpired(DeviceSlots slots, Instant now) {
+        int reclaimed = 0;
+        for (Map.Entry<Long, SlotState> e : slots.states.entrySet()) {
+            if (e.getValue() instanceof Held h && !now.isBefore(h.expiresAt())
+                    && slots.states.replace(e.getKey(), h, FREE)) {
+                slots.holdByRental.remove(h.rentalId(), e.getKey());
+                slots.offerFree(e.getKey());
+                reclaimed++;
+            }
+        }
+        return reclaimed;
+    }
+
+    private void onRollback(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    task.run();
+                }
+            }
+        });
+    }
+
+    private void afterCompletion(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
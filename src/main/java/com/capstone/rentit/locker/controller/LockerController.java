@@ -2,6 +2,7 @@ package com.capstone.rentit.locker.controller;
 
 import com.capstone.rentit.common.CommonResponse;
 import com.capstone.rentit.locker.dto.*;
+import com.capstone.rentit.locker.presence.DevicePresenceRegistry;
 import com.capstone.rentit.locker.service.LockerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,7 @@ import java.util.List;
 public class LockerController {
 
     private final LockerService lockerService;
+    private final DevicePresenceRegistry devicePresenceRegistry;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/admin/devices")
@@ -35,6 +37,12 @@ public class LockerController {
         return CommonResponse.success(lockerService.searchDevicesByUniversity(form));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/devices/health")
+    public CommonResponse<List<DeviceHealthResponse>> listDeviceHealth() {
+        return CommonResponse.success(devicePresenceRegistry.health());
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/admin/lockers")
     public CommonResponse<?> registerLocker(@RequestBody @Valid LockerCreateForm form) {
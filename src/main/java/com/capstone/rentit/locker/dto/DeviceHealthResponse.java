@@ -0,0 +1,15 @@
+package com.capstone.rentit.locker.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 키오스크 접속 상태 (관리자 조회용)
+ * lastSeenAt : 마지막 heartbeat/요청 수신 시각, lastOfflineAt : 마지막 LWT 수신 시각
+ */
+public record DeviceHealthResponse(
+        Long deviceId,
+        boolean online,
+        LocalDateTime lastSeenAt,
+        LocalDateTime lastOfflineAt,
+        int parkedMessages
+) { }
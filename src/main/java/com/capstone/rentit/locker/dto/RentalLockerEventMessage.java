@@ -8,5 +8,6 @@ public record RentalLockerEventMessage(
         Long rentalId,
         Long memberId,
         RentalLockerAction action,
-        Long fee
+        Long fee,
+        String eventId            // 단말이 부여한 event 고유 ID (선택, 중복 수신 판별용)
 ) { }
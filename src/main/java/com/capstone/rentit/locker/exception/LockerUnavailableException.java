@@ -0,0 +1,7 @@
+package com.capstone.rentit.locker.exception;
+
+public class LockerUnavailableException extends RuntimeException {
+    public LockerUnavailableException(String message) {
+        super(message);
+    }
+}
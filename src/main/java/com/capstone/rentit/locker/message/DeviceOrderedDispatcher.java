@@ -0,0 +1,164 @@
+package com.capstone.rentit.locker.message;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 단말(deviceId) 별 순서 보장 디스패처
+ *  - 같은 단말의 메시지는 도착 순서대로 하나씩 처리하고, 다른 단말끼리는 서로 막지 않는다.
+ *  - 단말마다 대기열 크기가 제한되며, 가득 차면 dispatch 가 false 를 반환한다.
+ *  - 처리 자체는 가상 스레드에서 실행되므로 DB/Redis 대기가 플랫폼 스레드를 점유하지 않는다.
+ *  - 대기열을 다 비운 단말의 lane 은 제거해서, 접속했던 단말 수만큼 map 이 계속 커지지 않게 한다.
+ */
+@Slf4j
+@Component
+public class DeviceOrderedDispatcher {
+
+    private record Task(Runnable body, long enqueuedAt) {}
+
+    /**
+     * 단말별 대기열 — running 플래그로 동시에 한 drain 만 돌도록 한다.
+     * size 는 lanes.compute 안에서 늘리므로, 같은 compute 안에서 size 0 / drain 없음을 확인하고 지우면
+     * 방금 작업을 받은 lane 을 지우는 일이 없다.
+     */
+    private static final class Lane {
+        final Long deviceId;
+        final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean running = new AtomicBoolean();
+
+        Lane(Long deviceId) {
+            this.deviceId = deviceId;
+        }
+    }
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger totalDepth = new AtomicInteger();
+
+    private final Executor executor;
+    private final int perDeviceCapacity;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public DeviceOrderedDispatcher(@Value("${locker.mqtt.per-device-queue-capacity:64}") int perDeviceCapacity,
+                                   MeterRegistry meterRegistry) {
+        this(Executors.newVirtualThreadPerTaskExecutor(), perDeviceCapacity, meterRegistry);
+    }
+
+    DeviceOrderedDispatcher(Executor executor, int perDeviceCapacity, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.perDeviceCapacity = perDeviceCapacity;
+        this.waitTimer = Timer.builder("locker.mqtt.queue.wait")
+                .description("단말 대기열에서 처리 시작까지 걸린 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("locker.mqtt.queue.rejected")
+                .description("단말 대기열이 가득 차 거절된 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("locker.mqtt.queue.depth", totalDepth, AtomicInteger::get)
+                .description("전체 단말 대기열에 쌓인 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("locker.mqtt.queue.devices", lanes, Map::size)
+                .description("처리 중이거나 대기 중인 메시지가 있는 단말 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 단말 대기열 끝에 작업을 추가한다.
+     * @return 대기열이 가득 차 거절되면 false
+     */
+    public boolean dispatch(Long deviceId, Runnable body) {
+        int[] size = new int[1];
+        Lane lane = lanes.compute(deviceId, (id, cur) -> {
+            Lane l = cur != null ? cur : new Lane(id);
+            size[0] = l.size.incrementAndGet();
+            return l;
+        });
+        if (size[0] > perDeviceCapacity) {
+            lane.size.decrementAndGet();
+            rejectedCounter.increment();
+            log.warn("Device {} queue full ({}), message rejected", deviceId, perDeviceCapacity);
+            return false;
+        }
+        lane.tasks.add(new Task(body, System.nanoTime()));
+        totalDepth.incrementAndGet();
+        schedule(lane);
+        return true;
+    }
+
+    /** 해당 단말 대기열에 남은 메시지 수 */
+    public int depth(Long deviceId) {
+        Lane lane = lanes.get(deviceId);
+        return lane == null ? 0 : lane.size.get();
+    }
+
+    private void schedule(Lane lane) {
+        if (!lane.running.compareAndSet(false, true)) {
+            return; // 이미 drain 중인 작업이 이어서 처리한다.
+        }
+        try {
+            executor.execute(() -> drain(lane));
+        } catch (RejectedExecutionException e) {
+            lane.running.set(false);
+            log.warn("Device dispatcher executor rejected drain: {}", e.getMessage());
+        }
+    }
+
+    private void drain(Lane lane) {
+        try {
+            Task task;
+            while ((task = lane.tasks.poll()) != null) {
+                lane.size.decrementAndGet();
+                totalDepth.decrementAndGet();
+                waitTimer.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+                try {
+                    task.body().run();
+                } catch (Exception e) {
+                    log.warn("Device task failed: {}", e.getMessage(), e);
+                }
+            }
+        } finally {
+            lane.running.set(false);
+        }
+        // 플래그를 내린 사이에 들어온 작업이 있으면 다시 drain 하고, 없으면 lane 을 지운다.
+        if (!lane.tasks.isEmpty()) {
+            schedule(lane);
+        } else {
+            evictIfIdle(lane);
+        }
+    }
+
+    private void evictIfIdle(Lane lane) {
+        lanes.computeIfPresent(lane.deviceId, (id, cur) ->
+                cur == lane && cur.size.get() == 0 && !cur.running.get() ? null : cur);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (executor instanceof ExecutorService es) {
+            es.shutdown();
+            if (!es.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Device dispatcher did not drain within 10s, {} messages left", totalDepth.get());
+            }
+        }
+    }
+}
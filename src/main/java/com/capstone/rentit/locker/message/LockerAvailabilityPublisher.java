@@ -0,0 +1,179 @@
+package com.capstone.rentit.locker.message;
+
+import com.capstone.rentit.common.CommonResponse;
+import com.capstone.rentit.locker.availability.LockerAvailabilityIndex;
+import com.capstone.rentit.locker.availability.LockerSlotAllocator;
+import com.capstone.rentit.locker.dto.AvailableLockersEvent;
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.integration.mqtt.event.MqttConnectionFailedEvent;
+import org.springframework.integration.mqtt.event.MqttMessageDeliveredEvent;
+import org.springframework.integration.mqtt.event.MqttMessageSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사물함 사용 가능 상태 변경 push (서버 → 단말, locker/{deviceId}/available)
+ *  - 상태가 바뀐 단말을 dirty 로 표시하고 window 뒤에 그 시점의 최신 스냅샷 하나만 보낸다.
+ *    window 안에 여러 번 바뀌어도 push 는 한 번이므로 전송량이 이벤트 수가 아니라 단말 수에 비례한다.
+ *  - 다른 대여에 예약된 칸은 스냅샷에서 뺀다.
+ *  - 비동기 MqttPahoMessageHandler 의 sent/delivered 이벤트로 아직 확인받지 못한 push 수를 세고,
+ *    max-inflight 에 닿으면 보내지 않고 다음 window 로 미룬다.
+ */
+@Slf4j
+@Component
+public class LockerAvailabilityPublisher {
+
+    private static final String AVAILABLE_SUFFIX = "/available";
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final LockerAvailabilityIndex availabilityIndex;
+    private final LockerSlotAllocator slotAllocator;
+    private final LockerDeviceProducer producer;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxInFlight;
+    private final Counter sentCounter;
+    private final Counter coalescedCounter;
+    private final Counter deferredCounter;
+
+    @Autowired
+    public LockerAvailabilityPublisher(LockerAvailabilityIndex availabilityIndex,
+                                       LockerSlotAllocator slotAllocator,
+                                       LockerDeviceProducer producer,
+                                       @Value("${locker.availability.publish-window-ms:200}") long windowMillis,
+                                       @Value("${locker.availability.publish-max-inflight:100}") int maxInFlight,
+                                       MeterRegistry meterRegistry) {
+        this(availabilityIndex, slotAllocator, producer,
+                Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "locker-availability-publisher")),
+                windowMillis, maxInFlight, meterRegistry);
+    }
+
+    LockerAvailabilityPublisher(LockerAvailabilityIndex availabilityIndex, LockerSlotAllocator slotAllocator,
+                                LockerDeviceProducer producer, ScheduledExecutorService scheduler,
+                                long windowMillis, int maxInFlight, MeterRegistry meterRegistry) {
+        this.availabilityIndex = availabilityIndex;
+        this.slotAllocator = slotAllocator;
+        this.producer = producer;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.maxInFlight = maxInFlight;
+        this.sentCounter = Counter.builder("locker.availability.push.sent")
+                .description("단말에 보낸 available 스냅샷 수")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("locker.availability.push.coalesced")
+                .description("이미 예약된 push 에 합쳐진 상태 변경 수")
+                .register(meterRegistry);
+        this.deferredCounter = Counter.builder("locker.availability.push.deferred")
+                .description("in-flight 한도로 다음 window 로 미룬 push 수")
+                .register(meterRegistry);
+        Gauge.builder("locker.availability.push.inflight", inFlight, Set::size)
+                .description("브로커 확인을 기다리는 available push 수")
+                .register(meterRegistry);
+    }
+
+    /** 단말의 사용 가능 상태가 바뀜 — 트랜잭션이 있으면 커밋 이후에 예약한다. */
+    public void markDirty(Long deviceId) {
+        if (deviceId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            if (dirty.add(deviceId)) {
+                schedule(deviceId);
+            } else {
+                coalescedCounter.increment();
+            }
+        });
+    }
+
+    /** window 가 지난 단말의 최신 스냅샷 전송 */
+    void flush(Long deviceId) {
+        if (inFlight.size() >= maxInFlight) {
+            deferredCounter.increment();
+            schedule(deviceId);
+            return;
+        }
+        // 스냅샷을 읽기 전에 먼저 내려야, 그 사이의 변경이 새 push 로 예약된다.
+        dirty.remove(deviceId);
+        Optional<List<LockerBriefResponse>> lockers = availabilityIndex.findAvailable(deviceId);
+        if (lockers.isEmpty()) {
+            return; // 색인 준비 전 — 단말은 available 요청으로 직접 조회한다.
+        }
+        try {
+            producer.pushAvailableLockers(deviceId,
+                    CommonResponse.success(new AvailableLockersEvent(deviceId, null,
+                            slotAllocator.withoutHeld(deviceId, lockers.get()))));
+            sentCounter.increment();
+        } catch (Exception e) {
+            log.warn("Locker availability push failed for device {}: {}", deviceId, e.getMessage());
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    @EventListener
+    public void onSent(MqttMessageSentEvent event) {
+        String topic = event.getTopic();
+        if (topic != null && topic.endsWith(AVAILABLE_SUFFIX)) {
+            inFlight.add(event.getMessageId());
+        }
+    }
+
+    @EventListener
+    public void onDelivered(MqttMessageDeliveredEvent event) {
+        inFlight.remove(event.getMessageId());
+    }
+
+    /** 연결이 끊기면 확인이 오지 않으므로 추적을 비운다 (재연결 후 Paho 가 재전송). */
+    @EventListener
+    public void onConnectionFailed(MqttConnectionFailedEvent event) {
+        inFlight.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void schedule(Long deviceId) {
+        try {
+            scheduler.schedule(() -> flush(deviceId), windowMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            dirty.remove(deviceId);
+            log.warn("Locker availability push not scheduled for device {}: {}", deviceId, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
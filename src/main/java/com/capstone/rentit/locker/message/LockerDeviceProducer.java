@@ -4,9 +4,8 @@ import com.capstone.rentit.common.CommonResponse;
 import com.capstone.rentit.config.LockerMessagingConfig;
 import com.capstone.rentit.locker.dto.*;
 import com.capstone.rentit.locker.event.RentalLockerAction;
+import com.capstone.rentit.locker.presence.DevicePresenceRegistry;
 import com.capstone.rentit.rental.dto.RentalBriefResponseForLocker;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.integration.mqtt.support.MqttHeaders;
@@ -14,11 +13,14 @@ import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * MQTT 기반 Producer (서버 → 단말)
  *  topic 패턴 : locker/{deviceId}/{eligible|available|event}
+ *  오프라인 단말에는 보내지 않는다 — available 은 최신 상태만 보관했다가 재접속 시 보내고, 나머지는 버린다.
  */
 @Slf4j
 @Component
@@ -26,22 +28,39 @@ import java.util.List;
 public class LockerDeviceProducer {
 
     private final MessageChannel mqttOutboundChannel;     // LockerMessagingConfig#mqttOutboundChannel
-    private final ObjectMapper   mapper;
+    private final LockerPayloadCodec codec;
+    private final DevicePresenceRegistry presence;
 
     /* ---------- 공용 send ---------- */
     private void send(Long deviceId, String suffix, Object payload) {
+        if (!presence.isReachable(deviceId)) {
+            if ("available".equals(suffix)) {
+                presence.park(deviceId, suffix, payload);
+            } else {
+                presence.suppress(deviceId, suffix);
+            }
+            return;
+        }
+        publish(deviceId, suffix, payload);
+    }
+
+    private void publish(Long deviceId, String suffix, Object payload) {
         String topic = LockerMessagingConfig.RES_TOPIC_PREFIX + deviceId + "/" + suffix;
 
-        // JSON 으로 변환
-        String json;
+        // 단말이 사용하는 형식(JSON 문자열 / CBOR 바이트)으로 변환
+        Object encoded;
         try {
-            json = mapper.writeValueAsString(payload);
-        } catch (JsonProcessingException e) {
+            encoded = codec.encode(deviceId, payload);
+        } catch (IOException e) {
             throw new IllegalStateException("페이로드 직렬화 실패", e);
         }
-        log.info("send to locker : {}", json);
+        if (encoded instanceof String json) {
+            log.info("send to locker : {}", json);
+        } else {
+            log.info("send to locker [{}] : {} bytes", topic, ((byte[]) encoded).length);
+        }
         mqttOutboundChannel.send(
-                MessageBuilder.withPayload(json)
+                MessageBuilder.withPayload(encoded)
                         .setHeader(MqttHeaders.TOPIC, topic)
                         .build()
         );
@@ -62,12 +81,10 @@ public class LockerDeviceProducer {
         send(deviceId, "event", response);
     }
 
-    /* ---------- util ---------- */
-    private String toJson(Object o) {
-        try {
-            return mapper.writeValueAsString(o);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("MQTT payload 직렬화 실패", e);
+    /** 재접속한 단말에 오프라인 동안 보관한 최신 상태를 보낸다. */
+    public void flushParked(Long deviceId) {
+        for (Map.Entry<String, Object> e : presence.takeParked(deviceId).entrySet()) {
+            publish(deviceId, e.getKey(), e.getValue());
         }
     }
 }
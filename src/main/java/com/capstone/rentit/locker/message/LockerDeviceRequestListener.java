@@ -3,12 +3,15 @@ package com.capstone.rentit.locker.message;
 import com.capstone.rentit.common.CommonResponse;
 import com.capstone.rentit.config.LockerMessagingConfig;
 import com.capstone.rentit.locker.dto.*;
+import com.capstone.rentit.locker.message.MqttAdmissionControl.Priority;
+import com.capstone.rentit.locker.presence.DevicePresenceRegistry;
 import com.capstone.rentit.locker.service.LockerService;
 import com.capstone.rentit.member.dto.MemberDto;
 import com.capstone.rentit.member.service.MemberService;
 import com.capstone.rentit.otp.service.OtpService;
 import com.capstone.rentit.rental.dto.RentalBriefResponseForLocker;
 import com.capstone.rentit.rental.service.RentalService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,24 +20,35 @@ import org.springframework.integration.mqtt.support.MqttHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * MQTT Inbound Listener
- *  topic : locker/request/{eligible|available}
+ *  topic : locker/request/{eligible|available|event|heartbeat|offline}
+ *  payload 의 deviceId 기준으로 {@link DeviceOrderedDispatcher} 에 넘겨 단말별 순서대로 처리한다.
+ *  heartbeat / offline(LWT) 는 대기열을 거치지 않고 {@link DevicePresenceRegistry} 에 바로 반영한다.
+ *  과부하 시 {@link MqttAdmissionControl} 이 화면 갱신용 available → eligible 순으로 버리고, event 는 항상 받는다.
+ *  rentalId 가 있는 available 은 맡기기/반납 중 칸 선점이므로 eligible 과 같이 취급한다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class LockerDeviceRequestListener {
 
+    private static final String BUSY_MESSAGE = "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.";
+
     private final ObjectMapper mapper;
     private final OtpService otpService;
     private final MemberService memberService;
     private final RentalService rentalService;
     private final LockerService lockerService;
     private final LockerDeviceProducer producer;
+    private final DeviceOrderedDispatcher dispatcher;
+    private final LockerEventDeduplicator deduplicator;
+    private final LockerPayloadCodec codec;
+    private final DevicePresenceRegistry presence;
+    private final MqttAdmissionControl admission;
 
     @ServiceActivator(inputChannel = "mqttInboundChannel")
     public void consume(Message<?> mqttMsg) {
@@ -43,28 +57,81 @@ public class LockerDeviceRequestListener {
                 .get(MqttHeaders.RECEIVED_TOPIC, String.class);
         if (topic == null) return;
 
-        // 2) payload → String
-        Object payloadObj = mqttMsg.getPayload();
-        String json;
-        if (payloadObj instanceof byte[] bytes) {
-            json = new String(bytes, StandardCharsets.UTF_8);
-        } else {
-            json = payloadObj.toString();
-        }
-        log.info("MQTT request : {}", json);
-        // 3) sub-topic 분기
+        // 2) sub-topic 분기
         String sub = topic.substring(LockerMessagingConfig.REQ_TOPIC_PREFIX.length());
+        boolean request = "eligible".equals(sub) || "available".equals(sub);
+        boolean presenceMsg = "heartbeat".equals(sub) || "offline".equals(sub);
+        if (!request && !presenceMsg && !sub.startsWith("event")) {
+            log.debug("알 수 없는 요청 sub-topic: {}", sub);
+            return;
+        }
 
         try {
-            switch (sub) {
-                case "eligible", "available" -> handleRequest(sub, json);
-                default -> {
-                    if (sub.startsWith("event")) {
-                        handleEvent(json, topic);
-                    } else {
-                        log.debug("알 수 없는 요청 sub-topic: {}", sub);
-                    }
+            // 3) payload → JsonNode (byte[] 는 String 변환 없이 JSON/CBOR 로 바로 파싱)
+            Object payloadObj = mqttMsg.getPayload();
+            LockerPayloadCodec.Decoded decoded = payloadObj instanceof byte[] bytes
+                    ? codec.decode(bytes)
+                    : new LockerPayloadCodec.Decoded(mapper.readTree(payloadObj.toString()), LockerWireFormat.JSON);
+            JsonNode json = decoded.tree();
+            if (!presenceMsg) {
+                log.info("MQTT request : {}", json);
+            }
+
+            JsonNode deviceNode = json.get("deviceId");
+            if (deviceNode == null || !deviceNode.canConvertToLong()) {
+                log.warn("deviceId 없는 MQTT 요청 무시 [{}]", topic);
+                return;
+            }
+            Long deviceId = deviceNode.asLong();
+            codec.observe(deviceId, decoded.format());
+
+            // 접속 상태 갱신 — 재접속이면 보관해 둔 최신 상태부터 보낸다.
+            if ("offline".equals(sub)) {
+                presence.disconnected(deviceId);
+                return;
+            }
+            if (presence.seen(deviceId, "heartbeat".equals(sub))) {
+                producer.flushParked(deviceId);
+            }
+            if (presenceMsg) {
+                return;
+            }
+
+            // 4) 과부하면 우선순위가 낮은 요청부터 받지 않는다 (화면 갱신용 available 은 응답 없이 버린다).
+            LockerDeviceRequest req = request ? mapper.treeToValue(json, LockerDeviceRequest.class) : null;
+            Priority priority = priorityOf(sub, req);
+            if (!admission.tryAdmit(priority)) {
+                if (priority != Priority.POLL) {
+                    producer.pushResult(deviceId, CommonResponse.failure(BUSY_MESSAGE));
                 }
+                return;
+            }
+
+            // 5) 단말별 순서를 지키며 비동기 처리
+            boolean accepted = dispatcher.dispatch(deviceId,
+                    admission.track(priority, () -> handle(sub, topic, json, req)));
+            if (!accepted) {
+                admission.abandon(priority);
+                producer.pushResult(deviceId, CommonResponse.failure(BUSY_MESSAGE));
+            }
+        } catch (Exception e) {
+            log.info("Error handling MQTT [{}]: {}", topic, e.getMessage(), e);
+        }
+    }
+
+    /** rentalId 가 있는 available 은 화면 갱신이 아니라 맡기기/반납 중 칸 선점이므로 응답 없이 버리지 않는다. */
+    private static Priority priorityOf(String sub, LockerDeviceRequest req) {
+        if ("available".equals(sub)) return req.rentalId() == null ? Priority.POLL : Priority.REQUEST;
+        if ("eligible".equals(sub)) return Priority.REQUEST;
+        return Priority.EVENT;
+    }
+
+    private void handle(String sub, String topic, JsonNode json, LockerDeviceRequest req) {
+        try {
+            if (sub.startsWith("event")) {
+                handleEvent(json, topic);
+            } else {
+                handleRequest(sub, req);
             }
         } catch (Exception e) {
             log.info("Error handling MQTT [{}]: {}", topic, e.getMessage(), e);
@@ -74,9 +141,7 @@ public class LockerDeviceRequestListener {
     // ---------------------------------------------------
     // { eligible | available } 요청 처리
     // ---------------------------------------------------
-    private void handleRequest(String sub, String json) throws Exception {
-        LockerDeviceRequest req = mapper.readValue(json, LockerDeviceRequest.class);
-
+    private void handleRequest(String sub, LockerDeviceRequest req) {
         try {
             if ("eligible".equals(sub)) {
                 String email = otpService.validateAndResolveIdentifier(req.otpCode());
@@ -89,7 +154,7 @@ public class LockerDeviceRequestListener {
                                         member.getMemberId(), member.getNickname(), rentals)
                         ));
             } else { // "available"
-                var lockers = lockerService.findAvailableLockers(req.deviceId());
+                var lockers = lockerService.findAvailableLockers(req.deviceId(), req.rentalId());
                 producer.pushAvailableLockers(req.deviceId(),
                         CommonResponse.success(
                                 new AvailableLockersEvent(req.deviceId(), req.rentalId(), lockers)
@@ -101,12 +166,21 @@ public class LockerDeviceRequestListener {
 
     }
 
-    private void handleEvent(String json, String topic) throws Exception {
+    private void handleEvent(JsonNode json, String topic) throws Exception {
         RentalLockerEventMessage event =
-                mapper.readValue(json, RentalLockerEventMessage.class);
+                mapper.treeToValue(json, RentalLockerEventMessage.class);
 
         log.info("RentalLockerEvent ▶ {}", event);
 
+        // 재전송된 event 는 처리하지 않고 이전 결과를 다시 보낸다.
+        String dedupeKey = deduplicator.keyOf(event);
+        Optional<LockerActionResultEvent> previous = deduplicator.find(dedupeKey);
+        if (previous.isPresent()) {
+            log.info("Duplicate RentalLockerEvent ignored [{}]", dedupeKey);
+            producer.pushResult(event.deviceId(), CommonResponse.success(previous.get()));
+            return;
+        }
+
         CommonResponse<?> response;
         try {
             switch (event.action()) {
@@ -125,9 +199,10 @@ public class LockerDeviceRequestListener {
                         rentalService.retrieveByOwner(
                                 event.rentalId(), event.memberId(), event.fee());
             }
-            response = CommonResponse.success(
-                    new LockerActionResultEvent(
-                            event.deviceId(), event.lockerId(), event.rentalId()));
+            LockerActionResultEvent result = new LockerActionResultEvent(
+                    event.deviceId(), event.lockerId(), event.rentalId());
+            deduplicator.remember(dedupeKey, result);
+            response = CommonResponse.success(result);
         } catch (Exception e) {
             response = CommonResponse.failure(e.getMessage());
         }
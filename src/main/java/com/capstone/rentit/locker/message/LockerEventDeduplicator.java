@@ -0,0 +1,136 @@
+package com.capstone.rentit.locker.message;
+
+import com.capstone.rentit.locker.dto.LockerActionResultEvent;
+import com.capstone.rentit.locker.dto.RentalLockerEventMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사물함 event 중복 처리 방지
+ *  - QoS 1 + cleanSession=false 로 재연결 시 같은 event 가 다시 올 수 있다.
+ *  - 단말이 보낸 eventId, 없으면 메시지 필드 해시를 키로 성공 결과를 일정 시간 기억한다.
+ *  - 중복이면 DB 를 거치지 않고 기억해 둔 결과를 그대로 돌려준다 (보관함 요금 이중 결제 방지).
+ *  - redis-enabled 이면 서버 재기동/다중 인스턴스에서도 Redis 로 같은 창을 공유한다.
+ */
+@Slf4j
+@Component
+public class LockerEventDeduplicator {
+
+    private static final String REDIS_PREFIX = "locker:event:";
+
+    private record Entry(LockerActionResultEvent result, Instant expiresAt) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ObjectMapper mapper;
+    private final StringRedisTemplate redis;   // null 이면 메모리만 사용
+    private final Duration window;
+    private final int maxSize;
+    private final Clock clock;
+
+    @Autowired
+    public LockerEventDeduplicator(ObjectMapper mapper,
+                                   ObjectProvider<StringRedisTemplate> redis,
+                                   @Value("${locker.event-dedupe.window-seconds:600}") long windowSeconds,
+                                   @Value("${locker.event-dedupe.max-size:10000}") int maxSize,
+                                   @Value("${locker.event-dedupe.redis-enabled:false}") boolean redisEnabled) {
+        this(mapper, redisEnabled ? redis.getIfAvailable() : null,
+                Duration.ofSeconds(windowSeconds), maxSize, Clock.systemUTC());
+    }
+
+    LockerEventDeduplicator(ObjectMapper mapper, StringRedisTemplate redis,
+                            Duration window, int maxSize, Clock clock) {
+        this.mapper = mapper;
+        this.redis = redis;
+        this.window = window;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /** 단말 eventId 가 있으면 그대로, 없으면 메시지 필드의 SHA-256 */
+    public String keyOf(RentalLockerEventMessage event) {
+        if (StringUtils.hasText(event.eventId())) {
+            return event.deviceId() + ":" + event.eventId();
+        }
+        String canonical = event.deviceId() + "|" + event.lockerId() + "|" + event.rentalId() + "|"
+                + event.memberId() + "|" + event.action() + "|" + event.fee();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return "h:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 창 안에서 이미 성공 처리된 event 이면 그 결과 */
+    public Optional<LockerActionResultEvent> find(String key) {
+        Instant now = clock.instant();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (now.isBefore(entry.expiresAt())) {
+                return Optional.of(entry.result());
+            }
+            entries.remove(key, entry);
+        }
+        if (redis == null) {
+            return Optional.empty();
+        }
+        try {
+            String json = redis.opsForValue().get(REDIS_PREFIX + key);
+            if (json == null) {
+                return Optional.empty();
+            }
+            LockerActionResultEvent result = mapper.readValue(json, LockerActionResultEvent.class);
+            put(key, result, now);
+            return Optional.of(result);
+        } catch (Exception e) {
+            log.warn("Locker event dedupe lookup failed on Redis, falling back to memory: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** 성공 결과 기억 — 실패는 기억하지 않아 재전송 시 다시 처리된다. */
+    public void remember(String key, LockerActionResultEvent result) {
+        put(key, result, clock.instant());
+        if (redis == null) {
+            return;
+        }
+        try {
+            redis.opsForValue().set(REDIS_PREFIX + key, mapper.writeValueAsString(result), window);
+        } catch (Exception e) {
+            log.warn("Locker event dedupe store failed on Redis: {}", e.getMessage());
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void put(String key, LockerActionResultEvent result, Instant now) {
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(e -> !now.isBefore(e.expiresAt()));
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(result, now.plus(window)));
+    }
+}
@@ -0,0 +1,86 @@
+package com.capstone.rentit.locker.message;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 단말별 MQTT payload 인코딩/디코딩
+ *  - 수신 payload 는 String 변환 없이 byte[] 에서 바로 파싱하며, 첫 바이트로 JSON/CBOR 를 구분한다.
+ *  - 단말이 CBOR 로 요청하면 그 단말의 locker/{deviceId}/... 응답도 CBOR 로 보낸다 (협상).
+ *  - locker.wire.cbor-devices 에 지정된 단말은 수신 형식과 관계없이 CBOR 로 고정한다.
+ */
+@Slf4j
+@Component
+public class LockerPayloadCodec {
+
+    public record Decoded(JsonNode tree, LockerWireFormat format) {}
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final Set<Long> pinnedCbor;
+    private final Map<Long, LockerWireFormat> negotiated = new ConcurrentHashMap<>();
+
+    public LockerPayloadCodec(ObjectMapper mapper,
+                              @Value("${locker.wire.cbor-devices:}") String cborDevices) {
+        this.jsonMapper = mapper;
+        // 등록된 모듈(JavaTime 등)과 설정을 그대로 쓰는 CBOR 용 복제본
+        this.cborMapper = mapper.copyWith(new CBORFactory());
+        this.pinnedCbor = Arrays.stream(cborDevices.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Long::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public ObjectMapper mapper() {
+        return jsonMapper;
+    }
+
+    public Decoded decode(byte[] bytes) throws IOException {
+        LockerWireFormat format = LockerWireFormat.detect(bytes);
+        ObjectMapper m = format == LockerWireFormat.CBOR ? cborMapper : jsonMapper;
+        return new Decoded(m.readTree(bytes), format);
+    }
+
+    /** 단말이 마지막으로 보낸 형식을 기억해 응답에 사용한다. */
+    public void observe(Long deviceId, LockerWireFormat format) {
+        if (negotiated.put(deviceId, format) != format) {
+            log.info("Device {} wire format: {}", deviceId, format);
+        }
+    }
+
+    public LockerWireFormat formatOf(Long deviceId) {
+        if (pinnedCbor.contains(deviceId)) {
+            return LockerWireFormat.CBOR;
+        }
+        return negotiated.getOrDefault(deviceId, LockerWireFormat.JSON);
+    }
+
+    /**
+     * 단말 형식으로 직렬화 — JSON 은 기존과 같이 String, CBOR 는 byte[]
+     */
+    public Object encode(Long deviceId, Object payload) throws IOException {
+        if (formatOf(deviceId) == LockerWireFormat.CBOR) {
+            return cborMapper.writeValueAsBytes(payload);
+        }
+        return jsonMapper.writeValueAsString(payload);
+    }
+
+    /** 벤치마크/테스트용 — 형식을 지정해 바이트로 직렬화 */
+    byte[] encodeBytes(LockerWireFormat format, Object payload) throws IOException {
+        ObjectMapper m = format == LockerWireFormat.CBOR ? cborMapper : jsonMapper;
+        return m.writeValueAsBytes(payload);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.capstone.rentit.locker.message;
+
+/**
+ * 사물함 MQTT payload 인코딩
+ *  - JSON : 기존 키오스크 호환 (UTF-8 텍스트)
+ *  - CBOR : 같은 구조의 바이너리 인코딩, 필드명은 그대로지만 숫자/구조 표현이 작다.
+ */
+public enum LockerWireFormat {
+    JSON,
+    CBOR;
+
+    /** JSON 객체/배열은 '{' '[' (공백 포함) 로 시작하고, CBOR map/array 는 major type 4·5 로 시작한다. */
+    static LockerWireFormat detect(byte[] bytes) {
+        for (byte b : bytes) {
+            int major = (b & 0xFF) >>> 5;
+            if (b == '{' || b == '[') return JSON;
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n') continue;
+            return (major == 4 || major == 5) ? CBOR : JSON;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,148 @@
+package com.capstone.rentit.locker.message;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MQTT 요청 수용 제어 (backpressure)
+ *  - 처리 중인 요청 수와 최근 대기/처리 시간(EWMA)을 보고 새 요청을 받을지 정한다.
+ *  - 우선순위 : EVENT(사물함 이벤트, 결제) > REQUEST(eligible, rentalId 가 있는 available 칸 선점) > POLL(available 화면 갱신)
+ *    과부하 시 POLL 부터 버리고, 그다음 REQUEST 를 거절한다. EVENT 는 거절하지 않는다.
+ *  - 수신(Paho 콜백) 스레드에서는 판단만 하고 처리는 하지 않으므로 keepalive 가 밀리지 않는다.
+ */
+@Slf4j
+@Component
+public class MqttAdmissionControl {
+
+    public enum Priority { EVENT, REQUEST, POLL }
+
+    /** EWMA 가중치 — 최근 완료 건이 20% 반영 */
+    private static final double ALPHA = 0.2;
+
+    private final Map<Priority, AtomicInteger> inFlight = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> shedCounters = new EnumMap<>(Priority.class);
+    private final Map<Priority, Timer> latencyTimers = new EnumMap<>(Priority.class);
+    private final AtomicLong waitEwmaNanos = new AtomicLong();
+    private final AtomicLong latencyEwmaNanos = new AtomicLong();
+
+    private final int pollMaxInFlight;
+    private final int requestMaxInFlight;
+    private final long targetWaitNanos;
+
+    @Autowired
+    public MqttAdmissionControl(@Value("${locker.mqtt.admission.poll-max-inflight:200}") int pollMaxInFlight,
+                                @Value("${locker.mqtt.admission.request-max-inflight:1000}") int requestMaxInFlight,
+                                @Value("${locker.mqtt.admission.target-wait-ms:250}") long targetWaitMillis,
+                                MeterRegistry meterRegistry) {
+        this.pollMaxInFlight = pollMaxInFlight;
+        this.requestMaxInFlight = requestMaxInFlight;
+        this.targetWaitNanos = TimeUnit.MILLISECONDS.toNanos(targetWaitMillis);
+
+        for (Priority p : Priority.values()) {
+            String tag = p.name().toLowerCase();
+            AtomicInteger count = new AtomicInteger();
+            inFlight.put(p, count);
+            Gauge.builder("locker.mqtt.admission.inflight", count, AtomicInteger::get)
+                    .tag("priority", tag)
+                    .description("수용되어 처리 대기/중인 요청 수")
+                    .register(meterRegistry);
+            shedCounters.put(p, Counter.builder("locker.mqtt.admission.shed")
+                    .tag("priority", tag)
+                    .description("과부하로 받지 않은 요청 수")
+                    .register(meterRegistry));
+            latencyTimers.put(p, Timer.builder("locker.mqtt.handler.latency")
+                    .tag("priority", tag)
+                    .description("요청 처리 시간")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("locker.mqtt.admission.wait.ewma", waitEwmaNanos, v -> v.get() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .description("최근 대기 시간 (EWMA)")
+                .register(meterRegistry);
+        Gauge.builder("locker.mqtt.admission.latency.ewma", latencyEwmaNanos, v -> v.get() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .description("최근 처리 시간 (EWMA)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청을 받을지 결정하고, 받으면 처리 중으로 센다.
+     * @return 과부하로 버려야 하면 false
+     */
+    public boolean tryAdmit(Priority priority) {
+        if (!admissible(priority)) {
+            shedCounters.get(priority).increment();
+            log.debug("MQTT {} shed: inflight={}, wait={}ms", priority,
+                    totalInFlight(), TimeUnit.NANOSECONDS.toMillis(waitEwmaNanos.get()));
+            return false;
+        }
+        inFlight.get(priority).incrementAndGet();
+        return true;
+    }
+
+    /** 받은 요청의 처리 — 대기/처리 시간을 기록하고 끝나면 처리 중에서 뺀다. */
+    public Runnable track(Priority priority, Runnable body) {
+        long admittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            record(waitEwmaNanos, startedAt - admittedAt);
+            try {
+                body.run();
+            } finally {
+                long elapsed = System.nanoTime() - startedAt;
+                record(latencyEwmaNanos, elapsed);
+                latencyTimers.get(priority).record(elapsed, TimeUnit.NANOSECONDS);
+                inFlight.get(priority).decrementAndGet();
+            }
+        };
+    }
+
+    /** 받았지만 대기열에 넣지 못한 요청 */
+    public void abandon(Priority priority) {
+        inFlight.get(priority).decrementAndGet();
+    }
+
+    public int inFlight(Priority priority) {
+        return inFlight.get(priority).get();
+    }
+
+    private boolean admissible(Priority priority) {
+        int total = totalInFlight();
+        if (total == 0) {
+            // 쌓인 것이 없으면 대기도 없다 — 버리기만 해서 EWMA 가 갱신되지 않는 상태를 풀어 준다.
+            waitEwmaNanos.set(0);
+            return true;
+        }
+        long wait = waitEwmaNanos.get();
+        return switch (priority) {
+            case EVENT -> true;
+            case REQUEST -> total < requestMaxInFlight && wait < targetWaitNanos * 4;
+            case POLL -> total < pollMaxInFlight && wait < targetWaitNanos;
+        };
+    }
+
+    private int totalInFlight() {
+        int total = 0;
+        for (AtomicInteger count : inFlight.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    private static void record(AtomicLong ewma, long sampleNanos) {
+        ewma.accumulateAndGet(sampleNanos, (prev, sample) ->
+                prev == 0 ? sample : (long) (prev + ALPHA * (sample - prev)));
+    }
+}
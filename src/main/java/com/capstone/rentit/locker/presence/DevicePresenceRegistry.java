@@ -0,0 +1,160 @@
+package com.capstone.rentit.locker.presence;
+
+import com.capstone.rentit.locker.dto.DeviceHealthResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 키오스크 접속 상태 레지스트리
+ *  - 단말이 보내는 heartbeat(와 모든 요청)로 마지막 수신 시각을 갱신하고,
+ *    연결이 끊기면 브로커가 대신 보내는 LWT 로 오프라인 처리한다.
+ *  - heartbeat 나 LWT 를 보낸 적 없는 단말은 끊김을 알 수 없으므로 timeout 을 적용하지 않고
+ *    온라인으로 간주한다 (요청만 보내는 heartbeat 미지원 단말 호환).
+ *  - 오프라인 단말로 가는 상태성 메시지(available)는 단말별로 최신 것 하나만 보관했다가
+ *    다시 접속하면 보낸다. 요청 응답(eligible/event)은 단말이 재접속 후 다시 요청하므로 버린다.
+ */
+@Slf4j
+@Component
+public class DevicePresenceRegistry {
+
+    /**
+     * 단말 한 대의 접속 상태
+     *  - disconnected 는 LWT 수신 후 다음 heartbeat 전까지 true
+     *  - tracked 는 heartbeat/LWT 를 한 번이라도 받은 단말만 true — 이 단말에만 timeout 을 적용한다.
+     */
+    private record Presence(Instant lastSeen, Instant lastOffline, boolean disconnected, boolean tracked) {}
+
+    private final Map<Long, Presence> devices = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Object>> parked = new ConcurrentHashMap<>();
+
+    private final Duration timeout;
+    private final Clock clock;
+    private final Counter suppressedCounter;
+    private final Counter coalescedCounter;
+
+    @Autowired
+    public DevicePresenceRegistry(@Value("${locker.presence.timeout-seconds:90}") long timeoutSeconds,
+                                  MeterRegistry meterRegistry) {
+        this(Duration.ofSeconds(timeoutSeconds), meterRegistry, Clock.systemDefaultZone());
+    }
+
+    DevicePresenceRegistry(Duration timeout, MeterRegistry meterRegistry, Clock clock) {
+        this.timeout = timeout;
+        this.clock = clock;
+        this.suppressedCounter = Counter.builder("locker.presence.suppressed")
+                .description("오프라인 단말이라 보내지 않고 버린 메시지 수")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("locker.presence.coalesced")
+                .description("오프라인 단말이라 최신 상태로 보관한 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("locker.presence.online", this, DevicePresenceRegistry::onlineCount)
+                .description("온라인 단말 수")
+                .register(meterRegistry);
+        Gauge.builder("locker.presence.known", devices, Map::size)
+                .description("접속 기록이 있는 단말 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * heartbeat 또는 요청 수신
+     * @param heartbeat heartbeat 메시지면 true — 이후 이 단말은 timeout 으로 오프라인 판정한다.
+     * @return 오프라인이었다가 다시 온라인이 된 경우 true (보관 메시지 전송 시점)
+     */
+    public boolean seen(Long deviceId, boolean heartbeat) {
+        Instant now = clock.instant();
+        Presence[] before = new Presence[1];
+        devices.compute(deviceId, (id, cur) -> {
+            before[0] = cur;
+            return cur == null
+                    ? new Presence(now, null, false, heartbeat)
+                    : new Presence(now, cur.lastOffline(), false, heartbeat || cur.tracked());
+        });
+        boolean cameBack = before[0] != null && !isOnline(before[0], now);
+        if (cameBack) {
+            log.info("Device {} back online", deviceId);
+        }
+        return cameBack;
+    }
+
+    /** LWT 수신 — 다음 heartbeat 까지 오프라인 */
+    public void disconnected(Long deviceId) {
+        Instant now = clock.instant();
+        devices.compute(deviceId, (id, cur) -> new Presence(cur == null ? null : cur.lastSeen(), now, true, true));
+        log.info("Device {} went offline (LWT)", deviceId);
+    }
+
+    /** 메시지를 보내도 되는지 — 모르는 단말, heartbeat 를 보내지 않는 단말은 true */
+    public boolean isReachable(Long deviceId) {
+        Presence presence = devices.get(deviceId);
+        return presence == null || isOnline(presence, clock.instant());
+    }
+
+    /** 오프라인 단말의 상태성 메시지 — 같은 종류는 최신 것으로 덮어쓴다. */
+    public void park(Long deviceId, String suffix, Object payload) {
+        parked.computeIfAbsent(deviceId, id -> new ConcurrentHashMap<>()).put(suffix, payload);
+        coalescedCounter.increment();
+    }
+
+    /** 오프라인 단말의 요청 응답 — 보관하지 않는다. */
+    public void suppress(Long deviceId, String suffix) {
+        suppressedCounter.increment();
+        log.debug("Device {} offline, {} message dropped", deviceId, suffix);
+    }
+
+    /** 보관 중인 메시지를 꺼낸다 (suffix → payload) */
+    public Map<String, Object> takeParked(Long deviceId) {
+        Map<String, Object> messages = parked.remove(deviceId);
+        return messages == null ? Map.of() : new LinkedHashMap<>(messages);
+    }
+
+    /** 접속 기록이 있는 단말의 상태 (deviceId 오름차순) */
+    public List<DeviceHealthResponse> health() {
+        Instant now = clock.instant();
+        return devices.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(e -> {
+                    Map<String, Object> messages = parked.get(e.getKey());
+                    return new DeviceHealthResponse(
+                            e.getKey(),
+                            isOnline(e.getValue(), now),
+                            toLocal(e.getValue().lastSeen()),
+                            toLocal(e.getValue().lastOffline()),
+                            messages == null ? 0 : messages.size());
+                })
+                .toList();
+    }
+
+    private int onlineCount() {
+        Instant now = clock.instant();
+        return (int) devices.values().stream().filter(p -> isOnline(p, now)).count();
+    }
+
+    private boolean isOnline(Presence presence, Instant now) {
+        if (presence.disconnected()) {
+            return false;
+        }
+        if (!presence.tracked()) {
+            return true;
+        }
+        return presence.lastSeen() != null && now.isBefore(presence.lastSeen().plus(timeout));
+    }
+
+    private LocalDateTime toLocal(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, clock.getZone());
+    }
+}
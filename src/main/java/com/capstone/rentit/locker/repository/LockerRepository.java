@@ -1,14 +1,40 @@
 package com.capstone.rentit.locker.repository;
 
 import com.capstone.rentit.locker.domain.Locker;
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface LockerRepository extends JpaRepository<Locker, Long>, CustomLockerRepository {
     @Query("select max(l.lockerId) from Locker l where l.deviceId = :deviceId")
     Optional<Long> findMaxLockerIdByDeviceId(@Param("deviceId") Long deviceId);
+
+    /** 사물함 비트맵 구축용 — 엔티티 대신 (deviceId, lockerId, available) 만 조회 */
+    @Query("select new com.capstone.rentit.locker.dto.LockerBriefResponse(l.deviceId, l.lockerId, l.available) " +
+            "from Locker l")
+    List<LockerBriefResponse> findAllBrief();
+
+    /** 대여 엔티티 변경과 같은 트랜잭션에서 호출되므로 영속성 컨텍스트를 비우지 않는다. */
+    @Modifying
+    @Query("update Locker l set l.available = :available " +
+            "where l.deviceId = :deviceId and l.lockerId = :lockerId")
+    int updateAvailability(@Param("deviceId") Long deviceId,
+                           @Param("lockerId") Long lockerId,
+                           @Param("available") boolean available);
+
+    /**
+     * 비어 있는 칸만 사용 중으로 변경 — 칸 배정기는 인스턴스별 메모리 상태이므로 DB 에서 한 번 더 막는다.
+     * @return 0 이면 없는 칸이거나 이미 사용 중
+     */
+    @Modifying
+    @Query("update Locker l set l.available = false " +
+            "where l.deviceId = :deviceId and l.lockerId = :lockerId and l.available = true")
+    int occupyIfAvailable(@Param("deviceId") Long deviceId,
+                          @Param("lockerId") Long lockerId);
 }
 
@@ -1,17 +1,25 @@
 package com.capstone.rentit.locker.service;
 
+import com.capstone.rentit.locker.availability.LockerAvailabilityIndex;
+import com.capstone.rentit.locker.availability.LockerSlotAllocator;
 import com.capstone.rentit.locker.domain.Device;
 import com.capstone.rentit.locker.domain.Locker;
 import com.capstone.rentit.locker.dto.*;
 import com.capstone.rentit.locker.exception.LockerNotFoundException;
+import com.capstone.rentit.locker.exception.LockerUnavailableException;
+import com.capstone.rentit.locker.message.LockerAvailabilityPublisher;
 import com.capstone.rentit.locker.repository.DeviceRepository;
 import com.capstone.rentit.locker.repository.LockerRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -19,6 +27,9 @@ public class LockerService {
 
     private final DeviceRepository deviceRepository;
     private final LockerRepository lockerRepository;
+    private final LockerAvailabilityIndex availabilityIndex;
+    private final LockerAvailabilityPublisher availabilityPublisher;
+    private final LockerSlotAllocator slotAllocator;
 
     public Long registerDevice(DeviceCreateForm form) {
         return deviceRepository.save(Device.createDevice(form)).getDeviceId();
@@ -29,7 +40,10 @@ public class LockerService {
                 .orElse(0L);
         Long nextId = maxId + 1;
 
-        return lockerRepository.save(Locker.createLocker(form, nextId)).getLockerId();
+        Locker saved = lockerRepository.save(Locker.createLocker(form, nextId));
+        availabilityIndex.register(saved.getDeviceId(), saved.getLockerId());
+        slotAllocator.register(saved.getDeviceId(), saved.getLockerId());
+        return saved.getLockerId();
     }
 
     public List<DeviceResponse> searchAll() {
@@ -47,11 +61,76 @@ public class LockerService {
                 .stream().map(LockerResponse::fromEntity).toList();
     }
 
+    /**
+     * 키오스크 available 요청 — 비트맵이 준비되어 있으면 DB 를 거치지 않는다.
+     * 다른 대여에 예약된 칸은 빼고 돌려준다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<LockerBriefResponse> findAvailableLockers(Long deviceId) {
+        Optional<List<LockerBriefResponse>> cached = availabilityIndex.findAvailable(deviceId);
+        if (cached.isPresent()) {
+            return slotAllocator.withoutHeld(deviceId, cached.get());
+        }
         LockerSearchForm form = new LockerSearchForm(deviceId, true);
         List<Locker> list = lockerRepository.search(form);
         return list.stream()
                 .map(l -> new LockerBriefResponse(l.getDeviceId(), l.getLockerId(), l.isAvailable()))
                 .toList();
     }
+
+    /**
+     * 맡기기용 available 요청 — 서버가 칸 하나를 예약해 그 칸만 돌려준다.
+     * 배정할 수 없는 상태(색인 준비 전)면 기존처럼 사용 가능 목록 전체를 돌려준다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<LockerBriefResponse> findAvailableLockers(Long deviceId, Long rentalId) {
+        if (rentalId == null || !availabilityIndex.isReady()) {
+            return findAvailableLockers(deviceId);
+        }
+        Optional<Long> reserved = slotAllocator.reserve(deviceId, rentalId);
+        // 예약된 칸이 다른 키오스크 목록에서 빠지도록 push 한다.
+        reserved.ifPresent(lockerId -> availabilityPublisher.markDirty(deviceId));
+        return reserved
+                .map(lockerId -> List.of(new LockerBriefResponse(deviceId, lockerId, true)))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * 물건이 들어간 칸 — 예약 확정 후 사용 불가로 변경
+     * DB 에서 이미 사용 중인 칸이면(다른 인스턴스가 먼저 배정 등) 예외로 롤백해 예약 확정을 되돌린다.
+     */
+    public void occupy(Long deviceId, Long lockerId, Long rentalId) {
+        if (deviceId == null || lockerId == null) {
+            return;
+        }
+        if (!slotAllocator.confirm(deviceId, lockerId, rentalId)) {
+            throw new LockerUnavailableException("이미 사용 중이거나 다른 대여에 배정된 사물함입니다.");
+        }
+        if (lockerRepository.occupyIfAvailable(deviceId, lockerId) == 0) {
+            slotAllocator.markOccupied(deviceId, lockerId);
+            throw new LockerUnavailableException("이미 사용 중이거나 다른 대여에 배정된 사물함입니다.");
+        }
+        availabilityIndex.update(deviceId, lockerId, false);
+        availabilityPublisher.markDirty(deviceId);
+    }
+
+    /** 물건을 꺼낸 칸 — 사용 가능으로 변경 */
+    public void release(Long deviceId, Long lockerId) {
+        changeAvailability(deviceId, lockerId, true);
+        if (deviceId != null && lockerId != null) {
+            slotAllocator.release(deviceId, lockerId);
+        }
+    }
+
+    private void changeAvailability(Long deviceId, Long lockerId, boolean available) {
+        if (deviceId == null || lockerId == null) {
+            return;
+        }
+        if (lockerRepository.updateAvailability(deviceId, lockerId, available) == 0) {
+            log.warn("Locker ({}, {}) not found while changing availability", deviceId, lockerId);
+            return;
+        }
+        availabilityIndex.update(deviceId, lockerId, available);
+        availabilityPublisher.markDirty(deviceId);
+    }
 }
@@ -15,5 +15,11 @@ public interface MemberRepository extends JpaRepository<Member, Long>, CustomMem
     @Query("update Member m set m.fcmToken = :token where m.memberId = :memberId")
     void updateFcmToken(@Param("memberId") Long memberId,
                        @Param("token") String token);
+
+    /** 만료된 토큰 정리 — 그 사이 새 토큰으로 갱신된 회원은 건드리지 않는다. */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Member m set m.fcmToken = null where m.memberId = :memberId and m.fcmToken = :token")
+    int clearFcmToken(@Param("memberId") Long memberId,
+                      @Param("token") String token);
 }
 
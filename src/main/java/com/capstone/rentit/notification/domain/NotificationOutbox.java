@@ -0,0 +1,123 @@
+package com.capstone.rentit.notification.domain;
+
+import com.capstone.rentit.notification.dto.PushMessage;
+import com.capstone.rentit.notification.type.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 푸시 발송 outbox — 알림 저장과 같은 트랜잭션에서 기록되고,
+ * 커밋 이후 NotificationDispatcher 가 배치로 발송한다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "notification_outbox",
+        indexes = {
+                @Index(name = "idx_outbox_status_next", columnList = "status, nextAttemptAt")
+        }
+)
+public class NotificationOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long targetId;                  // 알림 대상 회원 ID
+
+    @Column(nullable = false)
+    private String token;                   // FCM 디바이스 토큰
+
+    @Column(nullable = false, length = 60)
+    private String title;
+
+    @Column(nullable = false, length = 255)
+    private String body;
+
+    @Convert(converter = StringMapConverter.class)
+    @Column(length = 1000)
+    private Map<String, String> data;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    public static NotificationOutbox pending(Long targetId, String token, String title, String body,
+                                             Map<String, String> data) {
+        LocalDateTime now = LocalDateTime.now();
+        return NotificationOutbox.builder()
+                .targetId(targetId)
+                .token(token)
+                .title(title)
+                .body(body)
+                .data(data)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    /** 발송 선점 — leaseUntil 까지 다른 디스패처가 가져가지 않는다. 그 전에 결과가 반영되지 않으면 다시 선점된다. */
+    public void claim(LocalDateTime leaseUntil) {
+        this.status = OutboxStatus.IN_FLIGHT;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.status = OutboxStatus.SENT;
+        this.attempts++;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    /** 실패 기록 — 한도 미만이면 nextAttemptAt 이후 재시도, 한도에 도달하면 DEAD */
+    public void markFailed(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = truncate(error);
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.DEAD;
+        } else {
+            this.status = OutboxStatus.PENDING;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+    }
+
+    /** 재시도해도 성공할 수 없는 실패 (토큰 만료 등) */
+    public void markDead(String error) {
+        this.attempts++;
+        this.lastError = truncate(error);
+        this.status = OutboxStatus.DEAD;
+    }
+
+    public PushMessage toPushMessage() {
+        return new PushMessage(targetId, token, title, body, data);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH
+                ? error
+                : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,48 @@
+package com.capstone.rentit.notification.domain;
+
+import com.capstone.rentit.notification.type.NotificationType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대여 기한 알림 발송 이력 — (rentalId, type) 당 한 번만 발송되도록 기록한다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "rental_alert_ledger",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_rental_alert_rental_type", columnNames = {"rental_id", "type"})
+        }
+)
+public class RentalAlertLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rental_id", nullable = false)
+    private Long rentalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private NotificationType type;
+
+    private LocalDateTime sentAt;
+
+    public static RentalAlertLedger of(Long rentalId, NotificationType type) {
+        return RentalAlertLedger.builder()
+                .rentalId(rentalId)
+                .type(type)
+                .sentAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.capstone.rentit.notification.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+
+/** FCM data payload(Map) ↔ JSON 문자열 컬럼 */
+@Converter
+public class StringMapConverter implements AttributeConverter<Map<String, String>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> TYPE = new TypeReference<>() {};
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> attribute) {
+        if (attribute == null || attribute.isEmpty()) return null;
+        try {
+            return MAPPER.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("알림 data 직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isEmpty()) return Map.of();
+        try {
+            return MAPPER.readValue(dbData, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("알림 data 역직렬화 실패", e);
+        }
+    }
+}
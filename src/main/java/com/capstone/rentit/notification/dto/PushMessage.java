@@ -0,0 +1,5 @@
+package com.capstone.rentit.notification.dto;
+
+import java.util.Map;
+
+public record PushMessage(Long targetId, String token, String title, String body, Map<String, String> data) {}
@@ -0,0 +1,16 @@
+package com.capstone.rentit.notification.dto;
+
+/**
+ * 메시지 단위 발송 결과
+ * @param unregistered 토큰이 더 이상 유효하지 않음 (앱 삭제 등) → 재시도 없이 토큰 정리 대상
+ */
+public record PushResult(boolean success, String messageId, String error, boolean unregistered) {
+
+    public static PushResult sent(String messageId) {
+        return new PushResult(true, messageId, null, false);
+    }
+
+    public static PushResult failed(String error, boolean unregistered) {
+        return new PushResult(false, null, error, unregistered);
+    }
+}
@@ -0,0 +1,34 @@
+package com.capstone.rentit.notification.repository;
+
+import com.capstone.rentit.notification.domain.NotificationOutbox;
+import com.capstone.rentit.notification.type.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * 발송 가능한 outbox 잠금 조회 — 다른 인스턴스가 잠근 행은 건너뛴다 (FOR UPDATE SKIP LOCKED).
+     * 호출자는 같은 트랜잭션에서 행을 선점(IN_FLIGHT)해 커밋해야 한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select o from NotificationOutbox o
+             where o.status in :statuses
+               and o.nextAttemptAt <= :now
+             order by o.id
+            """)
+    List<NotificationOutbox> findClaimable(Collection<OutboxStatus> statuses, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,21 @@
+package com.capstone.rentit.notification.repository;
+
+import com.capstone.rentit.notification.domain.RentalAlertLedger;
+import com.capstone.rentit.rental.status.RentalStatusEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+public interface RentalAlertLedgerRepository extends JpaRepository<RentalAlertLedger, Long> {
+
+    /** 끝난(doneStatuses) 대여와 삭제된 대여의 발송 이력 정리 — 알림 대상 조회에 다시 걸리지 않으므로 남길 필요가 없다. */
+    @Transactional
+    @Modifying
+    @Query("delete from RentalAlertLedger l where not exists (" +
+            "select 1 from Rental r where r.rentalId = l.rentalId and r.status not in :doneStatuses)")
+    int pruneFinished(@Param("doneStatuses") Collection<RentalStatusEnum> doneStatuses);
+}
@@ -0,0 +1,21 @@
+package com.capstone.rentit.notification.scheduler;
+
+import com.capstone.rentit.notification.service.NotificationDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 커밋 직후 trigger 를 놓쳤거나(재기동 등) 재시도 시각이 된 outbox 를 주기적으로 발송한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxPoller {
+
+    private final NotificationDispatcher dispatcher;
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        dispatcher.trigger();
+    }
+}
@@ -1,80 +1,128 @@
 package com.capstone.rentit.notification.scheduler;
 
+import com.capstone.rentit.member.domain.Member;
+import com.capstone.rentit.notification.domain.RentalAlertLedger;
+import com.capstone.rentit.notification.repository.RentalAlertLedgerRepository;
 import com.capstone.rentit.notification.service.NotificationService;
 import com.capstone.rentit.notification.type.NotificationType;
+import com.capstone.rentit.rental.domain.Rental;
 import com.capstone.rentit.rental.repository.RentalRepository;
 import com.capstone.rentit.rental.status.RentalStatusEnum;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
+/**
+ * 대여 시작/반납 기한 알림
+ *  - 대상 조회 시 상태 필터와 발송 이력(RentalAlertLedger) 제외를 쿼리에서 처리하므로
+ *    같은 대여에 같은 종류의 알림은 한 번만 나간다.
+ *  - 대여 한 건마다 별도 트랜잭션에서 이력을 먼저 기록(선점)하고 알림(outbox 포함)을 저장한다.
+ *    다른 인스턴스가 먼저 기록해 유니크 제약에 걸리면 이미 발송된 것으로 보고 건너뛰며,
+ *    한 건의 실패가 다른 알림을 롤백하지 않는다.
+ *  - 끝난 대여의 이력은 주기적으로 정리한다.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RentalDeadlineNotifier {
 
+    /** 다시 알림 대상(APPROVED / PICKED_UP)이 될 수 없는 상태 */
+    private static final List<RentalStatusEnum> DONE_STATUSES =
+            List.of(RentalStatusEnum.COMPLETED, RentalStatusEnum.CANCELLED, RentalStatusEnum.REJECTED);
+
     private final RentalRepository rentalRepository;
+    private final RentalAlertLedgerRepository alertLedgerRepository;
     private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    public RentalDeadlineNotifier(RentalRepository rentalRepository,
+                                  RentalAlertLedgerRepository alertLedgerRepository,
+                                  NotificationService notificationService,
+                                  PlatformTransactionManager transactionManager) {
+        this.rentalRepository = rentalRepository;
+        this.alertLedgerRepository = alertLedgerRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Scheduled(cron = "0 */3 * * * *", zone = "Asia/Seoul")
 //    @Scheduled(cron = "0 10 0 * * *", zone = "Asia/Seoul")
-    @Transactional
     public void sendStartAndEndAlerts() {
-        log.info("Rental Deadline Notifier Start");
-
         LocalDate today = LocalDate.now();
         LocalDate d3 = today.plusDays(3);
 
+        int sent = 0;
+
         // 대여 시작 3일 전 & 당일 → 소유자
-        rentalRepository.findByStartDateBetween(d3.atStartOfDay(), d3.atTime(LocalTime.MAX))
-                .stream()
-                .filter(r -> r.getStatus() == RentalStatusEnum.APPROVED)
-                .forEach(r -> notificationService.notify(
-                        r.getItem().getOwner(),
-                        NotificationType.RENT_START_D_3,
-                        "대여 시작 D-3",
-                        r.getItem().getName() + " 대여가 3일 후 시작됩니다.",
-                        Map.of("rentalId", r.getRentalId().toString())
-                ));
+        sent += alert(rentalRepository.findStartAlertTargets(RentalStatusEnum.APPROVED,
+                        d3.atStartOfDay(), d3.atTime(LocalTime.MAX), NotificationType.RENT_START_D_3),
+                NotificationType.RENT_START_D_3, r -> r.getItem().getOwner(),
+                "대여 시작 D-3", r -> r.getItem().getName() + " 대여가 3일 후 시작됩니다.");
 
-        rentalRepository.findByStartDateBetween(today.atStartOfDay(), today.atTime(LocalTime.MAX))
-                .stream()
-                .filter(r -> r.getStatus() == RentalStatusEnum.APPROVED)
-                .forEach(r -> notificationService.notify(
-                        r.getItem().getOwner(),
-                        NotificationType.RENT_START_D_0,
-                        "대여 시작일!",
-                        r.getItem().getName() + " 대여가 오늘부터 시작됩니다.",
-                        Map.of("rentalId", r.getRentalId().toString())
-                ));
+        sent += alert(rentalRepository.findStartAlertTargets(RentalStatusEnum.APPROVED,
+                        today.atStartOfDay(), today.atTime(LocalTime.MAX), NotificationType.RENT_START_D_0),
+                NotificationType.RENT_START_D_0, r -> r.getItem().getOwner(),
+                "대여 시작일!", r -> r.getItem().getName() + " 대여가 오늘부터 시작됩니다.");
 
         // 대여 마감 3일 전 & 당일 → 대여자
-        rentalRepository.findByDueDateBetween(d3.atStartOfDay(), d3.atTime(LocalTime.MAX))
-                .stream()
-                .filter(r -> r.getStatus() == RentalStatusEnum.PICKED_UP)
-                .forEach(r -> notificationService.notify(
-                        r.getRenterMember(),
-                        NotificationType.RENT_END_D_3,
-                        "반납 D-3",
-                        r.getItem().getName() + " 반납일까지 3일 남았습니다.",
-                        Map.of("rentalId", r.getRentalId().toString())
-                ));
+        sent += alert(rentalRepository.findDueAlertTargets(RentalStatusEnum.PICKED_UP,
+                        d3.atStartOfDay(), d3.atTime(LocalTime.MAX), NotificationType.RENT_END_D_3),
+                NotificationType.RENT_END_D_3, Rental::getRenterMember,
+                "반납 D-3", r -> r.getItem().getName() + " 반납일까지 3일 남았습니다.");
+
+        sent += alert(rentalRepository.findDueAlertTargets(RentalStatusEnum.PICKED_UP,
+                        today.atStartOfDay(), today.atTime(LocalTime.MAX), NotificationType.RENT_END_D_0),
+                NotificationType.RENT_END_D_0, Rental::getRenterMember,
+                "반납 마감일!", r -> r.getItem().getName() + " 오늘까지 반납해야 합니다.");
+
+        if (sent > 0) {
+            log.info("Rental deadline alerts sent: {}", sent);
+        }
+    }
+
+    /** 끝난 대여의 발송 이력 정리 */
+    @Scheduled(fixedDelayString = "${notification.alert-ledger.prune-interval-ms:3600000}")
+    public void pruneAlertLedger() {
+        int pruned = alertLedgerRepository.pruneFinished(DONE_STATUSES);
+        if (pruned > 0) {
+            log.info("Rental alert ledger pruned: {}", pruned);
+        }
+    }
 
-        rentalRepository.findByDueDateBetween(today.atStartOfDay(), today.atTime(LocalTime.MAX))
-                .stream()
-                .filter(r -> r.getStatus() == RentalStatusEnum.PICKED_UP)
-                .forEach(r -> notificationService.notify(
-                        r.getRenterMember(),
-                        NotificationType.RENT_END_D_0,
-                        "반납 마감일!",
-                        r.getItem().getName() + " 오늘까지 반납해야 합니다.",
-                        Map.of("rentalId", r.getRentalId().toString())
-                ));
+    private int alert(List<Rental> targets,
+                      NotificationType type,
+                      Function<Rental, Member> recipient,
+                      String title,
+                      Function<Rental, String> body) {
+        int sent = 0;
+        for (Rental r : targets) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    alertLedgerRepository.saveAndFlush(RentalAlertLedger.of(r.getRentalId(), type));
+                    notificationService.notify(
+                            recipient.apply(r),
+                            type,
+                            title,
+                            body.apply(r),
+                            Map.of("rentalId", r.getRentalId().toString())
+                    );
+                });
+                sent++;
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Rental {} {} alert already sent", r.getRentalId(), type);
+            } catch (RuntimeException e) {
+                // 이력도 롤백되므로 다음 실행에서 다시 시도한다.
+                log.warn("Rental {} {} alert failed: {}", r.getRentalId(), type, e.getMessage());
+            }
+        }
+        return sent;
     }
-}
\ No newline at end of file
+}
@@ -1,39 +1,43 @@
 package com.capstone.rentit.notification.service;
 
+import com.capstone.rentit.notification.dto.PushMessage;
+import com.capstone.rentit.notification.dto.PushResult;
 import com.google.firebase.FirebaseApp;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class FcmService {
+public class FcmService implements PushSender {
+
+    /** FCM sendEach 1회 호출당 최대 메시지 수 */
+    public static final int MAX_BATCH_SIZE = 500;
 
     private final FirebaseApp firebaseApp;
 
     /**
      * 단일 디바이스로 메시지 발송
      */
+    @Override
     public String sendToToken(String token,
                               String title,
                               String body,
                               Map<String, String> data) {
 
-        Message message = Message.builder()
-                .setToken(token)
-                .setNotification(Notification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .build())
-                .putAllData(data)
-                .build();
+        Message message = toMessage(token, title, body, data);
 
         try {
             log.info("send notification");
@@ -43,4 +47,51 @@ public class FcmService {
             throw new IllegalStateException("FCM 전송 실패", e);
         }
     }
+
+    /**
+     * sendEach 로 최대 500건씩 묶어서 발송하고, 메시지별 결과를 순서대로 반환한다.
+     * 묶음 전체가 실패하면 해당 묶음의 메시지는 모두 실패로 기록된다.
+     */
+    @Override
+    public List<PushResult> sendAll(List<PushMessage> messages) {
+        List<PushResult> results = new ArrayList<>(messages.size());
+        FirebaseMessaging messaging = FirebaseMessaging.getInstance(firebaseApp);
+
+        for (int from = 0; from < messages.size(); from += MAX_BATCH_SIZE) {
+            List<PushMessage> chunk = messages.subList(from, Math.min(from + MAX_BATCH_SIZE, messages.size()));
+            List<Message> fcmMessages = chunk.stream()
+                    .map(m -> toMessage(m.token(), m.title(), m.body(), m.data()))
+                    .toList();
+            try {
+                BatchResponse response = messaging.sendEach(fcmMessages);
+                response.getResponses().forEach(r -> results.add(toResult(r)));
+                log.info("send notification batch: {} success, {} failure",
+                        response.getSuccessCount(), response.getFailureCount());
+            } catch (FirebaseMessagingException e) {
+                log.warn("send notification batch fail: {}", e.getMessage());
+                chunk.forEach(m -> results.add(PushResult.failed(e.getMessage(), false)));
+            }
+        }
+        return results;
+    }
+
+    private Message toMessage(String token, String title, String body, Map<String, String> data) {
+        return Message.builder()
+                .setToken(token)
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .putAllData(data == null ? Map.of() : data)
+                .build();
+    }
+
+    private PushResult toResult(SendResponse response) {
+        if (response.isSuccessful()) {
+            return PushResult.sent(response.getMessageId());
+        }
+        FirebaseMessagingException e = response.getException();
+        boolean unregistered = e != null && e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED;
+        return PushResult.failed(e != null ? e.getMessage() : "unknown", unregistered);
+    }
 }
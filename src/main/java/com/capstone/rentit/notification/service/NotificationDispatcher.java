@@ -0,0 +1,163 @@
+package com.capstone.rentit.notification.service;
+
+import com.capstone.rentit.member.repository.MemberRepository;
+import com.capstone.rentit.notification.domain.NotificationOutbox;
+import com.capstone.rentit.notification.dto.PushResult;
+import com.capstone.rentit.notification.repository.NotificationOutboxRepository;
+import com.capstone.rentit.notification.type.OutboxStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * notification_outbox 를 배치 단위로 읽어 푸시를 발송한다.
+ *  - 배치는 PushSender.sendAll 로 한 번에 발송한다 (FCM sendEach, 최대 500건).
+ *  - 발송은 트랜잭션 밖에서 수행하고, 선점/결과 반영만 짧은 트랜잭션으로 처리한다.
+ *  - 조회 트랜잭션에서 행을 잠가(SKIP LOCKED) IN_FLIGHT 로 선점하므로 여러 인스턴스가 같은 건을 보내지 않는다.
+ *    발송 도중 인스턴스가 죽으면 임대(lease-ms)가 끝난 뒤 다른 디스패처가 다시 선점한다.
+ *  - 실패 시 지수 백오프로 재시도하고, 한도를 넘으면 DEAD 로 남긴다.
+ *  - 만료(UNREGISTERED) 토큰은 재시도 없이 DEAD 처리하고 회원의 fcmToken 을 비운다.
+ *  - 모든 발송은 단일 dispatcher 스레드에서 실행되며, 연속 trigger 는 한 번으로 합쳐진다.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final PushSender pushSender;
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+
+    /** 임대가 끝난 IN_FLIGHT 는 발송 도중 죽은 인스턴스의 몫이므로 다시 가져온다. */
+    private static final List<OutboxStatus> CLAIMABLE = List.of(OutboxStatus.PENDING, OutboxStatus.IN_FLIGHT);
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /** 한 배치가 FCM sendEach 한 번에 나가도록 기본값을 FcmService.MAX_BATCH_SIZE 에 맞춘다. */
+    @Value("${notification.outbox.batch-size:500}")
+    private int batchSize = FcmService.MAX_BATCH_SIZE;
+
+    @Value("${notification.outbox.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${notification.outbox.backoff-base-ms:2000}")
+    private long backoffBaseMs = 2000;
+
+    @Value("${notification.outbox.backoff-max-ms:600000}")
+    private long backoffMaxMs = 600_000;
+
+    /** 선점 유지 시간 — FCM 배치 발송 시간보다 충분히 길어야 한다. */
+    @Value("${notification.outbox.lease-ms:300000}")
+    private long leaseMs = 300_000;
+
+    public NotificationDispatcher(NotificationOutboxRepository outboxRepository,
+                                  PushSender pushSender,
+                                  MemberRepository memberRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Qualifier("notificationDispatchExecutor") TaskExecutor executor) {
+        this.outboxRepository = outboxRepository;
+        this.pushSender = pushSender;
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+    }
+
+    /** 발송 요청 — 이미 대기 중인 drain 이 있으면 합쳐진다. */
+    public void trigger() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // 누락분은 다음 poll 에서 처리된다.
+                scheduled.set(false);
+                log.warn("Notification dispatch rejected: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** 발송 가능한 outbox 가 없을 때까지 배치 반복 */
+    void drain() {
+        scheduled.set(false);
+        try {
+            int processed;
+            do {
+                processed = dispatchBatch();
+            } while (processed == batchSize);
+        } catch (Exception e) {
+            log.error("Notification outbox drain failed", e);
+        }
+    }
+
+    /** @return 이번 배치에서 처리한 건수 */
+    int dispatchBatch() {
+        List<NotificationOutbox> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) return 0;
+
+        List<PushResult> results = send(batch);
+
+        List<NotificationOutbox> unregistered = new ArrayList<>();
+        LocalDateTime sentAt = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            NotificationOutbox outbox = batch.get(i);
+            PushResult result = results.get(i);
+            if (result.success()) {
+                outbox.markSent(sentAt);
+            } else if (result.unregistered()) {
+                outbox.markDead(result.error());
+                unregistered.add(outbox);
+            } else {
+                outbox.markFailed(result.error(), sentAt.plus(backoff(outbox.getAttempts() + 1)), maxAttempts);
+                if (outbox.getStatus() == OutboxStatus.DEAD) {
+                    log.warn("Notification outbox {} dead after {} attempts: {}", outbox.getId(), outbox.getAttempts(), result.error());
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.saveAll(batch);
+            unregistered.forEach(o -> memberRepository.clearFcmToken(o.getTargetId(), o.getToken()));
+        });
+        if (!unregistered.isEmpty()) {
+            log.info("Purged {} unregistered FCM tokens", unregistered.size());
+        }
+        return batch.size();
+    }
+
+    /** 발송 가능한 행을 잠그고 IN_FLIGHT 로 선점 — 커밋되면 다른 인스턴스는 임대 만료 전까지 보지 못한다. */
+    private List<NotificationOutbox> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> batch = outboxRepository.findClaimable(
+                CLAIMABLE, now, PageRequest.of(0, batchSize));
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+        batch.forEach(o -> o.claim(leaseUntil));
+        return batch;
+    }
+
+    /** 메시지별 결과 — 발송기 자체가 실패하면 배치 전체를 실패로 본다. */
+    private List<PushResult> send(List<NotificationOutbox> batch) {
+        try {
+            return pushSender.sendAll(batch.stream().map(NotificationOutbox::toPushMessage).toList());
+        } catch (Exception e) {
+            log.warn("Notification batch send failed: {}", e.getMessage());
+            return batch.stream().map(o -> PushResult.failed(e.getMessage(), false)).toList();
+        }
+    }
+
+    /** attempt 번째 실패 후 대기 시간: base * 2^(attempt-1), 최대 backoffMaxMs */
+    Duration backoff(int attempt) {
+        long delay = backoffBaseMs << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(delay, backoffMaxMs));
+    }
+}
@@ -0,0 +1,37 @@
+package com.capstone.rentit.notification.service;
+
+import com.capstone.rentit.notification.domain.NotificationOutbox;
+import com.capstone.rentit.notification.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * 푸시 발송을 호출자 트랜잭션 안에서 outbox 에 기록만 하고,
+ * 실제 발송은 커밋 이후 NotificationDispatcher 에 맡긴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationDispatcher dispatcher;
+
+    public void enqueue(Long targetId, String token, String title, String body, Map<String, String> data) {
+        outboxRepository.save(NotificationOutbox.pending(targetId, token, title, body, data));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.trigger();
+                }
+            });
+        } else {
+            dispatcher.trigger();
+        }
+    }
+}
@@ -35,7 +35,7 @@ public class NotificationService {
     private final MemberRepository memberRepository;
     private final RentalRepository rentalRepository;
     private final DeviceRepository deviceRepository;
-    private final FcmService fcmService;
+    private final NotificationOutboxService notificationOutbox;
 
     public Page<NotificationDto> findByTarget(MemberDto memberDto, Pageable pageable) {
         Member target = memberRepository.findById(memberDto.getMemberId()).orElse(null);
@@ -188,10 +188,9 @@ public class NotificationService {
 
         notificationRepository.save(noti);
 
-        // 2) FCM 전송
+        // 2) FCM 전송 예약 — 같은 트랜잭션에 outbox 로 기록하고, 실제 발송은 커밋 이후 비동기로 처리
         if (target.getFcmToken() != null) {
-            log.info("sendToToken start");
-            fcmService.sendToToken(target.getFcmToken(), title, body, data);
+            notificationOutbox.enqueue(target.getMemberId(), target.getFcmToken(), title, body, data);
         }
     }
 
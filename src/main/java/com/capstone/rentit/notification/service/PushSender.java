@@ -0,0 +1,36 @@
+package com.capstone.rentit.notification.service;
+
+import com.capstone.rentit.notification.dto.PushMessage;
+import com.capstone.rentit.notification.dto.PushResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 단일 디바이스 푸시 발송 — 운영은 FcmService, 테스트는 로컬 대체 구현을 사용한다.
+ */
+public interface PushSender {
+
+    /**
+     * @return 발송 메시지 ID
+     * @throws RuntimeException 발송 실패 시
+     */
+    String sendToToken(String token, String title, String body, Map<String, String> data);
+
+    /**
+     * 여러 메시지 일괄 발송
+     * @return messages 와 같은 순서의 메시지별 결과 (예외를 던지지 않는다)
+     */
+    default List<PushResult> sendAll(List<PushMessage> messages) {
+        List<PushResult> results = new ArrayList<>(messages.size());
+        for (PushMessage m : messages) {
+            try {
+                results.add(PushResult.sent(sendToToken(m.token(), m.title(), m.body(), m.data())));
+            } catch (RuntimeException e) {
+                results.add(PushResult.failed(e.getMessage(), false));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,8 @@
+package com.capstone.rentit.notification.type;
+
+public enum OutboxStatus {
+    PENDING,    // 발송 대기 (재시도 포함)
+    IN_FLIGHT,  // 디스패처가 선점해 발송 중 — nextAttemptAt(임대 만료) 이 지나면 다시 선점 가능
+    SENT,       // 발송 완료
+    DEAD        // 재시도 한도 초과 → 수동 확인 대상
+}
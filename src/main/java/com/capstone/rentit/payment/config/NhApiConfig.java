@@ -0,0 +1,65 @@
+package com.capstone.rentit.payment.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * NH 오픈API 전용 HTTP 클라이언트
+ *  - keep-alive 연결 풀(상한 고정) — 매 이체마다 TCP/TLS 연결을 새로 맺지 않는다.
+ *  - 풀이 가득 차면 lease-timeout 만큼만 기다리고 실패한다 (요청이 무한정 쌓이지 않게).
+ *  - 응답 타임아웃은 엔드포인트별로 요청마다 지정한다.
+ *  - 재시도는 HttpClient 가 아니라 NhApiClient 의 재시도 예산으로만 한다.
+ */
+@Configuration
+public class NhApiConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient nhHttpClient(NhApiProperties prop) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(prop.getMaxConnections())
+                .setMaxConnPerRoute(prop.getMaxConnections())   // NH 호스트 하나뿐
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(prop.getConnectTimeoutMs()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(prop.getIdleEvictSeconds()))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate nhRestTemplate(RestTemplateBuilder builder,
+                                       CloseableHttpClient nhHttpClient,
+                                       NhApiProperties prop) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(nhHttpClient);
+        factory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.ofMilliseconds(prop.getLeaseTimeoutMs()))
+                    .setResponseTimeout(Timeout.ofMilliseconds(prop.responseTimeoutMs(uri.getPath())))
+                    .build());
+            return context;
+        });
+
+        return builder
+                .requestFactory(() -> factory)
+                .build();
+    }
+}
@@ -10,6 +10,9 @@ public class NhApiProperties {
 
     public record SvcCodes(String drawing, String deposit) {}
 
+    public static final String DRAWING_TRANSFER_PATH = "/DrawingTransfer.nh";
+    public static final String DEPOSIT_PATH = "/ReceivedTransferAccountNumber.nh";
+
     @Value("${nhapi.base-url}")        private String baseUrl;
     @Value("${nhapi.iscd}")            private String iscd;
     @Value("${nhapi.fintech-aps-no}")  private String fintechApsNo;
@@ -17,7 +20,29 @@ public class NhApiProperties {
     @Value("${nhapi.svc-codes.drawing}") private String drawing;
     @Value("${nhapi.svc-codes.deposit}") private String deposit;
 
+    /* 연결 풀 — NH 전용, 다른 외부 API 와 공유하지 않는다 */
+    @Value("${nhapi.pool.max-connections:20}")   private int maxConnections;
+    @Value("${nhapi.pool.idle-evict-seconds:30}") private long idleEvictSeconds;
+    @Value("${nhapi.pool.lease-timeout-ms:500}")  private long leaseTimeoutMs;   // 풀이 가득 찼을 때 연결을 기다리는 최대 시간
+
+    /* 타임아웃 — 엔드포인트별 응답 대기 */
+    @Value("${nhapi.timeouts.connect-ms:1000}")  private long connectTimeoutMs;
+    @Value("${nhapi.timeouts.drawing-ms:5000}")  private long drawingTimeoutMs;
+    @Value("${nhapi.timeouts.deposit-ms:5000}")  private long depositTimeoutMs;
+
+    /* 재시도 — 요청이 NH 에 닿지 않은 실패만 */
+    @Value("${nhapi.retry.max-attempts:3}")  private int retryMaxAttempts;
+    @Value("${nhapi.retry.backoff-ms:100}")  private long retryBackoffMs;
+
     public SvcCodes getSvcCodes() {
         return new SvcCodes(drawing, deposit);
     }
+
+    /** 경로별 응답 타임아웃(ms) */
+    public long responseTimeoutMs(String path) {
+        if (path != null && path.endsWith(DEPOSIT_PATH)) {
+            return depositTimeoutMs;
+        }
+        return drawingTimeoutMs;
+    }
 }
@@ -7,7 +7,10 @@ import com.capstone.rentit.payment.dto.AccountRegisterRequest;
 import com.capstone.rentit.payment.dto.PaymentSearchForm;
 import com.capstone.rentit.payment.dto.TopUpRequest;
 import com.capstone.rentit.payment.dto.WithdrawRequest;
+import com.capstone.rentit.payment.service.PaymentIdempotencyService;
 import com.capstone.rentit.payment.service.PaymentService;
+import com.capstone.rentit.payment.service.PaymentTransferSaga;
+import com.capstone.rentit.payment.type.PaymentType;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,7 +21,11 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PaymentController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final PaymentService walletPaymentService;
+    private final PaymentIdempotencyService idempotencyService;
+    private final PaymentTransferSaga transferSaga;
 
     @PreAuthorize("hasRole('USER')")
     @PostMapping("/wallet")
@@ -32,21 +39,26 @@ public class PaymentController {
         return CommonResponse.success(walletPaymentService.getAccount(memberDto.getMemberId()));
     }
 
-    /** 지갑 충전 (현금 → 포인트) */
+    /** 지갑 충전 (현금 → 포인트) — 같은 Idempotency-Key 의 재요청은 처음 결과를 돌려준다. */
     @PreAuthorize("hasRole('USER')")
     @PostMapping("/wallet/top-up")
     public CommonResponse<?> topUp(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody @Valid TopUpRequest request) {
-        return CommonResponse.success(walletPaymentService.topUp(request));
+        return CommonResponse.success(idempotencyService.execute(idempotencyKey,
+                PaymentType.TOP_UP, request.memberId(), request.amount(),
+                () -> walletPaymentService.beginTopUp(request), transferSaga::settle));
     }
 
-    /** 지갑 인출 (포인트 → 현금) */
+    /** 지갑 인출 (포인트 → 현금) — 같은 Idempotency-Key 의 재요청은 처음 결과를 돌려준다. */
     @PreAuthorize("hasRole('USER')")
     @PostMapping("/wallet/withdraw")
     public CommonResponse<?> withdraw(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody @Valid WithdrawRequest request) {
-        return CommonResponse.success(walletPaymentService.withdraw(request));
-
+        return CommonResponse.success(idempotencyService.execute(idempotencyKey,
+                PaymentType.WITHDRAWAL, request.memberId(), request.amount(),
+                () -> walletPaymentService.beginWithdraw(request), transferSaga::settle));
     }
 
     @PreAuthorize("hasRole('USER')")
@@ -45,6 +45,9 @@ public class Payment {
 
     private Long paymentRentalId;
 
+    /** PENDING 결제를 NH 에 다시 확인한 횟수 */
+    private int recoveryAttempts;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "rental_id")
     private Rental rental;
@@ -61,6 +64,37 @@ public class Payment {
                 .build();
     }
 
+    /**
+     * NH 이체 결제 — PENDING 으로 저장하고, ID 가 생기면 assignIstuno 로 보낼 기관거래고유번호를 남긴다.
+     * 결과를 모르게 되면 같은 번호로 다시 보내 확인한다.
+     */
+    public static Payment pending(PaymentType type, Long fromId, Long toId, long amount) {
+        return Payment.builder()
+                .type(type)
+                .status(PaymentStatus.PENDING)
+                .fromMemberId(fromId)
+                .toMemberId(toId)
+                .amount(amount)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public void assignIstuno(String istuno) {
+        this.istuno = istuno;
+    }
+
+    public boolean isPending() {
+        return status == PaymentStatus.PENDING;
+    }
+
+    public void fail() {
+        this.status = PaymentStatus.FAILED;
+    }
+
+    public int recordRecoveryAttempt() {
+        return ++recoveryAttempts;
+    }
+
     public void approve(String istuno) {
         this.status = PaymentStatus.APPROVED;
         this.istuno = istuno;
@@ -0,0 +1,72 @@
+package com.capstone.rentit.payment.domain;
+
+import com.capstone.rentit.payment.type.PaymentType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 충전/인출 요청의 Idempotency-Key
+ *  - 처리 시작 시 paymentId 없이 먼저 저장(선점)하고, 결제와 같은 트랜잭션에서 paymentId 를 채운다.
+ *  - 같은 키의 재요청은 NH 를 다시 부르지 않고 저장된 paymentId 를 돌려받는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "payment_idempotency_key",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_idempotency_scoped_key", columnNames = "scoped_key"),
+        indexes = @Index(name = "idx_payment_idempotency_created_at", columnList = "created_at")
+)
+public class PaymentIdempotencyKey {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** {type}:{memberId}:{Idempotency-Key} */
+    @Column(nullable = false, length = 160)
+    private String scopedKey;
+
+    @Enumerated(EnumType.STRING) @Column(nullable = false)
+    private PaymentType type;
+
+    @Column(nullable = false)
+    private Long memberId;
+
+    @Column(nullable = false)
+    private long amount;
+
+    private Long paymentId;          // null 이면 처리 중
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    public static PaymentIdempotencyKey claim(String scopedKey, PaymentType type, Long memberId, long amount) {
+        return PaymentIdempotencyKey.builder()
+                .scopedKey(scopedKey)
+                .type(type)
+                .memberId(memberId)
+                .amount(amount)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public void complete(Long paymentId) {
+        this.paymentId = paymentId;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+
+    /** 같은 키로 다른 금액을 보내면 재시도가 아니라 다른 요청이다. */
+    public boolean matches(PaymentType type, long amount) {
+        return this.type == type && this.amount == amount;
+    }
+}
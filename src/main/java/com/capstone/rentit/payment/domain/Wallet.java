@@ -18,7 +18,7 @@ public class Wallet {
     private Long memberId;
 
     @Column(nullable = false)
-    private long balance;
+    private long balance;         // 원장 스냅샷 잔액 — 실제 잔액은 WalletRepository.findBalance
 
     @Column(length = 24)          // 핀어카운트 24자리
     private String finAcno;       // 사용자 계좌(핀어카운트)
@@ -44,17 +44,13 @@ public class Wallet {
             throw new AccountConsentExpiredException("핀-어카운트 동의가 만료되었습니다. 다시 연결해 주세요.");
     }
 
-    public void deposit(long amount) {
-        if (amount <= 0) throw new IllegalArgumentException("amount should > 0");
-        balance += amount;
+    /** 원장 압축 — 압축한 항목들의 합을 스냅샷 잔액에 반영한다. */
+    public void fold(long delta) {
+        balance += delta;
     }
 
-    public void withdraw(long amount) {
-        checkBalance(amount);
-        balance -= amount;
-    }
-
-    public void checkBalance(long amount) {
+    /** 조회한 잔액으로 결제 가능 여부 확인 */
+    public static void assertSufficient(long balance, long amount) {
         if (amount < 0) throw new IllegalArgumentException("amount show >= 0");
         if (balance < amount) throw new InsufficientBalanceException("잔액이 부족합니다. 현재 잔액: " + balance + " 결제 금액" + amount);
     }
@@ -0,0 +1,58 @@
+package com.capstone.rentit.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 지갑 원장 (append-only)
+ *  - 입금은 양수, 출금은 음수 금액으로 한 행씩 추가만 한다. 금액은 바꾸지 않는다.
+ *  - 잔액 = Wallet.balance(스냅샷) + 아직 압축되지 않은(compactedAt == null) 항목의 합
+ *  - 압축기가 항목을 스냅샷에 반영하면 compactedAt 만 채운다 — 행은 감사 기록으로 남는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "wallet_ledger_entry",
+        indexes = {
+                @Index(name = "idx_ledger_member_compacted", columnList = "member_id, compacted_at"),
+                @Index(name = "idx_ledger_payment", columnList = "payment_id")
+        }
+)
+public class WalletLedgerEntry {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long memberId;
+
+    @Column(nullable = false)
+    private long amount;             // 입금 +, 출금 -
+
+    private Long paymentId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime compactedAt;
+
+    /** 입금 항목 — 출금은 잔액 조건이 필요하므로 WalletLedgerRepository.appendDebit 으로만 추가한다. */
+    public static WalletLedgerEntry credit(Long memberId, long amount, Long paymentId) {
+        if (amount <= 0) throw new IllegalArgumentException("amount should > 0");
+        return WalletLedgerEntry.builder()
+                .memberId(memberId)
+                .amount(amount)
+                .paymentId(paymentId)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public void markCompacted(LocalDateTime at) {
+        this.compactedAt = at;
+    }
+}
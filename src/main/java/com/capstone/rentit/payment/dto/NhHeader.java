@@ -1,11 +1,12 @@
 package com.capstone.rentit.payment.dto;
 
 import com.capstone.rentit.payment.config.NhApiProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Builder
 public record NhHeader(
@@ -16,19 +17,30 @@ public record NhHeader(
         String FintechApsno, //핀테크 앱 일련번호
         String ApiSvcCd,   // API 서비스 코드
         String IsTuno,     // 기관 거래고유번호
-        String AccessToken // 인증키
+        String AccessToken, // 인증키
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String Rpcd,       // 응답코드 (응답에만, 00000 = 정상)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String Rsms        // 응답메시지 (응답에만)
 ) {
-    /* 전역 순번(동시성 안전) */
-    private static final AtomicInteger SEQ = new AtomicInteger();
+    public static final String SUCCESS_RPCD = "00000";
 
-    public static NhHeader create(String apiNm, String svcCd, NhApiProperties prop) {
+    /**
+     * 기관거래고유번호 — 결제일 + 결제 ID (20자리)
+     * NH 는 같은 번호를 한 번만 처리하고 중복으로 응답한다. 재시작/여러 인스턴스에서도 겹치지 않도록
+     * 메모리 순번이 아닌 DB 결제 ID 로 만든다.
+     */
+    public static String isTunoOf(LocalDate paymentDate, long paymentId) {
+        return paymentDate.format(DateTimeFormatter.BASIC_ISO_DATE) + String.format("%012d", paymentId);
+    }
+
+    /** isTuno — 결제에 저장해 둔 기관거래고유번호. 다시 보낼 때도 처음 번호를 그대로 쓴다. */
+    public static NhHeader create(String apiNm, String svcCd, String isTuno, NhApiProperties prop) {
 
         LocalDateTime now = LocalDateTime.now();
         String ts = now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         String tm = now.format(DateTimeFormatter.ofPattern("HHmmss"));
 
-        String isTuno = ts + String.format("%010d", SEQ.getAndIncrement());
-
         return NhHeader.builder()
                 .ApiNm(apiNm)
                 .Tsymd(ts)
@@ -40,4 +52,9 @@ public record NhHeader(
                 .AccessToken(prop.getAccessToken())
                 .build();
     }
+
+    /** 정상 응답 여부 — 응답코드가 없으면(구 응답 형식) 정상으로 본다. */
+    public boolean succeeded() {
+        return Rpcd == null || SUCCESS_RPCD.equals(Rpcd);
+    }
 }
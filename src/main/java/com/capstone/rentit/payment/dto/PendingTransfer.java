@@ -0,0 +1,13 @@
+package com.capstone.rentit.payment.dto;
+
+import com.capstone.rentit.payment.type.PaymentType;
+
+// NH 로 보낼(또는 다시 확인할) 이체 — PENDING 결제 기준
+public record PendingTransfer(
+        Long paymentId,
+        PaymentType type,   // TOP_UP | WITHDRAWAL
+        Long memberId,
+        String finAcno,
+        long amount,
+        String istuno       // 결제에 저장해 둔 기관거래고유번호
+) {}
@@ -14,10 +14,10 @@ public record WalletResponse(
         LocalDateTime consentAt,
         LocalDateTime expiresAt
 ) {
-    public static WalletResponse fromEntity(Wallet entity){
+    public static WalletResponse fromEntity(Wallet entity, long balance){
         return WalletResponse.builder()
                 .memberId(entity.getMemberId())
-                .balance(entity.getBalance())
+                .balance(balance)
                 .finAcno(entity.getFinAcno())
                 .bankCode(entity.getBankCode())
                 .consentAt(entity.getConsentAt())
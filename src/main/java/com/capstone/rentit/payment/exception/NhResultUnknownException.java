@@ -0,0 +1,8 @@
+package com.capstone.rentit.payment.exception;
+
+/** NH 가 이체를 처리했는지 알 수 없는 실패 (응답 타임아웃, 5xx 등) — 결제는 PENDING 으로 두고 복구 작업이 확인한다. */
+public class NhResultUnknownException extends ExternalPaymentFailedException {
+    public NhResultUnknownException(String message) {
+        super(message);
+    }
+}
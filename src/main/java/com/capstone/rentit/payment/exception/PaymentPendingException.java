@@ -0,0 +1,7 @@
+package com.capstone.rentit.payment.exception;
+
+public class PaymentPendingException extends RuntimeException {
+    public PaymentPendingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,156 @@
+package com.capstone.rentit.payment.nh;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * NH 호출 차단기
+ *  - CLOSED : 최근 windowSize 건의 결과를 보고, minimumCalls 이상에서 실패율이 임계치를 넘으면 OPEN.
+ *  - OPEN : openDuration 동안 호출 없이 바로 실패한다 — 지갑 잠금/결제 행을 잡은 채 NH 를 기다리지 않게.
+ *  - HALF_OPEN : 시험 호출 한 건만 보내 성공하면 CLOSED, 실패하면 다시 OPEN.
+ * 상태 전이가 드물고 임계 구역이 짧아 synchronized 로 충분하다.
+ */
+@Slf4j
+@Component
+public class NhCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final Counter rejectedCounter;
+    private final Counter openedCounter;
+
+    /* 최근 결과 링 버퍼 (true = 실패) */
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private Instant openUntil = Instant.MIN;
+    private boolean probeInFlight;
+
+    @Autowired
+    public NhCircuitBreaker(@Value("${nhapi.circuit.window-size:20}") int windowSize,
+                            @Value("${nhapi.circuit.minimum-calls:10}") int minimumCalls,
+                            @Value("${nhapi.circuit.failure-rate-percent:50}") int failureRatePercent,
+                            @Value("${nhapi.circuit.open-seconds:30}") long openSeconds,
+                            MeterRegistry meterRegistry) {
+        this(windowSize, minimumCalls, failureRatePercent, Duration.ofSeconds(openSeconds),
+                Clock.systemUTC(), meterRegistry);
+    }
+
+    NhCircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent, Duration openDuration,
+                     Clock clock, MeterRegistry meterRegistry) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRatePercent = failureRatePercent;
+        this.openDuration = openDuration;
+        this.clock = clock;
+        this.rejectedCounter = Counter.builder("nh.api.circuit.rejected")
+                .description("차단기가 열려 보내지 않고 실패한 NH 호출 수")
+                .register(meterRegistry);
+        this.openedCounter = Counter.builder("nh.api.circuit.opened")
+                .description("차단기가 열린 횟수")
+                .register(meterRegistry);
+        Gauge.builder("nh.api.circuit.state", this, b -> b.state().ordinal())
+                .description("NH 차단기 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 호출 직전 — 보내도 되면 true.
+     * true 를 받은 호출은 반드시 {@link #onSuccess()} 나 {@link #onFailure()} 로 결과를 알려야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && !clock.instant().isBefore(openUntil)) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;   // 시험 호출은 한 건만
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /** 잠금/선점 전에 보는 빠른 확인 — 상태를 바꾸거나 시험 호출 자리를 차지하지 않는다. */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> !clock.instant().isBefore(openUntil);
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            log.info("NH circuit closed after successful probe");
+            reset();
+            state = State.CLOSED;
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && failures * 100 >= failureRatePercent * recorded) {
+            open();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) failures++;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        log.warn("NH circuit opened: {}/{} recent calls failed, fail fast for {}s",
+                failures, recorded, openDuration.toSeconds());
+        reset();
+        state = State.OPEN;
+        openUntil = clock.instant().plus(openDuration);
+        openedCounter.increment();
+    }
+
+    private void reset() {
+        Arrays.fill(outcomes, false);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        probeInFlight = false;
+    }
+}
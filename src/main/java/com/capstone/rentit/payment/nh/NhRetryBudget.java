@@ -0,0 +1,59 @@
+package com.capstone.rentit.payment.nh;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NH 재시도 예산 (토큰 버킷)
+ * 요청마다 ratio 만큼 적립하고 재시도마다 1 을 쓴다 — 재시도는 전체 요청의 ratio 비율을 넘지 못한다.
+ * NH 가 내려가 모든 호출이 실패해도 재시도가 부하를 몇 배로 키우지 않는다.
+ */
+@Component
+public class NhRetryBudget {
+
+    private static final long SCALE = 1_000;   // 토큰 1개 = 1000
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final Counter retryCounter;
+    private final Counter exhaustedCounter;
+
+    public NhRetryBudget(@Value("${nhapi.retry.budget-ratio:0.1}") double ratio,
+                         @Value("${nhapi.retry.budget-max-tokens:10}") int maxTokens,
+                         MeterRegistry meterRegistry) {
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+        this.retryCounter = Counter.builder("nh.api.retries")
+                .description("재시도한 NH 호출 수")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("nh.api.retry.budget.exhausted")
+                .description("예산이 없어 재시도하지 않은 NH 호출 수")
+                .register(meterRegistry);
+    }
+
+    /** 새 요청(첫 시도)마다 호출 */
+    public void onRequest() {
+        balance.accumulateAndGet(depositPerRequest, (cur, d) -> Math.min(maxBalance, cur + d));
+    }
+
+    /** 재시도 직전 — 예산이 있으면 토큰 1개를 쓰고 true */
+    public boolean tryRetry() {
+        while (true) {
+            long cur = balance.get();
+            if (cur < SCALE) {
+                exhaustedCounter.increment();
+                return false;
+            }
+            if (balance.compareAndSet(cur, cur - SCALE)) {
+                retryCounter.increment();
+                return true;
+            }
+        }
+    }
+}
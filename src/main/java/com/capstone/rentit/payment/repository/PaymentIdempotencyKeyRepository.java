@@ -0,0 +1,39 @@
+package com.capstone.rentit.payment.repository;
+
+import com.capstone.rentit.payment.domain.PaymentIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PaymentIdempotencyKeyRepository extends JpaRepository<PaymentIdempotencyKey, Long> {
+
+    Optional<PaymentIdempotencyKey> findByScopedKey(String scopedKey);
+
+    /** 실패한 요청의 선점 해제 — 같은 키로 다시 시도할 수 있게 한다. */
+    @Transactional
+    @Modifying
+    @Query("delete from PaymentIdempotencyKey k where k.scopedKey = :scopedKey and k.completedAt is null")
+    int releaseClaim(@Param("scopedKey") String scopedKey);
+
+    /** NH 가 거절해 실패로 끝난 결제의 키 삭제 — 이미 완료 표시된 키도 지워 같은 키로 다시 시도할 수 있게 한다. */
+    @Transactional
+    @Modifying
+    @Query("delete from PaymentIdempotencyKey k where k.scopedKey = :scopedKey")
+    int forget(@Param("scopedKey") String scopedKey);
+
+    /** 보관 기간이 지난 결과와, 오래 끝나지 않은(서버 중단 등) 선점 정리 */
+    @Transactional
+    @Modifying
+    @Query("delete from PaymentIdempotencyKey k " +
+            "where (k.completedAt is not null and k.createdAt < :expiredBefore) " +
+            "or (k.completedAt is null and k.createdAt < :staleBefore)")
+    int purge(@Param("expiredBefore") LocalDateTime expiredBefore,
+              @Param("staleBefore") LocalDateTime staleBefore);
+}
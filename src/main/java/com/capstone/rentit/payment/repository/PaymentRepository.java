@@ -1,12 +1,42 @@
 package com.capstone.rentit.payment.repository;
 
 import com.capstone.rentit.payment.domain.Payment;
+import com.capstone.rentit.payment.type.PaymentStatus;
+import com.capstone.rentit.payment.type.PaymentType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long>, CustomPaymentRepository {
     Optional<Payment> findByPaymentRentalId(Long rentalId);
+
+    /** 결제 행 잠금 조회 — NH 결과 반영(승인/실패)이 한 번만 일어나도록 */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Payment p where p.id = :id")
+    Optional<Payment> findForUpdate(Long id);
+
+    /** 상태만 조회 — 멱등 키 재요청 응답용 */
+    @Query("select p.status from Payment p where p.id = :id")
+    Optional<PaymentStatus> findStatus(Long id);
+
+    /** createdBefore 이전에 만들어져 아직 결과를 모르는 NH 이체 결제 */
+    @Query("""
+            select p.id from Payment p
+             where p.status = :status
+               and p.type in :types
+               and p.createdAt < :createdBefore
+               and p.recoveryAttempts < :maxAttempts
+             order by p.id
+            """)
+    List<Long> findStaleIds(PaymentStatus status, Collection<PaymentType> types,
+                            LocalDateTime createdBefore, int maxAttempts, Pageable pageable);
 }
@@ -0,0 +1,45 @@
+package com.capstone.rentit.payment.repository;
+
+import com.capstone.rentit.payment.domain.WalletLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface WalletLedgerRepository extends JpaRepository<WalletLedgerEntry, Long> {
+
+    /**
+     * 출금 항목 조건부 추가 — (스냅샷 + 미압축 항목 합) 이 amount 이상일 때만 한 행이 들어간다.
+     * 잔액 확인과 추가가 한 문장이므로 사이에 압축이 끼어도 잔액이 어긋나지 않는다.
+     * (select 목록의 파라미터는 H2 가 타입을 추론하지 못하므로 cast 한다.)
+     * @return 추가된 행 수 (0 이면 잔액 부족 또는 지갑 없음)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            insert into wallet_ledger_entry (member_id, amount, payment_id, created_at)
+            select w.member_id, -cast(:amount as decimal(19, 0)), cast(:paymentId as decimal(19, 0)), localtimestamp
+              from wallet w
+             where w.member_id = :memberId
+               and w.balance + coalesce((select sum(e.amount)
+                                           from wallet_ledger_entry e
+                                          where e.member_id = :memberId
+                                            and e.compacted_at is null), 0) >= :amount
+            """, nativeQuery = true)
+    int appendDebit(@Param("memberId") Long memberId,
+                    @Param("amount") long amount,
+                    @Param("paymentId") Long paymentId);
+
+    /** 압축할 항목이 있는 지갑 */
+    @Query("select distinct e.memberId from WalletLedgerEntry e where e.compactedAt is null")
+    List<Long> findPendingMemberIds(Pageable pageable);
+
+    @Query("select e from WalletLedgerEntry e where e.memberId = :memberId and e.compactedAt is null")
+    List<WalletLedgerEntry> findPending(@Param("memberId") Long memberId);
+}
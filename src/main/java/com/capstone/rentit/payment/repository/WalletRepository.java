@@ -12,10 +12,25 @@ import java.util.Optional;
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet, Long> {
 
+    /** 행 잠금 조회 (SELECT ... FOR UPDATE) — 출금/원장 압축처럼 같은 지갑끼리 순서가 필요할 때만 쓴다. */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select w from Wallet w where w.memberId = :memberId")
     Optional<Wallet> findForUpdate(Long memberId);
 
     @Query("select w from Wallet w where w.memberId = :memberId")
     Optional<Wallet> findAccount(Long memberId);
+
+    /**
+     * 잔액만 락 없이 조회 (표시/사전 확인용) — 스냅샷 + 아직 압축되지 않은 원장 항목의 합
+     *  - 한 문장으로 읽으므로 압축 도중에도 스냅샷과 원장 합이 어긋나지 않는다.
+     *  - 엔티티를 영속성 컨텍스트에 올리지 않으므로, 같은 트랜잭션에서 뒤이어 findForUpdate 를 해도
+     *    오래된 스냅샷이 잠금 조회 결과를 가리지 않는다.
+     */
+    @Query("""
+            select w.balance + coalesce((select sum(e.amount) from WalletLedgerEntry e
+                                          where e.memberId = w.memberId and e.compactedAt is null), 0)
+              from Wallet w
+             where w.memberId = :memberId
+            """)
+    Optional<Long> findBalance(Long memberId);
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.capstone.rentit.payment.scheduler;
+
+import com.capstone.rentit.payment.repository.PaymentRepository;
+import com.capstone.rentit.payment.service.PaymentTransferSaga;
+import com.capstone.rentit.payment.service.PaymentTransferSaga.Outcome;
+import com.capstone.rentit.payment.type.PaymentStatus;
+import com.capstone.rentit.payment.type.PaymentType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NH 결과를 모르는 채 남은 충전/인출(PENDING) 확정
+ *  - 처리 중인 요청과 겹치지 않도록 min-age 보다 오래된 결제만 본다 (NH 타임아웃 + 재시도보다 길게).
+ *  - 결제마다 PaymentTransferSaga.recover 가 같은 기관거래고유번호로 NH 에 다시 보내 확인한다.
+ *  - max-attempts 번 확인해도 남은 결제는 더 보내지 않는다 — 운영자가 NH 거래내역으로 확정한다.
+ */
+@Slf4j
+@Component
+public class PendingPaymentRecoveryScheduler {
+
+    static final List<PaymentType> NH_TRANSFER_TYPES = List.of(PaymentType.TOP_UP, PaymentType.WITHDRAWAL);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentTransferSaga transferSaga;
+    private final Duration minAge;
+    private final int maxAttempts;
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+
+    @Value("${payment.recovery.batch-size:100}")
+    private int batchSize = 100;
+
+    public PendingPaymentRecoveryScheduler(PaymentRepository paymentRepository,
+                                           PaymentTransferSaga transferSaga,
+                                           @Value("${payment.recovery.min-age-seconds:120}") long minAgeSeconds,
+                                           @Value("${payment.recovery.max-attempts:10}") int maxAttempts,
+                                           MeterRegistry meterRegistry) {
+        this.paymentRepository = paymentRepository;
+        this.transferSaga = transferSaga;
+        this.minAge = Duration.ofSeconds(minAgeSeconds);
+        this.maxAttempts = maxAttempts;
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("payment.recovery")
+                    .description("PENDING 결제 복구 시도 결과")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.recovery.interval-ms:60000}")
+    public void recoverPendingPayments() {
+        recover(LocalDateTime.now());
+    }
+
+    /**
+     * @return 이번에 확정(승인/실패)한 결제 수
+     */
+    public int recover(LocalDateTime now) {
+        List<Long> ids = paymentRepository.findStaleIds(PaymentStatus.PENDING, NH_TRANSFER_TYPES,
+                now.minus(minAge), maxAttempts, PageRequest.of(0, batchSize));
+
+        int resolved = 0;
+        for (Long id : ids) {
+            Outcome outcome;
+            try {
+                outcome = transferSaga.recover(id);
+            } catch (RuntimeException e) {
+                log.warn("Pending payment {} recovery failed: {}", id, e.getMessage());
+                outcome = Outcome.UNKNOWN;
+            }
+            outcomeCounters.get(outcome).increment();
+            if (outcome == Outcome.APPROVED || outcome == Outcome.FAILED) {
+                resolved++;
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            log.info("Pending payment recovery: {} of {} resolved", resolved, ids.size());
+        }
+        return resolved;
+    }
+}
@@ -2,40 +2,89 @@ package com.capstone.rentit.payment.service;
 
 import com.capstone.rentit.payment.config.NhApiProperties;
 import com.capstone.rentit.payment.dto.*;
-import lombok.RequiredArgsConstructor;
+import com.capstone.rentit.payment.exception.ExternalPaymentFailedException;
+import com.capstone.rentit.payment.exception.NhResultUnknownException;
+import com.capstone.rentit.payment.nh.NhCircuitBreaker;
+import com.capstone.rentit.payment.nh.NhRetryBudget;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * NH 오픈API 클라이언트
+ *  - 연결 풀/엔드포인트별 타임아웃은 nhRestTemplate(NhApiConfig) 이 맡는다.
+ *  - 차단기가 열려 있으면 보내지 않고 바로 실패한다.
+ *  - 요청이 NH 에 닿지 않은 실패(연결 거부/연결 타임아웃)만 재시도 예산 안에서 다시 보낸다.
+ *    같은 요청 본문(같은 IsTuno)으로 보내므로 NH 쪽에서도 중복 거래가 되지 않는다.
+ *    응답 타임아웃은 NH 가 처리했을 수 있어 재시도하지 않는다.
+ *  - 보내지 못한 실패는 ExternalPaymentFailedException, 처리 여부를 모르는 실패는 NhResultUnknownException.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class NhApiClient {
 
     private final RestTemplate restTemplate;
     private final NhApiProperties prop;
+    private final NhCircuitBreaker circuitBreaker;
+    private final NhRetryBudget retryBudget;
+    private final Executor executor;
 
-    private <T, R> R post(String path, T body, Class<R> resType) {
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    @Autowired
+    public NhApiClient(@Qualifier("nhRestTemplate") RestTemplate restTemplate,
+                       NhApiProperties prop,
+                       NhCircuitBreaker circuitBreaker,
+                       NhRetryBudget retryBudget) {
+        this(restTemplate, prop, circuitBreaker, retryBudget, Executors.newVirtualThreadPerTaskExecutor());
+    }
 
-        HttpEntity<T> entity = new HttpEntity<>(body, headers);
+    NhApiClient(RestTemplate restTemplate, NhApiProperties prop, NhCircuitBreaker circuitBreaker,
+                NhRetryBudget retryBudget, Executor executor) {
+        this.restTemplate = restTemplate;
+        this.prop = prop;
+        this.circuitBreaker = circuitBreaker;
+        this.retryBudget = retryBudget;
+        this.executor = executor;
+    }
 
-        return restTemplate.postForObject(
-                prop.getBaseUrl() + path,
-                entity,
-                resType
-        );
+    /** 지갑 잠금/결제 행을 잡기 전에 호출 — 차단기가 열려 있으면 바로 실패한다. */
+    public void ensureAvailable() {
+        if (!circuitBreaker.isCallPermitted()) {
+            throw unavailable();
+        }
     }
 
     /* 지갑 충전 : DrawingTransfer */
-    public DrawingTransferResponse drawingTransfer(String pinAccount, long amount, String memo) {
+
+    /** isTuno — 결제에 저장해 둔 기관거래고유번호. 같은 번호로 다시 보내도 NH 에서 한 번만 처리된다. */
+    public DrawingTransferResponse drawingTransfer(String isTuno, String pinAccount, long amount, String memo) {
+        return await(drawingTransferAsync(isTuno, pinAccount, amount, memo));
+    }
+
+    public CompletableFuture<DrawingTransferResponse> drawingTransferAsync(String isTuno, String pinAccount,
+                                                                           long amount, String memo) {
 
         DrawingTransferRequest req = new DrawingTransferRequest(
                 NhHeader.create("DrawingTransfer",
                         prop.getSvcCodes().drawing(),
+                        isTuno,
                         prop),
                 pinAccount,
                 String.valueOf(amount),
@@ -43,21 +92,126 @@ public class NhApiClient {
                 ""
         );
 
-        return post("/DrawingTransfer.nh", req, DrawingTransferResponse.class);
+        return postAsync(NhApiProperties.DRAWING_TRANSFER_PATH, req, DrawingTransferResponse.class);
     }
 
     /* 지갑 출금 : ReceivedTransferAccountNumber */
-    public DepositResponse deposit(String pinAccount, long amount, String memo) {
+    public DepositResponse deposit(String isTuno, String pinAccount, long amount, String memo) {
+        return await(depositAsync(isTuno, pinAccount, amount, memo));
+    }
+
+    public CompletableFuture<DepositResponse> depositAsync(String isTuno, String pinAccount, long amount, String memo) {
 
         DepositRequest req = new DepositRequest(
                 NhHeader.create("ReceivedTransferAccountNumber",
                         prop.getSvcCodes().deposit(),
+                        isTuno,
                         prop),
                 pinAccount,
                 String.valueOf(amount),
                 memo
         );
 
-        return post("/ReceivedTransferAccountNumber.nh", req, DepositResponse.class);
+        return postAsync(NhApiProperties.DEPOSIT_PATH, req, DepositResponse.class);
+    }
+
+    private <T, R> CompletableFuture<R> postAsync(String path, T body, Class<R> resType) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(unavailable());
+        }
+        return CompletableFuture.supplyAsync(() -> postWithRetry(path, body, resType), executor);
+    }
+
+    private <T, R> R postWithRetry(String path, T body, Class<R> resType) {
+        retryBudget.onRequest();
+        int attempt = 1;
+        while (true) {
+            try {
+                R res = post(path, body, resType);
+                circuitBreaker.onSuccess();
+                return res;
+            } catch (HttpClientErrorException e) {
+                // NH 는 응답했다 — 요청 오류는 차단기 실패로 세지 않는다.
+                circuitBreaker.onSuccess();
+                throw new ExternalPaymentFailedException("NH 요청 거절: " + e.getStatusCode());
+            } catch (RestClientException e) {
+                if (notSent(e) && attempt < prop.getRetryMaxAttempts() && retryBudget.tryRetry()) {
+                    log.warn("NH {} not sent (attempt {}): {}, retrying", path, attempt, e.getMessage());
+                    if (backoff(attempt++)) {
+                        continue;
+                    }
+                }
+                circuitBreaker.onFailure();
+                if (notSent(e)) {
+                    throw new ExternalPaymentFailedException("NH 연결 실패");
+                }
+                throw new NhResultUnknownException(describe(e));
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+        }
+    }
+
+    private <T, R> R post(String path, T body, Class<R> resType) {
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<T> entity = new HttpEntity<>(body, headers);
+
+        return restTemplate.postForObject(
+                prop.getBaseUrl() + path,
+                entity,
+                resType
+        );
+    }
+
+    /** 요청이 NH 에 닿지 않았음이 확실한 실패 */
+    private static boolean notSent(RestClientException e) {
+        if (!(e instanceof ResourceAccessException)) {
+            return false;
+        }
+        Throwable cause = e.getCause();
+        return cause instanceof ConnectException
+                || cause instanceof ConnectTimeoutException
+                || cause instanceof UnknownHostException;
+    }
+
+    /** 요청은 보냈으나 처리 여부를 모르는 실패 */
+    private static String describe(RestClientException e) {
+        if (e instanceof HttpServerErrorException se) {
+            return "NH 서버 오류: " + se.getStatusCode();
+        }
+        if (e.getCause() instanceof SocketTimeoutException) {
+            return "NH 응답 시간 초과";
+        }
+        return "NH 응답 확인 실패";
+    }
+
+    /** @return 중단되지 않고 기다렸으면 true */
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(prop.getRetryBackoffMs() * attempt);
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static ExternalPaymentFailedException unavailable() {
+        return new ExternalPaymentFailedException("NH 연결이 원활하지 않습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private static <R> R await(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
     }
-}
\ No newline at end of file
+}
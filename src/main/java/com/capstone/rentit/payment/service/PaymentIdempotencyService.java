@@ -0,0 +1,246 @@
+package com.capstone.rentit.payment.service;
+
+import com.capstone.rentit.payment.domain.PaymentIdempotencyKey;
+import com.capstone.rentit.payment.exception.ExternalPaymentFailedException;
+import com.capstone.rentit.payment.exception.IdempotencyKeyConflictException;
+import com.capstone.rentit.payment.exception.PaymentPendingException;
+import com.capstone.rentit.payment.repository.PaymentIdempotencyKeyRepository;
+import com.capstone.rentit.payment.repository.PaymentRepository;
+import com.capstone.rentit.payment.type.PaymentStatus;
+import com.capstone.rentit.payment.type.PaymentType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 충전/인출 Idempotency-Key 처리
+ *  - 같은 키의 재요청은 NH 를 다시 부르지 않고 처음 결과(paymentId)를 돌려준다.
+ *  - 같은 인스턴스에 동시에 들어온 중복은 첫 요청의 결과를 함께 기다린다.
+ *  - 다른 인스턴스와는 키 선점 행(unique)으로 한 곳만 처리하고, 나머지는 처리 중 응답을 받는다.
+ *  - 실패는 기억하지 않아 같은 키로 다시 시도할 수 있다.
+ *  - NH 이체는 두 단계로 나눈다. PENDING 결제(begin)와 키를 한 트랜잭션으로 커밋한 뒤 트랜잭션 밖에서 settle 한다.
+ *    결과를 모르는 채 끝나면(PaymentPendingException) 키를 남겨, 재요청이 NH 를 다시 부르지 않고 같은 결제를 가리킨다.
+ *  - 재요청에는 결제의 지금 상태로 응답한다. 아직 PENDING 이면 확인 중, 복구 작업이 FAILED 로 확정했으면 실패.
+ */
+@Slf4j
+@Service
+public class PaymentIdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 100;
+
+    /** 이 인스턴스에서 처리 중인 키 */
+    private record Running(long amount, CompletableFuture<Long> result) {}
+
+    private final Map<String, Running> inFlight = new ConcurrentHashMap<>();
+
+    private final PaymentIdempotencyKeyRepository repository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate claimTemplate;
+    private final Duration retention;
+    private final Duration claimTimeout;
+    private final Counter replayedCounter;
+    private final Counter coalescedCounter;
+
+    public PaymentIdempotencyService(PaymentIdempotencyKeyRepository repository,
+                                     PaymentRepository paymentRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${payment.idempotency.retention-hours:24}") long retentionHours,
+                                     @Value("${payment.idempotency.claim-timeout-seconds:120}") long claimTimeoutSeconds,
+                                     MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retention = Duration.ofHours(retentionHours);
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.replayedCounter = Counter.builder("payment.idempotency.replayed")
+                .description("저장된 결과로 응답한 재요청 수")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("payment.idempotency.coalesced")
+                .description("처리 중인 같은 요청에 합쳐진 동시 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * key 가 없으면 action 을 그대로 실행한다.
+     * @return 처음 처리한 결제 ID
+     */
+    public Long execute(String key, PaymentType type, Long memberId, long amount, Supplier<Long> action) {
+        return execute(key, type, memberId, amount, action, UnaryOperator.identity());
+    }
+
+    /**
+     * begin 은 키와 같은 트랜잭션에서, settle 은 커밋 이후 트랜잭션 밖에서 처음 처리하는 요청만 실행한다.
+     * @return 처음 처리한 결제 ID
+     */
+    public Long execute(String key, PaymentType type, Long memberId, long amount,
+                        Supplier<Long> begin, UnaryOperator<Long> settle) {
+        if (!StringUtils.hasText(key)) {
+            return settle.apply(begin.get());
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyConflictException("Idempotency-Key 는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+        String scopedKey = type.name() + ":" + memberId + ":" + key;
+
+        Running mine = new Running(amount, new CompletableFuture<>());
+        Running running = inFlight.putIfAbsent(scopedKey, mine);
+        if (running != null) {
+            if (running.amount() != amount) {
+                throw new IdempotencyKeyConflictException("같은 Idempotency-Key 로 다른 요청을 처리 중입니다.");
+            }
+            coalescedCounter.increment();
+            return await(running.result());
+        }
+        try {
+            Long paymentId = executeOnce(scopedKey, type, memberId, amount, begin, settle);
+            mine.result().complete(paymentId);
+            return paymentId;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopedKey, mine);
+        }
+    }
+
+    /** 보관 기간이 지난 키 정리 */
+    @Scheduled(fixedDelayString = "${payment.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = repository.purge(now.minus(retention), now.minus(claimTimeout));
+        if (purged > 0) {
+            log.info("Payment idempotency keys purged: {}", purged);
+        }
+    }
+
+    private Long executeOnce(String scopedKey, PaymentType type, Long memberId, long amount,
+                             Supplier<Long> begin, UnaryOperator<Long> settle) {
+        Optional<PaymentIdempotencyKey> stored = repository.findByScopedKey(scopedKey);
+        if (stored.isPresent()) {
+            return replay(stored.get(), type, amount);
+        }
+        if (!claim(scopedKey, type, memberId, amount)) {
+            // 다른 인스턴스가 먼저 선점했다.
+            return repository.findByScopedKey(scopedKey)
+                    .map(record -> replay(record, type, amount))
+                    .orElseThrow(() -> new IdempotencyKeyConflictException(
+                            "같은 요청을 처리 중입니다. 잠시 후 다시 시도해주세요."));
+        }
+
+        Long paymentId;
+        try {
+            // 결제와 키 완료 표시를 한 트랜잭션으로 커밋한다.
+            paymentId = transactionTemplate.execute(status -> {
+                Long id = begin.get();
+                repository.findByScopedKey(scopedKey)
+                        .orElseThrow(() -> new IllegalStateException("idempotency claim lost: " + scopedKey))
+                        .complete(id);
+                return id;
+            });
+        } catch (RuntimeException e) {
+            release(scopedKey);
+            throw e;
+        }
+
+        try {
+            return settle.apply(paymentId);
+        } catch (PaymentPendingException e) {
+            throw e;   // 결과 확인 중 — 키는 PENDING 결제를 가리킨 채 남긴다.
+        } catch (RuntimeException e) {
+            forget(scopedKey);
+            throw e;
+        }
+    }
+
+    private boolean claim(String scopedKey, PaymentType type, Long memberId, long amount) {
+        try {
+            claimTemplate.executeWithoutResult(status ->
+                    repository.saveAndFlush(PaymentIdempotencyKey.claim(scopedKey, type, memberId, amount)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private void release(String scopedKey) {
+        try {
+            claimTemplate.executeWithoutResult(status -> repository.releaseClaim(scopedKey));
+        } catch (RuntimeException e) {
+            log.warn("Payment idempotency claim release failed for {}: {}", scopedKey, e.getMessage());
+        }
+    }
+
+    private void forget(String scopedKey) {
+        try {
+            claimTemplate.executeWithoutResult(status -> repository.forget(scopedKey));
+        } catch (RuntimeException e) {
+            log.warn("Payment idempotency key removal failed for {}: {}", scopedKey, e.getMessage());
+        }
+    }
+
+    private Long replay(PaymentIdempotencyKey record, PaymentType type, long amount) {
+        if (!record.matches(type, amount)) {
+            throw new IdempotencyKeyConflictException("같은 Idempotency-Key 로 다른 요청이 이미 처리되었습니다.");
+        }
+        if (!record.isCompleted()) {
+            throw new IdempotencyKeyConflictException("같은 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        replayedCounter.increment();
+        checkPaymentState(record);
+        return record.getPaymentId();
+    }
+
+    /**
+     * 키는 PENDING 결제와 함께 완료되므로, 저장된 paymentId 만으로는 성공 응답을 할 수 없다.
+     * FAILED 는 처리되지 않은 것이 확실하므로 키를 지워 같은 키로 다시 시도할 수 있게 한다.
+     */
+    private void checkPaymentState(PaymentIdempotencyKey record) {
+        PaymentStatus status = paymentRepository.findStatus(record.getPaymentId()).orElse(null);
+        if (status == PaymentStatus.PENDING) {
+            throw new PaymentPendingException(PaymentTransferSaga.PENDING_MESSAGE);
+        }
+        if (status == PaymentStatus.FAILED) {
+            forget(record.getScopedKey());
+            throw new ExternalPaymentFailedException("NH 이체 실패 — 결제가 처리되지 않았습니다.");
+        }
+    }
+
+    private Long await(CompletableFuture<Long> running) {
+        try {
+            return running.get(claimTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyConflictException("같은 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyConflictException("같은 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+}
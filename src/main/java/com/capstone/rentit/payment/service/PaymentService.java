@@ -3,7 +3,7 @@ package com.capstone.rentit.payment.service;
 import com.capstone.rentit.locker.event.RentalLockerAction;
 import com.capstone.rentit.payment.domain.*;
 import com.capstone.rentit.payment.dto.*;
-import com.capstone.rentit.payment.exception.ExternalPaymentFailedException;
+import com.capstone.rentit.payment.exception.InsufficientBalanceException;
 import com.capstone.rentit.payment.exception.PaymentNotFoundException;
 import com.capstone.rentit.payment.exception.PaymentNotLockerException;
 import com.capstone.rentit.payment.exception.WalletNotFoundException;
@@ -19,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +27,7 @@ import java.util.List;
 public class PaymentService {
 
     private final WalletRepository walletRepository;
+    private final WalletLedgerRepository ledgerRepository;
     private final PaymentRepository paymentRepository;
     private final RentalRepository rentalRepository;
     private final NhApiClient nhClient;
@@ -47,62 +49,113 @@ public class PaymentService {
     public WalletResponse getAccount(Long memberId) {
         Wallet w = walletRepository.findAccount(memberId)
                 .orElseThrow(() -> new WalletNotFoundException("지갑이 없습니다."));
-        return WalletResponse.fromEntity(w);
+        return WalletResponse.fromEntity(w, getBalance(memberId));
     }
 
-    /* ------------ 1. 현금 ⇆ 포인트 ------------ */
-    public Long topUp(TopUpRequest request) {
+    /* ------------ 1. 현금 ⇆ 포인트 (NH 이체) ------------
+     * begin* : PENDING 결제를 짧은 트랜잭션으로 커밋한다. 인출은 지갑을 잠깐 잠그고 금액을 먼저 차감한다.
+     * NH 호출 : PaymentTransferSaga 가 트랜잭션/잠금 없이 보낸다.
+     * complete/failTransfer : 결제 행만 잠그고 결과를 반영한다.
+     */
 
-        Wallet wallet = findWallet(request.memberId());
-        Payment payment = paymentRepository.save(
-                Payment.create(PaymentType.TOP_UP, request.memberId(), null, request.amount(), null));
+    public Long beginTopUp(TopUpRequest request) {
 
-        wallet.ensureAccountRegistered();
+        nhClient.ensureAvailable();   // NH 가 불통이면 결제 행을 만들기 전에 바로 실패
 
-        DrawingTransferResponse res = nhClient.drawingTransfer(wallet.getFinAcno(), request.amount(), "RENTit 충전");
-        if (res == null) throw new ExternalPaymentFailedException("NH 응답 없음");
+        Wallet wallet = walletRepository.findAccount(request.memberId())
+                .orElseThrow(() ->
+                        new WalletNotFoundException("해당 사용자의 지갑을 찾을 수 없습니다."));
+        wallet.ensureAccountRegistered();
 
-        wallet.deposit(request.amount());
-        payment.approve(res.Header().IsTuno());
-        return payment.getId();
+        return savePending(PaymentType.TOP_UP, request.memberId(), null, request.amount()).getId();
     }
 
-    public Long withdraw(WithdrawRequest request) {
+    public Long beginWithdraw(WithdrawRequest request) {
 
-        Wallet wallet = findWallet(request.memberId());
-        Payment payment = paymentRepository.save(
-                Payment.create(PaymentType.WITHDRAWAL, null, request.memberId(), request.amount(), null));
+        nhClient.ensureAvailable();   // 열린 차단기 앞에서 지갑을 잠그지 않게
 
+        Wallet wallet = findWallet(request.memberId());
         wallet.ensureAccountRegistered();
-        wallet.withdraw(request.amount());
 
-        DepositResponse res = nhClient.deposit(wallet.getFinAcno(), request.amount(), "RENTit 출금");
-        if (res == null) throw new ExternalPaymentFailedException("NH 응답 없음");
+        Payment payment = savePending(PaymentType.WITHDRAWAL, null, request.memberId(), request.amount());
 
-        payment.approve(res.Header().IsTuno());
+        // NH 호출 전에 먼저 차감한다 — 이체가 실패하면 failTransfer 가 되돌린다.
+        debit(request.memberId(), request.amount(), payment.getId());
         return payment.getId();
     }
 
+    /** NH 로 보낼 이체 (락 없음) — PENDING 이 아니면 empty */
+    @Transactional(readOnly = true)
+    public Optional<PendingTransfer> findPendingTransfer(Long paymentId) {
+        return paymentRepository.findById(paymentId)
+                .filter(Payment::isPending)
+                .map(payment -> {
+                    Long memberId = transferMemberOf(payment);
+                    Wallet wallet = walletRepository.findAccount(memberId)
+                            .orElseThrow(() ->
+                                    new WalletNotFoundException("해당 사용자의 지갑을 찾을 수 없습니다."));
+                    return new PendingTransfer(payment.getId(), payment.getType(), memberId,
+                            wallet.getFinAcno(), payment.getAmount(), payment.getIstuno());
+                });
+    }
+
+    /**
+     * NH 이체 성공 반영 — 충전은 원장에 입금한다.
+     * @return 이번에 반영했으면 true, 이미 결과가 반영된 결제면 false
+     */
+    public boolean completeTransfer(Long paymentId) {
+
+        Payment payment = findPaymentForUpdate(paymentId);
+        if (!payment.isPending()) return false;
+
+        if (payment.getType() == PaymentType.TOP_UP) {
+            credit(payment.getFromMemberId(), payment.getAmount(), payment.getId());
+        }
+        payment.approve(payment.getIstuno());
+        return true;
+    }
+
+    /**
+     * NH 이체 실패 반영 — 인출은 먼저 차감한 금액을 되돌린다.
+     * @return 이번에 반영했으면 true, 이미 결과가 반영된 결제면 false
+     */
+    public boolean failTransfer(Long paymentId) {
+
+        Payment payment = findPaymentForUpdate(paymentId);
+        if (!payment.isPending()) return false;
+
+        if (payment.getType() == PaymentType.WITHDRAWAL) {
+            credit(payment.getToMemberId(), payment.getAmount(), payment.getId());
+        }
+        payment.fail();
+        return true;
+    }
+
+    /** 복구 작업이 NH 에 다시 확인하기 전에 시도 횟수를 남긴다. */
+    public int recordRecoveryAttempt(Long paymentId) {
+        return findPaymentForUpdate(paymentId).recordRecoveryAttempt();
+    }
+
     /* ------------ 2. 대여 흐름 ------------ */
 
     /** 대여비 (대여자 → 소유자) */
     public Long requestRentalFee(RentalPaymentRequest req, Long rentalId) {
 
-        Wallet renter = findWallet(req.renterId());
+        findWallet(req.renterId());
 
         Payment payment = paymentRepository.save(
                 Payment.create(PaymentType.RENTAL_FEE, req.renterId(), req.ownerId(), req.rentalFee(), rentalId));
 
-        renter.withdraw(req.rentalFee());
+        debit(req.renterId(), req.rentalFee(), payment.getId());
         return payment.getId();
     }
 
     public Long payRentalFee(Long rentalId) {
 
         Payment payment = findPaymentByRentalId(rentalId);
-        Wallet owner  = findWallet(payment.getToMemberId());
 
-        owner.deposit(payment.getAmount());
+        // 소유자 지갑은 잠그지 않는다 — 인기 소유자에게 대여비가 몰려도 원장 추가끼리는 충돌하지 않는다.
+        credit(payment.getToMemberId(), payment.getAmount(), payment.getId());
 
         payment.approve(null); // 내부 이체 — 외부 참조 없음
         return payment.getId();
@@ -111,9 +164,8 @@ public class PaymentService {
     public Long cancelPayment(Long rentalId){
 
         Payment payment = findPaymentByRentalId(rentalId);
-        Wallet renter = findWallet(payment.getFromMemberId());
 
-        renter.deposit(payment.getAmount());
+        credit(payment.getFromMemberId(), payment.getAmount(), payment.getId());
 
         payment.cancel();
         return payment.getId();
@@ -124,7 +176,7 @@ public class PaymentService {
 
         assertLockerFee(req);
 
-        Wallet payer = findWallet(req.payerId());
+        findWallet(req.payerId());
 
         /* 사물함 운영 계정(가맹점) — 시스템 내 pseudo memberId. 예: 0L */
 //        Wallet operator = walletRepository.findForUpdate(0L);
@@ -132,17 +184,17 @@ public class PaymentService {
         Payment tx = paymentRepository.save(
                 Payment.create(req.lockerFeeType(), req.payerId(), null, req.fee(), null));
 
-        payer.withdraw(req.fee());
+        debit(req.payerId(), req.fee(), tx.getId());
 //        operator.deposit(req.fee());
 
         tx.approve(null);
         return tx.getId();
     }
 
+    /** 사전 잔액 확인 (락 없음) — 실제 차감 시점에 잠근 지갑으로 다시 확인한다. */
     @Transactional(readOnly = true)
     public void assertCheckBalance(Long memberId, long fee){
-        Wallet wallet = findWallet(memberId);
-        wallet.checkBalance(fee);
+        Wallet.assertSufficient(getBalance(memberId), fee);
     }
 
     private final long LOCKER_FEE_BASIC = 1000;
@@ -164,8 +216,28 @@ public class PaymentService {
         return LOCKER_FEE_BASIC + LOCKER_FEE_PER_HOUR * duration.toHours();
     }
 
+    /** 여러 대여의 사물함 요금 일괄 계산 — 기준 시각이 null 이면 요금 없음(0) */
+    @Transactional(readOnly = true)
+    public List<Long> calculateLockerFees(List<LocalDateTime> starts, LocalDateTime end){
+        return starts.stream()
+                .map(start -> start == null ? 0L : calculateLockerFee(start, end))
+                .toList();
+    }
+
+    /** 잔액 조회 (락 없음) — 실제 차감은 findWallet 으로 잠근 뒤 처리한다. */
+    @Transactional(readOnly = true)
+    public long getBalance(Long memberId){
+        return walletRepository.findBalance(memberId)
+                .orElseThrow(() ->
+                        new WalletNotFoundException("해당 사용자의 지갑을 찾을 수 없습니다."));
+    }
+
     /* ------------ Util ------------ */
 
+    /**
+     * 지갑 잠금 조회 — 출금처럼 같은 지갑끼리 순서가 필요할 때만 쓴다. 조회/확인은 {@link #getBalance} 로.
+     * 입금은 원장 추가만 하므로 잠그지 않는다.
+     */
     public Wallet findWallet(Long memberId){
         return walletRepository.findForUpdate(memberId)
                 .orElseThrow(() ->
@@ -178,11 +250,52 @@ public class PaymentService {
                         new PaymentNotFoundException("해당 결제 내역을 찾을 수 없습니다."));
     }
 
+    private Payment findPaymentForUpdate(Long paymentId) {
+        return paymentRepository.findForUpdate(paymentId)
+                .orElseThrow(() ->
+                        new PaymentNotFoundException("해당 결제 내역을 찾을 수 없습니다."));
+    }
+
+    /**
+     * PENDING 결제 저장 — ID 를 받은 뒤 그 ID 로 기관거래고유번호를 정한다.
+     * 같은 트랜잭션에서 커밋되므로 NH 로 보내기 전에 저장되어 있고, 복구 작업도 같은 번호로 다시 보낸다.
+     */
+    private Payment savePending(PaymentType type, Long fromId, Long toId, long amount) {
+        Payment payment = paymentRepository.save(Payment.pending(type, fromId, toId, amount));
+        payment.assignIstuno(NhHeader.isTunoOf(payment.getCreatedAt().toLocalDate(), payment.getId()));
+        return payment;
+    }
+
+    /** 충전은 보내는 쪽, 인출은 받는 쪽이 지갑 주인 */
+    private static Long transferMemberOf(Payment payment) {
+        return payment.getType() == PaymentType.TOP_UP ? payment.getFromMemberId() : payment.getToMemberId();
+    }
+
     public Long createWallet(Long memberId){
         return walletRepository.save(
                 Wallet.builder().memberId(memberId).balance(0L).build()).getMemberId();
     }
 
+    /** 입금 — 원장에 항목을 추가만 하므로 지갑 행을 잠그지 않는다. */
+    private void credit(Long memberId, long amount, Long paymentId) {
+        if (!walletRepository.existsById(memberId)) {
+            throw new WalletNotFoundException("해당 사용자의 지갑을 찾을 수 없습니다.");
+        }
+        ledgerRepository.save(WalletLedgerEntry.credit(memberId, amount, paymentId));
+    }
+
+    /**
+     * 출금 — 잔액이 충분할 때만 원장에 추가된다 (조건부 INSERT).
+     * 호출 전에 findWallet 으로 지갑을 잠가 같은 지갑의 출금끼리 순서를 맞춘다.
+     */
+    private void debit(Long memberId, long amount, Long paymentId) {
+        if (amount < 0) throw new IllegalArgumentException("amount show >= 0");
+        if (ledgerRepository.appendDebit(memberId, amount, paymentId) == 0) {
+            Wallet.assertSufficient(getBalance(memberId), amount);
+            throw new InsufficientBalanceException("잔액이 부족합니다. 결제 금액" + amount);
+        }
+    }
+
     private void assertLockerFee(LockerPaymentRequest req) {
         if (req.lockerFeeType() != PaymentType.LOCKER_FEE_OWNER &&
                 req.lockerFeeType() != PaymentType.LOCKER_FEE_RENTER) {
@@ -0,0 +1,134 @@
+package com.capstone.rentit.payment.service;
+
+import com.capstone.rentit.payment.dto.DepositResponse;
+import com.capstone.rentit.payment.dto.DrawingTransferResponse;
+import com.capstone.rentit.payment.dto.NhHeader;
+import com.capstone.rentit.payment.dto.PendingTransfer;
+import com.capstone.rentit.payment.exception.ExternalPaymentFailedException;
+import com.capstone.rentit.payment.exception.NhResultUnknownException;
+import com.capstone.rentit.payment.exception.PaymentPendingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 충전/인출 NH 이체 (saga)
+ *  1) PaymentService.begin* — PENDING 결제 커밋 (인출은 지갑을 잠깐 잠그고 먼저 차감)
+ *  2) NH 호출 — DB 트랜잭션/잠금 없이
+ *  3) PaymentService.complete/failTransfer — 결제 행만 잠그는 짧은 트랜잭션으로 결과 반영
+ * NH 결과를 모르면(응답 타임아웃 등) PENDING 으로 두고,
+ * PendingPaymentRecoveryScheduler 가 같은 기관거래고유번호로 다시 보내 확정한다.
+ */
+@Slf4j
+@Service
+public class PaymentTransferSaga {
+
+    public enum Outcome { APPROVED, FAILED, UNKNOWN, SKIPPED }
+
+    static final String PENDING_MESSAGE = "결제 결과를 확인 중입니다. 잠시 후 결제 내역을 확인해주세요.";
+
+    private final PaymentService paymentService;
+    private final NhApiClient nhClient;
+    private final String duplicateRpcd;
+
+    public PaymentTransferSaga(PaymentService paymentService,
+                               NhApiClient nhClient,
+                               @Value("${nhapi.duplicate-rpcd:}") String duplicateRpcd) {
+        this.paymentService = paymentService;
+        this.nhClient = nhClient;
+        this.duplicateRpcd = duplicateRpcd;
+    }
+
+    /**
+     * begin* 커밋 이후 호출 — NH 로 보내고 결과를 반영한다.
+     * @throws ExternalPaymentFailedException NH 가 처리하지 않은 것이 확실할 때 (결제 FAILED)
+     * @throws PaymentPendingException NH 처리 여부를 모를 때 (결제 PENDING 유지)
+     */
+    public Long settle(Long paymentId) {
+        PendingTransfer transfer = paymentService.findPendingTransfer(paymentId).orElse(null);
+        if (transfer == null) {
+            return paymentId;   // 이미 결과가 반영됐다
+        }
+
+        NhHeader header;
+        try {
+            header = send(transfer);
+        } catch (NhResultUnknownException e) {
+            log.warn("NH transfer result unknown for payment {}: {}", paymentId, e.getMessage());
+            throw new PaymentPendingException(PENDING_MESSAGE);
+        } catch (ExternalPaymentFailedException e) {
+            paymentService.failTransfer(paymentId);
+            throw e;
+        }
+
+        if (header == null) {
+            log.warn("NH transfer returned no header for payment {}", paymentId);
+            throw new PaymentPendingException(PENDING_MESSAGE);
+        }
+        // 중복 응답 — 결제마다 고유한 번호라 앞선 전송(연결 재시도 등)이 이미 처리된 것이다.
+        if (!header.succeeded() && !isDuplicate(header)) {
+            paymentService.failTransfer(paymentId);
+            throw new ExternalPaymentFailedException("NH 이체 실패: " + header.Rsms());
+        }
+        paymentService.completeTransfer(paymentId);
+        return paymentId;
+    }
+
+    /**
+     * 결과를 모르는 PENDING 결제 확정 — 처음과 같은 기관거래고유번호로 다시 보낸다.
+     * NH 는 같은 번호를 한 번만 처리하므로, 정상 응답이거나 중복 응답이면 처음 요청이든 이번 요청이든 처리된 것이다.
+     * 중복 응답코드(nhapi.duplicate-rpcd)를 모르면 다른 거절도 '처리됐을 수 있음'으로 보고 PENDING 으로 둔다.
+     */
+    public Outcome recover(Long paymentId) {
+        PendingTransfer transfer = paymentService.findPendingTransfer(paymentId).orElse(null);
+        if (transfer == null) {
+            return Outcome.SKIPPED;
+        }
+        int attempt = paymentService.recordRecoveryAttempt(paymentId);
+
+        NhHeader header;
+        try {
+            header = send(transfer);
+        } catch (ExternalPaymentFailedException e) {
+            log.warn("NH recovery attempt {} for payment {} failed: {}", attempt, paymentId, e.getMessage());
+            return Outcome.UNKNOWN;
+        }
+        if (header == null) {
+            return Outcome.UNKNOWN;
+        }
+
+        if (header.succeeded() || isDuplicate(header)) {
+            paymentService.completeTransfer(paymentId);
+            return Outcome.APPROVED;
+        }
+        if (StringUtils.hasText(duplicateRpcd)) {
+            // 처음 요청이 처리됐다면 중복 응답이 왔을 것 — 처리되지 않은 이체다.
+            paymentService.failTransfer(paymentId);
+            return Outcome.FAILED;
+        }
+        log.error("NH recovery could not resolve payment {} (attempt {}): {} {}",
+                paymentId, attempt, header.Rpcd(), header.Rsms());
+        return Outcome.UNKNOWN;
+    }
+
+    private NhHeader send(PendingTransfer transfer) {
+        return switch (transfer.type()) {
+            case TOP_UP -> {
+                DrawingTransferResponse res = nhClient.drawingTransfer(
+                        transfer.istuno(), transfer.finAcno(), transfer.amount(), "RENTit 충전");
+                yield res == null ? null : res.Header();
+            }
+            case WITHDRAWAL -> {
+                DepositResponse res = nhClient.deposit(
+                        transfer.istuno(), transfer.finAcno(), transfer.amount(), "RENTit 출금");
+                yield res == null ? null : res.Header();
+            }
+            default -> throw new IllegalStateException("NH 이체 결제가 아닙니다: " + transfer.type());
+        };
+    }
+
+    private boolean isDuplicate(NhHeader header) {
+        return StringUtils.hasText(duplicateRpcd) && duplicateRpcd.equals(header.Rpcd());
+    }
+}
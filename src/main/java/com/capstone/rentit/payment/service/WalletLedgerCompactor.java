@@ -0,0 +1,100 @@
+package com.capstone.rentit.payment.service;
+
+import com.capstone.rentit.payment.domain.Wallet;
+import com.capstone.rentit.payment.domain.WalletLedgerEntry;
+import com.capstone.rentit.payment.repository.WalletLedgerRepository;
+import com.capstone.rentit.payment.repository.WalletRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지갑 원장 압축 — 아직 압축되지 않은 원장 항목을 지갑 스냅샷 잔액에 반영한다.
+ * 지갑마다 짧은 트랜잭션으로 잠그고 처리하므로, 입금(원장 추가)은 압축 중에도 막히지 않는다.
+ * 압축 트랜잭션에 보이지 않던(아직 커밋 전) 항목은 미압축으로 남아 다음 주기에 반영된다.
+ */
+@Slf4j
+@Component
+public class WalletLedgerCompactor {
+
+    private final WalletRepository walletRepository;
+    private final WalletLedgerRepository ledgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer compactTimer;
+    private final Counter compactedCounter;
+
+    @Value("${wallet.ledger.compact-batch-size:500}")
+    private int batchSize = 500;
+
+    public WalletLedgerCompactor(WalletRepository walletRepository,
+                                 WalletLedgerRepository ledgerRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.walletRepository = walletRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.compactTimer = Timer.builder("wallet.ledger.compact")
+                .description("원장 압축 배치 소요 시간")
+                .register(meterRegistry);
+        this.compactedCounter = Counter.builder("wallet.ledger.compacted")
+                .description("스냅샷에 반영된 원장 항목 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.ledger.compact-interval-ms:60000}")
+    public void compactPending() {
+        compact(LocalDateTime.now());
+    }
+
+    /**
+     * 미압축 항목이 있는 지갑을 batch 단위로 압축
+     * @return 반영한 원장 항목 수
+     */
+    public int compact(LocalDateTime now) {
+        Timer.Sample sample = Timer.start();
+        int entries = 0;
+        int wallets = 0;
+
+        List<Long> memberIds = ledgerRepository.findPendingMemberIds(PageRequest.of(0, batchSize));
+        for (Long memberId : memberIds) {
+            Integer folded = transactionTemplate.execute(status -> compactWallet(memberId, now));
+            if (folded != null && folded > 0) {
+                entries += folded;
+                wallets++;
+            }
+        }
+
+        long nanos = sample.stop(compactTimer);
+        compactedCounter.increment(entries);
+        if (entries > 0) {
+            log.info("Wallet ledger compaction: {} entries into {} wallets, {} ms",
+                    entries, wallets, nanos / 1_000_000);
+        }
+        return entries;
+    }
+
+    private int compactWallet(Long memberId, LocalDateTime now) {
+        // 같은 지갑의 출금(조건부 추가)과 다른 압축기 인스턴스를 막기 위해 지갑을 잠근다.
+        Wallet wallet = walletRepository.findForUpdate(memberId).orElse(null);
+        if (wallet == null) {
+            return 0;
+        }
+        List<WalletLedgerEntry> pending = ledgerRepository.findPending(memberId);
+        long delta = 0;
+        for (WalletLedgerEntry entry : pending) {
+            delta += entry.getAmount();
+            entry.markCompacted(now);
+        }
+        wallet.fold(delta);
+        return pending.size();
+    }
+}
@@ -1,4 +1,4 @@
 package com.capstone.rentit.payment.type;
 
-public enum PaymentStatus { REQUESTED, APPROVED, CANCELED, FAILED }
-
+/** PENDING — NH 이체 결과 대기 (충전/인출). 결과를 모르면 복구 작업이 NH 에 다시 확인한다. */
+public enum PaymentStatus { REQUESTED, APPROVED, CANCELED, FAILED, PENDING }
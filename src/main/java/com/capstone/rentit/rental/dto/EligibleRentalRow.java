@@ -0,0 +1,15 @@
+package com.capstone.rentit.rental.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 키오스크 eligible 조회용 projection — 대여 + 물품명만 한 번에 조회한다.
+ * feeStart 는 요금 계산 기준 시각 (픽업: leftAt, 회수: returnedAt, 그 외 null)
+ */
+public record EligibleRentalRow(
+        Long rentalId,
+        Long itemId,
+        String itemName,
+        Long lockerId,
+        LocalDateTime feeStart
+) { }
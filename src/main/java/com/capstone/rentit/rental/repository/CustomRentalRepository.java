@@ -1,17 +1,29 @@
 package com.capstone.rentit.rental.repository;
 
 import com.capstone.rentit.locker.event.RentalLockerAction;
+import com.capstone.rentit.notification.type.NotificationType;
 import com.capstone.rentit.rental.domain.Rental;
+import com.capstone.rentit.rental.dto.EligibleRentalRow;
 import com.capstone.rentit.rental.status.RentalStatusEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface CustomRentalRepository {
     Page<Rental> findAllByUserIdAndStatuses(Long userId, List<RentalStatusEnum> statuses, Pageable pageable);
     List<Rental> findEligibleRentals(Long memberId, RentalLockerAction action);
+
+    /** findEligibleRentals 와 같은 조건, 엔티티 대신 물품명과 요금 기준 시각만 join 으로 조회 */
+    List<EligibleRentalRow> findEligibleRentalRows(Long memberId, RentalLockerAction action);
     Page<Rental> findAllByStatuses(List<RentalStatusEnum> statuses, Pageable pageable);
     Optional<Rental> findByIdWithItem(Long rentalId);
+
+    /** startDate 가 구간 안에 있고 아직 alertType 알림을 받지 않은 대여 (item, owner, renter fetch join) */
+    List<Rental> findStartAlertTargets(RentalStatusEnum status, LocalDateTime from, LocalDateTime to, NotificationType alertType);
+
+    /** dueDate 가 구간 안에 있고 아직 alertType 알림을 받지 않은 대여 (item, owner, renter fetch join) */
+    List<Rental> findDueAlertTargets(RentalStatusEnum status, LocalDateTime from, LocalDateTime to, NotificationType alertType);
 }
@@ -4,12 +4,17 @@ import com.capstone.rentit.item.domain.QItem;
 import com.capstone.rentit.locker.domain.QLocker;
 import com.capstone.rentit.locker.event.RentalLockerAction;
 import com.capstone.rentit.member.domain.QMember;
+import com.capstone.rentit.notification.domain.QRentalAlertLedger;
+import com.capstone.rentit.notification.type.NotificationType;
 import com.capstone.rentit.rental.domain.QRental;
 import com.capstone.rentit.rental.domain.Rental;
 import com.capstone.rentit.rental.status.RentalStatusEnum;
+import com.capstone.rentit.rental.dto.EligibleRentalRow;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
@@ -125,6 +130,43 @@ public class CustomRentalRepositoryImpl implements CustomRentalRepository {
     @Override
     public List<Rental> findEligibleRentals(Long memberId, RentalLockerAction action) {
         QRental r = QRental.rental;
+        return queryFactory
+                .selectFrom(r)
+                .where(eligibleCondition(r, memberId, action))
+                .orderBy(r.requestDate.desc())
+                .fetch();
+    }
+
+    @Override
+    public List<EligibleRentalRow> findEligibleRentalRows(Long memberId, RentalLockerAction action) {
+        QRental r = QRental.rental;
+        QItem item = QItem.item;
+        DateTimePath<LocalDateTime> feeStart = switch (action) {
+            case PICK_UP_BY_RENTER -> r.leftAt;
+            case RETRIEVE_BY_OWNER -> r.returnedAt;
+            default -> r.startDate;   // 요금 없음 — 값은 사용하지 않는다.
+        };
+        boolean charged = action == RentalLockerAction.PICK_UP_BY_RENTER
+                || action == RentalLockerAction.RETRIEVE_BY_OWNER;
+
+        return queryFactory
+                .select(r.rentalId, r.itemId, item.name, r.lockerId, feeStart)
+                .from(r)
+                .join(r.item, item)
+                .where(eligibleCondition(r, memberId, action))
+                .orderBy(r.requestDate.desc())
+                .fetch()
+                .stream()
+                .map(t -> new EligibleRentalRow(
+                        t.get(r.rentalId),
+                        t.get(r.itemId),
+                        t.get(item.name),
+                        t.get(r.lockerId),
+                        charged ? t.get(feeStart) : null))
+                .toList();
+    }
+
+    private BooleanBuilder eligibleCondition(QRental r, Long memberId, RentalLockerAction action) {
         BooleanBuilder builder = new BooleanBuilder();
 
         switch (action) {
@@ -141,11 +183,7 @@ public class CustomRentalRepositoryImpl implements CustomRentalRepository {
                     .and(r.ownerId.eq(memberId))
                     .and(r.status.eq(RentalStatusEnum.RETURNED_TO_LOCKER));
         }
-        return queryFactory
-                .selectFrom(r)
-                .where(builder)
-                .orderBy(r.requestDate.desc())
-                .fetch();
+        return builder;
     }
 
     @Override
@@ -160,6 +198,43 @@ public class CustomRentalRepositoryImpl implements CustomRentalRepository {
         );
     }
 
+    @Override
+    public List<Rental> findStartAlertTargets(RentalStatusEnum status, LocalDateTime from, LocalDateTime to,
+                                              NotificationType alertType) {
+        return findAlertTargets(status, rental.startDate.between(from, to), alertType);
+    }
+
+    @Override
+    public List<Rental> findDueAlertTargets(RentalStatusEnum status, LocalDateTime from, LocalDateTime to,
+                                            NotificationType alertType) {
+        return findAlertTargets(status, rental.dueDate.between(from, to), alertType);
+    }
+
+    /** 알림 대상 조회 — 상태 필터와 발송 이력 제외를 쿼리에서 처리하고, 알림 문구에 필요한 연관만 fetch join */
+    private List<Rental> findAlertTargets(RentalStatusEnum status, BooleanExpression dateRange,
+                                          NotificationType alertType) {
+        QItem item = QItem.item;
+        QMember owner = new QMember("owner");
+        QMember renter = new QMember("renter");
+        QRentalAlertLedger ledger = QRentalAlertLedger.rentalAlertLedger;
+
+        return queryFactory
+                .selectFrom(rental)
+                .join(rental.item, item).fetchJoin()
+                .join(item.owner, owner).fetchJoin()
+                .join(rental.renterMember, renter).fetchJoin()
+                .where(
+                        rental.status.eq(status),
+                        dateRange,
+                        JPAExpressions.selectOne()
+                                .from(ledger)
+                                .where(ledger.rentalId.eq(rental.rentalId),
+                                        ledger.type.eq(alertType))
+                                .notExists()
+                )
+                .fetch();
+    }
+
     private OrderSpecifier<?> orderSpecifier(Pageable pageable) {
         if (!pageable.getSort().iterator().hasNext()) {
             return rental.requestDate.desc();
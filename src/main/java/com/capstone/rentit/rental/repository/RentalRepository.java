@@ -2,7 +2,11 @@ package com.capstone.rentit.rental.repository;
 
 import com.capstone.rentit.rental.domain.Rental;
 import com.capstone.rentit.rental.status.RentalStatusEnum;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -26,4 +30,24 @@ public interface RentalRepository extends JpaRepository<Rental, Long>, CustomRen
     Optional<Rental> findTopByItemIdAndStatus(Long itemId, RentalStatusEnum status);
 
     List<Rental> findByStatusInAndDueDateBefore(List<RentalStatusEnum> statuses, LocalDateTime dateTime);
+
+    /** 연체 대상 ID 를 rentalId 오름차순 keyset 으로 조회 */
+    @Query("select r.rentalId from Rental r " +
+            "where r.status in :statuses and r.dueDate < :now and r.rentalId > :afterId " +
+            "order by r.rentalId")
+    List<Long> findOverdueIds(@Param("statuses") List<RentalStatusEnum> statuses,
+                              @Param("now") LocalDateTime now,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+
+    /** 조회 이후 상태가 바뀐 대여는 건드리지 않도록 상태 조건을 다시 건다. */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Rental r set r.status = com.capstone.rentit.rental.status.RentalStatusEnum.DELAYED " +
+            "where r.rentalId in :ids and r.status in :statuses")
+    int markDelayedByIds(@Param("ids") List<Long> ids,
+                         @Param("statuses") List<RentalStatusEnum> statuses);
+
+    @Query("select r.rentalId from Rental r where r.rentalId in :ids and r.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") List<Long> ids,
+                                      @Param("status") RentalStatusEnum status);
 }
@@ -1,42 +1,108 @@
 package com.capstone.rentit.rental.scheduler;
 
-import com.capstone.rentit.rental.domain.Rental;
 import com.capstone.rentit.rental.repository.RentalRepository;
+import com.capstone.rentit.rental.service.EligibleRentalService;
 import com.capstone.rentit.rental.status.RentalStatusEnum;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * 연체 처리 — 엔티티를 로딩하지 않고 ID keyset 청크 단위 bulk UPDATE 로 DELAYED 처리한다.
+ * 청크마다 짧은 트랜잭션으로 커밋하므로 대량 연체 시에도 긴 트랜잭션/힙 사용이 생기지 않는다.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class RentalOverdueScheduler {
 
+    static final List<RentalStatusEnum> ACTIVE_STATUSES = Arrays.asList(
+            RentalStatusEnum.LEFT_IN_LOCKER,
+            RentalStatusEnum.PICKED_UP
+    );
+
     private final RentalRepository rentalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EligibleRentalService eligibleRentalService;
+    private final Timer sweepTimer;
+    private final Counter delayedCounter;
+
+    @Value("${rental.overdue.chunk-size:500}")
+    private int chunkSize = 500;
+
+    public RentalOverdueScheduler(RentalRepository rentalRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  EligibleRentalService eligibleRentalService,
+                                  MeterRegistry meterRegistry) {
+        this.rentalRepository = rentalRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eligibleRentalService = eligibleRentalService;
+        this.sweepTimer = Timer.builder("rental.overdue.sweep")
+                .description("연체 처리 배치 소요 시간")
+                .register(meterRegistry);
+        this.delayedCounter = Counter.builder("rental.overdue.marked")
+                .description("DELAYED 로 변경된 대여 수")
+                .register(meterRegistry);
+    }
 
     /**
      * 매일 자정(00:00)마다 실행.
      */
     @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
     public void markOverdueRentals() {
-        LocalDateTime now = LocalDateTime.now();
+        markOverdue(LocalDateTime.now());
+    }
+
+    /**
+     * dueDate < now 이면서 아직 반환되지 않은(연체 가능한) 대여를 DELAYED 로 변경
+     * @return 실제로 DELAYED 로 바뀐 대여 ID (후속 연체 알림용)
+     */
+    public List<Long> markOverdue(LocalDateTime now) {
+        Timer.Sample sample = Timer.start();
+        List<Long> delayed = new ArrayList<>();
+        int chunks = 0;
+
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = rentalRepository.findOverdueIds(ACTIVE_STATUSES, now, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) break;
 
-        List<RentalStatusEnum> activeStatuses = Arrays.asList(
-                RentalStatusEnum.LEFT_IN_LOCKER,
-                RentalStatusEnum.PICKED_UP
-        );
+            List<Long> updated = transactionTemplate.execute(status -> markChunk(ids));
+            if (updated != null) delayed.addAll(updated);
+            chunks++;
+
+            if (ids.size() < chunkSize) break;
+            afterId = ids.get(ids.size() - 1);
+        }
 
-        // dueDate < now 이면서 아직 반환되지 않은(연체 가능한) 대여 검색
-        List<Rental> overdueList = rentalRepository.findByStatusInAndDueDateBefore(activeStatuses, now);
+        if (!delayed.isEmpty()) {
+            // 여러 회원의 대여 상태가 한꺼번에 바뀌었으므로 키오스크 eligible 캐시 전체 무효화
+            eligibleRentalService.invalidateAll();
+        }
+
+        long nanos = sample.stop(sweepTimer);
+        delayedCounter.increment(delayed.size());
+        log.info("Rental overdue sweep: {} delayed in {} chunks, {} ms",
+                delayed.size(), chunks, nanos / 1_000_000);
+        return delayed;
+    }
 
-        if (!overdueList.isEmpty()) {
-            overdueList.forEach(Rental::markDelayed);
-            rentalRepository.saveAll(overdueList);
+    private List<Long> markChunk(List<Long> ids) {
+        int affected = rentalRepository.markDelayedByIds(ids, ACTIVE_STATUSES);
+        if (affected == ids.size()) {
+            return ids;
         }
+        // 조회 이후 반납 등으로 상태가 바뀐 대여가 있으면 실제 변경된 ID 만 다시 확인
+        return rentalRepository.findIdsByIdInAndStatus(ids, RentalStatusEnum.DELAYED);
     }
 }
@@ -0,0 +1,152 @@
+package com.capstone.rentit.rental.service;
+
+import com.capstone.rentit.locker.event.RentalLockerAction;
+import com.capstone.rentit.payment.service.PaymentService;
+import com.capstone.rentit.rental.dto.EligibleRentalRow;
+import com.capstone.rentit.rental.dto.RentalBriefResponseForLocker;
+import com.capstone.rentit.rental.repository.RentalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키오스크 OTP 세션의 eligible 대여 목록 조회 (읽기 전용, 락 없음)
+ *  - 잔액은 지갑 행을 잠그지 않고 읽으므로 실제 결제와 경합하지 않는다.
+ *  - 대여 + 물품명은 join 한 번으로 조회하고, 회원·action 단위로 짧게 캐시한다.
+ *  - 요금과 잔액은 시간/결제에 따라 바뀌므로 캐시하지 않고 조회 시점에 일괄 계산한다.
+ *  - 대여 상태가 바뀌면 관련 회원의 캐시를 커밋 이후에 비운다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EligibleRentalService {
+
+    private record Key(Long memberId, RentalLockerAction action) {}
+
+    private record Entry(List<EligibleRentalRow> rows, Instant expiresAt) {}
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final RentalRepository rentalRepository;
+    private final PaymentService paymentService;
+    private final Duration ttl;
+    private final int maxSize;
+    private final Clock clock;
+
+    @Autowired
+    public EligibleRentalService(RentalRepository rentalRepository,
+                                 PaymentService paymentService,
+                                 @Value("${rental.eligible-cache.ttl-seconds:10}") long ttlSeconds,
+                                 @Value("${rental.eligible-cache.max-size:10000}") int maxSize) {
+        this(rentalRepository, paymentService, Duration.ofSeconds(ttlSeconds), maxSize, Clock.systemDefaultZone());
+    }
+
+    EligibleRentalService(RentalRepository rentalRepository, PaymentService paymentService,
+                          Duration ttl, int maxSize, Clock clock) {
+        this.rentalRepository = rentalRepository;
+        this.paymentService = paymentService;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public List<RentalBriefResponseForLocker> findEligibleRentals(Long memberId, RentalLockerAction action) {
+        long balance = paymentService.getBalance(memberId);
+        List<EligibleRentalRow> rows = rows(memberId, action);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>(rows.size());
+        rows.forEach(row -> starts.add(row.feeStart()));
+        List<Long> fees = paymentService.calculateLockerFees(starts, LocalDateTime.now(clock));
+
+        List<RentalBriefResponseForLocker> result = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            EligibleRentalRow row = rows.get(i);
+            long fee = fees.get(i);
+            result.add(RentalBriefResponseForLocker.builder()
+                    .rentalId(row.rentalId())
+                    .itemId(row.itemId())
+                    .itemName(row.itemName())
+                    .lockerId(row.lockerId())
+                    .fee(fee)
+                    .balance(balance)
+                    .payable(balance >= fee)
+                    .build());
+        }
+        return result;
+    }
+
+    /** 대여 상태 변경 반영 — 트랜잭션이 있으면 커밋 이후에 해당 회원들의 캐시를 비운다. */
+    public void invalidate(Long... memberIds) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            for (Long memberId : memberIds) {
+                if (memberId == null) continue;
+                for (RentalLockerAction action : RentalLockerAction.values()) {
+                    entries.remove(new Key(memberId, action));
+                }
+            }
+        });
+    }
+
+    /** 여러 회원의 대여가 한꺼번에 바뀐 경우 (연체 일괄 처리 등) */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.clear();
+        });
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private List<EligibleRentalRow> rows(Long memberId, RentalLockerAction action) {
+        Key key = new Key(memberId, action);
+        Instant now = clock.instant();
+        long gen = generation.get();
+
+        Entry cached = entries.get(key);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return cached.rows();
+        }
+
+        List<EligibleRentalRow> rows = rentalRepository.findEligibleRentalRows(memberId, action);
+        // 조회 도중 무효화가 일어났다면 오래된 값일 수 있으므로 저장하지 않는다.
+        if (generation.get() == gen) {
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+            entries.put(key, new Entry(List.copyOf(rows), now.plus(ttl)));
+        }
+        return rows;
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
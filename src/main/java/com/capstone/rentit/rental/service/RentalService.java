@@ -5,10 +5,11 @@ import com.capstone.rentit.item.status.ItemStatusEnum;
 import com.capstone.rentit.file.service.FileStorageService;
 import com.capstone.rentit.item.domain.Item;
 import com.capstone.rentit.item.repository.ItemRepository;
+import com.capstone.rentit.item.search.ItemCountCache;
 import com.capstone.rentit.locker.event.RentalLockerAction;
+import com.capstone.rentit.locker.service.LockerService;
 import com.capstone.rentit.member.dto.MemberDto;
 import com.capstone.rentit.notification.service.NotificationService;
-import com.capstone.rentit.payment.domain.Wallet;
 import com.capstone.rentit.payment.dto.LockerPaymentRequest;
 import com.capstone.rentit.payment.dto.RentalPaymentRequest;
 import com.capstone.rentit.payment.service.PaymentService;
@@ -40,6 +41,9 @@ public class RentalService {
     private final FileStorageService fileStorageService;
     private final PaymentService paymentService;
     private final NotificationService notificationService;
+    private final ItemCountCache itemCountCache;
+    private final LockerService lockerService;
+    private final EligibleRentalService eligibleRentalService;
 
     /** 대여 요청 생성 */
     public Long requestRental(RentalRequestForm form) {
@@ -47,14 +51,16 @@ public class RentalService {
         assertNotOwner(item, form.getRenterId());
         assertItemAvailable(item);
         paymentService.assertCheckBalance(form.getRenterId(), item.getPrice());
+        reserveItem(item.getItemId());
+        itemCountCache.invalidate();
 
         Rental rental = Rental.create(form);
         rental.setItem(item);
 
         Long rentalId = rentalRepository.save(rental).getRentalId();
+        evictEligible(rental);
         paymentService.requestRentalFee(new RentalPaymentRequest(rental.getRenterId(), rental.getOwnerId(), item.getPrice()), rentalId);
 
-        item.updateRequested();
         notificationService.notifyRentRequest(rentalId);
         return rentalId;
     }
@@ -82,9 +88,11 @@ public class RentalService {
     public void approve(Long rentalId) {
         Rental r = findRental(rentalId);
         r.approve(LocalDateTime.now());
+        evictEligible(r);
 
         Item item = findItem(r.getItemId());
         item.updateOut();
+        itemCountCache.invalidate();
 
         paymentService.payRentalFee(rentalId);
         notificationService.notifyRequestAccepted(rentalId);
@@ -95,6 +103,7 @@ public class RentalService {
         Rental r = findRental(rentalId);
         assertBeforeApproved(r);
         r.reject(LocalDateTime.now());
+        evictEligible(r);
 
         paymentService.cancelPayment(rentalId);
         notificationService.notifyRentRejected(rentalId);
@@ -107,8 +116,10 @@ public class RentalService {
         assertBeforeApproved(r);
 
         r.cancel();
+        evictEligible(r);
         Item item = findItem(r.getItemId());
         item.updateAvailable();
+        itemCountCache.invalidate();
 
         paymentService.cancelPayment(rentalId);
         notificationService.notifyRequestCancel(rentalId);
@@ -145,13 +156,10 @@ public class RentalService {
             RentalBriefResponse.fromEntity(r, "", false, fileStorageService.generatePresignedUrl(r.getReturnImageUrl())));
     }
 
+    /** 키오스크 eligible 조회 — 지갑을 잠그지 않는 읽기 전용 경로로 위임 */
+    @Transactional(readOnly = true)
     public List<RentalBriefResponseForLocker> findEligibleRentals(Long memberId, RentalLockerAction action) {
-        Wallet wallet = paymentService.findWallet(memberId);
-        List<Rental> list = rentalRepository.findEligibleRentals(memberId, action);
-        return list.stream().map(r ->
-                RentalBriefResponseForLocker.fromEntity(r,
-                        paymentService.getLockerFeeByAction(action, r, LocalDateTime.now()),
-                        wallet.getBalance())).toList();
+        return eligibleRentalService.findEligibleRentals(memberId, action);
     }
 
     /** 7) 소유자가 사물함에 물건을 맡길 때 */
@@ -159,8 +167,10 @@ public class RentalService {
         Rental r = findRental(rentalId);
         assertOwner(r, ownerId);
 
+        lockerService.occupy(deviceId, lockerId, rentalId);
         r.assignLocker(deviceId, lockerId);
         r.dropOffByOwner(LocalDateTime.now());
+        evictEligible(r);
 
         notificationService.notifyItemPlaced(rentalId, deviceId, lockerId);
     }
@@ -170,8 +180,10 @@ public class RentalService {
         Rental r = findRental(rentalId);
         assertRenter(r, renterId);
 
+        lockerService.release(r.getDeviceId(), r.getLockerId());
         r.clearLocker();
         r.pickUpByRenter(LocalDateTime.now());
+        evictEligible(r);
 
         paymentService.payLockerFee(
                 new LockerPaymentRequest(renterId, PaymentType.LOCKER_FEE_RENTER, fee));
@@ -182,8 +194,10 @@ public class RentalService {
         Rental r = findRental(rentalId);
         assertRenter(r, renterId);
 
+        lockerService.occupy(deviceId, lockerId, rentalId);
         r.assignLocker(deviceId, lockerId);
         r.returnToLocker(LocalDateTime.now());
+        evictEligible(r);
         notificationService.notifyItemReturned(rentalId, deviceId, lockerId);
     }
 
@@ -201,16 +215,24 @@ public class RentalService {
         Rental r = findRental(rentalId);
         assertOwner(r, ownerId);
 
+        lockerService.release(r.getDeviceId(), r.getLockerId());
         r.clearLocker();
         r.retrieveByOwner(LocalDateTime.now());
+        evictEligible(r);
 
         Item item = findItem(r.getItemId());
         item.updateAvailable();
+        itemCountCache.invalidate();
 
         paymentService.payLockerFee(
                 new LockerPaymentRequest(ownerId, PaymentType.LOCKER_FEE_OWNER, fee));
     }
 
+    /** 상태 전이 후 소유자/대여자의 키오스크 eligible 캐시 무효화 */
+    private void evictEligible(Rental r) {
+        eligibleRentalService.invalidate(r.getOwnerId(), r.getRenterId());
+    }
+
     private Rental findRental(Long id) {
         return rentalRepository.findById(id)
                 .orElseThrow(() -> new RentalNotFoundException("존재하지 않는 대여 정보입니다."));
@@ -221,6 +243,13 @@ public class RentalService {
                 .orElseThrow(() -> new ItemNotFoundException("존재하지 않는 물품입니다."));
     }
 
+    /** 동시 요청 중 조건부 UPDATE 에 성공한 한 건만 통과시킨다. */
+    private void reserveItem(Long itemId) {
+        if (itemRepository.reserveIfAvailable(itemId) == 0) {
+            throw new ItemAlreadyRentedException("다른 사람이 대여 중이거나 승인 대기 중인 물품입니다.");
+        }
+    }
+
     private void assertItemAvailable(Item item) {
         if (item.getStatus() == ItemStatusEnum.OUT || item.getStatus() == ItemStatusEnum.REQUESTED) {
             throw new ItemAlreadyRentedException("다른 사람이 대여 중이거나 승인 대기 중인 물품입니다.");
@@ -0,0 +1,101 @@
+package com.capstone.rentit.file.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingFileStorageService 단위 테스트")
+class CachingFileStorageServiceTest {
+
+    @Mock
+    private FileStorageService delegate;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingFileStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        // 만료 15분, 마진 60초 → 14분 동안 재사용
+        service = new CachingFileStorageService(delegate, meterRegistry, 15, 60, 2, clock);
+    }
+
+    @Test
+    @DisplayName("같은 키는 재서명 없이 캐시된 URL 을 반환하고 hit/miss 가 기록된다")
+    void cachedWithinReuseWindow() {
+        given(delegate.generatePresignedUrl("a.png")).willReturn("url-a");
+
+        assertThat(service.generatePresignedUrl("a.png")).isEqualTo("url-a");
+        clock.advance(Duration.ofMinutes(13));
+        assertThat(service.generatePresignedUrl("a.png")).isEqualTo("url-a");
+
+        then(delegate).should(times(1)).generatePresignedUrl("a.png");
+        assertThat(meterRegistry.get("file.presign.cache").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("file.presign.cache").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("만료 마진 구간에 들어서면 다시 서명한다")
+    void resignsBeforeExpiry() {
+        given(delegate.generatePresignedUrl("a.png")).willReturn("url-a1", "url-a2");
+
+        service.generatePresignedUrl("a.png");
+        clock.advance(Duration.ofMinutes(14));
+
+        assertThat(service.generatePresignedUrl("a.png")).isEqualTo("url-a2");
+        then(delegate).should(times(2)).generatePresignedUrl("a.png");
+    }
+
+    @Test
+    @DisplayName("빈 키는 위임하지 않고 빈 문자열을 반환한다")
+    void emptyKey() {
+        assertThat(service.generatePresignedUrl(null)).isEmpty();
+        assertThat(service.generatePresignedUrl("")).isEmpty();
+        then(delegate).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 항목을 제거해 용량을 유지한다")
+    void boundedBySize() {
+        given(delegate.generatePresignedUrl(anyString())).willAnswer(inv -> "url-" + inv.getArgument(0));
+
+        service.generatePresignedUrl("a");
+        service.generatePresignedUrl("b");
+        service.generatePresignedUrl("c");
+
+        assertThat(service.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("file.presign.cache.evictions").counter().count()).isEqualTo(1.0);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
@@ -231,6 +231,117 @@ class ItemControllerTest {
         then(itemService).should().getAllItems(any(ItemSearchForm.class), any(Pageable.class));
     }
 
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/items/feed - 목록 카드 조회")
+    @Test
+    void getItemFeed() throws Exception {
+        var dto = ItemFeedResponse.builder()
+                .itemId(1L).name("One").price(1000)
+                .status(ItemStatusEnum.AVAILABLE)
+                .thumbnailUrl("url1")
+                .startDate(LocalDateTime.now())
+                .endDate(LocalDateTime.now().plusDays(1))
+                .createdAt(LocalDateTime.now())
+                .ownerId(1001L).ownerNickname("owner1").ownerProfileImg("pfUrl")
+                .build();
+        Pageable pageable = PageRequest.of(0, 20);
+        given(itemService.getItemFeed(any(ItemSearchForm.class), any(Pageable.class)))
+                .willReturn(new PageImpl<>(List.of(dto), pageable, 1));
+
+        mockMvc.perform(get("/api/v1/items/feed")
+                        .with(csrf())
+                        .queryParam("keyword", "가나다")
+                        .queryParam("page", "0")
+                        .queryParam("size", "20")
+                        .queryParam("sort", "createdAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].thumbnailUrl").value("url1"))
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andDo(document("get-item-feed",
+                        relaxedQueryParameters(
+                                parameterWithName("keyword").optional().description("검색 키워드 (물품명 또는 상세 설명 포함)"),
+                                parameterWithName("page").description("페이지 번호 (0부터 시작)"),
+                                parameterWithName("size").description("페이지 크기"),
+                                parameterWithName("sort").description("정렬 기준 (예: createdAt,desc)")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("success").type(JsonFieldType.BOOLEAN).description("API 호출 성공 여부"),
+                                fieldWithPath("data.content[].itemId").type(JsonFieldType.NUMBER).description("물품 ID"),
+                                fieldWithPath("data.content[].name").type(JsonFieldType.STRING).description("물품 이름"),
+                                fieldWithPath("data.content[].price").type(JsonFieldType.NUMBER).description("대여 가격"),
+                                fieldWithPath("data.content[].status").type(JsonFieldType.STRING).description("물품 상태"),
+                                fieldWithPath("data.content[].thumbnailUrl").type(JsonFieldType.STRING).description("대표 이미지 URL"),
+                                fieldWithPath("data.content[].startDate").type(JsonFieldType.STRING).description("대여 가능 시작일"),
+                                fieldWithPath("data.content[].endDate").type(JsonFieldType.STRING).description("대여 가능 종료일"),
+                                fieldWithPath("data.content[].createdAt").type(JsonFieldType.STRING).description("등록일"),
+                                fieldWithPath("data.content[].ownerId").type(JsonFieldType.NUMBER).description("소유자 ID"),
+                                fieldWithPath("data.content[].ownerNickname").type(JsonFieldType.STRING).description("소유자 닉네임"),
+                                fieldWithPath("data.content[].ownerProfileImg").type(JsonFieldType.STRING).description("소유자 프로필 이미지 URL"),
+                                fieldWithPath("data.totalElements").type(JsonFieldType.NUMBER).description("전체 요소 수"),
+                                fieldWithPath("message").type(JsonFieldType.STRING).description("응답 메시지 (성공 시 빈 문자열)")
+                        )
+                ));
+
+        then(itemService).should().getItemFeed(any(ItemSearchForm.class), any(Pageable.class));
+    }
+
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/items/scroll - 무한 스크롤 물품 조회")
+    @Test
+    void scrollItems() throws Exception {
+        var dto = ItemFeedResponse.builder()
+                .itemId(1L).name("One").price(1000)
+                .status(ItemStatusEnum.AVAILABLE)
+                .thumbnailUrl("url1")
+                .createdAt(LocalDateTime.now())
+                .ownerId(1001L).ownerNickname("owner1").ownerProfileImg("pfUrl")
+                .build();
+        ItemScrollResponse<ItemFeedResponse> res = ItemScrollResponse.<ItemFeedResponse>builder()
+                .content(List.of(dto))
+                .nextCursor("Y3JlYXRlZEF0fGR8MjAyNS0wNS0wMVQxMjowMHwx")
+                .hasNext(true)
+                .build();
+
+        given(itemService.scrollItems(any(ItemSearchForm.class), any(), any(Pageable.class))).willReturn(res);
+
+        mockMvc.perform(get("/api/v1/items/scroll")
+                        .with(csrf())
+                        .queryParam("keyword", "가나다")
+                        .queryParam("status", "AVAILABLE")
+                        .queryParam("cursor", "Y3JlYXRlZEF0fGR8MjAyNS0wNS0wMlQxMjowMHwy")
+                        .queryParam("size", "20")
+                        .queryParam("sort", "createdAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value("Y3JlYXRlZEF0fGR8MjAyNS0wNS0wMVQxMjowMHwx"))
+                .andDo(document("scroll-items",
+                        relaxedQueryParameters(
+                                parameterWithName("keyword").optional().description("검색 키워드 (물품명 또는 상세 설명 포함)"),
+                                parameterWithName("status").optional().description("물품 상태 필터 (예: AVAILABLE, OUT)"),
+                                parameterWithName("cursor").optional().description("이전 응답의 nextCursor (첫 페이지는 생략)"),
+                                parameterWithName("size").description("페이지 크기"),
+                                parameterWithName("sort").description("정렬 기준 (createdAt 또는 price, 예: price,asc)")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("success").type(JsonFieldType.BOOLEAN).description("API 호출 성공 여부"),
+                                fieldWithPath("data.content[].itemId").type(JsonFieldType.NUMBER).description("물품 ID"),
+                                fieldWithPath("data.content[].name").type(JsonFieldType.STRING).description("물품 이름"),
+                                fieldWithPath("data.content[].price").type(JsonFieldType.NUMBER).description("대여 가격"),
+                                fieldWithPath("data.content[].thumbnailUrl").type(JsonFieldType.STRING).description("대표 이미지 URL"),
+                                fieldWithPath("data.content[].ownerNickname").type(JsonFieldType.STRING).description("소유자 닉네임"),
+                                fieldWithPath("data.nextCursor").type(JsonFieldType.STRING).optional().description("다음 페이지 커서 (마지막 페이지면 null)"),
+                                fieldWithPath("data.hasNext").type(JsonFieldType.BOOLEAN).description("다음 페이지 존재 여부"),
+                                fieldWithPath("message").type(JsonFieldType.STRING).description("응답 메시지 (성공 시 빈 문자열)")
+                        )
+                ));
+
+        then(itemService).should().scrollItems(any(ItemSearchForm.class),
+                eq("Y3JlYXRlZEF0fGR8MjAyNS0wNS0wMlQxMjowMHwy"), any(Pageable.class));
+    }
+
     @WithMockUser(roles = "USER")
     @DisplayName("GET /api/v1/items/{id} - 단일 물품 조회")
     @Test
@@ -2,7 +2,10 @@ package com.capstone.rentit.item.repository;
 
 import com.capstone.rentit.config.QuerydslConfig;
 import com.capstone.rentit.item.domain.Item;
+import com.capstone.rentit.item.dto.ItemCursor;
+import com.capstone.rentit.item.dto.ItemFeedRow;
 import com.capstone.rentit.item.dto.ItemSearchForm;
+import com.capstone.rentit.item.search.ItemSearchIndex;
 import com.capstone.rentit.item.status.ItemStatusEnum;
 import com.capstone.rentit.member.domain.Company;
 import com.capstone.rentit.member.domain.Student;
@@ -22,12 +25,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -41,6 +46,10 @@ class CustomItemRepositoryImplTest {
 
     private CustomItemRepository itemRepository;
 
+    private ItemSearchIndex itemSearchIndex;
+
+    private JPAQueryFactory queryFactory;
+
     @Autowired
     private MemberRepository memberRepository;
 
@@ -48,7 +57,8 @@ class CustomItemRepositoryImplTest {
 
     @BeforeEach
     void setUp() {
-        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        queryFactory = new JPAQueryFactory(em);
+        itemSearchIndex = new ItemSearchIndex();
         itemRepository = new CustomItemRepositoryImpl(queryFactory);
 
         Student common = Student.builder()
@@ -84,7 +94,7 @@ class CustomItemRepositoryImplTest {
 
         // when
         ItemSearchForm form = new ItemSearchForm(); // 모든 필드 null
-        Page<Item> result = itemRepository.search(form, Pageable.unpaged());
+        Page<Item> result = search(form, Pageable.unpaged());
 
         // then
         assertThat(result.getTotalElements()).isEqualTo(3);
@@ -110,7 +120,7 @@ class CustomItemRepositoryImplTest {
         form.setStatus(ItemStatusEnum.AVAILABLE);
 
         Pageable pg = PageRequest.of(0, 10, Sort.by("createdAt").descending());
-        Page<Item> page = itemRepository.search(form, pg);
+        Page<Item> page = search(form, pg);
 
         // then
         assertThat(page.getTotalElements()).isEqualTo(2);
@@ -118,6 +128,143 @@ class CustomItemRepositoryImplTest {
         assertThat(page.getContent()).containsExactly(match, first);
     }
 
+    @Test
+    @DisplayName("2-1. 검색 색인 구축 후 keyword 검색 → LIKE 검색과 동일한 결과, REMOVED 물품은 색인 제외")
+    void whenSearchIndexReady_thenKeywordResolvedByIndex() {
+        // given
+        Item first = saveItem("접이식 우산", "비 오는 날 휴대용", ItemStatusEnum.AVAILABLE,
+                null, null, 100, LocalDateTime.now().minusDays(2), defaultOwnerId);
+        Item match = saveItem("장우산", "튼튼한 우산입니다", ItemStatusEnum.OUT,
+                null, null, 150, LocalDateTime.now().minusDays(1), defaultOwnerId);
+        saveItem("노트북", "삼성 13인치", ItemStatusEnum.AVAILABLE,
+                null, null, 200, LocalDateTime.now(), defaultOwnerId);
+        saveItem("고장난 우산", "폐기", ItemStatusEnum.REMOVED,
+                null, null, 200, LocalDateTime.now(), defaultOwnerId);
+        em.flush();
+
+        itemSearchIndex.reconcile(itemSearchIndex.currentSequence(), itemRepository.findKeywordDocuments());
+
+        // when
+        ItemSearchForm form = new ItemSearchForm();
+        form.setKeyword("우산");
+        Set<Long> hits = itemSearchIndex.search("우산").orElseThrow();
+        Pageable pg = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+        Page<Item> page = PageableExecutionUtils.getPage(itemRepository.search(form, hits, pg), pg,
+                () -> itemRepository.countBy(form, hits));
+
+        // then
+        assertThat(itemSearchIndex.size()).isEqualTo(3);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).containsExactly(match, first);
+    }
+
+    @Test
+    @DisplayName("2-2. 검색 색인에 없는 keyword → 빈 결과")
+    void whenSearchIndexReadyAndNoHit_thenEmpty() {
+        saveItem("Alpha", "first", ItemStatusEnum.AVAILABLE,
+                null, null, 100, LocalDateTime.now(), defaultOwnerId);
+        em.flush();
+        itemSearchIndex.reconcile(itemSearchIndex.currentSequence(), itemRepository.findKeywordDocuments());
+
+        ItemSearchForm form = new ItemSearchForm();
+        form.setKeyword("zeta");
+        Set<Long> hits = itemSearchIndex.search("zeta").orElseThrow();
+
+        assertThat(hits).isEmpty();
+        assertThat(itemRepository.search(form, hits, PageRequest.of(0, 10))).isEmpty();
+        assertThat(itemRepository.countBy(form, hits)).isZero();
+    }
+
+    @Test
+    @DisplayName("2-3. keyset 조회 (createdAt DESC) → 동일 createdAt 이 있어도 누락/중복 없이 순회")
+    void whenSearchAfterByCreatedAt_thenWalkAllPagesWithoutGap() {
+        LocalDateTime base = LocalDateTime.of(2025, 5, 1, 12, 0);
+        Item i1 = saveItem("A", "a", ItemStatusEnum.AVAILABLE, null, null, 100, base.minusDays(2), defaultOwnerId);
+        Item i2 = saveItem("B", "b", ItemStatusEnum.AVAILABLE, null, null, 100, base, defaultOwnerId);
+        Item i3 = saveItem("C", "c", ItemStatusEnum.AVAILABLE, null, null, 100, base, defaultOwnerId);
+        Item i4 = saveItem("D", "d", ItemStatusEnum.AVAILABLE, null, null, 100, base.plusDays(1), defaultOwnerId);
+        em.flush();
+        em.clear();
+
+        ItemSearchForm form = new ItemSearchForm();
+        ItemCursor cursor = ItemCursor.first(Sort.by("createdAt").descending());
+
+        List<ItemFeedRow> page1 = itemRepository.searchFeedAfter(form, null, cursor, 2);
+        List<ItemFeedRow> page2 = itemRepository.searchFeedAfter(form, null, cursor.next(page1.get(1)), 2);
+        List<ItemFeedRow> page3 = itemRepository.searchFeedAfter(form, null, cursor.next(page2.get(1)), 2);
+
+        assertThat(page1).extracting(ItemFeedRow::itemId).containsExactly(i4.getItemId(), i3.getItemId());
+        assertThat(page2).extracting(ItemFeedRow::itemId).containsExactly(i2.getItemId(), i1.getItemId());
+        assertThat(page3).isEmpty();
+    }
+
+    @Test
+    @DisplayName("2-4. keyset 조회 (price ASC) + status 필터 → 가격 오름차순, 필터 적용")
+    void whenSearchAfterByPriceAsc_thenFilteredAndSorted() {
+        LocalDateTime now = LocalDateTime.of(2025, 5, 1, 12, 0);
+        Item cheap = saveItem("A", "a", ItemStatusEnum.AVAILABLE, null, null, 100, now, defaultOwnerId);
+        Item mid1 = saveItem("B", "b", ItemStatusEnum.AVAILABLE, null, null, 200, now, defaultOwnerId);
+        Item mid2 = saveItem("C", "c", ItemStatusEnum.AVAILABLE, null, null, 200, now, defaultOwnerId);
+        saveItem("D", "d", ItemStatusEnum.OUT, null, null, 150, now, defaultOwnerId);
+        em.flush();
+        em.clear();
+
+        ItemSearchForm form = new ItemSearchForm();
+        form.setStatus(ItemStatusEnum.AVAILABLE);
+        ItemCursor cursor = ItemCursor.first(Sort.by("price").ascending());
+
+        List<ItemFeedRow> page1 = itemRepository.searchFeedAfter(form, null, cursor, 2);
+        List<ItemFeedRow> page2 = itemRepository.searchFeedAfter(form, null, cursor.next(page1.get(1)), 2);
+
+        assertThat(page1).extracting(ItemFeedRow::itemId).containsExactly(cheap.getItemId(), mid1.getItemId());
+        assertThat(page2).extracting(ItemFeedRow::itemId).containsExactly(mid2.getItemId());
+    }
+
+    @Test
+    @DisplayName("2-5. feed projection 조회 → 소유자 정보 포함, search 와 동일한 필터·정렬·count")
+    void whenSearchFeed_thenProjectionWithOwner() {
+        LocalDateTime now = LocalDateTime.of(2025, 5, 1, 12, 0);
+        Item older = saveItem("Alpha", "a", ItemStatusEnum.AVAILABLE, null, null, 100, now.minusDays(1), defaultOwnerId);
+        Item newer = saveItem("AlphaBeta", "b", ItemStatusEnum.AVAILABLE, null, null, 200, now, defaultOwnerId);
+        saveItem("Gamma", "c", ItemStatusEnum.AVAILABLE, null, null, 300, now, defaultOwnerId);
+        em.flush();
+        em.clear();
+
+        ItemSearchForm form = new ItemSearchForm();
+        form.setKeyword("alpha");
+        Pageable pg = PageRequest.of(0, 1, Sort.by("createdAt").descending());
+        Page<ItemFeedRow> page = PageableExecutionUtils.getPage(itemRepository.searchFeed(form, null, pg), pg,
+                () -> itemRepository.countBy(form, null));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).hasSize(1);
+        ItemFeedRow row = page.getContent().get(0);
+        assertThat(row.itemId()).isEqualTo(newer.getItemId());
+        assertThat(row.price()).isEqualTo(200L);
+        assertThat(row.ownerId()).isEqualTo(defaultOwnerId);
+        assertThat(row.ownerNickname()).isEqualTo("commonNick");
+    }
+
+    @Test
+    @DisplayName("2-6. 썸네일 key 일괄 조회 → itemId 별 첫 번째(등록 순서) 이미지 key 만 반환")
+    void whenFindThumbnailKeysByItemIds_thenFirstKeyPerItem() {
+        Item a = saveItem("A", "a", ItemStatusEnum.AVAILABLE, null, null, 100, LocalDateTime.now(), defaultOwnerId);
+        Item b = saveItem("B", "b", ItemStatusEnum.AVAILABLE, null, null, 100, LocalDateTime.now(), defaultOwnerId);
+        Item c = saveItem("C", "c", ItemStatusEnum.AVAILABLE, null, null, 100, LocalDateTime.now(), defaultOwnerId);
+        a.getImageKeys().addAll(List.of("z1", "a2"));   // 정렬 순서가 아니라 등록 순서
+        b.getImageKeys().add("b1");
+        c.getImageKeys().add("c1");
+        em.flush();
+        em.clear();
+
+        var keys = itemRepository.findThumbnailKeysByItemIds(List.of(a.getItemId(), b.getItemId()));
+
+        assertThat(keys).containsOnlyKeys(a.getItemId(), b.getItemId());
+        assertThat(keys.get(a.getItemId())).isEqualTo("z1");
+        assertThat(keys.get(b.getItemId())).isEqualTo("b1");
+        assertThat(itemRepository.findThumbnailKeysByItemIds(List.of())).isEmpty();
+    }
+
     @Test
     @DisplayName("3. paged + 날짜·가격 범위 필터 + ASC 정렬 → 조건에 맞는 아이템을 createdAt ASC 순으로 반환")
     void whenPagedAndDateAndPriceAndAscSort_thenFilterAndSortAsc() {
@@ -159,7 +306,7 @@ class CustomItemRepositoryImplTest {
         form.setMaxPrice(250);
 
         Pageable pg = PageRequest.of(0, 10, Sort.by("createdAt").ascending());
-        Page<Item> page = itemRepository.search(form, pg);
+        Page<Item> page = search(form, pg);
 
         // then: 성공 케이스 2개만 createdAt 오름차순으로 조회되어야 함
         assertThat(page.getTotalElements()).isEqualTo(2);
@@ -211,7 +358,7 @@ class CustomItemRepositoryImplTest {
                 MemberRoleEnum.COMPANY
         ));
         Pageable pg = PageRequest.of(0, 10, Sort.by("createdAt").ascending());
-        Page<Item> result = itemRepository.search(form, pg);
+        Page<Item> result = search(form, pg);
 
         // then: 저장한 학생, 기업 아이템이 조회되어야 함
         assertThat(result.getContent()).hasSize(2);
@@ -255,7 +402,7 @@ class CustomItemRepositoryImplTest {
         ItemSearchForm form = new ItemSearchForm();
         form.setUniversity("UnivA");
 
-        Page<Item> result = itemRepository.search(form, Pageable.unpaged());
+        Page<Item> result = search(form, Pageable.unpaged());
 
         // then: s1(“UnivA”) 소유 아이템만 조회
         assertThat(result.getTotalElements()).isEqualTo(1);
@@ -264,6 +411,45 @@ class CustomItemRepositoryImplTest {
                 .containsExactly(s1.getMemberId());
     }
 
+    @Test
+    @DisplayName("5-1. 키워드/대학명 앞뒤 공백은 무시되어, 공백만 다른 조건은 같은 결과와 같은 total 을 받는다")
+    void whenConditionHasSurroundingSpaces_thenSameResultAsTrimmed() {
+        Student s1 = Student.builder()
+                .email("stuT@example.com").password("pwd").name("studentT")
+                .role(MemberRoleEnum.STUDENT).locked(false).createdAt(LocalDate.now())
+                .studentId("STTT").university("UnivT").nickname("nickT").phone("010-3333-0000")
+                .build();
+        s1 = (Student) memberRepository.save(s1);
+        LocalDateTime now = LocalDateTime.now();
+        Item match = saveItem("SpaceAlpha", "desc", ItemStatusEnum.AVAILABLE,
+                null, null, 100, now.minusDays(2), s1.getMemberId());
+        saveItem("SpaceBeta", "desc", ItemStatusEnum.AVAILABLE,
+                null, null, 100, now.minusDays(1), s1.getMemberId());
+        em.flush();
+
+        ItemSearchForm trimmed = new ItemSearchForm();
+        trimmed.setKeyword("spacealpha");
+        trimmed.setUniversity("univt");
+        ItemSearchForm spaced = new ItemSearchForm();
+        spaced.setKeyword(" SpaceAlpha ");
+        spaced.setUniversity(" UnivT");
+
+        // 첫 페이지가 가득 차도록 size 1 — 두 조건 모두 count 를 센다
+        Pageable pg = PageRequest.of(0, 1, Sort.by("createdAt").descending());
+        Page<Item> first = search(trimmed, pg);
+        Page<Item> second = search(spaced, pg);
+
+        assertThat(first.getContent()).containsExactly(match);
+        assertThat(second.getContent()).containsExactly(match);
+        assertThat(second.getTotalElements()).isEqualTo(first.getTotalElements()).isEqualTo(1);
+    }
+
+    /** 서비스와 같은 방식으로 content + count 를 페이지로 조립 (keyword 는 LIKE 검색) */
+    private Page<Item> search(ItemSearchForm form, Pageable pageable) {
+        return PageableExecutionUtils.getPage(itemRepository.search(form, null, pageable), pageable,
+                () -> itemRepository.countBy(form, null));
+    }
+
     // — 헬퍼 메서드: Item 생성 & persist —
     private Item saveItem(String name,
                           String description,
@@ -0,0 +1,111 @@
+package com.capstone.rentit.item.search;
+
+import com.capstone.rentit.item.dto.ItemSearchForm;
+import com.capstone.rentit.member.status.MemberRoleEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCountCacheTest {
+
+    private MutableClock clock;
+    private ItemCountCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new ItemCountCache(Duration.ofSeconds(30), 100, clock);
+        loads = new AtomicInteger();
+    }
+
+    private long load(ItemSearchForm form, long value) {
+        return cache.get(form, () -> {
+            loads.incrementAndGet();
+            return value;
+        });
+    }
+
+    @Test
+    @DisplayName("정규화된 조건이 같으면 TTL 동안 loader 를 다시 호출하지 않는다")
+    void reuseForNormalizedForm() {
+        ItemSearchForm a = new ItemSearchForm();
+        a.setKeyword(" Camera ");
+        a.setStartDate(LocalDateTime.of(2025, 1, 1, 9, 0));
+        a.setOwnerRoles(List.of(MemberRoleEnum.STUDENT, MemberRoleEnum.COMPANY));
+
+        ItemSearchForm b = new ItemSearchForm();
+        b.setKeyword("camera");
+        b.setStartDate(LocalDateTime.of(2025, 1, 1, 18, 30));
+        b.setOwnerRoles(List.of(MemberRoleEnum.COMPANY, MemberRoleEnum.STUDENT));
+
+        assertThat(load(a, 7)).isEqualTo(7);
+        assertThat(load(b, 99)).isEqualTo(7);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나면 다시 계산한다")
+    void reloadAfterTtl() {
+        ItemSearchForm form = new ItemSearchForm();
+        load(form, 1);
+
+        clock.advance(Duration.ofSeconds(31));
+
+        assertThat(load(form, 2)).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 invalidate 하면 즉시 비워진다")
+    void invalidateClearsEntries() {
+        ItemSearchForm form = new ItemSearchForm();
+        load(form, 1);
+
+        cache.invalidate();
+
+        assertThat(cache.size()).isZero();
+        assertThat(load(form, 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("계산 도중 무효화되면 결과를 캐시에 저장하지 않는다")
+    void staleLoadIsNotStored() {
+        ItemSearchForm form = new ItemSearchForm();
+
+        long count = cache.get(form, () -> {
+            cache.invalidate();
+            return 5;
+        });
+
+        assertThat(count).isEqualTo(5);
+        assertThat(cache.size()).isZero();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
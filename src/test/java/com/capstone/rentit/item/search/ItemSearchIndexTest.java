@@ -0,0 +1,119 @@
+package com.capstone.rentit.item.search;
+
+import com.capstone.rentit.item.dto.ItemKeywordDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.reconcile(0, List.of(
+                new ItemKeywordDocument(1L, "접이식 우산", "비 오는 날 간편하게 휴대 가능한 우산입니다."),
+                new ItemKeywordDocument(2L, "삼성 13인치 노트북", "휴대성과 성능을 겸비한 노트북입니다."),
+                new ItemKeywordDocument(3L, "JBL Flip 6", "Bluetooth Speaker")
+        ));
+    }
+
+    @DisplayName("첫 reconcile 전에는 색인이 준비되지 않아 empty 반환")
+    @Test
+    void search_beforeReconcile_thenEmpty() {
+        assertThat(new ItemSearchIndex().search("우산")).isEmpty();
+    }
+
+    @DisplayName("한글 부분 문자열 검색 (name/description 모두)")
+    @Test
+    void search_koreanSubstring() {
+        assertThat(index.search("우산")).contains(Set.of(1L));
+        assertThat(index.search("휴대")).contains(Set.of(1L, 2L));
+        assertThat(index.search("노")).contains(Set.of(2L));
+    }
+
+    @DisplayName("대소문자 무시 검색")
+    @Test
+    void search_ignoreCase() {
+        assertThat(index.search("bluetooth")).contains(Set.of(3L));
+        assertThat(index.search("FLIP")).contains(Set.of(3L));
+    }
+
+    @DisplayName("bigram 은 모두 포함하지만 연속되지 않은 경우는 제외 (LIKE 와 동일)")
+    @Test
+    void search_nonContiguousBigrams_thenNoHit() {
+        index.index(4L, "abxbc", "");
+        assertThat(index.search("abc")).contains(Set.of());
+    }
+
+    @DisplayName("name 과 description 경계를 넘는 키워드는 매칭되지 않음")
+    @Test
+    void search_acrossFieldBoundary_thenNoHit() {
+        index.index(5L, "foo", "bar");
+        assertThat(index.search("oob")).contains(Set.of());
+    }
+
+    @DisplayName("수정 시 이전 내용은 제거되고 새 내용으로 색인")
+    @Test
+    void index_update_replacesOldGrams() {
+        index.index(1L, "장화", "비 오는 날 신는 장화");
+
+        assertThat(index.search("우산")).contains(Set.of());
+        assertThat(index.search("장화")).contains(Set.of(1L));
+    }
+
+    @DisplayName("삭제 시 색인에서 제거")
+    @Test
+    void remove_thenNotSearchable() {
+        index.remove(2L);
+
+        assertThat(index.search("노트북")).contains(Set.of());
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @DisplayName("reconcile: 다른 인스턴스/직접 수정된 DB 변경을 반영한다")
+    @Test
+    void reconcile_appliesDbChanges() {
+        int drifted = index.reconcile(index.currentSequence(), List.of(
+                new ItemKeywordDocument(1L, "접이식 우산", "비 오는 날 간편하게 휴대 가능한 우산입니다."),
+                new ItemKeywordDocument(2L, "LG 그램 노트북", "가벼운 노트북입니다."),
+                new ItemKeywordDocument(6L, "캠핑 의자", "접이식 의자")
+        ));
+
+        assertThat(drifted).isEqualTo(3);  // 2 수정, 3 삭제, 6 추가
+        assertThat(index.search("그램")).contains(Set.of(2L));
+        assertThat(index.search("flip")).contains(Set.of());
+        assertThat(index.search("접이식")).contains(Set.of(1L, 6L));
+    }
+
+    @DisplayName("reconcile: DB 조회 이후 메모리에서 바뀐 물품은 덮어쓰지 않는다")
+    @Test
+    void reconcile_keepsNewerChanges() {
+        long start = index.currentSequence();
+        index.index(1L, "장화", "비 오는 날 신는 장화");   // 조회 도중 커밋된 수정
+        index.index(7L, "텐트", "");                      // 조회 도중 커밋된 등록
+        index.remove(3L);                                // 조회 도중 커밋된 삭제
+
+        index.reconcile(start, List.of(
+                new ItemKeywordDocument(1L, "접이식 우산", "비 오는 날 간편하게 휴대 가능한 우산입니다."),
+                new ItemKeywordDocument(2L, "삼성 13인치 노트북", "휴대성과 성능을 겸비한 노트북입니다."),
+                new ItemKeywordDocument(3L, "JBL Flip 6", "Bluetooth Speaker")
+        ));
+
+        assertThat(index.search("장화")).contains(Set.of(1L));
+        assertThat(index.search("텐트")).contains(Set.of(7L));
+        assertThat(index.search("flip")).contains(Set.of());
+
+        // 다음 reconcile 부터는 DB 가 기준이다.
+        index.reconcile(index.currentSequence(), List.of(
+                new ItemKeywordDocument(2L, "삼성 13인치 노트북", "휴대성과 성능을 겸비한 노트북입니다.")));
+        assertThat(index.search("장화")).contains(Set.of());
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
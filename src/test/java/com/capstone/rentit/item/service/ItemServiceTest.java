@@ -2,14 +2,21 @@ package com.capstone.rentit.item.service;
 
 import com.capstone.rentit.file.service.FileStorageService;
 import com.capstone.rentit.item.dto.ItemCreateForm;
+import com.capstone.rentit.item.dto.ItemCursor;
+import com.capstone.rentit.item.dto.ItemFeedResponse;
+import com.capstone.rentit.item.dto.ItemFeedRow;
+import com.capstone.rentit.item.dto.ItemScrollResponse;
 import com.capstone.rentit.item.dto.ItemSearchForm;
 import com.capstone.rentit.item.dto.ItemSearchResponse;
 import com.capstone.rentit.item.dto.ItemUpdateForm;
 import com.capstone.rentit.item.domain.Item;
 import com.capstone.rentit.item.exception.ItemImageMissingException;
+import com.capstone.rentit.item.exception.ItemInvalidCursorException;
 import com.capstone.rentit.item.exception.ItemNotFoundException;
 import com.capstone.rentit.item.exception.ItemUnauthorizedException;
 import com.capstone.rentit.item.repository.ItemRepository;
+import com.capstone.rentit.item.search.ItemCountCache;
+import com.capstone.rentit.item.search.ItemSearchIndex;
 import com.capstone.rentit.item.status.ItemStatusEnum;
 import com.capstone.rentit.member.domain.Student;
 import com.capstone.rentit.member.dto.MemberDto;
@@ -46,6 +53,12 @@ class ItemServiceTest {
     @Mock
     private FileStorageService fileStorageService;
 
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private ItemCountCache itemCountCache;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -151,6 +164,8 @@ class ItemServiceTest {
 
         assertThat(returnedId).isEqualTo(42L);
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemSearchIndex).index(42L, createForm.getName(), createForm.getDescription());
+        verify(itemCountCache).invalidate();
     }
 
     @DisplayName("createItem: imageKeys가 없으면 ItemImageMissingException")
@@ -168,9 +183,8 @@ class ItemServiceTest {
     @DisplayName("getAllItems: 저장된 모든 아이템을 DTO 목록으로 반환")
     @Test
     void getAllItems_returnDtoList() {
-        Page<Item> page = new PageImpl<>(List.of(sampleItem), pageable, 1);
-        when(itemRepository.search(any(ItemSearchForm.class), eq(pageable)))
-                .thenReturn(page);
+        when(itemRepository.search(any(ItemSearchForm.class), isNull(), eq(pageable)))
+                .thenReturn(List.of(sampleItem));
 
         Page<ItemSearchResponse> dtoPage = itemService.getAllItems(new ItemSearchForm(), pageable);
 
@@ -179,7 +193,8 @@ class ItemServiceTest {
         assertThat(dto.getName()).isEqualTo(sampleItem.getName());
         assertThat(dto.getImageUrls()).containsExactlyInAnyOrder("url://keyA", "url://keyB");
         assertThat(dto.getOwner().getProfileImg()).isEqualTo("url://owner/profile.png");
-        verify(itemRepository, times(1)).search(any(ItemSearchForm.class), eq(pageable));
+        verify(itemRepository, times(1)).search(any(ItemSearchForm.class), isNull(), eq(pageable));
+        verifyNoInteractions(itemCountCache);   // 첫 페이지가 덜 찼으면 count 를 세지 않는다
     }
 
     @DisplayName("getAllItems: 조건에 맞는 아이템만 반환")
@@ -190,9 +205,9 @@ class ItemServiceTest {
         form.setMinPrice(1000);
         form.setMaxPrice(6000);
 
-        Page<Item> page = new PageImpl<>(List.of(sampleItem), pageable, 1);
-        when(itemRepository.search(form, pageable))
-                .thenReturn(page);
+        given(itemSearchIndex.search("Sample")).willReturn(Optional.of(Set.of(42L)));
+        when(itemRepository.search(any(ItemSearchForm.class), eq(Set.of(42L)), eq(pageable)))
+                .thenReturn(List.of(sampleItem));
 
         Page<ItemSearchResponse> dtoPage = itemService.getAllItems(form, pageable);
 
@@ -201,7 +216,97 @@ class ItemServiceTest {
                 .first()
                 .extracting(ItemSearchResponse::getName)
                 .isEqualTo("SampleItem");
-        verify(itemRepository).search(form, pageable);
+        verify(itemRepository).search(
+                argThat(f -> f.getMinPrice() == 1000 && f.getMaxPrice() == 6000), eq(Set.of(42L)), eq(pageable));
+    }
+
+    @DisplayName("getAllItems: 색인 미준비면 ID 없이(LIKE) 조회하고, 페이지가 가득 차면 count 캐시를 거친다")
+    @Test
+    void getAllItems_fullPage_thenCountThroughCache() {
+        ItemSearchForm form = new ItemSearchForm();
+        form.setKeyword("  Sample ");
+        Pageable one = PageRequest.of(0, 1);
+
+        given(itemSearchIndex.search("Sample")).willReturn(Optional.empty());
+        given(itemRepository.search(any(ItemSearchForm.class), isNull(), eq(one))).willReturn(List.of(sampleItem));
+        given(itemCountCache.get(any(ItemSearchForm.class), any())).willReturn(5L);
+
+        Page<ItemSearchResponse> dtoPage = itemService.getAllItems(form, one);
+
+        assertThat(dtoPage.getTotalElements()).isEqualTo(5);
+        verify(itemCountCache).get(argThat(f -> "Sample".equals(f.getKeyword())), any());
+        verify(itemRepository, never()).countBy(any(), any());   // 캐시 hit 이면 count 쿼리 없음
+    }
+
+    // ------------ getItemFeed ------------
+    @DisplayName("getItemFeed: projection 행 + 일괄 조회한 이미지 key 로 카드 DTO 생성")
+    @Test
+    void getItemFeed_returnCardsWithThumbnail() {
+        ItemFeedRow withImage = feedRow(1L, LocalDateTime.of(2025, 5, 1, 10, 0));
+        ItemFeedRow withoutImage = feedRow(2L, LocalDateTime.of(2025, 4, 1, 10, 0));
+        given(itemRepository.searchFeed(any(ItemSearchForm.class), isNull(), eq(pageable)))
+                .willReturn(List.of(withImage, withoutImage));
+        given(itemRepository.findThumbnailKeysByItemIds(List.of(1L, 2L)))
+                .willReturn(Map.of(1L, "keyA"));
+
+        Page<ItemFeedResponse> page = itemService.getItemFeed(new ItemSearchForm(), pageable);
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(ItemFeedResponse::getThumbnailUrl)
+                .containsExactly("url://keyA", "");
+        assertThat(page.getContent().get(0).getOwnerProfileImg()).isEqualTo("url://owner/profile.png");
+        verify(itemRepository, never()).search(any(), any(), any());
+        verify(itemRepository, times(1)).findThumbnailKeysByItemIds(anyCollection());
+    }
+
+    // ------------ scrollItems ------------
+    @DisplayName("scrollItems: size+1 건이 조회되면 hasNext=true, 마지막 물품 기준 nextCursor 반환")
+    @Test
+    void scrollItems_moreThanSize_thenHasNextAndCursor() {
+        ItemFeedRow first = feedRow(42L, LocalDateTime.of(2025, 6, 1, 10, 0));
+        ItemFeedRow second = feedRow(41L, LocalDateTime.of(2025, 5, 1, 10, 0));
+        ItemFeedRow third = feedRow(40L, LocalDateTime.of(2025, 4, 1, 10, 0));
+        given(itemRepository.searchFeedAfter(any(ItemSearchForm.class), isNull(), any(ItemCursor.class), eq(3)))
+                .willReturn(List.of(first, second, third));
+        given(itemRepository.findThumbnailKeysByItemIds(List.of(42L, 41L))).willReturn(Map.of());
+
+        ItemScrollResponse<ItemFeedResponse> res =
+                itemService.scrollItems(new ItemSearchForm(), null, PageRequest.of(0, 2, Sort.by("createdAt").descending()));
+
+        assertThat(res.isHasNext()).isTrue();
+        assertThat(res.getContent()).extracting(ItemFeedResponse::getItemId).containsExactly(42L, 41L);
+
+        ItemCursor next = ItemCursor.decode(res.getNextCursor());
+        assertThat(next.sortProperty()).isEqualTo(ItemCursor.CREATED_AT);
+        assertThat(next.ascending()).isFalse();
+        assertThat(next.lastItemId()).isEqualTo(41L);
+        assertThat(next.createdAtValue()).isEqualTo(second.createdAt());
+        verify(itemRepository, never()).search(any(), any(), any());
+    }
+
+    @DisplayName("scrollItems: 마지막 페이지면 hasNext=false, nextCursor=null")
+    @Test
+    void scrollItems_lastPage_thenNoCursor() {
+        ItemCursor cursor = new ItemCursor(ItemCursor.PRICE, true, "1000", 7L);
+        given(itemRepository.searchFeedAfter(any(ItemSearchForm.class), isNull(), eq(cursor), eq(21)))
+                .willReturn(List.of(feedRow(8L, LocalDateTime.now())));
+        given(itemRepository.findThumbnailKeysByItemIds(List.of(8L))).willReturn(Map.of(8L, "keyA"));
+
+        ItemScrollResponse<ItemFeedResponse> res =
+                itemService.scrollItems(new ItemSearchForm(), cursor.encode(), PageRequest.of(0, 20));
+
+        assertThat(res.isHasNext()).isFalse();
+        assertThat(res.getNextCursor()).isNull();
+        assertThat(res.getContent()).extracting(ItemFeedResponse::getThumbnailUrl).containsExactly("url://keyA");
+    }
+
+    @DisplayName("scrollItems: 잘못된 커서면 ItemInvalidCursorException")
+    @Test
+    void scrollItems_invalidCursor_thenThrow() {
+        assertThatThrownBy(() ->
+                itemService.scrollItems(new ItemSearchForm(), "not-a-cursor", PageRequest.of(0, 20)))
+                .isInstanceOf(ItemInvalidCursorException.class)
+                .hasMessage("잘못된 커서입니다.");
     }
 
     // ------------ getItem ------------
@@ -294,6 +399,8 @@ class ItemServiceTest {
         assertThat(sampleItem.getDamagedPolicy()).isEqualTo(updateForm.getDamagedPolicy());
         assertThat(sampleItem.getReturnPolicy()).isEqualTo(updateForm.getReturnPolicy());
         assertThat(sampleItem.getImageKeys()).containsExactlyElementsOf(newKeys);
+        verify(itemSearchIndex).index(sampleItem.getItemId(), updateForm.getName(), updateForm.getDescription());
+        verify(itemCountCache).invalidate();
     }
 
     @DisplayName("updateItem: form.imageKeys가 null이면 이미지 키는 변경되지 않고 나머지만 업데이트됨")
@@ -357,6 +464,8 @@ class ItemServiceTest {
 
         // 2. repository.deleteById()는 더 이상 호출되지 않으므로, 호출되지 않았음을 검증 (선택사항이지만 좋은 테스트)
         verify(itemRepository, never()).deleteById(anyLong());
+        verify(itemSearchIndex).remove(spiedItem.getItemId());
+        verify(itemCountCache).invalidate();
     }
 
     @DisplayName("deleteItem: 존재하지 않는 ID면 ItemNotFoundException")
@@ -391,4 +500,9 @@ class ItemServiceTest {
                 .isInstanceOf(ItemUnauthorizedException.class)
                 .hasMessage("자신의 소유 물품이 아닙니다.");
     }
-}
\ No newline at end of file
+
+    private ItemFeedRow feedRow(Long itemId, LocalDateTime createdAt) {
+        return new ItemFeedRow(itemId, "Item" + itemId, 3000L, ItemStatusEnum.AVAILABLE,
+                null, null, createdAt, ownerMember.getMemberId(), "owner", "owner/profile.png");
+    }
+}
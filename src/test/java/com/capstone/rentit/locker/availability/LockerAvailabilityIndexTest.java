@@ -0,0 +1,72 @@
+package com.capstone.rentit.locker.availability;
+
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LockerAvailabilityIndexTest {
+
+    private LockerAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LockerAvailabilityIndex();
+    }
+
+    private void load(LockerBriefResponse... rows) {
+        index.reconcile(index.currentSequence(), List.of(rows));
+    }
+
+    @Test
+    @DisplayName("구축 전에는 empty, 구축 후에는 사용 가능 칸만 반환")
+    void findAvailableAfterLoad() {
+        assertThat(index.findAvailable(1L)).isEmpty();
+
+        load(new LockerBriefResponse(1L, 1L, true),
+                new LockerBriefResponse(1L, 2L, false),
+                new LockerBriefResponse(1L, 3L, true),
+                new LockerBriefResponse(2L, 1L, true));
+
+        assertThat(index.findAvailable(1L).orElseThrow())
+                .extracting(LockerBriefResponse::deviceId, LockerBriefResponse::lockerId)
+                .containsExactly(tuple(1L, 1L), tuple(1L, 3L));
+        assertThat(index.findAvailable(9L).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("update/register 는 즉시 반영되고, 등록되지 않은 칸 update 는 무시된다")
+    void updateAndRegister() {
+        load(new LockerBriefResponse(1L, 1L, true));
+
+        index.update(1L, 1L, false);
+        index.update(1L, 7L, true);
+        index.register(1L, 2L);
+
+        assertThat(index.findAvailable(1L).orElseThrow())
+                .extracting(LockerBriefResponse::lockerId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("reconcile: DB 조회 이후 메모리에서 바뀐 단말은 덮어쓰지 않는다")
+    void reconcileKeepsNewerChanges() {
+        load(new LockerBriefResponse(1L, 1L, true), new LockerBriefResponse(2L, 1L, true));
+
+        long start = index.currentSequence();
+        index.update(1L, 1L, false);   // 조회 이후 반영된 변경
+
+        int drifted = index.reconcile(start, List.of(
+                new LockerBriefResponse(1L, 1L, true),
+                new LockerBriefResponse(2L, 1L, false)));   // DB 에서 직접 바뀐 값
+
+        assertThat(drifted).isEqualTo(1);
+        assertThat(index.findAvailable(1L).orElseThrow()).isEmpty();
+        assertThat(index.findAvailable(2L).orElseThrow()).isEmpty();
+    }
+}
@@ -0,0 +1,270 @@
+package com.capstone.rentit.locker.availability;
+
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockerSlotAllocatorTest {
+
+    private static final long DEVICE = 1L;
+    private static final int SLOTS = 8;
+
+    private LockerAvailabilityIndex index;
+    private MutableClock clock;
+    private LockerSlotAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        index = new LockerAvailabilityIndex();
+        index.reconcile(0, LongStream.rangeClosed(1, SLOTS)
+                .mapToObj(id -> new LockerBriefResponse(DEVICE, id, true))
+                .toList());
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        allocator = new LockerSlotAllocator(index, Duration.ofSeconds(60), clock);
+    }
+
+    @Test
+    @DisplayName("색인이 준비되지 않았으면 배정하지 않고, 확정은 막지 않는다")
+    void indexNotReady() {
+        LockerSlotAllocator notReady =
+                new LockerSlotAllocator(new LockerAvailabilityIndex(), Duration.ofSeconds(60), clock);
+
+        assertThat(notReady.reserve(DEVICE, 100L)).isEmpty();
+        assertThat(notReady.confirm(DEVICE, 1L, 100L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 대여의 재요청은 같은 칸, 다른 대여는 다른 칸을 받는다")
+    void reserveIsStablePerRental() {
+        Long first = allocator.reserve(DEVICE, 100L).orElseThrow();
+
+        assertThat(allocator.reserve(DEVICE, 100L)).contains(first);
+        assertThat(allocator.reserve(DEVICE, 200L)).isPresent().get().isNotEqualTo(first);
+        assertThat(allocator.freeCount(DEVICE)).isEqualTo(SLOTS - 2);
+    }
+
+    @Test
+    @DisplayName("예약 칸은 해당 대여만 확정할 수 있고, 확정된 칸은 다시 배정되지 않는다")
+    void confirmOnlyByHolder() {
+        Long slot = allocator.reserve(DEVICE, 100L).orElseThrow();
+
+        assertThat(allocator.confirm(DEVICE, slot, 200L)).isFalse();
+        assertThat(allocator.confirm(DEVICE, slot, 100L)).isTrue();
+        assertThat(allocator.confirm(DEVICE, slot, 100L)).isFalse();
+
+        for (long rental = 300; rental < 300 + SLOTS - 1; rental++) {
+            assertThat(allocator.reserve(DEVICE, rental)).isPresent().get().isNotEqualTo(slot);
+        }
+        assertThat(allocator.reserve(DEVICE, 999L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("예약 없이 빈 칸에 맡기면 그 칸을 차지하고, 꺼내면 다시 배정된다")
+    void confirmWithoutReservationAndRelease() {
+        allocator.reserve(DEVICE, 100L);   // 단말 배정 시작
+        assertThat(allocator.confirm(DEVICE, 5L, 200L)).isTrue();
+        assertThat(allocator.freeCount(DEVICE)).isEqualTo(SLOTS - 2);
+
+        allocator.release(DEVICE, 5L);
+        assertThat(allocator.freeCount(DEVICE)).isEqualTo(SLOTS - 1);
+
+        List<Long> reserved = new ArrayList<>();
+        for (long rental = 300; rental < 300 + SLOTS - 1; rental++) {
+            allocator.reserve(DEVICE, rental).ifPresent(reserved::add);
+        }
+        assertThat(reserved).hasSize(SLOTS - 1).contains(5L);
+    }
+
+    @Test
+    @DisplayName("DB 에서 이미 사용 중인 칸은 예약이 풀려도 다시 배정하지 않는다")
+    void markOccupiedIsNotReallocated() {
+        Long slot = allocator.reserve(DEVICE, 100L).orElseThrow();
+
+        allocator.markOccupied(DEVICE, slot);
+
+        assertThat(allocator.freeCount(DEVICE)).isEqualTo(SLOTS - 1);
+        assertThat(allocator.reserve(DEVICE, 100L)).isPresent().get().isNotEqualTo(slot);
+        for (long rental = 300; rental < 300 + SLOTS - 2; rental++) {
+            assertThat(allocator.reserve(DEVICE, rental)).isPresent().get().isNotEqualTo(slot);
+        }
+        assertThat(allocator.reserve(DEVICE, 999L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("hold TTL 이 지나면 회수되어 다른 대여에 배정되고, 원래 대여는 확정할 수 없다")
+    void holdExpires() {
+        for (long rental = 100; rental < 100 + SLOTS; rental++) {
+            allocator.reserve(DEVICE, rental).orElseThrow();
+        }
+        assertThat(allocator.reserve(DEVICE, 999L)).isEmpty();
+
+        clock.advance(Duration.ofSeconds(61));
+        Long slot = allocator.reserve(DEVICE, 999L).orElseThrow();   // 만료 예약을 회수해 배정
+
+        assertThat(allocator.confirm(DEVICE, slot, 999L)).isTrue();
+        allocator.expireHolds();
+        assertThat(allocator.freeCount(DEVICE)).isEqualTo(SLOTS - 1);
+    }
+
+    @Test
+    @DisplayName("사용 가능 목록에서 다른 대여가 예약 중인 칸만 빠지고, 만료된 예약 칸은 다시 보인다")
+    void withoutHeldExcludesLiveHolds() {
+        Long held = allocator.reserve(DEVICE, 100L).orElseThrow();
+        List<LockerBriefResponse> listed = index.findAvailable(DEVICE).orElseThrow();
+
+        assertThat(allocator.withoutHeld(DEVICE, listed))
+                .hasSize(SLOTS - 1)
+                .extracting(LockerBriefResponse::lockerId).doesNotContain(held);
+
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(allocator.withoutHeld(DEVICE, listed)).hasSize(SLOTS);
+    }
+
+    @Test
+    @DisplayName("reconcile: 색인과 연속 두 번 어긋난 칸만 색인 상태로 맞춘다")
+    void reconcileFollowsIndex() {
+        allocator.reserve(DEVICE, 100L);                    // 단말 배정 시작
+        assertThat(allocator.confirm(DEVICE, 5L, 200L)).isTrue();
+        index.update(DEVICE, 5L, false);
+
+        // release 를 거치지 않고 DB 에서 5번이 비워지고, 6번이 차지됨 (직접 수정 → 색인 reconcile)
+        index.update(DEVICE, 5L, true);
+        index.update(DEVICE, 6L, false);
+
+        assertThat(allocator.reconcile()).isZero();         // 한 번 어긋난 것은 커밋 지연일 수 있다
+        assertThat(allocator.reconcile()).isEqualTo(2);
+        assertThat(allocator.reconcile()).isZero();
+
+        List<Long> reserved = new ArrayList<>();
+        for (long rental = 300; rental < 300 + SLOTS; rental++) {
+            allocator.reserve(DEVICE, rental).ifPresent(reserved::add);
+        }
+        assertThat(reserved).contains(5L).doesNotContain(6L);
+    }
+
+    @Test
+    @DisplayName("reconcile: 커밋 직전처럼 잠깐 어긋났다가 맞춰진 칸은 건드리지 않는다")
+    void reconcileIgnoresTransientDrift() {
+        allocator.reserve(DEVICE, 100L);
+        assertThat(allocator.confirm(DEVICE, 5L, 200L)).isTrue();   // 색인은 아직 커밋 전
+
+        assertThat(allocator.reconcile()).isZero();
+        index.update(DEVICE, 5L, false);                             // 커밋 후 색인 반영
+        assertThat(allocator.reconcile()).isZero();
+
+        assertThat(allocator.confirm(DEVICE, 5L, 300L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("한 키오스크에 동시에 몰린 맡기기 — 칸 수만큼만 배정되고 같은 칸이 두 번 나가지 않는다")
+    void concurrentDropOffsAtOneKiosk() throws Exception {
+        int owners = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> confirmedSlots = ConcurrentHashMap.newKeySet();
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (long rental = 1; rental <= owners; rental++) {
+            long rentalId = rental;
+            futures.add(pool.submit(() -> {
+                start.await();
+                Optional<Long> slot = allocator.reserve(DEVICE, rentalId);
+                if (slot.isEmpty()) {
+                    rejected.incrementAndGet();
+                    return null;
+                }
+                // 같은 칸을 노리는 다른 대여의 확정 시도는 실패해야 한다.
+                assertThat(allocator.confirm(DEVICE, slot.get(), -rentalId)).isFalse();
+                if (allocator.confirm(DEVICE, slot.get(), rentalId)) {
+                    assertThat(confirmedSlots.add(slot.get())).isTrue();
+                    confirmed.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(confirmed.get()).isEqualTo(SLOTS);
+        assertThat(rejected.get()).isEqualTo(owners - SLOTS);
+        assertThat(confirmedSlots).hasSize(SLOTS);
+        assertThat(allocator.freeCount(DEVICE)).isZero();
+    }
+
+    @Test
+    @DisplayName("동시에 맡기고 꺼내도 칸 상태가 어긋나지 않는다")
+    void concurrentReserveAndRelease() throws Exception {
+        int rounds = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        Set<Long> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger doubleAssigned = new AtomicInteger();
+        AtomicInteger rentalSeq = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < rounds / 16; i++) {
+                    long rentalId = rentalSeq.incrementAndGet();
+                    Optional<Long> slot = allocator.reserve(DEVICE, rentalId);
+                    if (slot.isEmpty() || !allocator.confirm(DEVICE, slot.get(), rentalId)) {
+                        continue;
+                    }
+                    if (!inUse.add(slot.get())) {
+                        doubleAssigned.incrementAndGet();
+                    }
+                    inUse.remove(slot.get());
+                    allocator.release(DEVICE, slot.get());
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(doubleAssigned.get()).isZero();
+        assertThat(allocator.freeCount(DEVICE)).isEqualTo(SLOTS);
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
@@ -4,6 +4,7 @@ import com.capstone.rentit.config.WebConfig;
 import com.capstone.rentit.file.service.FileStorageService;
 import com.capstone.rentit.locker.domain.Device;
 import com.capstone.rentit.locker.dto.*;
+import com.capstone.rentit.locker.presence.DevicePresenceRegistry;
 import com.capstone.rentit.locker.service.LockerService;
 import com.capstone.rentit.login.filter.JwtAuthenticationFilter;
 import com.capstone.rentit.login.provider.JwtTokenProvider;
@@ -59,6 +60,9 @@ class LockerControllerTest {
     @MockitoBean
     private LockerService lockerService;
 
+    @MockitoBean
+    private DevicePresenceRegistry devicePresenceRegistry;
+
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
@@ -164,6 +168,42 @@ class LockerControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/admin/devices/health")
+    class ListDeviceHealth {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("키오스크 접속 상태 조회 및 문서화")
+        void listDeviceHealth_success() throws Exception {
+            LocalDateTime seen = LocalDateTime.of(2025, 5, 1, 10, 0);
+            given(devicePresenceRegistry.health()).willReturn(List.of(
+                    new DeviceHealthResponse(1L, true, seen, null, 0),
+                    new DeviceHealthResponse(2L, false, seen.minusMinutes(5), seen.minusMinutes(3), 1)
+            ));
+
+            mockMvc.perform(get("/api/v1/admin/devices/health"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data[0].deviceId").value(1))
+                    .andExpect(jsonPath("$.data[0].online").value(true))
+                    .andExpect(jsonPath("$.data[1].online").value(false))
+                    .andExpect(jsonPath("$.data[1].parkedMessages").value(1))
+                    .andDo(document("admin-list-device-health",
+                            preprocessRequest(prettyPrint()),
+                            preprocessResponse(prettyPrint()),
+                            responseFields(
+                                    fieldWithPath("success").type(JsonFieldType.BOOLEAN).description("API 성공 여부"),
+                                    fieldWithPath("data[].deviceId").type(JsonFieldType.NUMBER).description("디바이스 ID"),
+                                    fieldWithPath("data[].online").type(JsonFieldType.BOOLEAN).description("온라인 여부"),
+                                    fieldWithPath("data[].lastSeenAt").type(JsonFieldType.STRING).description("마지막 heartbeat/요청 수신 시각"),
+                                    fieldWithPath("data[].lastOfflineAt").type(JsonFieldType.STRING).optional().description("마지막 연결 끊김(LWT) 시각"),
+                                    fieldWithPath("data[].parkedMessages").type(JsonFieldType.NUMBER).description("재접속 시 보낼 보관 메시지 수"),
+                                    fieldWithPath("message").type(JsonFieldType.STRING).description("메시지")
+                            )
+                    ));
+        }
+    }
+
     @Nested
     @DisplayName("POST /api/v1/admin/lockers")
     class RegisterLocker {
@@ -0,0 +1,313 @@
+package com.capstone.rentit.locker.loadtest;
+
+import com.capstone.rentit.config.LockerMessagingConfig;
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import com.capstone.rentit.locker.event.RentalLockerAction;
+import com.capstone.rentit.locker.message.*;
+import com.capstone.rentit.locker.presence.DevicePresenceRegistry;
+import com.capstone.rentit.locker.service.LockerService;
+import com.capstone.rentit.member.dto.StudentDto;
+import com.capstone.rentit.member.service.MemberService;
+import com.capstone.rentit.otp.service.OtpService;
+import com.capstone.rentit.rental.dto.RentalBriefResponseForLocker;
+import com.capstone.rentit.rental.service.RentalService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+import org.eclipse.paho.client.mqttv3.*;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.integration.config.EnableIntegration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 사물함 MQTT 부하 테스트 하네스
+ *  - JVM 안에 Moquette 브로커를 띄우고 LockerMessagingConfig + LockerDeviceRequestListener 를 실제로 연결한다.
+ *  - 키오스크 N 대가 eligible → available → event 흐름을 OTP 와 함께 반복하며 지연/처리량/오류율을 측정한다.
+ *  - 서비스 계층은 지정한 지연만큼 대기하는 stub 이므로 DB/Redis 없이 오프라인으로 실행된다.
+ *
+ *  ./gradlew loadTest -Dloadtest.kiosks=200 -Dloadtest.rounds=20 -Dloadtest.qos=1 \
+ *      -Dloadtest.max-inflight=500 -Dloadtest.queue-capacity=64 -Dloadtest.service-latency-ms=5
+ */
+@Tag("loadtest")
+@SpringJUnitConfig(LockerMqttLoadTest.HarnessConfig.class)
+class LockerMqttLoadTest {
+
+    private static final int KIOSKS = Integer.getInteger("loadtest.kiosks", 50);
+    private static final int ROUNDS = Integer.getInteger("loadtest.rounds", 20);
+    private static final int QOS = Integer.getInteger("loadtest.qos", 1);
+    private static final int MAX_INFLIGHT = Integer.getInteger("loadtest.max-inflight", 500);
+    private static final int QUEUE_CAPACITY = Integer.getInteger("loadtest.queue-capacity", 64);
+    private static final long SERVICE_LATENCY_MS = Long.getLong("loadtest.service-latency-ms", 2);
+    private static final long TIMEOUT_MS = Long.getLong("loadtest.timeout-ms", 5000);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    private static Server broker;
+    private static String brokerUrl;
+
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void brokerProperties(DynamicPropertyRegistry registry) throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Properties props = new Properties();
+        props.setProperty("host", "127.0.0.1");
+        props.setProperty("port", String.valueOf(port));
+        props.setProperty("allow_anonymous", "true");
+        props.setProperty("persistence_enabled", "false");
+        broker = new Server();
+        broker.startServer(new MemoryConfig(props));
+        brokerUrl = "tcp://127.0.0.1:" + port;
+
+        registry.add("mqtt.broker", () -> brokerUrl);
+        registry.add("mqtt.qos", () -> QOS);
+        registry.add("mqtt.max-inflight", () -> MAX_INFLIGHT);
+        registry.add("locker.mqtt.per-device-queue-capacity", () -> QUEUE_CAPACITY);
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        if (broker != null) {
+            broker.stopServer();
+        }
+    }
+
+    @Test
+    @DisplayName("키오스크 N 대의 eligible → available → event 흐름 지연/처리량/오류율")
+    void kioskFlows() throws Exception {
+        Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+        for (String leg : List.of("eligible", "available", "event", "flow")) {
+            latencies.put(leg, new ConcurrentLinkedQueue<>());
+        }
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Kiosk> kiosks = new ArrayList<>();
+        for (int i = 1; i <= KIOSKS; i++) {
+            kiosks.add(new Kiosk(i));
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Kiosk kiosk : kiosks) {
+                pool.submit(() -> kiosk.run(latencies, errors));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        kiosks.forEach(Kiosk::close);
+
+        int flows = KIOSKS * ROUNDS;
+        System.out.printf("%n== Locker MQTT load test: kiosks=%d rounds=%d qos=%d max-inflight=%d queue=%d latency=%dms ==%n",
+                KIOSKS, ROUNDS, QOS, MAX_INFLIGHT, QUEUE_CAPACITY, SERVICE_LATENCY_MS);
+        for (String leg : List.of("eligible", "available", "event", "flow")) {
+            System.out.println(report(leg, latencies.get(leg)));
+        }
+        System.out.printf("throughput %.1f flows/s (%.1f msg/s), errors %d/%d (%.2f%%)%n",
+                flows / seconds, flows * 3 / seconds, errors.get(), flows, errors.get() * 100.0 / flows);
+        var wait = meterRegistry.get("locker.mqtt.queue.wait").timer();
+        System.out.printf("dispatcher wait mean %.2f ms, max %.2f ms, rejected %.0f%n",
+                wait.mean(TimeUnit.MILLISECONDS), wait.max(TimeUnit.MILLISECONDS),
+                meterRegistry.get("locker.mqtt.queue.rejected").counter().count());
+
+        assertThat(errors.get()).isLessThanOrEqualTo((int) (flows * MAX_ERROR_RATE));
+    }
+
+    private static String report(String leg, Queue<Long> nanos) {
+        long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) {
+            return String.format("%-9s no samples", leg);
+        }
+        return String.format("%-9s n=%-6d p50 %7.2f ms  p90 %7.2f ms  p99 %7.2f ms  max %7.2f ms",
+                leg, sorted.length,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1e6;
+    }
+
+    /** 응답 토픽 locker/{deviceId}/# 를 구독하고 요청을 순서대로 보내는 가상 키오스크 */
+    private final class Kiosk implements MqttCallback {
+
+        private record Reply(String suffix, JsonNode body) {}
+
+        private final long deviceId;
+        private final MqttClient client;
+        private final BlockingQueue<Reply> replies = new LinkedBlockingQueue<>();
+
+        Kiosk(long deviceId) throws MqttException {
+            this.deviceId = deviceId;
+            this.client = new MqttClient(brokerUrl, "kiosk-" + deviceId, new MemoryPersistence());
+            MqttConnectOptions opts = new MqttConnectOptions();
+            opts.setCleanSession(true);
+            opts.setMaxInflight(MAX_INFLIGHT);
+            client.setCallback(this);
+            client.connect(opts);
+            client.subscribe(LockerMessagingConfig.RES_TOPIC_PREFIX + deviceId + "/#", QOS);
+        }
+
+        void run(Map<String, Queue<Long>> latencies, AtomicInteger errors) {
+            for (int round = 0; round < ROUNDS; round++) {
+                long rentalId = deviceId * 100_000 + round;
+                long flowStart = System.nanoTime();
+                try {
+                    Map<String, Object> request = new LinkedHashMap<>();
+                    request.put("deviceId", deviceId);
+                    request.put("otpCode", String.format("%05d", round));
+                    request.put("action", RentalLockerAction.DROP_OFF_BY_OWNER);
+                    request.put("rentalId", null);
+                    call("eligible", request, latencies);
+
+                    request.put("rentalId", rentalId);
+                    call("available", request, latencies);
+
+                    Map<String, Object> event = new LinkedHashMap<>();
+                    event.put("deviceId", deviceId);
+                    event.put("lockerId", 1L);
+                    event.put("rentalId", rentalId);
+                    event.put("memberId", 1L);
+                    event.put("action", RentalLockerAction.DROP_OFF_BY_OWNER);
+                    event.put("fee", 0L);
+                    event.put("eventId", deviceId + "-" + round);
+                    call("event", event, latencies);
+
+                    latencies.get("flow").add(System.nanoTime() - flowStart);
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                    replies.clear();
+                }
+            }
+        }
+
+        private void call(String sub, Object payload, Map<String, Queue<Long>> latencies) throws Exception {
+            long sent = System.nanoTime();
+            client.publish(LockerMessagingConfig.REQ_TOPIC_PREFIX + sub,
+                    mapper.writeValueAsBytes(payload), QOS, false);
+            Reply reply = replies.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (reply == null) {
+                throw new TimeoutException(sub + " reply timed out");
+            }
+            if (!sub.equals(reply.suffix()) || !reply.body().path("success").asBoolean()) {
+                throw new IllegalStateException(sub + " failed: " + reply.body());
+            }
+            latencies.get(sub).add(System.nanoTime() - sent);
+        }
+
+        @Override
+        public void messageArrived(String topic, MqttMessage message) throws Exception {
+            String suffix = topic.substring(topic.lastIndexOf('/') + 1);
+            replies.add(new Reply(suffix, mapper.readTree(message.getPayload())));
+        }
+
+        @Override public void connectionLost(Throwable cause) { }
+        @Override public void deliveryComplete(IMqttDeliveryToken token) { }
+
+        void close() {
+            try {
+                client.disconnect();
+                client.close();
+            } catch (MqttException ignored) {
+            }
+        }
+    }
+
+    // ─── 하네스 컨텍스트: 메시징 계층은 실제 빈, 서비스 계층은 지연 stub ─────────────────
+
+    @Configuration
+    @EnableIntegration
+    @Import({LockerMessagingConfig.class, LockerDeviceRequestListener.class, LockerDeviceProducer.class,
+            DeviceOrderedDispatcher.class, LockerEventDeduplicator.class, LockerPayloadCodec.class,
+            DevicePresenceRegistry.class, MqttAdmissionControl.class})
+    static class HarnessConfig {
+
+        @Bean
+        static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        OtpService otpService() {
+            OtpService otp = mock(OtpService.class, withSettings().stubOnly());
+            when(otp.validateAndResolveIdentifier(anyString())).thenReturn("kiosk@load.test");
+            return otp;
+        }
+
+        @Bean
+        MemberService memberService() {
+            MemberService members = mock(MemberService.class, withSettings().stubOnly());
+            when(members.getMemberByEmail(anyString()))
+                    .thenReturn(StudentDto.builder().memberId(1L).name("kiosk").build());
+            return members;
+        }
+
+        @Bean
+        RentalService rentalService() {
+            RentalService rentals = mock(RentalService.class, withSettings().stubOnly());
+            when(rentals.findEligibleRentals(anyLong(), any())).thenAnswer(inv -> {
+                simulateLatency();
+                return List.of(RentalBriefResponseForLocker.builder()
+                        .rentalId(1L).itemId(1L).itemName("부하 테스트 물품")
+                        .fee(0).balance(10_000).payable(true).build());
+            });
+            doAnswer(inv -> {
+                simulateLatency();
+                return null;
+            }).when(rentals).dropOffToLocker(anyLong(), anyLong(), anyLong(), anyLong());
+            return rentals;
+        }
+
+        @Bean
+        LockerService lockerService() {
+            LockerService lockers = mock(LockerService.class, withSettings().stubOnly());
+            when(lockers.findAvailableLockers(anyLong(), any())).thenAnswer(inv -> List.of(
+                    new LockerBriefResponse(inv.getArgument(0), 1L, true),
+                    new LockerBriefResponse(inv.getArgument(0), 2L, true)));
+            return lockers;
+        }
+
+        private static void simulateLatency() throws InterruptedException {
+            if (SERVICE_LATENCY_MS > 0) {
+                Thread.sleep(SERVICE_LATENCY_MS);
+            }
+        }
+    }
+}
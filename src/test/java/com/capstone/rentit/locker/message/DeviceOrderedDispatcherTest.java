@@ -0,0 +1,124 @@
+package com.capstone.rentit.locker.message;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeviceOrderedDispatcherTest {
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private DeviceOrderedDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new DeviceOrderedDispatcher(executor, 1000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 단말의 메시지는 도착 순서대로 처리된다")
+    void preservesPerDeviceOrder() throws Exception {
+        int n = 500;
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(n);
+
+        for (int i = 0; i < n; i++) {
+            int seq = i;
+            assertThat(dispatcher.dispatch(1L, () -> {
+                seen.add(seq);
+                done.countDown();
+            })).isTrue();
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < n; i++) {
+            assertThat(seen.get(i)).isEqualTo(i);
+        }
+        assertThat(meterRegistry.get("locker.mqtt.queue.wait").timer().count()).isEqualTo(n);
+    }
+
+    @Test
+    @DisplayName("대기열을 다 비운 단말의 lane 은 제거되고, 다음 메시지에서 다시 만든다")
+    void evictsDrainedLanes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DeviceOrderedDispatcher direct = new DeviceOrderedDispatcher(Runnable::run, 10, registry);
+        List<Long> handled = new ArrayList<>();
+
+        for (long deviceId = 1; deviceId <= 100; deviceId++) {
+            long id = deviceId;
+            assertThat(direct.dispatch(id, () -> handled.add(id))).isTrue();
+        }
+        direct.dispatch(1L, () -> handled.add(1L));
+
+        assertThat(handled).hasSize(101);
+        assertThat(registry.get("locker.mqtt.queue.devices").gauge().value()).isZero();
+        assertThat(direct.depth(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("느린 단말이 다른 단말의 처리를 막지 않는다")
+    void slowDeviceDoesNotBlockOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        dispatcher.dispatch(1L, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        dispatcher.dispatch(2L, otherDone::countDown);
+
+        assertThat(otherDone.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("단말 대기열이 가득 차면 거절하고 rejected 를 기록한다")
+    void rejectsWhenDeviceQueueIsFull() throws Exception {
+        DeviceOrderedDispatcher small = new DeviceOrderedDispatcher(executor, 2, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        small.dispatch(1L, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 처리 중인 작업은 대기열에서 빠졌으므로 2건까지 대기 가능
+        assertThat(small.dispatch(1L, () -> {})).isTrue();
+        assertThat(small.dispatch(1L, () -> {})).isTrue();
+        assertThat(small.dispatch(1L, () -> {})).isFalse();
+        assertThat(small.depth(1L)).isEqualTo(2);
+        // 다른 단말은 영향을 받지 않는다.
+        assertThat(small.dispatch(2L, () -> {})).isTrue();
+
+        assertThat(meterRegistry.get("locker.mqtt.queue.rejected").counter().count()).isEqualTo(1.0);
+        release.countDown();
+    }
+}
@@ -0,0 +1,152 @@
+package com.capstone.rentit.locker.message;
+
+import com.capstone.rentit.common.CommonResponse;
+import com.capstone.rentit.locker.availability.LockerAvailabilityIndex;
+import com.capstone.rentit.locker.availability.LockerSlotAllocator;
+import com.capstone.rentit.locker.dto.AvailableLockersEvent;
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.integration.mqtt.event.MqttConnectionFailedEvent;
+import org.springframework.integration.mqtt.event.MqttMessageDeliveredEvent;
+import org.springframework.integration.mqtt.event.MqttMessageSentEvent;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LockerAvailabilityPublisherTest {
+
+    @Mock LockerAvailabilityIndex availabilityIndex;
+    @Mock LockerSlotAllocator slotAllocator;
+    @Mock LockerDeviceProducer producer;
+    @Mock ScheduledExecutorService scheduler;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private LockerAvailabilityPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenAnswer(inv -> {
+                    scheduled.add(inv.getArgument(0));
+                    return null;
+                });
+        lenient().when(slotAllocator.withoutHeld(anyLong(), anyList())).thenAnswer(inv -> inv.getArgument(1));
+        publisher = new LockerAvailabilityPublisher(availabilityIndex, slotAllocator, producer, scheduler, 200, 2, meterRegistry);
+    }
+
+    /** window 가 지나 예약된 flush 를 모두 실행 */
+    private void elapseWindow() {
+        List<Runnable> due = new ArrayList<>(scheduled);
+        scheduled.clear();
+        due.forEach(Runnable::run);
+    }
+
+    private static MqttMessageSentEvent sent(int messageId, String topic) {
+        return new MqttMessageSentEvent(new Object(), MessageBuilder.withPayload("x").build(),
+                topic, messageId, "rentit-server-pub", 1);
+    }
+
+    @Test
+    @DisplayName("window 안의 여러 변경은 최신 스냅샷 push 한 번으로 합쳐진다")
+    void coalescesWithinWindow() {
+        List<LockerBriefResponse> snapshot = List.of(new LockerBriefResponse(1L, 3L, true));
+        when(availabilityIndex.findAvailable(1L)).thenReturn(Optional.of(snapshot));
+
+        publisher.markDirty(1L);
+        publisher.markDirty(1L);
+        publisher.markDirty(1L);
+        elapseWindow();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<CommonResponse<AvailableLockersEvent>> captor = ArgumentCaptor.forClass(CommonResponse.class);
+        verify(producer, times(1)).pushAvailableLockers(eq(1L), captor.capture());
+        assertThat(captor.getValue().getData().lockers()).isEqualTo(snapshot);
+        assertThat(meterRegistry.get("locker.availability.push.sent").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("locker.availability.push.coalesced").counter().count()).isEqualTo(2.0);
+
+        // 다음 변경은 새로 예약된다.
+        publisher.markDirty(1L);
+        elapseWindow();
+        verify(producer, times(2)).pushAvailableLockers(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("다른 대여에 예약된 칸은 push 스냅샷에서 빠진다")
+    void pushExcludesHeldSlots() {
+        List<LockerBriefResponse> snapshot = List.of(
+                new LockerBriefResponse(1L, 3L, true), new LockerBriefResponse(1L, 4L, true));
+        List<LockerBriefResponse> unheld = List.of(new LockerBriefResponse(1L, 4L, true));
+        when(availabilityIndex.findAvailable(1L)).thenReturn(Optional.of(snapshot));
+        when(slotAllocator.withoutHeld(1L, snapshot)).thenReturn(unheld);
+
+        publisher.markDirty(1L);
+        elapseWindow();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<CommonResponse<AvailableLockersEvent>> captor = ArgumentCaptor.forClass(CommonResponse.class);
+        verify(producer).pushAvailableLockers(eq(1L), captor.capture());
+        assertThat(captor.getValue().getData().lockers()).isEqualTo(unheld);
+    }
+
+    @Test
+    @DisplayName("단말마다 따로 예약되고, 색인이 준비되지 않았으면 보내지 않는다")
+    void perDeviceAndIndexNotReady() {
+        when(availabilityIndex.findAvailable(1L)).thenReturn(Optional.of(List.of()));
+        when(availabilityIndex.findAvailable(2L)).thenReturn(Optional.empty());
+
+        publisher.markDirty(1L);
+        publisher.markDirty(2L);
+        elapseWindow();
+
+        verify(producer).pushAvailableLockers(eq(1L), any());
+        verify(producer, never()).pushAvailableLockers(eq(2L), any());
+    }
+
+    @Test
+    @DisplayName("확인받지 못한 push 가 한도에 닿으면 다음 window 로 미루고, delivered 후 보낸다")
+    void defersWhenInFlightLimitReached() {
+        when(availabilityIndex.findAvailable(1L)).thenReturn(Optional.of(List.of()));
+        publisher.onSent(sent(10, "locker/7/available"));
+        publisher.onSent(sent(11, "locker/8/available"));
+        publisher.onSent(sent(12, "locker/8/event"));   // available 이 아니면 세지 않는다.
+        assertThat(publisher.inFlight()).isEqualTo(2);
+
+        publisher.markDirty(1L);
+        elapseWindow();
+        verify(producer, never()).pushAvailableLockers(anyLong(), any());
+        assertThat(meterRegistry.get("locker.availability.push.deferred").counter().count()).isEqualTo(1.0);
+
+        publisher.onDelivered(new MqttMessageDeliveredEvent(new Object(), 10, "rentit-server-pub", 1));
+        elapseWindow();
+        verify(producer).pushAvailableLockers(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 in-flight 추적을 비운다")
+    void connectionLostClearsInFlight() {
+        publisher.onSent(sent(10, "locker/7/available"));
+
+        publisher.onConnectionFailed(new MqttConnectionFailedEvent(new Object(), new RuntimeException("lost")));
+
+        assertThat(publisher.inFlight()).isZero();
+        assertThat(meterRegistry.get("locker.availability.push.inflight").gauge().value()).isZero();
+    }
+}
@@ -2,8 +2,10 @@ package com.capstone.rentit.locker.message;
 
 import com.capstone.rentit.common.CommonResponse;
 import com.capstone.rentit.config.LockerMessagingConfig;
+import com.capstone.rentit.locker.presence.DevicePresenceRegistry;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -26,12 +28,14 @@ class LockerDeviceProducerTest {
 
     @Mock MessageChannel mqttOutboundChannel;
     ObjectMapper mapper;
+    DevicePresenceRegistry presence;
     LockerDeviceProducer producer;
 
     @BeforeEach
     void setUp() {
         mapper = new ObjectMapper();
-        producer = new LockerDeviceProducer(mqttOutboundChannel, mapper);
+        presence = new DevicePresenceRegistry(90, new SimpleMeterRegistry());
+        producer = new LockerDeviceProducer(mqttOutboundChannel, new LockerPayloadCodec(mapper, ""), presence);
     }
 
     /**
@@ -118,7 +122,7 @@ class LockerDeviceProducerTest {
             ObjectMapper badMapper = mock(ObjectMapper.class);
             when(badMapper.writeValueAsString(any()))
                     .thenThrow(JsonProcessingException.class);
-            producer = new LockerDeviceProducer(mqttOutboundChannel, badMapper);
+            producer = new LockerDeviceProducer(mqttOutboundChannel, new LockerPayloadCodec(badMapper, ""), presence);
             CommonResponse<String> response = CommonResponse.success("fail");
 
             assertThatThrownBy(() -> producer.pushEligibleRentals(1L, response))
@@ -128,4 +132,31 @@ class LockerDeviceProducerTest {
             verifyNoInteractions(mqttOutboundChannel);
         }
     }
+
+    @Nested
+    @DisplayName("오프라인 단말")
+    class OfflineDevice {
+        @Test
+        @DisplayName("요청 응답은 버리고, available 은 최신 것만 보관했다가 재접속 시 보낸다")
+        void suppressOrCoalesceUntilBackOnline() {
+            long deviceId = 4L;
+            presence.disconnected(deviceId);
+
+            producer.pushResult(deviceId, CommonResponse.success(null));
+            producer.pushEligibleRentals(deviceId, CommonResponse.success("stale"));
+            producer.pushAvailableLockers(deviceId, CommonResponse.success(List.of("A")));
+            producer.pushAvailableLockers(deviceId, CommonResponse.success(List.of("B")));
+            verifyNoInteractions(mqttOutboundChannel);
+
+            presence.seen(deviceId, true);
+            producer.flushParked(deviceId);
+
+            String json = captureJson(LockerMessagingConfig.RES_TOPIC_PREFIX + deviceId + "/available");
+            assertThat(json).contains("\"data\":[\"B\"]");
+
+            // 한 번 보낸 보관 메시지는 다시 보내지 않는다.
+            producer.flushParked(deviceId);
+            verifyNoMoreInteractions(mqttOutboundChannel);
+        }
+    }
 }
@@ -4,6 +4,7 @@ import com.capstone.rentit.common.CommonResponse;
 import com.capstone.rentit.config.LockerMessagingConfig;
 import com.capstone.rentit.locker.dto.*;
 import com.capstone.rentit.locker.event.RentalLockerAction;
+import com.capstone.rentit.locker.presence.DevicePresenceRegistry;
 import com.capstone.rentit.locker.service.LockerService;
 import com.capstone.rentit.member.dto.MemberDto;
 import com.capstone.rentit.member.dto.StudentDto;
@@ -12,6 +13,7 @@ import com.capstone.rentit.otp.service.OtpService;
 import com.capstone.rentit.rental.dto.RentalBriefResponseForLocker;
 import com.capstone.rentit.rental.service.RentalService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,10 +23,14 @@ import org.springframework.integration.mqtt.support.MqttHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static com.capstone.rentit.locker.event.RentalLockerAction.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,12 +45,22 @@ class LockerDeviceRequestListenerTest {
 
     private LockerDeviceRequestListener listener;
     private ObjectMapper mapper;
+    private DevicePresenceRegistry presence;
+    private MqttAdmissionControl admission;
 
     @BeforeEach
     void setUp() {
         mapper = new ObjectMapper();
+        // 호출 스레드에서 바로 실행하는 dispatcher
+        DeviceOrderedDispatcher dispatcher =
+                new DeviceOrderedDispatcher(Runnable::run, 16, new SimpleMeterRegistry());
+        LockerEventDeduplicator deduplicator = new LockerEventDeduplicator(
+                mapper, null, Duration.ofMinutes(10), 100, Clock.systemUTC());
+        presence = new DevicePresenceRegistry(90, new SimpleMeterRegistry());
+        admission = new MqttAdmissionControl(1, 1, 250, new SimpleMeterRegistry());
         listener = new LockerDeviceRequestListener(
-                mapper, otpService, memberService, rentalService, lockerService, producer
+                mapper, otpService, memberService, rentalService, lockerService, producer,
+                dispatcher, deduplicator, new LockerPayloadCodec(mapper, ""), presence, admission
         );
     }
 
@@ -119,7 +135,7 @@ class LockerDeviceRequestListenerTest {
             Message<String> msg = mqttString("available", req);
 
             List<LockerBriefResponse> lockers = List.of(mock(LockerBriefResponse.class));
-            when(lockerService.findAvailableLockers(req.deviceId()))
+            when(lockerService.findAvailableLockers(req.deviceId(), req.rentalId()))
                     .thenReturn(lockers);
 
             // when
@@ -150,7 +166,8 @@ class LockerDeviceRequestListenerTest {
                     10L,  // deviceId
                     5L,   // lockerId
                     action,
-                    1234L // fee
+                    1234L, // fee
+                    null   // eventId
             );
         }
 
@@ -208,6 +225,48 @@ class LockerDeviceRequestListenerTest {
             assertThat(resp.isSuccess()).isFalse();
             assertThat(resp.getMessage()).isEqualTo("oops");
         }
+
+        @Test
+        @DisplayName("재전송된 event 는 다시 처리하지 않고 이전 결과를 push")
+        void shouldIgnoreRedeliveredEvent() throws Exception {
+            // given
+            var evt = makeEvent(PICK_UP_BY_RENTER);
+            Message<String> msg = mqttString("event", evt);
+
+            // when
+            listener.consume(msg);
+            listener.consume(msg);
+
+            // then - 요금 결제가 포함된 처리는 한 번만
+            verify(rentalService, times(1)).pickUpByRenter(
+                    evt.rentalId(), evt.memberId(), evt.fee());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<CommonResponse<LockerActionResultEvent>> cap =
+                    ArgumentCaptor.forClass(CommonResponse.class);
+            verify(producer, times(2)).pushResult(eq(evt.deviceId()), cap.capture());
+            assertThat(cap.getAllValues()).allMatch(CommonResponse::isSuccess);
+            assertThat(cap.getAllValues().get(1).getData())
+                    .isEqualTo(cap.getAllValues().get(0).getData());
+        }
+
+        @Test
+        @DisplayName("실패한 event 는 기억하지 않아 재전송 시 다시 처리")
+        void shouldRetryFailedEvent() throws Exception {
+            // given
+            var evt = makeEvent(RETRIEVE_BY_OWNER);
+            Message<String> msg = mqttString("event", evt);
+            doThrow(new IllegalStateException("oops")).doNothing()
+                    .when(rentalService).retrieveByOwner(
+                            evt.rentalId(), evt.memberId(), evt.fee());
+
+            // when
+            listener.consume(msg);
+            listener.consume(msg);
+
+            // then
+            verify(rentalService, times(2)).retrieveByOwner(
+                    evt.rentalId(), evt.memberId(), evt.fee());
+        }
     }
 
     @Test
@@ -221,4 +280,95 @@ class LockerDeviceRequestListenerTest {
         verifyNoInteractions(otpService, memberService, rentalService,
                 lockerService, producer);
     }
+
+    @Nested
+    @DisplayName("sub-topic = heartbeat / offline")
+    class PresenceTests {
+        @Test
+        @DisplayName("LWT 로 오프라인, heartbeat 로 재접속 시 보관 메시지 전송")
+        void shouldTrackPresence() throws Exception {
+            // when
+            listener.consume(mqttString("offline", Map.of("deviceId", 10L)));
+
+            // then
+            assertThat(presence.isReachable(10L)).isFalse();
+            verify(producer, never()).flushParked(anyLong());
+
+            // when
+            listener.consume(mqttString("heartbeat", Map.of("deviceId", 10L)));
+
+            // then
+            assertThat(presence.isReachable(10L)).isTrue();
+            verify(producer).flushParked(10L);
+            verifyNoInteractions(otpService, memberService, rentalService, lockerService);
+        }
+
+        @Test
+        @DisplayName("일반 요청도 접속 신호로 본다")
+        void requestCountsAsSeen() throws Exception {
+            when(lockerService.findAvailableLockers(10L, 20L)).thenReturn(List.of());
+
+            listener.consume(mqttString("available", makeReq(RETURN_BY_RENTER)));
+
+            assertThat(presence.health()).extracting(DeviceHealthResponse::deviceId).containsExactly(10L);
+        }
+    }
+
+    @Nested
+    @DisplayName("과부하 시 수용 제어")
+    class AdmissionTests {
+        @BeforeEach
+        void saturate() {
+            // 처리 중인 event 하나로 poll/request 한도(1)를 채운다.
+            assertThat(admission.tryAdmit(MqttAdmissionControl.Priority.EVENT)).isTrue();
+        }
+
+        @Test
+        @DisplayName("화면 갱신용 available(rentalId 없음)은 응답 없이 버린다")
+        void shedsPollSilently() throws Exception {
+            var refresh = new LockerDeviceRequest(10L, null, null, null);
+
+            listener.consume(mqttString("available", refresh));
+
+            verifyNoInteractions(lockerService);
+            verify(producer, never()).pushAvailableLockers(anyLong(), any());
+            verify(producer, never()).pushResult(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("rentalId 가 있는 available 은 칸 선점이므로 재시도 안내로 거절한다")
+        void rejectsSlotReservationWithFailure() throws Exception {
+            listener.consume(mqttString("available", makeReq(RETURN_BY_RENTER)));
+
+            verifyNoInteractions(lockerService);
+            verify(producer, never()).pushAvailableLockers(anyLong(), any());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<CommonResponse<?>> cap = ArgumentCaptor.forClass(CommonResponse.class);
+            verify(producer).pushResult(eq(10L), cap.capture());
+            assertThat(cap.getValue().isSuccess()).isFalse();
+        }
+
+        @Test
+        @DisplayName("eligible 은 재시도 안내로 거절한다")
+        void rejectsRequestWithFailure() throws Exception {
+            listener.consume(mqttString("eligible", makeReq(DROP_OFF_BY_OWNER)));
+
+            verifyNoInteractions(otpService, rentalService);
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<CommonResponse<?>> cap = ArgumentCaptor.forClass(CommonResponse.class);
+            verify(producer).pushResult(eq(10L), cap.capture());
+            assertThat(cap.getValue().isSuccess()).isFalse();
+        }
+
+        @Test
+        @DisplayName("event 는 과부하여도 처리한다")
+        void alwaysHandlesEvent() throws Exception {
+            var evt = new RentalLockerEventMessage(20L, 30L, 10L, 5L, DROP_OFF_BY_OWNER, 1234L, null);
+
+            listener.consume(mqttString("event", evt));
+
+            verify(rentalService).dropOffToLocker(20L, 30L, 10L, 5L);
+            assertThat(admission.inFlight(MqttAdmissionControl.Priority.EVENT)).isEqualTo(1);
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package com.capstone.rentit.locker.message;
+
+import com.capstone.rentit.locker.dto.LockerActionResultEvent;
+import com.capstone.rentit.locker.dto.RentalLockerEventMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static com.capstone.rentit.locker.event.RentalLockerAction.PICK_UP_BY_RENTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LockerEventDeduplicatorTest {
+
+    @Mock private StringRedisTemplate redis;
+    @Mock private ValueOperations<String, String> ops;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private MutableClock clock;
+    private LockerEventDeduplicator deduplicator;
+
+    private final LockerActionResultEvent result = new LockerActionResultEvent(1L, 2L, 3L);
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        deduplicator = new LockerEventDeduplicator(mapper, null, Duration.ofMinutes(10), 100, clock);
+    }
+
+    private static RentalLockerEventMessage event(String eventId, long fee) {
+        return new RentalLockerEventMessage(1L, 2L, 3L, 4L, PICK_UP_BY_RENTER, fee, eventId);
+    }
+
+    @Test
+    @DisplayName("eventId 가 있으면 단말+eventId, 없으면 필드 해시가 키가 된다")
+    void keyOf() {
+        assertThat(deduplicator.keyOf(event("e-1", 100L))).isEqualTo("1:e-1");
+        assertThat(deduplicator.keyOf(event(null, 100L)))
+                .isEqualTo(deduplicator.keyOf(event(null, 100L)))
+                .isNotEqualTo(deduplicator.keyOf(event(null, 200L)));
+    }
+
+    @Test
+    @DisplayName("창 안에서는 기억한 결과를, 창이 지나면 empty 를 돌려준다")
+    void windowExpires() {
+        deduplicator.remember("k", result);
+
+        clock.advance(Duration.ofMinutes(9));
+        assertThat(deduplicator.find("k")).contains(result);
+
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(deduplicator.find("k")).isEmpty();
+        assertThat(deduplicator.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis 사용 시 다른 인스턴스가 기억한 결과도 찾는다")
+    void sharedThroughRedis() throws Exception {
+        given(redis.opsForValue()).willReturn(ops);
+        given(ops.get("locker:event:k")).willReturn(mapper.writeValueAsString(result));
+        LockerEventDeduplicator withRedis =
+                new LockerEventDeduplicator(mapper, redis, Duration.ofMinutes(10), 100, clock);
+
+        assertThat(withRedis.find("k")).contains(result);
+
+        withRedis.remember("k2", result);
+        then(ops).should().set(eq("locker:event:k2"), anyString(), eq(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 메모리만으로 동작한다")
+    void redisFailureFallsBack() {
+        given(redis.opsForValue()).willThrow(new IllegalStateException("down"));
+        LockerEventDeduplicator withRedis =
+                new LockerEventDeduplicator(mapper, redis, Duration.ofMinutes(10), 100, clock);
+
+        assertThat(withRedis.find("k")).isEmpty();
+        withRedis.remember("k", result);
+        assertThat(withRedis.find("k")).contains(result);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
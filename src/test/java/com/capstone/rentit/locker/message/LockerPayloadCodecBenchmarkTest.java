@@ -0,0 +1,87 @@
+package com.capstone.rentit.locker.message;
+
+import com.capstone.rentit.common.CommonResponse;
+import com.capstone.rentit.locker.dto.AvailableLockersEvent;
+import com.capstone.rentit.locker.dto.EligibleRentalsEvent;
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import com.capstone.rentit.rental.dto.RentalBriefResponseForLocker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.capstone.rentit.locker.event.RentalLockerAction.PICK_UP_BY_RENTER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON vs CBOR payload 크기 / 인코딩·디코딩 시간 비교
+ *  ./gradlew benchmark --tests '*LockerPayloadCodecBenchmarkTest'
+ */
+@Tag("benchmark")
+class LockerPayloadCodecBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LockerPayloadCodec codec = new LockerPayloadCodec(mapper, "");
+
+    @Test
+    @DisplayName("EligibleRentalsEvent / AvailableLockersEvent 크기와 처리 시간")
+    void compareFormats() throws Exception {
+        List<RentalBriefResponseForLocker> rentals = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            rentals.add(RentalBriefResponseForLocker.builder()
+                    .rentalId(1000 + i).itemId(500 + i).itemName("캠핑 의자 " + i)
+                    .lockerId(i).fee(1500).balance(30_000).payable(true).build());
+        }
+        List<LockerBriefResponse> lockers = new ArrayList<>();
+        for (long i = 1; i <= 24; i++) {
+            lockers.add(new LockerBriefResponse(3L, i, true));
+        }
+
+        Object eligible = CommonResponse.success(
+                new EligibleRentalsEvent(3L, PICK_UP_BY_RENTER, 42L, "rentit", rentals));
+        Object available = CommonResponse.success(new AvailableLockersEvent(3L, 1001L, lockers));
+
+        for (Object payload : List.of(eligible, available)) {
+            String name = ((CommonResponse<?>) payload).getData().getClass().getSimpleName();
+            Result json = measure(LockerWireFormat.JSON, payload);
+            Result cbor = measure(LockerWireFormat.CBOR, payload);
+            System.out.printf("%-22s JSON %5d B  enc %6.0f ns  dec %6.0f ns | CBOR %5d B  enc %6.0f ns  dec %6.0f ns%n",
+                    name, json.bytes, json.encodeNanos, json.decodeNanos,
+                    cbor.bytes, cbor.encodeNanos, cbor.decodeNanos);
+
+            assertThat(cbor.bytes).isLessThan(json.bytes);
+        }
+    }
+
+    private record Result(int bytes, double encodeNanos, double decodeNanos) {}
+
+    private Result measure(LockerWireFormat format, Object payload) throws Exception {
+        byte[] bytes = codec.encodeBytes(format, payload);
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += codec.encodeBytes(format, payload).length;
+            sink += codec.decode(bytes).tree().size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.encodeBytes(format, payload).length;
+        }
+        double encode = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.decode(bytes).tree().size();
+        }
+        double decode = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        assertThat(sink).isPositive();
+        return new Result(bytes.length, encode, decode);
+    }
+}
@@ -0,0 +1,69 @@
+package com.capstone.rentit.locker.message;
+
+import com.capstone.rentit.common.CommonResponse;
+import com.capstone.rentit.locker.dto.AvailableLockersEvent;
+import com.capstone.rentit.locker.dto.LockerBriefResponse;
+import com.capstone.rentit.locker.dto.LockerDeviceRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.capstone.rentit.locker.event.RentalLockerAction.DROP_OFF_BY_OWNER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockerPayloadCodecTest {
+
+    private ObjectMapper mapper;
+    private LockerPayloadCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ObjectMapper();
+        codec = new LockerPayloadCodec(mapper, "7, 8");
+    }
+
+    @Test
+    @DisplayName("JSON/CBOR payload 를 첫 바이트로 구분해 같은 트리로 파싱한다")
+    void decodeDetectsFormat() throws Exception {
+        LockerDeviceRequest req = new LockerDeviceRequest(1L, "12345", DROP_OFF_BY_OWNER, 3L);
+        byte[] json = mapper.writeValueAsBytes(req);
+        byte[] cbor = codec.encodeBytes(LockerWireFormat.CBOR, req);
+
+        LockerPayloadCodec.Decoded fromJson = codec.decode(json);
+        LockerPayloadCodec.Decoded fromCbor = codec.decode(cbor);
+
+        assertThat(fromJson.format()).isEqualTo(LockerWireFormat.JSON);
+        assertThat(fromCbor.format()).isEqualTo(LockerWireFormat.CBOR);
+        assertThat(fromCbor.tree()).isEqualTo(fromJson.tree());
+        assertThat(mapper.treeToValue(fromCbor.tree(), LockerDeviceRequest.class)).isEqualTo(req);
+    }
+
+    @Test
+    @DisplayName("단말이 CBOR 로 요청하면 응답도 CBOR 바이트, 기본은 JSON 문자열")
+    void encodeFollowsNegotiatedFormat() throws Exception {
+        CommonResponse<AvailableLockersEvent> response = CommonResponse.success(
+                new AvailableLockersEvent(1L, 3L, List.of(new LockerBriefResponse(1L, 2L, true))));
+
+        assertThat(codec.encode(1L, response)).isInstanceOf(String.class);
+
+        codec.observe(1L, LockerWireFormat.CBOR);
+        Object encoded = codec.encode(1L, response);
+
+        assertThat(encoded).isInstanceOf(byte[].class);
+        assertThat(codec.decode((byte[]) encoded).tree())
+                .isEqualTo(mapper.readTree(mapper.writeValueAsBytes(response)));
+    }
+
+    @Test
+    @DisplayName("cbor-devices 로 고정된 단말은 JSON 으로 요청해도 CBOR")
+    void pinnedDevicesStayCbor() {
+        codec.observe(7L, LockerWireFormat.JSON);
+
+        assertThat(codec.formatOf(7L)).isEqualTo(LockerWireFormat.CBOR);
+        assertThat(codec.formatOf(8L)).isEqualTo(LockerWireFormat.CBOR);
+        assertThat(codec.formatOf(9L)).isEqualTo(LockerWireFormat.JSON);
+    }
+}
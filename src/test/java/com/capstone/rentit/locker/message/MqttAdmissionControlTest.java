@@ -0,0 +1,83 @@
+package com.capstone.rentit.locker.message;
+
+import com.capstone.rentit.locker.message.MqttAdmissionControl.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MqttAdmissionControlTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MqttAdmissionControl admission;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admission = new MqttAdmissionControl(2, 4, 250, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("한도에 가까워지면 poll 부터 버리고, 그다음 request 를 거절한다. event 는 항상 받는다")
+    void shedsLowestPriorityFirst() {
+        assertThat(admission.tryAdmit(Priority.POLL)).isTrue();
+        assertThat(admission.tryAdmit(Priority.REQUEST)).isTrue();
+
+        assertThat(admission.tryAdmit(Priority.POLL)).isFalse();      // 2 >= poll 한도
+        assertThat(admission.tryAdmit(Priority.REQUEST)).isTrue();
+        assertThat(admission.tryAdmit(Priority.REQUEST)).isTrue();
+        assertThat(admission.tryAdmit(Priority.REQUEST)).isFalse();   // 4 >= request 한도
+        assertThat(admission.tryAdmit(Priority.EVENT)).isTrue();
+
+        assertThat(meterRegistry.get("locker.mqtt.admission.shed").tag("priority", "poll").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("locker.mqtt.admission.shed").tag("priority", "request").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("locker.mqtt.admission.inflight").tag("priority", "request").gauge().value())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("처리가 끝나면 처리 중에서 빠지고 처리 시간이 기록된다")
+    void trackReleasesAndRecords() {
+        assertThat(admission.tryAdmit(Priority.REQUEST)).isTrue();
+        Runnable task = admission.track(Priority.REQUEST, () -> {});
+        assertThat(admission.inFlight(Priority.REQUEST)).isEqualTo(1);
+
+        task.run();
+
+        assertThat(admission.inFlight(Priority.REQUEST)).isZero();
+        assertThat(meterRegistry.get("locker.mqtt.handler.latency").tag("priority", "request").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처리 중 예외가 나도 처리 중에서 빠진다")
+    void trackReleasesOnFailure() {
+        admission.tryAdmit(Priority.EVENT);
+        Runnable task = admission.track(Priority.EVENT, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        try {
+            task.run();
+        } catch (IllegalStateException ignored) {
+        }
+
+        assertThat(admission.inFlight(Priority.EVENT)).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열에 넣지 못한 요청은 abandon 으로 되돌린다")
+    void abandonReleases() {
+        admission.tryAdmit(Priority.POLL);
+        admission.tryAdmit(Priority.POLL);
+
+        admission.abandon(Priority.POLL);
+
+        assertThat(admission.inFlight(Priority.POLL)).isEqualTo(1);
+        assertThat(admission.tryAdmit(Priority.POLL)).isTrue();
+    }
+}
@@ -0,0 +1,132 @@
+package com.capstone.rentit.locker.presence;
+
+import com.capstone.rentit.locker.dto.DeviceHealthResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DevicePresenceRegistryTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private DevicePresenceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new DevicePresenceRegistry(Duration.ofSeconds(90), meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("한 번도 보지 못한 단말은 보낼 수 있는 것으로 간주한다")
+    void unknownDeviceIsReachable() {
+        assertThat(registry.isReachable(1L)).isTrue();
+        assertThat(registry.health()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("heartbeat 가 timeout 동안 없으면 오프라인, 다시 오면 재접속으로 알린다")
+    void heartbeatTimeout() {
+        assertThat(registry.seen(1L, true)).isFalse();
+
+        clock.advance(Duration.ofSeconds(89));
+        assertThat(registry.isReachable(1L)).isTrue();
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(registry.isReachable(1L)).isFalse();
+        assertThat(meterRegistry.get("locker.presence.online").gauge().value()).isZero();
+
+        assertThat(registry.seen(1L, true)).isTrue();
+        assertThat(registry.isReachable(1L)).isTrue();
+        assertThat(registry.seen(1L, true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("heartbeat 없이 요청만 보내는 단말은 timeout 이 지나도 온라인으로 본다")
+    void requestOnlyDeviceIgnoresTimeout() {
+        assertThat(registry.seen(1L, false)).isFalse();
+
+        clock.advance(Duration.ofSeconds(91));
+        assertThat(registry.isReachable(1L)).isTrue();
+        assertThat(registry.health().get(0).online()).isTrue();
+
+        // 이후 heartbeat 를 보내기 시작하면 timeout 을 적용한다.
+        assertThat(registry.seen(1L, true)).isFalse();
+        clock.advance(Duration.ofSeconds(91));
+        assertThat(registry.isReachable(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("LWT 를 받으면 다음 heartbeat 전까지 오프라인")
+    void lastWillMarksOffline() {
+        registry.seen(1L, true);
+        registry.disconnected(1L);
+
+        assertThat(registry.isReachable(1L)).isFalse();
+        DeviceHealthResponse health = registry.health().get(0);
+        assertThat(health.online()).isFalse();
+        assertThat(health.lastSeenAt()).isNotNull();
+        assertThat(health.lastOfflineAt()).isNotNull();
+
+        assertThat(registry.seen(1L, true)).isTrue();
+        assertThat(registry.isReachable(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("보관 메시지는 종류별 최신 것만 남고, 꺼내면 비워진다")
+    void parkedMessagesAreCoalesced() {
+        registry.disconnected(1L);
+        registry.park(1L, "available", "v1");
+        registry.park(1L, "available", "v2");
+        registry.suppress(1L, "event");
+
+        assertThat(registry.health().get(0).parkedMessages()).isEqualTo(1);
+        assertThat(registry.takeParked(1L)).isEqualTo(Map.of("available", "v2"));
+        assertThat(registry.takeParked(1L)).isEmpty();
+
+        assertThat(meterRegistry.get("locker.presence.coalesced").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("locker.presence.suppressed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("health 는 deviceId 오름차순으로 온라인 여부를 돌려준다")
+    void healthSortedByDevice() {
+        registry.seen(3L, true);
+        registry.seen(1L, true);
+        registry.disconnected(2L);
+
+        List<DeviceHealthResponse> health = registry.health();
+
+        assertThat(health).extracting(DeviceHealthResponse::deviceId).containsExactly(1L, 2L, 3L);
+        assertThat(health).extracting(DeviceHealthResponse::online).containsExactly(true, false, true);
+        assertThat(meterRegistry.get("locker.presence.known").gauge().value()).isEqualTo(3.0);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
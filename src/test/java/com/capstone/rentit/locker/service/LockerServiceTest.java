@@ -1,9 +1,13 @@
 package com.capstone.rentit.locker.service;
 
+import com.capstone.rentit.locker.availability.LockerAvailabilityIndex;
+import com.capstone.rentit.locker.availability.LockerSlotAllocator;
 import com.capstone.rentit.locker.domain.Device;
 import com.capstone.rentit.locker.domain.Locker;
 import com.capstone.rentit.locker.dto.*;
 import com.capstone.rentit.locker.exception.LockerNotFoundException;
+import com.capstone.rentit.locker.exception.LockerUnavailableException;
+import com.capstone.rentit.locker.message.LockerAvailabilityPublisher;
 import com.capstone.rentit.locker.repository.DeviceRepository;
 import com.capstone.rentit.locker.repository.LockerRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,11 +36,20 @@ class LockerServiceTest {
     @Mock
     private LockerRepository lockerRepository;
 
+    @Mock
+    private LockerAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private LockerAvailabilityPublisher availabilityPublisher;
+
+    @Mock
+    private LockerSlotAllocator slotAllocator;
+
     private LockerService lockerService;
 
     @BeforeEach
     void setUp() {
-        lockerService = new LockerService(deviceRepository, lockerRepository);
+        lockerService = new LockerService(deviceRepository, lockerRepository, availabilityIndex, availabilityPublisher, slotAllocator);
     }
 
     @Test
@@ -88,6 +101,7 @@ class LockerServiceTest {
             assertThat(arg.getDeviceId()).isEqualTo(10L);
             assertThat(arg.getLockerId()).isEqualTo(1L);
             assertThat(arg.isAvailable()).isTrue();
+            verify(availabilityIndex).register(10L, 1L);
         }
 
         @Test
@@ -202,4 +216,118 @@ class LockerServiceTest {
                     .allMatch(br -> br.deviceId().equals(5L) && br.available());
         }
     }
+
+    @Nested
+    @DisplayName("findAvailableLockers: 비트맵 우선 조회")
+    class FindAvailableFromIndex {
+        @Test
+        @DisplayName("비트맵이 준비되어 있으면 DB 를 조회하지 않는다")
+        void servedFromIndex() {
+            List<LockerBriefResponse> cached = List.of(new LockerBriefResponse(5L, 3L, true));
+            when(availabilityIndex.findAvailable(5L)).thenReturn(Optional.of(cached));
+            when(slotAllocator.withoutHeld(5L, cached)).thenReturn(cached);
+
+            assertThat(lockerService.findAvailableLockers(5L)).isSameAs(cached);
+            verifyNoInteractions(lockerRepository);
+        }
+
+        @Test
+        @DisplayName("다른 대여에 예약된 칸은 목록에서 빠진다")
+        void excludesHeldSlots() {
+            List<LockerBriefResponse> cached = List.of(
+                    new LockerBriefResponse(5L, 3L, true), new LockerBriefResponse(5L, 4L, true));
+            when(availabilityIndex.findAvailable(5L)).thenReturn(Optional.of(cached));
+            when(slotAllocator.withoutHeld(5L, cached)).thenReturn(List.of(new LockerBriefResponse(5L, 4L, true)));
+
+            assertThat(lockerService.findAvailableLockers(5L))
+                    .containsExactly(new LockerBriefResponse(5L, 4L, true));
+        }
+    }
+
+    @Nested
+    @DisplayName("occupy/release: DB 반영 후 비트맵 갱신")
+    class ChangeAvailability {
+        @Test
+        @DisplayName("occupy → 비어 있을 때만 available=false 로 UPDATE 후 비트맵 반영")
+        void occupy() {
+            when(slotAllocator.confirm(5L, 2L, 7L)).thenReturn(true);
+            when(lockerRepository.occupyIfAvailable(5L, 2L)).thenReturn(1);
+
+            lockerService.occupy(5L, 2L, 7L);
+
+            verify(availabilityIndex).update(5L, 2L, false);
+            verify(availabilityPublisher).markDirty(5L);
+        }
+
+        @Test
+        @DisplayName("release → available=true 로 UPDATE 후 비트맵 반영")
+        void release() {
+            when(lockerRepository.updateAvailability(5L, 2L, true)).thenReturn(1);
+
+            lockerService.release(5L, 2L);
+
+            verify(availabilityIndex).update(5L, 2L, true);
+            verify(slotAllocator).release(5L, 2L);
+        }
+
+        @Test
+        @DisplayName("존재하지 않는 칸이나 사물함 미지정이면 비트맵을 건드리지 않는다")
+        void missingLocker() {
+            when(lockerRepository.updateAvailability(5L, 99L, true)).thenReturn(0);
+
+            lockerService.release(5L, 99L);
+            lockerService.occupy(null, null, 7L);
+            lockerService.release(null, null);
+
+            verify(availabilityIndex, never()).update(any(), any(), anyBoolean());
+            verifyNoInteractions(availabilityPublisher);
+        }
+    }
+
+    @Nested
+    @DisplayName("칸 배정: 예약 후 맡기기 확정")
+    class SlotAllocation {
+        @Test
+        @DisplayName("rentalId 가 있으면 예약한 칸 하나만 돌려준다")
+        void reserveForRental() {
+            when(availabilityIndex.isReady()).thenReturn(true);
+            when(slotAllocator.reserve(5L, 7L)).thenReturn(Optional.of(3L));
+
+            assertThat(lockerService.findAvailableLockers(5L, 7L))
+                    .containsExactly(new LockerBriefResponse(5L, 3L, true));
+            verify(availabilityPublisher).markDirty(5L);   // 다른 키오스크 목록에서 빠지도록
+        }
+
+        @Test
+        @DisplayName("빈 칸이 없으면 빈 목록")
+        void noFreeSlot() {
+            when(availabilityIndex.isReady()).thenReturn(true);
+            when(slotAllocator.reserve(5L, 7L)).thenReturn(Optional.empty());
+
+            assertThat(lockerService.findAvailableLockers(5L, 7L)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("다른 대여에 배정된 칸이면 예외, DB 는 건드리지 않는다")
+        void occupyHeldByOther() {
+            when(slotAllocator.confirm(5L, 3L, 8L)).thenReturn(false);
+
+            assertThatThrownBy(() -> lockerService.occupy(5L, 3L, 8L))
+                    .isInstanceOf(LockerUnavailableException.class);
+            verify(lockerRepository, never()).occupyIfAvailable(any(), any());
+        }
+
+        @Test
+        @DisplayName("배정기는 통과했지만 DB 에서 이미 사용 중이면 예외, 배정기에도 사용 중으로 남긴다")
+        void occupyTakenInDatabase() {
+            when(slotAllocator.confirm(5L, 3L, 8L)).thenReturn(true);
+            when(lockerRepository.occupyIfAvailable(5L, 3L)).thenReturn(0);
+
+            assertThatThrownBy(() -> lockerService.occupy(5L, 3L, 8L))
+                    .isInstanceOf(LockerUnavailableException.class);
+            verify(slotAllocator).markOccupied(5L, 3L);
+            verify(availabilityIndex, never()).update(any(), any(), anyBoolean());
+            verifyNoInteractions(availabilityPublisher);
+        }
+    }
 }
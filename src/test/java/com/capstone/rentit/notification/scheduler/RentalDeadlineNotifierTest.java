@@ -2,6 +2,8 @@ package com.capstone.rentit.notification.scheduler;
 
 import com.capstone.rentit.item.domain.Item;
 import com.capstone.rentit.member.domain.Member;
+import com.capstone.rentit.notification.domain.RentalAlertLedger;
+import com.capstone.rentit.notification.repository.RentalAlertLedgerRepository;
 import com.capstone.rentit.notification.service.NotificationService;
 import com.capstone.rentit.notification.type.NotificationType;
 import com.capstone.rentit.rental.domain.Rental;
@@ -11,15 +13,20 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -29,7 +36,11 @@ class RentalDeadlineNotifierTest {
     @Mock
     private RentalRepository rentalRepository;
     @Mock
+    private RentalAlertLedgerRepository alertLedgerRepository;
+    @Mock
     private NotificationService notificationService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
     @InjectMocks
     private RentalDeadlineNotifier rentalDeadlineNotifier;
 
@@ -64,7 +75,7 @@ class RentalDeadlineNotifierTest {
         private final LocalDate d3 = today.plusDays(3);
 
         @Test
-        @DisplayName("올바른 날짜와 상태를 가진 모든 렌탈 건에 대해 알림을 전송한다")
+        @DisplayName("상태·미발송 조건으로 조회된 대상에게 알림을 보내고 발송 이력을 남긴다")
         void sendAlerts_forAllValidCases() {
             // given: 각 조건에 맞는 Mock Rental 객체 생성
             Member owner1 = createMockMember(1L);
@@ -81,10 +92,10 @@ class RentalDeadlineNotifierTest {
             Rental endD0 = createMockRental(4L, createMockMember(7L), createMockMember(8L), RentalStatusEnum.PICKED_UP);
 
             // Repository Mock 설정
-            when(rentalRepository.findByStartDateBetween(d3.atStartOfDay(), d3.atTime(LocalTime.MAX))).thenReturn(List.of(startD3));
-            when(rentalRepository.findByStartDateBetween(today.atStartOfDay(), today.atTime(LocalTime.MAX))).thenReturn(List.of(startD0));
-            when(rentalRepository.findByDueDateBetween(d3.atStartOfDay(), d3.atTime(LocalTime.MAX))).thenReturn(List.of(endD3));
-            when(rentalRepository.findByDueDateBetween(today.atStartOfDay(), today.atTime(LocalTime.MAX))).thenReturn(List.of(endD0));
+            when(rentalRepository.findStartAlertTargets(RentalStatusEnum.APPROVED, d3.atStartOfDay(), d3.atTime(LocalTime.MAX), NotificationType.RENT_START_D_3)).thenReturn(List.of(startD3));
+            when(rentalRepository.findStartAlertTargets(RentalStatusEnum.APPROVED, today.atStartOfDay(), today.atTime(LocalTime.MAX), NotificationType.RENT_START_D_0)).thenReturn(List.of(startD0));
+            when(rentalRepository.findDueAlertTargets(RentalStatusEnum.PICKED_UP, d3.atStartOfDay(), d3.atTime(LocalTime.MAX), NotificationType.RENT_END_D_3)).thenReturn(List.of(endD3));
+            when(rentalRepository.findDueAlertTargets(RentalStatusEnum.PICKED_UP, today.atStartOfDay(), today.atTime(LocalTime.MAX), NotificationType.RENT_END_D_0)).thenReturn(List.of(endD0));
 
             // when
             rentalDeadlineNotifier.sendStartAndEndAlerts();
@@ -97,37 +108,71 @@ class RentalDeadlineNotifierTest {
 
             // 총 4회 호출 검증
             verify(notificationService, times(4)).notify(any(Member.class), any(NotificationType.class), anyString(), anyString(), any(Map.class));
+
+            // 대여별 발송 이력 기록 — 각각 별도 트랜잭션
+            ArgumentCaptor<RentalAlertLedger> captor = ArgumentCaptor.forClass(RentalAlertLedger.class);
+            verify(alertLedgerRepository, times(4)).saveAndFlush(captor.capture());
+            verify(transactionManager, times(4)).commit(any());
+            assertThat(captor.getAllValues())
+                    .extracting(RentalAlertLedger::getRentalId, RentalAlertLedger::getType)
+                    .containsExactly(
+                            tuple(1L, NotificationType.RENT_START_D_3),
+                            tuple(2L, NotificationType.RENT_START_D_0),
+                            tuple(3L, NotificationType.RENT_END_D_3),
+                            tuple(4L, NotificationType.RENT_END_D_0));
         }
 
         @Test
-        @DisplayName("날짜는 맞지만 상태가 올바르지 않으면 알림을 보내지 않는다")
-        void sendAlerts_ignoresRentals_withWrongStatus() {
-            // given: 날짜는 맞지만 상태가 잘못된 Mock Rental 객체
-            Rental startD3WrongStatus = createMockRental(1L, createMockMember(1L), createMockMember(2L), RentalStatusEnum.PICKED_UP); // APPROVED여야 함
-            Rental endD3WrongStatus = createMockRental(2L, createMockMember(3L), createMockMember(4L), RentalStatusEnum.APPROVED);   // PICKED_UP이어야 함
-
-            when(rentalRepository.findByStartDateBetween(d3.atStartOfDay(), d3.atTime(LocalTime.MAX))).thenReturn(List.of(startD3WrongStatus));
-            when(rentalRepository.findByDueDateBetween(d3.atStartOfDay(), d3.atTime(LocalTime.MAX))).thenReturn(List.of(endD3WrongStatus));
+        @DisplayName("알림 대상이 없으면(이미 발송했거나 상태가 맞지 않으면) 알림도 이력도 남기지 않는다")
+        void sendAlerts_noRentals_callsNothing() {
+            // given: 모든 Repository 메서드가 빈 리스트를 반환하도록 설정
+            when(rentalRepository.findStartAlertTargets(any(), any(), any(), any())).thenReturn(List.of());
+            when(rentalRepository.findDueAlertTargets(any(), any(), any(), any())).thenReturn(List.of());
 
             // when
             rentalDeadlineNotifier.sendStartAndEndAlerts();
 
             // then: notify 메서드가 한 번도 호출되지 않았는지 검증
             verifyNoInteractions(notificationService);
+            verifyNoInteractions(alertLedgerRepository);
         }
 
         @Test
-        @DisplayName("해당 날짜의 렌탈이 없으면 알림을 보내지 않는다")
-        void sendAlerts_noRentals_callsNothing() {
-            // given: 모든 Repository 메서드가 빈 리스트를 반환하도록 설정
-            when(rentalRepository.findByStartDateBetween(any(), any())).thenReturn(List.of());
-            when(rentalRepository.findByDueDateBetween(any(), any())).thenReturn(List.of());
+        @DisplayName("이력 기록이 유니크 제약에 걸리면(다른 인스턴스가 먼저 발송) 건너뛰고 나머지 알림은 계속 보낸다")
+        void sendAlerts_duplicateLedger_isSkipped() {
+            // given
+            Rental dup = createMockRental(1L, createMockMember(1L), createMockMember(2L), RentalStatusEnum.PICKED_UP);
+            Rental fresh = createMockRental(2L, createMockMember(3L), createMockMember(4L), RentalStatusEnum.PICKED_UP);
+            when(rentalRepository.findStartAlertTargets(any(), any(), any(), any())).thenReturn(List.of());
+            when(rentalRepository.findDueAlertTargets(any(), any(), any(), any())).thenReturn(List.of());
+            when(rentalRepository.findDueAlertTargets(RentalStatusEnum.PICKED_UP, today.atStartOfDay(), today.atTime(LocalTime.MAX), NotificationType.RENT_END_D_0)).thenReturn(List.of(dup, fresh));
+            when(alertLedgerRepository.saveAndFlush(any(RentalAlertLedger.class))).thenAnswer(inv -> {
+                RentalAlertLedger ledger = inv.getArgument(0);
+                if (ledger.getRentalId().equals(1L)) {
+                    throw new DataIntegrityViolationException("uk_rental_alert_rental_type");
+                }
+                return ledger;
+            });
 
             // when
             rentalDeadlineNotifier.sendStartAndEndAlerts();
 
-            // then: notify 메서드가 한 번도 호출되지 않았는지 검증
-            verifyNoInteractions(notificationService);
+            // then: 중복 건은 알림 없이 롤백, 다른 건은 발송
+            verify(notificationService, never()).notify(eq(dup.getRenterMember()), any(), anyString(), anyString(), any(Map.class));
+            verify(notificationService).notify(eq(fresh.getRenterMember()), eq(NotificationType.RENT_END_D_0), anyString(), anyString(), any(Map.class));
+            verify(transactionManager).rollback(any());
+            verify(transactionManager).commit(any());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("pruneAlertLedger() 는 다시 알림 대상이 될 수 없는 상태의 대여 이력을 정리한다")
+    void pruneAlertLedger_deletesFinishedRentals() {
+        when(alertLedgerRepository.pruneFinished(anyCollection())).thenReturn(3);
+
+        rentalDeadlineNotifier.pruneAlertLedger();
+
+        verify(alertLedgerRepository).pruneFinished(
+                List.of(RentalStatusEnum.COMPLETED, RentalStatusEnum.CANCELLED, RentalStatusEnum.REJECTED));
+    }
+}
@@ -3,7 +3,12 @@ package com.capstone.rentit.notification.service;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import com.capstone.rentit.notification.dto.PushMessage;
+import com.capstone.rentit.notification.dto.PushResult;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +16,11 @@ import org.mockito.MockedStatic;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -75,4 +84,51 @@ class FcmServiceTest {
             assertThat(ise).hasCause(fakeEx);
         }
     }
+
+    @Test
+    @DisplayName("sendAll(): 500건 단위로 sendEach 호출, 메시지별 결과와 만료 토큰 여부를 순서대로 반환")
+    void sendAll_chunksAndMapsResults() throws Exception {
+        FirebaseMessagingException unregistered = mock(FirebaseMessagingException.class);
+        when(unregistered.getMessagingErrorCode()).thenReturn(MessagingErrorCode.UNREGISTERED);
+        when(unregistered.getMessage()).thenReturn("unregistered");
+
+        SendResponse ok = mock(SendResponse.class);
+        when(ok.isSuccessful()).thenReturn(true);
+        when(ok.getMessageId()).thenReturn("id");
+        SendResponse fail = mock(SendResponse.class);
+        when(fail.isSuccessful()).thenReturn(false);
+        when(fail.getException()).thenReturn(unregistered);
+
+        List<SendResponse> firstChunk = new ArrayList<>(Collections.nCopies(499, ok));
+        firstChunk.add(fail);
+        BatchResponse first = mock(BatchResponse.class);
+        when(first.getResponses()).thenReturn(firstChunk);
+        BatchResponse second = mock(BatchResponse.class);
+        when(second.getResponses()).thenReturn(List.of(ok));
+
+        try (MockedStatic<FirebaseMessaging> firebaseStatic = mockStatic(FirebaseMessaging.class)) {
+            FirebaseMessaging mockMsg = mock(FirebaseMessaging.class);
+            firebaseStatic
+                    .when(() -> FirebaseMessaging.getInstance(firebaseApp))
+                    .thenReturn(mockMsg);
+            when(mockMsg.sendEach(anyList())).thenReturn(first, second);
+
+            List<PushMessage> messages = IntStream.range(0, 501)
+                    .mapToObj(i -> new PushMessage((long) i, "tok" + i, "T", "B", Map.of()))
+                    .toList();
+
+            List<PushResult> results = new FcmService(firebaseApp).sendAll(messages);
+
+            assertThat(results).hasSize(501);
+            assertThat(results.get(0).success()).isTrue();
+            assertThat(results.get(499).success()).isFalse();
+            assertThat(results.get(499).unregistered()).isTrue();
+            assertThat(results.get(500).success()).isTrue();
+
+            ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+            verify(mockMsg, times(2)).sendEach(captor.capture());
+            assertThat(captor.getAllValues().get(0)).hasSize(FcmService.MAX_BATCH_SIZE);
+            assertThat(captor.getAllValues().get(1)).hasSize(1);
+        }
+    }
 }
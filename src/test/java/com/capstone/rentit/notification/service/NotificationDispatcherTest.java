@@ -0,0 +1,188 @@
+package com.capstone.rentit.notification.service;
+
+import com.capstone.rentit.member.repository.MemberRepository;
+import com.capstone.rentit.notification.domain.NotificationOutbox;
+import com.capstone.rentit.notification.dto.PushMessage;
+import com.capstone.rentit.notification.dto.PushResult;
+import com.capstone.rentit.notification.repository.NotificationOutboxRepository;
+import com.capstone.rentit.notification.type.OutboxStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock private NotificationOutboxRepository outboxRepository;
+    @Mock private MemberRepository memberRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private LocalPushSender pushSender;
+    private NotificationDispatcher dispatcher;
+
+    /** FCM 대신 쓰는 로컬 발송기 — 지정한 토큰은 실패/만료 처리한다. */
+    static class LocalPushSender implements PushSender {
+        final List<String> delivered = new ArrayList<>();
+        final Set<String> failingTokens = new HashSet<>();
+        final Set<String> unregisteredTokens = new HashSet<>();
+        int batchCalls = 0;
+
+        @Override
+        public List<PushResult> sendAll(List<PushMessage> messages) {
+            batchCalls++;
+            List<PushResult> results = new ArrayList<>();
+            for (PushMessage m : messages) {
+                if (unregisteredTokens.contains(m.token())) {
+                    results.add(PushResult.failed("Requested entity was not found.", true));
+                } else {
+                    results.addAll(PushSender.super.sendAll(List.of(m)));
+                }
+            }
+            return results;
+        }
+
+        @Override
+        public String sendToToken(String token, String title, String body, Map<String, String> data) {
+            if (failingTokens.contains(token)) {
+                throw new IllegalStateException("FCM 전송 실패");
+            }
+            delivered.add(token);
+            return "msg-" + token;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        pushSender = new LocalPushSender();
+        // 호출 스레드에서 바로 실행하는 executor
+        dispatcher = new NotificationDispatcher(outboxRepository, pushSender, memberRepository,
+                new TransactionTemplate(transactionManager), Runnable::run);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+    }
+
+    private NotificationOutbox outbox(long id, String token) {
+        NotificationOutbox o = NotificationOutbox.pending(id, token, "제목", "내용", Map.of("rentalId", "1"));
+        ReflectionTestUtils.setField(o, "id", id);
+        return o;
+    }
+
+    @Test
+    @DisplayName("trigger → 대기 중인 outbox 를 발송하고 SENT 로 저장")
+    void trigger_sendsPending() {
+        NotificationOutbox a = outbox(1L, "tokenA");
+        NotificationOutbox b = outbox(2L, "tokenB");
+        given(outboxRepository.findClaimable(anyCollection(), any(), any()))
+                .willReturn(List.of(a, b));
+
+        dispatcher.trigger();
+
+        assertThat(pushSender.delivered).containsExactly("tokenA", "tokenB");
+        assertThat(a.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(b.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(a.getSentAt()).isNotNull();
+        assertThat(pushSender.batchCalls).isEqualTo(1);
+        verify(outboxRepository).saveAll(anyList());
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    @DisplayName("만료 토큰 → 재시도 없이 DEAD, 회원 토큰 정리")
+    void unregisteredToken_isPurged() {
+        pushSender.unregisteredTokens.add("stale");
+        NotificationOutbox stale = outbox(7L, "stale");
+        given(outboxRepository.findClaimable(anyCollection(), any(), any()))
+                .willReturn(List.of(stale));
+
+        dispatcher.dispatchBatch();
+
+        assertThat(stale.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(stale.getAttempts()).isEqualTo(1);
+        verify(memberRepository).clearFcmToken(7L, "stale");
+    }
+
+    @Test
+    @DisplayName("발송 실패 → attempts 증가, 백오프 후 재시도 예약, 다른 건은 계속 발송")
+    void failure_isRetriedWithBackoff() {
+        pushSender.failingTokens.add("bad");
+        NotificationOutbox bad = outbox(1L, "bad");
+        NotificationOutbox good = outbox(2L, "good");
+        given(outboxRepository.findClaimable(anyCollection(), any(), any()))
+                .willReturn(List.of(bad, good));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchBatch();
+
+        assertThat(pushSender.delivered).containsExactly("good");
+        assertThat(bad.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(bad.getAttempts()).isEqualTo(1);
+        assertThat(bad.getLastError()).contains("FCM 전송 실패");
+        assertThat(bad.getNextAttemptAt()).isAfter(before.plusSeconds(1));
+    }
+
+    @Test
+    @DisplayName("재시도 한도 도달 → DEAD")
+    void exhaustedRetries_goDead() {
+        pushSender.failingTokens.add("bad");
+        NotificationOutbox bad = outbox(1L, "bad");
+        given(outboxRepository.findClaimable(anyCollection(), any(), any()))
+                .willReturn(List.of(bad));
+
+        dispatcher.dispatchBatch();
+        dispatcher.dispatchBatch();
+        dispatcher.dispatchBatch();
+
+        assertThat(bad.getAttempts()).isEqualTo(3);
+        assertThat(bad.getStatus()).isEqualTo(OutboxStatus.DEAD);
+    }
+
+    @Test
+    @DisplayName("발송 전에 조회 트랜잭션 안에서 IN_FLIGHT 로 선점 — 대기/임대 만료 건만 조회")
+    void batchIsClaimedBeforeSending() {
+        NotificationOutbox a = outbox(1L, "tokenA");
+        given(outboxRepository.findClaimable(anyCollection(), any(), any()))
+                .willReturn(List.of(a));
+        PushSender claimCheckingSender = new LocalPushSender() {
+            @Override
+            public List<PushResult> sendAll(List<PushMessage> messages) {
+                assertThat(a.getStatus()).isEqualTo(OutboxStatus.IN_FLIGHT);
+                assertThat(a.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(4));
+                return super.sendAll(messages);
+            }
+        };
+        dispatcher = new NotificationDispatcher(outboxRepository, claimCheckingSender, memberRepository,
+                new TransactionTemplate(transactionManager), Runnable::run);
+
+        dispatcher.dispatchBatch();
+
+        assertThat(a.getStatus()).isEqualTo(OutboxStatus.SENT);
+        verify(outboxRepository).findClaimable(
+                eq(List.of(OutboxStatus.PENDING, OutboxStatus.IN_FLIGHT)), any(), any());
+    }
+
+    @Test
+    @DisplayName("backoff: 지수 증가, 상한 적용")
+    void backoff_isExponentialAndCapped() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(dispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(dispatcher.backoff(30)).isEqualTo(Duration.ofMinutes(10));
+    }
+}
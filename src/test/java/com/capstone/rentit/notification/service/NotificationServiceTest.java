@@ -46,7 +46,7 @@ class NotificationServiceTest {
     @Mock private MemberRepository       memberRepository;
     @Mock private RentalRepository       rentalRepository;
     @Mock private DeviceRepository       deviceRepository;
-    @Mock private FcmService             fcmService;
+    @Mock private NotificationOutboxService notificationOutbox;
     @Captor private ArgumentCaptor<Notification> notificationCaptor;
 
     // 헬퍼: Member stub
@@ -90,7 +90,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(ownerId)).thenReturn(Optional.of(owner));
             when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyRentRequest(rentalId);
@@ -101,7 +101,8 @@ class NotificationServiceTest {
             assertThat(n.getType()).isEqualTo(NotificationType.RENT_REQUESTED);
             assertThat(n.getBody()).contains("nick10", "TestItem");
 
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenA"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -113,7 +114,7 @@ class NotificationServiceTest {
         void notFound() {
             // given
             when(rentalRepository.findByIdWithItem(99L)).thenReturn(Optional.empty());
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when & then
             assertThatThrownBy(() -> svc.notifyRentRequest(99L))
@@ -135,7 +136,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(ownerId)).thenReturn(Optional.of(owner));
             when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyItemReturned(rentalId, deviceId, lockerId);
@@ -146,7 +147,8 @@ class NotificationServiceTest {
             assertThat(n.getType()).isEqualTo(NotificationType.ITEM_RETURNED);
             assertThat(n.getBody()).contains("UniX", "Floor2", "5번 사물함");
 
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenB"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -170,7 +172,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(renterId)).thenReturn(Optional.of(renterMember));
             when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyRequestAccepted(rid);
@@ -180,7 +182,8 @@ class NotificationServiceTest {
             Notification n = notificationCaptor.getValue();
             assertThat(n.getType()).isEqualTo(NotificationType.REQUEST_ACCEPTED);
 
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenC"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -203,7 +206,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(renterId)).thenReturn(Optional.of(renter));
             when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyItemPlaced(rentalId, deviceId, lockerId);
@@ -214,7 +217,8 @@ class NotificationServiceTest {
             assertThat(n.getType()).isEqualTo(NotificationType.ITEM_PLACED);
             assertThat(n.getBody()).contains("UniY", "B1", "7번 사물함");
 
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenD"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -235,7 +239,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(renterId)).thenReturn(Optional.of(renter));
             when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyRentRejected(rentalId);
@@ -245,7 +249,8 @@ class NotificationServiceTest {
             Notification n = notificationCaptor.getValue();
             assertThat(n.getType()).isEqualTo(NotificationType.REQUEST_REJECTED);
 
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenE"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -266,7 +271,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(ownerId)).thenReturn(Optional.of(owner));
             when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyRequestCancel(rentalId);
@@ -276,7 +281,8 @@ class NotificationServiceTest {
             Notification n = notificationCaptor.getValue();
             assertThat(n.getType()).isEqualTo(NotificationType.RENT_CANCEL);
 
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenF"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -297,7 +303,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(renterId)).thenReturn(Optional.of(owner));
             when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyItemDamagedRequest(rentalId);
@@ -307,7 +313,8 @@ class NotificationServiceTest {
             Notification n = notificationCaptor.getValue();
             assertThat(n.getType()).isEqualTo(NotificationType.ITEM_DAMAGED_REQUEST);
 
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenG"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -329,7 +336,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(memberId)).thenReturn(Optional.of(renter));
             when(notificationRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyItemDamagedResponse(inquiry);
@@ -343,7 +350,8 @@ class NotificationServiceTest {
             assertThat(n.getBody()).contains("nick42", title);
 
             // then – FCM 전송 검증
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenX"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -367,7 +375,7 @@ class NotificationServiceTest {
             when(memberRepository.findById(memberId)).thenReturn(Optional.of(m));
             when(notificationRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.notifyInquiryResponse(inquiry);
@@ -378,7 +386,8 @@ class NotificationServiceTest {
             assertThat(n.getType()).isEqualTo(NotificationType.INQUIRY_RESPONSE);
             assertThat(n.getBody()).contains("Question");
 
-            verify(fcmService).sendToToken(
+            verify(notificationOutbox).enqueue(
+                    anyLong(),
                     eq("tokenI"),
                     eq(n.getTitle()),
                     eq(n.getBody()),
@@ -393,7 +402,7 @@ class NotificationServiceTest {
             when(inquiry.getMemberId()).thenReturn(999L);
             when(memberRepository.findById(999L)).thenReturn(Optional.empty());
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when & then
             assertThatThrownBy(() -> svc.notifyInquiryResponse(inquiry))
@@ -415,7 +424,7 @@ class NotificationServiceTest {
                     .isRead(false).createdAt(LocalDateTime.now()).build();
             when(notificationRepository.findById(123L)).thenReturn(Optional.of(n));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             svc.markAsRead(123L, memberDto);
@@ -438,7 +447,7 @@ class NotificationServiceTest {
                     .isRead(false).createdAt(LocalDateTime.now()).build();
             when(notificationRepository.findById(124L)).thenReturn(Optional.of(n));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when & then
             assertThatThrownBy(() -> svc.markAsRead(124L, otherDto))
@@ -461,7 +470,7 @@ class NotificationServiceTest {
             when(notificationRepository.findByTarget(me, pageable))
                     .thenReturn(new PageImpl<>(List.of(n), pageable, 1));
 
-            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, fcmService);
+            var svc = new NotificationService(notificationRepository, memberRepository, rentalRepository, deviceRepository, notificationOutbox);
 
             // when
             Page<NotificationDto> result = svc.findByTarget(memberDto, pageable);
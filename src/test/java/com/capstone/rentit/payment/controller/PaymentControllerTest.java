@@ -8,7 +8,9 @@ import com.capstone.rentit.login.service.MemberDetailsService;
 import com.capstone.rentit.member.domain.Student;
 import com.capstone.rentit.member.status.MemberRoleEnum;
 import com.capstone.rentit.payment.dto.*;
+import com.capstone.rentit.payment.service.PaymentIdempotencyService;
 import com.capstone.rentit.payment.service.PaymentService;
+import com.capstone.rentit.payment.service.PaymentTransferSaga;
 import com.capstone.rentit.payment.type.PaymentStatus;
 import com.capstone.rentit.payment.type.PaymentType;
 import com.capstone.rentit.rental.controller.RentalController;
@@ -31,9 +33,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.*;
 import static org.springframework.restdocs.payload.PayloadDocumentation.*;
@@ -54,6 +62,8 @@ class PaymentControllerTest {
     @Autowired ObjectMapper om;
 
     @MockitoBean PaymentService paymentService;
+    @MockitoBean PaymentIdempotencyService idempotencyService;
+    @MockitoBean PaymentTransferSaga transferSaga;
 
     @MockitoBean JwtTokenProvider jwtTokenProvider;
     @MockitoBean MemberDetailsService memberDetailsService;
@@ -137,17 +147,26 @@ class PaymentControllerTest {
     @Test @WithMockUser(roles = "USER")
     @DisplayName("POST /api/v1/wallet/top-up 지갑 충전 성공")
     void topUp_success() throws Exception {
-        given(paymentService.topUp(any())).willReturn(1L);
+        given(paymentService.beginTopUp(any())).willReturn(1L);
+        given(transferSaga.settle(1L)).willReturn(1L);
+        given(idempotencyService.execute(eq("c1f0e6c2-top-up"), eq(PaymentType.TOP_UP), eq(MEMBER_ID), eq(AMOUNT), any(), any()))
+                .willAnswer(inv -> inv.<UnaryOperator<Long>>getArgument(5).apply(inv.<Supplier<Long>>getArgument(4).get()));
 
         mockMvc.perform(post("/api/v1/wallet/top-up")
                         .with(csrf())
+                        .header("Idempotency-Key", "c1f0e6c2-top-up")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(om.writeValueAsString(new TopUpRequest(MEMBER_ID, AMOUNT))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").value(1L))
                 .andDo(document("wallet-top-up",
                         preprocessRequest(prettyPrint()),
                         preprocessResponse(prettyPrint()),
+                        requestHeaders(
+                                headerWithName("Idempotency-Key").optional()
+                                        .description("재시도 시 같은 값을 보내면 다시 충전하지 않고 처음 결과를 돌려준다")
+                        ),
                         requestFields(
                                 fieldWithPath("memberId").type(JsonFieldType.NUMBER).description("사용자 ID"),
                                 fieldWithPath("amount").type(JsonFieldType.NUMBER).description("충전 금액(원)")
@@ -163,17 +182,26 @@ class PaymentControllerTest {
     @Test @WithMockUser(roles = "USER")
     @DisplayName("POST /api/v1/wallet/withdraw 지갑 인출 성공")
     void withdraw_success() throws Exception {
-        given(paymentService.withdraw(any())).willReturn(2L);
+        given(paymentService.beginWithdraw(any())).willReturn(2L);
+        given(transferSaga.settle(2L)).willReturn(2L);
+        given(idempotencyService.execute(eq("5b7d9a10-withdraw"), eq(PaymentType.WITHDRAWAL), eq(MEMBER_ID), eq(AMOUNT), any(), any()))
+                .willAnswer(inv -> inv.<UnaryOperator<Long>>getArgument(5).apply(inv.<Supplier<Long>>getArgument(4).get()));
 
         mockMvc.perform(post("/api/v1/wallet/withdraw")
                         .with(csrf())
+                        .header("Idempotency-Key", "5b7d9a10-withdraw")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(om.writeValueAsString(new WithdrawRequest(MEMBER_ID, AMOUNT))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").value(2L))
                 .andDo(document("wallet-withdraw",
                         preprocessRequest(prettyPrint()),
                         preprocessResponse(prettyPrint()),
+                        requestHeaders(
+                                headerWithName("Idempotency-Key").optional()
+                                        .description("재시도 시 같은 값을 보내면 다시 인출하지 않고 처음 결과를 돌려준다")
+                        ),
                         requestFields(
                                 fieldWithPath("memberId").type(JsonFieldType.NUMBER).description("사용자 ID"),
                                 fieldWithPath("amount").type(JsonFieldType.NUMBER).description("출금 금액(원)")
@@ -186,6 +214,24 @@ class PaymentControllerTest {
                 ));
     }
 
+    @Test @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/v1/wallet/top-up 같은 Idempotency-Key 재요청은 다시 충전하지 않는다")
+    void topUp_replayedKey() throws Exception {
+        given(idempotencyService.execute(eq("retry-1"), eq(PaymentType.TOP_UP), eq(MEMBER_ID), eq(AMOUNT), any(), any()))
+                .willReturn(1L);
+
+        mockMvc.perform(post("/api/v1/wallet/top-up")
+                        .with(csrf())
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new TopUpRequest(MEMBER_ID, AMOUNT))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(1L));
+
+        then(paymentService).shouldHaveNoInteractions();
+        then(transferSaga).shouldHaveNoInteractions();
+    }
+
     @Test @WithMockUser(roles = "USER")
     @DisplayName("GET /api/v1/payments 사용자 결제내역 조회")
     void getPayments_user() throws Exception {
@@ -0,0 +1,179 @@
+package com.capstone.rentit.payment.nh;
+
+import com.capstone.rentit.payment.config.NhApiConfig;
+import com.capstone.rentit.payment.config.NhApiProperties;
+import com.capstone.rentit.payment.dto.DrawingTransferResponse;
+import com.capstone.rentit.payment.dto.NhHeader;
+import com.capstone.rentit.payment.exception.ExternalPaymentFailedException;
+import com.capstone.rentit.payment.service.NhApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.io.CloseMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 실제 연결 풀 + 로컬 NH 스텁으로 타임아웃/재시도/차단기 동작 확인
+ */
+class NhApiClientStubTest {
+
+    private static final String PIN = "12345678901234567890123456";
+    private static final AtomicLong PAYMENT_IDS = new AtomicLong();
+
+    private NhStubServer stub;
+    private NhApiProperties prop;
+    private SimpleMeterRegistry meterRegistry;
+    private NhCircuitBreaker circuitBreaker;
+    private CloseableHttpClient httpClient;
+    private NhApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = NhStubServer.start(0);
+        prop = new NhApiProperties();
+        ReflectionTestUtils.setField(prop, "baseUrl", stub.baseUrl());
+        ReflectionTestUtils.setField(prop, "iscd", "000000");
+        ReflectionTestUtils.setField(prop, "fintechApsNo", "001");
+        ReflectionTestUtils.setField(prop, "accessToken", "token");
+        ReflectionTestUtils.setField(prop, "drawing", "DrawingTransferA");
+        ReflectionTestUtils.setField(prop, "deposit", "ReceivedTransferAccountNumberA");
+        ReflectionTestUtils.setField(prop, "maxConnections", 4);
+        ReflectionTestUtils.setField(prop, "idleEvictSeconds", 30L);
+        ReflectionTestUtils.setField(prop, "leaseTimeoutMs", 100L);
+        ReflectionTestUtils.setField(prop, "connectTimeoutMs", 500L);
+        ReflectionTestUtils.setField(prop, "drawingTimeoutMs", 2_000L);
+        ReflectionTestUtils.setField(prop, "depositTimeoutMs", 200L);
+        ReflectionTestUtils.setField(prop, "retryMaxAttempts", 3);
+        ReflectionTestUtils.setField(prop, "retryBackoffMs", 10L);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new NhCircuitBreaker(20, 4, 50, 30, meterRegistry);
+        build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        stub.close();
+    }
+
+    private void build() {
+        NhApiConfig config = new NhApiConfig();
+        httpClient = config.nhHttpClient(prop);
+        client = new NhApiClient(config.nhRestTemplate(new RestTemplateBuilder(), httpClient, prop),
+                prop, circuitBreaker, new NhRetryBudget(0.1, 10, meterRegistry));
+    }
+
+    private static String isTuno() {
+        return NhHeader.isTunoOf(LocalDate.now(), PAYMENT_IDS.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("연속 호출은 keep-alive 연결을 재사용한다")
+    void reusesPooledConnection() {
+        for (int i = 0; i < 20; i++) {
+            DrawingTransferResponse res = client.drawingTransfer(isTuno(), PIN, 1_000L, "충전");
+            assertThat(res.FinAcno()).isEqualTo(PIN);
+            assertThat(res.Header().IsTuno()).isNotBlank();
+        }
+
+        assertThat(stub.requests()).isEqualTo(20);
+        assertThat(stub.connections()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 기관거래고유번호로 다시 보내면 NH 는 한 번만 처리하고 중복으로 응답한다")
+    void resendWithSameIsTunoIsDuplicate() {
+        String isTuno = isTuno();
+
+        DrawingTransferResponse first = client.drawingTransfer(isTuno, PIN, 1_000L, "충전");
+        DrawingTransferResponse resend = client.drawingTransfer(isTuno, PIN, 1_000L, "충전");
+
+        assertThat(first.Header().succeeded()).isTrue();
+        assertThat(resend.Header().Rpcd()).isEqualTo(NhStubServer.DUPLICATE_RPCD);
+        assertThat(resend.Header().IsTuno()).isEqualTo(isTuno);
+    }
+
+    @Test
+    @DisplayName("응답 타임아웃은 엔드포인트별로 적용되고, 타임아웃은 재시도하지 않는다")
+    void perEndpointResponseTimeout() {
+        stub.latency(Duration.ofMillis(500));
+
+        assertThatThrownBy(() -> client.deposit(isTuno(), PIN, 1_000L, "출금"))     // 200ms
+                .isInstanceOf(ExternalPaymentFailedException.class)
+                .hasMessageContaining("시간 초과");
+        assertThat(client.drawingTransfer(isTuno(), PIN, 1_000L, "충전")).isNotNull();   // 2s
+
+        assertThat(stub.requests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("NH 장애가 이어지면 차단기가 열려 스텁까지 가지 않고 바로 실패한다")
+    void openCircuitFailsFast() {
+        stub.failNext(4, 503);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.drawingTransfer(isTuno(), PIN, 1_000L, "충전"))
+                    .isInstanceOf(ExternalPaymentFailedException.class)
+                    .hasMessageContaining("서버 오류");
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.drawingTransfer(isTuno(), PIN, 1_000L, "충전"))
+                .isInstanceOf(ExternalPaymentFailedException.class)
+                .hasMessageContaining("잠시 후");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+        assertThat(stub.requests()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("연결이 거부되면 예산 안에서 재시도한 뒤 실패한다")
+    void retriesRefusedConnection() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        ReflectionTestUtils.setField(prop, "baseUrl", "http://localhost:" + closedPort);
+
+        assertThatThrownBy(() -> client.deposit(isTuno(), PIN, 1_000L, "출금"))
+                .isInstanceOf(ExternalPaymentFailedException.class)
+                .hasMessageContaining("연결 실패");
+        assertThat(meterRegistry.get("nh.api.retries").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("풀이 가득 차면 연결을 오래 기다리지 않고 실패한다")
+    void boundedPoolRejectsOverflow() {
+        ReflectionTestUtils.setField(prop, "maxConnections", 2);
+        httpClient.close(CloseMode.IMMEDIATE);
+        build();
+        stub.latency(Duration.ofMillis(500));
+
+        List<CompletableFuture<DrawingTransferResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(client.drawingTransferAsync(isTuno(), PIN, 1_000L, "충전"));
+        }
+        long failed = calls.stream()
+                .map(f -> f.handle((res, e) -> e != null))
+                .map(CompletableFuture::join)
+                .filter(Boolean::booleanValue)
+                .count();
+
+        assertThat(failed).isEqualTo(2);
+        assertThat(stub.requests()).isEqualTo(2);
+    }
+}
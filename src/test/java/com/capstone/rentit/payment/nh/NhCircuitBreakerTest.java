@@ -0,0 +1,124 @@
+package com.capstone.rentit.payment.nh;
+
+import com.capstone.rentit.payment.nh.NhCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NhCircuitBreakerTest {
+
+    private static final Duration OPEN = Duration.ofSeconds(30);
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private NhCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new NhCircuitBreaker(10, 4, 50, OPEN, clock, meterRegistry);
+    }
+
+    private void call(boolean success) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        if (success) breaker.onSuccess(); else breaker.onFailure();
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 전에는 실패해도 열리지 않는다")
+    void staysClosedBelowMinimumCalls() {
+        call(false);
+        call(false);
+        call(false);
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("실패율이 임계치를 넘으면 열리고, 열린 동안은 바로 거절한다")
+    void opensAndFailsFast() {
+        call(true);
+        call(false);
+        call(true);
+        call(false);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("nh.api.circuit.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("nh.api.circuit.state").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("열린 시간이 지나면 시험 호출 한 건만 보내고, 성공하면 닫힌다")
+    void halfOpenProbeCloses() {
+        openBreaker();
+        clock.advance(OPEN);
+
+        assertThat(breaker.isCallPermitted()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();   // 시험 호출 중에는 다른 호출을 막는다
+
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 열린다")
+    void halfOpenProbeReopens() {
+        openBreaker();
+        clock.advance(OPEN);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("nh.api.circuit.opened").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("실패율은 최근 창 안의 호출만으로 계산한다")
+    void slidingWindowForgetsOldFailures() {
+        for (int i = 0; i < 3; i++) call(false);
+        for (int i = 0; i < 10; i++) call(true);    // 앞의 실패 3건이 창(10건) 밖으로 밀려난다
+        for (int i = 0; i < 4; i++) call(false);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);   // 창 기준 4/10
+
+        call(false);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);     // 창 기준 5/10 (누적이라면 8/18 로 닫혀 있었을 것)
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) call(false);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
@@ -0,0 +1,152 @@
+package com.capstone.rentit.payment.nh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로컬 NH 오픈API 스텁 — 지연/실패 주입용
+ *  - /DrawingTransfer.nh, /ReceivedTransferAccountNumber.nh 에 요청 Header 를 그대로 돌려준다.
+ *  - latency 만큼 늦게 응답하고, failNext/failureRate 로 5xx 를 낸다.
+ *  - 이미 처리한 IsTuno 가 다시 오면 DUPLICATE_RPCD 로 응답한다 (nhapi.duplicate-rpcd 와 맞춰 복구 작업 확인).
+ *
+ * 로컬 실행: IDE 에서 main 실행 후 nhapi.base-url=http://localhost:18080 으로 서버 기동
+ *   -Dnh.stub.port=18080 -Dnh.stub.latency-ms=300 -Dnh.stub.failure-rate=0.2
+ */
+public class NhStubServer implements AutoCloseable {
+
+    public static final String DUPLICATE_RPCD = "DUPLICATE";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failNext = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final Set<String> processed = ConcurrentHashMap.newKeySet();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double failureRate;
+    private volatile int failureStatus = 503;
+
+    private NhStubServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/DrawingTransfer.nh", this::handle);
+        server.createContext("/ReceivedTransferAccountNumber.nh", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /** port 0 이면 빈 포트를 쓴다. */
+    public static NhStubServer start(int port) throws IOException {
+        return new NhStubServer(port);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public NhStubServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public NhStubServer failureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    /** 다음 count 건을 status 로 실패시킨다. */
+    public NhStubServer failNext(int count, int status) {
+        this.failureStatus = status;
+        this.failNext.set(count);
+        return this;
+    }
+
+    /** 받은 요청 수 */
+    public int requests() {
+        return requests.get();
+    }
+
+    /** 요청을 보낸 서로 다른 TCP 연결 수 — keep-alive 재사용 확인용 */
+    public int connections() {
+        return clientPorts.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonNode request;
+            try (InputStream in = exchange.getRequestBody()) {
+                request = mapper.readTree(in);
+            }
+            requests.incrementAndGet();
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+
+            sleep(latency);
+
+            if (failNext.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0
+                    || ThreadLocalRandom.current().nextDouble() < failureRate) {
+                exchange.sendResponseHeaders(failureStatus, -1);
+                return;
+            }
+
+            JsonNode header = request.path("Header");
+            ObjectNode responseHeader = header.isObject() ? ((ObjectNode) header).deepCopy() : mapper.createObjectNode();
+            if (processed.add(header.path("IsTuno").asText())) {
+                responseHeader.put("Rpcd", "00000");
+                responseHeader.put("Rsms", "정상처리 되었습니다.");
+            } else {
+                responseHeader.put("Rpcd", DUPLICATE_RPCD);
+                responseHeader.put("Rsms", "이미 처리된 거래입니다.");
+            }
+            ObjectNode response = mapper.createObjectNode();
+            response.set("Header", responseHeader);
+            response.put("FinAcno", request.path("FinAcno").asText());
+            response.put("RgsnYmd", header.path("Tsymd").asText());
+
+            byte[] body = mapper.writeValueAsBytes(response);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void sleep(Duration d) {
+        if (d.isZero()) return;
+        try {
+            Thread.sleep(d.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        NhStubServer stub = start(Integer.getInteger("nh.stub.port", 18080))
+                .latency(Duration.ofMillis(Long.getLong("nh.stub.latency-ms", 0L)))
+                .failureRate(Double.parseDouble(System.getProperty("nh.stub.failure-rate", "0")));
+        System.out.println("NH stub listening on " + stub.baseUrl());
+    }
+}
@@ -0,0 +1,91 @@
+package com.capstone.rentit.payment.repository;
+
+import com.capstone.rentit.config.QuerydslConfig;
+import com.capstone.rentit.payment.domain.Wallet;
+import com.capstone.rentit.payment.domain.WalletLedgerEntry;
+import com.capstone.rentit.payment.service.WalletLedgerCompactor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(QuerydslConfig.class)
+class WalletLedgerRepositoryTest {
+
+    @Autowired WalletRepository walletRepository;
+    @Autowired WalletLedgerRepository ledgerRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManager em;
+
+    private static final long MEMBER = 1L;
+
+    @BeforeEach
+    void seed() {
+        em.persist(Wallet.builder().memberId(MEMBER).balance(1_000L).build());
+        em.flush();
+    }
+
+    private long balance() {
+        return walletRepository.findBalance(MEMBER).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("잔액 = 스냅샷 + 미압축 원장 항목의 합")
+    void balanceIncludesPendingEntries() {
+        ledgerRepository.save(WalletLedgerEntry.credit(MEMBER, 500L, 10L));
+        ledgerRepository.save(WalletLedgerEntry.credit(MEMBER, 200L, 11L));
+
+        assertThat(balance()).isEqualTo(1_700L);
+    }
+
+    @Test
+    @DisplayName("조건부 출금 — 잔액이 충분할 때만 한 행이 추가된다")
+    void appendDebitGuardsOverdraft() {
+        ledgerRepository.save(WalletLedgerEntry.credit(MEMBER, 500L, 10L));
+
+        assertThat(ledgerRepository.appendDebit(MEMBER, 1_500L, 20L)).isEqualTo(1);
+        assertThat(balance()).isZero();
+
+        assertThat(ledgerRepository.appendDebit(MEMBER, 1L, 21L)).isZero();
+        assertThat(ledgerRepository.appendDebit(99L, 1L, 22L)).isZero();   // 지갑 없음
+        assertThat(balance()).isZero();
+        assertThat(ledgerRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("압축 후에도 잔액은 같고, 항목은 감사 기록으로 남는다")
+    void compactionFoldsIntoSnapshot() {
+        ledgerRepository.save(WalletLedgerEntry.credit(MEMBER, 500L, 10L));
+        ledgerRepository.appendDebit(MEMBER, 300L, 20L);
+        em.clear();
+
+        WalletLedgerCompactor compactor = new WalletLedgerCompactor(walletRepository, ledgerRepository,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+        assertThat(compactor.compact(LocalDateTime.now())).isEqualTo(2);
+        em.flush();
+        em.clear();
+
+        assertThat(walletRepository.findById(MEMBER).orElseThrow().getBalance()).isEqualTo(1_200L);
+        assertThat(balance()).isEqualTo(1_200L);
+        assertThat(ledgerRepository.findPending(MEMBER)).isEmpty();
+        assertThat(ledgerRepository.count()).isEqualTo(2);
+
+        // 압축 이후 추가분은 다음 압축 전까지 미압축으로 합산된다.
+        ledgerRepository.save(WalletLedgerEntry.credit(MEMBER, 100L, 11L));
+        assertThat(balance()).isEqualTo(1_300L);
+        assertThat(compactor.compact(LocalDateTime.now())).isEqualTo(1);
+    }
+}
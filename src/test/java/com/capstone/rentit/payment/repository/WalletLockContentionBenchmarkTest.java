@@ -0,0 +1,125 @@
+package com.capstone.rentit.payment.repository;
+
+import com.capstone.rentit.config.QuerydslConfig;
+import com.capstone.rentit.payment.domain.Wallet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 충전(잠금 보유) 중 잔액 조회 지연 비교 — findForUpdate vs findBalance
+ *  ./gradlew benchmark --tests '*WalletLockContentionBenchmarkTest'
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(QuerydslConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WalletLockContentionBenchmarkTest {
+
+    private static final long MEMBER = 777L;
+    private static final int READERS = 16;
+    private static final long HOLD_MILLIS = 300;   // 충전 중 NH 호출 동안 잠금을 쥐고 있는 시간
+
+    @Autowired WalletRepository walletRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> walletRepository.save(
+                Wallet.builder().memberId(MEMBER).balance(10_000L).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> walletRepository.deleteById(MEMBER));
+    }
+
+    @Test
+    @DisplayName("충전이 지갑을 잠근 동안 스냅샷 조회는 기다리지 않는다")
+    void balanceReadsDoNotQueueBehindTopUp() throws Exception {
+        List<Long> locking = measureWhileTopUp(() ->
+                walletRepository.findForUpdate(MEMBER).orElseThrow().getBalance());
+        List<Long> snapshot = measureWhileTopUp(() ->
+                walletRepository.findBalance(MEMBER).orElseThrow());
+
+        System.out.printf("findForUpdate  p50 %4d ms  max %4d ms%n", p50(locking), max(locking));
+        System.out.printf("findBalance    p50 %4d ms  max %4d ms%n", p50(snapshot), max(snapshot));
+
+        assertThat(p50(locking)).isGreaterThanOrEqualTo(HOLD_MILLIS / 2);
+        assertThat(max(snapshot)).isLessThan(HOLD_MILLIS / 2);
+    }
+
+    /** 충전 트랜잭션이 잠금을 쥔 상태에서 READERS 개의 조회를 동시에 보내고 각 지연(ms)을 잰다. */
+    private List<Long> measureWhileTopUp(LongSupplier read) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+        CountDownLatch locked = new CountDownLatch(1);
+        try {
+            Future<?> topUp = pool.submit(() -> tx.executeWithoutResult(s -> {
+                walletRepository.findForUpdate(MEMBER).orElseThrow().fold(1_000L);
+                locked.countDown();
+                sleep(HOLD_MILLIS);
+            }));
+            assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Long>> reads = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                reads.add(pool.submit(() -> {
+                    long start = System.nanoTime();
+                    tx.execute(s -> read.getAsLong());
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<Long> f : reads) {
+                latencies.add(f.get(10, TimeUnit.SECONDS));
+            }
+            topUp.get(10, TimeUnit.SECONDS);
+            Collections.sort(latencies);
+            return latencies;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long p50(List<Long> sorted) {
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static long max(List<Long> sorted) {
+        return sorted.get(sorted.size() - 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.capstone.rentit.payment.scheduler;
+
+import com.capstone.rentit.payment.repository.PaymentRepository;
+import com.capstone.rentit.payment.service.PaymentTransferSaga;
+import com.capstone.rentit.payment.service.PaymentTransferSaga.Outcome;
+import com.capstone.rentit.payment.type.PaymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class PendingPaymentRecoverySchedulerTest {
+
+    @Mock PaymentRepository paymentRepository;
+    @Mock PaymentTransferSaga transferSaga;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PendingPaymentRecoveryScheduler scheduler;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new PendingPaymentRecoveryScheduler(paymentRepository, transferSaga, 120, 10, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("min-age 보다 오래된 PENDING 충전/인출만 확인하고, 확정된 수를 돌려준다")
+    void recoversStalePendingTransfers() {
+        given(paymentRepository.findStaleIds(eq(PaymentStatus.PENDING),
+                eq(PendingPaymentRecoveryScheduler.NH_TRANSFER_TYPES),
+                eq(now.minusSeconds(120)), eq(10), any(Pageable.class)))
+                .willReturn(List.of(1L, 2L, 3L, 4L));
+        given(transferSaga.recover(1L)).willReturn(Outcome.APPROVED);
+        given(transferSaga.recover(2L)).willReturn(Outcome.FAILED);
+        given(transferSaga.recover(3L)).willReturn(Outcome.UNKNOWN);
+        given(transferSaga.recover(4L)).willThrow(new IllegalStateException("db down"));
+
+        assertThat(scheduler.recover(now)).isEqualTo(2);
+
+        assertThat(meterRegistry.get("payment.recovery").tag("outcome", "approved").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("payment.recovery").tag("outcome", "unknown").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("대상이 없으면 NH 를 부르지 않는다")
+    void nothingToRecover() {
+        given(paymentRepository.findStaleIds(any(), any(), any(), eq(10), any(Pageable.class)))
+                .willReturn(List.of());
+
+        assertThat(scheduler.recover(now)).isZero();
+
+        then(transferSaga).should(never()).recover(any());
+    }
+}
@@ -3,6 +3,10 @@ package com.capstone.rentit.payment.service;
 import com.capstone.rentit.notification.service.NotificationService;
 import com.capstone.rentit.payment.config.NhApiProperties;
 import com.capstone.rentit.payment.dto.*;
+import com.capstone.rentit.payment.exception.ExternalPaymentFailedException;
+import com.capstone.rentit.payment.nh.NhCircuitBreaker;
+import com.capstone.rentit.payment.nh.NhRetryBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,11 +16,20 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.*;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,7 +47,11 @@ class NhApiClientTest {
 
     @Mock NhApiProperties props;
 
-    @InjectMocks NhApiClient nhApiClient;
+    static final String ISTUNO = "20250101000000000001";
+
+    SimpleMeterRegistry meterRegistry;
+    NhCircuitBreaker circuitBreaker;
+    NhApiClient nhApiClient;
 
     @BeforeEach
     void setUp() {
@@ -44,6 +61,21 @@ class NhApiClientTest {
 
         given(props.getSvcCodes()).willReturn(svc);
         given(props.getBaseUrl()).willReturn("https://developers.nonghyup.com");
+        lenient().when(props.getRetryMaxAttempts()).thenReturn(3);
+        lenient().when(props.getRetryBackoffMs()).thenReturn(0L);
+
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new NhCircuitBreaker(10, 4, 50, 30, meterRegistry);
+        nhApiClient = client(new NhRetryBudget(0.1, 10, meterRegistry));
+    }
+
+    /** 호출 스레드에서 바로 실행 — 비동기 경로도 순서대로 검증한다 */
+    private NhApiClient client(NhRetryBudget budget) {
+        return new NhApiClient(restTemplate, props, circuitBreaker, budget, Runnable::run);
+    }
+
+    private static ResourceAccessException refused() {
+        return new ResourceAccessException("Connection refused", new ConnectException("Connection refused"));
     }
     /* ---------------- 지갑 충전 ---------------- */
     @Nested
@@ -70,7 +102,7 @@ class NhApiClientTest {
 
             // when
             DrawingTransferResponse result =
-                    nhApiClient.drawingTransfer(pinAccount, amount, memo);
+                    nhApiClient.drawingTransfer(ISTUNO, pinAccount, amount, memo);
 
             // then
             assertThat(result).isSameAs(dummyRes);
@@ -91,6 +123,7 @@ class NhApiClientTest {
             assertThat(body.FinAcno()).isEqualTo(pinAccount);
             assertThat(body.Tram()).isEqualTo(String.valueOf(amount));
             assertThat(body.DractOtlt()).isEqualTo(memo);
+            assertThat(body.Header().IsTuno()).isEqualTo(ISTUNO);
         }
     }
 
@@ -118,7 +151,7 @@ class NhApiClientTest {
             )).thenReturn(dummyRes);
 
             // when
-            DepositResponse result = nhApiClient.deposit(pinAccount, amount, memo);
+            DepositResponse result = nhApiClient.deposit(ISTUNO, pinAccount, amount, memo);
 
             // then
             assertThat(result).isSameAs(dummyRes);
@@ -141,4 +174,79 @@ class NhApiClientTest {
             assertThat(body.MractOtlt()).isEqualTo(memo);
         }
     }
-}
\ No newline at end of file
+
+    /* ---------------- 재시도 / 차단기 ---------------- */
+    @Nested
+    @DisplayName("재시도와 차단기")
+    class ResilienceTest {
+
+        final String pinAccount = "12345678901234567890123456";
+
+        @Test
+        @DisplayName("연결 거부는 같은 요청 본문으로 다시 보낸다")
+        void retriesConnectFailureWithSameBody() {
+            DrawingTransferResponse dummyRes = new DrawingTransferResponse(null, pinAccount, "20250101");
+            when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(DrawingTransferResponse.class)))
+                    .thenThrow(refused(), refused())
+                    .thenReturn(dummyRes);
+
+            assertThat(nhApiClient.drawingTransfer(ISTUNO, pinAccount, 1_000L, "재시도")).isSameAs(dummyRes);
+
+            ArgumentCaptor<HttpEntity> entityCap = ArgumentCaptor.forClass(HttpEntity.class);
+            verify(restTemplate, times(3)).postForObject(anyString(), entityCap.capture(), eq(DrawingTransferResponse.class));
+            assertThat(entityCap.getAllValues()).extracting(HttpEntity::getBody).containsOnly(entityCap.getValue().getBody());
+            assertThat(meterRegistry.get("nh.api.retries").counter().count()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("응답 타임아웃은 NH 가 처리했을 수 있어 재시도하지 않는다")
+        void doesNotRetryReadTimeout() {
+            when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(DepositResponse.class)))
+                    .thenThrow(new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out")));
+
+            assertThatThrownBy(() -> nhApiClient.deposit(ISTUNO, pinAccount, 1_000L, "타임아웃"))
+                    .isInstanceOf(ExternalPaymentFailedException.class)
+                    .hasMessageContaining("시간 초과");
+            verify(restTemplate, times(1)).postForObject(anyString(), any(HttpEntity.class), eq(DepositResponse.class));
+        }
+
+        @Test
+        @DisplayName("재시도 예산이 바닥나면 더 이상 재시도하지 않는다")
+        void retryBudgetCapsRetries() {
+            NhApiClient tight = client(new NhRetryBudget(0.0, 1, meterRegistry));
+            when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(DepositResponse.class)))
+                    .thenThrow(refused());
+
+            assertThatThrownBy(() -> tight.deposit(ISTUNO, pinAccount, 1_000L, "예산"))
+                    .isInstanceOf(ExternalPaymentFailedException.class);
+            assertThatThrownBy(() -> tight.deposit(ISTUNO, pinAccount, 1_000L, "예산"))
+                    .isInstanceOf(ExternalPaymentFailedException.class);
+
+            // 첫 요청: 1회 + 재시도 1회(토큰 1개), 두 번째 요청: 재시도 없음
+            verify(restTemplate, times(3)).postForObject(anyString(), any(HttpEntity.class), eq(DepositResponse.class));
+            assertThat(meterRegistry.get("nh.api.retry.budget.exhausted").counter().count()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("서버 오류가 이어지면 차단기가 열려 NH 를 부르지 않고 바로 실패한다")
+        void openCircuitFailsFast() {
+            when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(DepositResponse.class)))
+                    .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+            for (int i = 0; i < 4; i++) {
+                assertThatThrownBy(() -> nhApiClient.deposit(ISTUNO, pinAccount, 1_000L, "장애"))
+                        .isInstanceOf(ExternalPaymentFailedException.class)
+                        .hasMessageContaining("서버 오류");
+            }
+            assertThat(circuitBreaker.state()).isEqualTo(NhCircuitBreaker.State.OPEN);
+
+            assertThatThrownBy(() -> nhApiClient.deposit(ISTUNO, pinAccount, 1_000L, "장애"))
+                    .isInstanceOf(ExternalPaymentFailedException.class)
+                    .hasMessageContaining("잠시 후");
+            assertThatThrownBy(() -> nhApiClient.ensureAvailable())
+                    .isInstanceOf(ExternalPaymentFailedException.class);
+            verify(restTemplate, times(4)).postForObject(anyString(), any(HttpEntity.class), eq(DepositResponse.class));
+            verify(restTemplate, never()).postForObject(anyString(), any(HttpEntity.class), eq(DrawingTransferResponse.class));
+        }
+    }
+}
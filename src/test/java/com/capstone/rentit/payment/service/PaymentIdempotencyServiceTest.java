@@ -0,0 +1,238 @@
+package com.capstone.rentit.payment.service;
+
+import com.capstone.rentit.payment.domain.PaymentIdempotencyKey;
+import com.capstone.rentit.payment.exception.ExternalPaymentFailedException;
+import com.capstone.rentit.payment.exception.IdempotencyKeyConflictException;
+import com.capstone.rentit.payment.exception.PaymentPendingException;
+import com.capstone.rentit.payment.repository.PaymentIdempotencyKeyRepository;
+import com.capstone.rentit.payment.repository.PaymentRepository;
+import com.capstone.rentit.payment.type.PaymentStatus;
+import com.capstone.rentit.payment.type.PaymentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentIdempotencyServiceTest {
+
+    @Mock PaymentIdempotencyKeyRepository repository;
+    @Mock PaymentRepository paymentRepository;
+    @Mock PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentIdempotencyService service;
+
+    private static final long MEMBER = 10L;
+    private static final long AMOUNT = 5_000L;
+    private static final String SCOPED = "TOP_UP:10:key-1";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PaymentIdempotencyService(repository, paymentRepository, transactionManager, 24, 120, meterRegistry);
+    }
+
+    /** 선점 행을 저장하면 이후 조회에서 돌려주는 간이 저장소 */
+    private AtomicReference<PaymentIdempotencyKey> storeClaims() {
+        AtomicReference<PaymentIdempotencyKey> stored = new AtomicReference<>();
+        given(repository.saveAndFlush(any())).willAnswer(inv -> {
+            PaymentIdempotencyKey claim = inv.getArgument(0);
+            if (!stored.compareAndSet(null, claim)) {
+                throw new DataIntegrityViolationException("uk_payment_idempotency_scoped_key");
+            }
+            return claim;
+        });
+        given(repository.findByScopedKey(SCOPED)).willAnswer(inv -> Optional.ofNullable(stored.get()));
+        return stored;
+    }
+
+    @Test
+    @DisplayName("키가 없으면 매번 그대로 처리한다")
+    void noKeyRunsEveryTime() {
+        AtomicInteger calls = new AtomicInteger();
+
+        service.execute(null, PaymentType.TOP_UP, MEMBER, AMOUNT, () -> (long) calls.incrementAndGet());
+        service.execute(" ", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> (long) calls.incrementAndGet());
+
+        assertThat(calls.get()).isEqualTo(2);
+        then(repository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("같은 키의 재요청은 다시 처리하지 않고 처음 결과를 돌려준다")
+    void replaysStoredResult() {
+        AtomicReference<PaymentIdempotencyKey> stored = storeClaims();
+        AtomicInteger calls = new AtomicInteger();
+
+        Long first = service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 100L + calls.incrementAndGet());
+        Long second = service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 100L + calls.incrementAndGet());
+
+        assertThat(first).isEqualTo(101L);
+        assertThat(second).isEqualTo(101L);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(stored.get().isCompleted()).isTrue();
+        assertThat(meterRegistry.get("payment.idempotency.replayed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 금액을 보내면 거절한다")
+    void rejectsMismatchedRequest() {
+        storeClaims();
+        service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 101L);
+
+        assertThatThrownBy(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT + 1, () -> 102L))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("실패하면 선점을 풀어 같은 키로 다시 시도할 수 있다")
+    void failureReleasesClaim() {
+        storeClaims();
+
+        assertThatThrownBy(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> {
+            throw new ExternalPaymentFailedException("NH 응답 없음");
+        })).isInstanceOf(ExternalPaymentFailedException.class);
+
+        then(repository).should().releaseClaim(SCOPED);
+    }
+
+    @Test
+    @DisplayName("NH 결과 반영(settle)은 처음 처리한 요청만 실행한다")
+    void settlesOnlyOnce() {
+        storeClaims();
+        AtomicInteger settled = new AtomicInteger();
+
+        service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 101L,
+                id -> { settled.incrementAndGet(); return id; });
+        Long replayed = service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 102L,
+                id -> { settled.incrementAndGet(); return id; });
+
+        assertThat(replayed).isEqualTo(101L);
+        assertThat(settled.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("NH 결과를 모르면 키를 남겨 재요청이 같은 결제를 가리킨다")
+    void pendingKeepsKey() {
+        AtomicReference<PaymentIdempotencyKey> stored = storeClaims();
+
+        assertThatThrownBy(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 101L, id -> {
+            throw new PaymentPendingException("결제 결과를 확인 중입니다.");
+        })).isInstanceOf(PaymentPendingException.class);
+
+        then(repository).should(never()).forget(any());
+        assertThat(stored.get().isCompleted()).isTrue();
+
+        // 재요청은 NH 를 다시 부르지 않고 같은 결제의 지금 상태로 응답한다.
+        given(paymentRepository.findStatus(101L)).willReturn(Optional.of(PaymentStatus.PENDING));
+        assertThatThrownBy(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 102L))
+                .isInstanceOf(PaymentPendingException.class);
+
+        given(paymentRepository.findStatus(101L)).willReturn(Optional.of(PaymentStatus.APPROVED));
+        assertThat(service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 102L)).isEqualTo(101L);
+    }
+
+    @Test
+    @DisplayName("복구 작업이 실패로 확정한 결제의 재요청은 실패로 응답하고 키를 지운다")
+    void replayOfFailedPayment() {
+        storeClaims();
+        service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 101L);
+        given(paymentRepository.findStatus(101L)).willReturn(Optional.of(PaymentStatus.FAILED));
+
+        assertThatThrownBy(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 102L))
+                .isInstanceOf(ExternalPaymentFailedException.class);
+
+        then(repository).should().forget(SCOPED);
+    }
+
+    @Test
+    @DisplayName("NH 가 거절하면 완료된 키도 지워 같은 키로 다시 시도할 수 있다")
+    void rejectedSettleForgetsKey() {
+        storeClaims();
+
+        assertThatThrownBy(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 101L, id -> {
+            throw new ExternalPaymentFailedException("NH 이체 실패");
+        })).isInstanceOf(ExternalPaymentFailedException.class);
+
+        then(repository).should().forget(SCOPED);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 처리 중인 키는 처리 중으로 거절한다")
+    void claimedElsewhere() {
+        given(repository.findByScopedKey(SCOPED)).willReturn(Optional.empty(),
+                Optional.of(PaymentIdempotencyKey.claim(SCOPED, PaymentType.TOP_UP, MEMBER, AMOUNT)));
+        given(repository.saveAndFlush(any())).willThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThatThrownBy(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> 101L))
+                .isInstanceOf(IdempotencyKeyConflictException.class)
+                .hasMessageContaining("처리 중");
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 같은 키는 한 번만 처리되고 모두 같은 결과를 받는다")
+    void coalescesConcurrentDuplicates() throws Exception {
+        storeClaims();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int duplicates = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(duplicates);
+        try {
+            Future<Long> first = pool.submit(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> {
+                calls.incrementAndGet();
+                entered.countDown();
+                await(release);
+                return 101L;
+            }));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Long>> others = new ArrayList<>();
+            for (int i = 1; i < duplicates; i++) {
+                others.add(pool.submit(() -> service.execute("key-1", PaymentType.TOP_UP, MEMBER, AMOUNT, () -> {
+                    calls.incrementAndGet();
+                    return 999L;
+                })));
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(101L);
+            for (Future<Long> f : others) {
+                assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo(101L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
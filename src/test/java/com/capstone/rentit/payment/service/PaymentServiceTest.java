@@ -3,9 +3,11 @@ package com.capstone.rentit.payment.service;
 import com.capstone.rentit.locker.event.RentalLockerAction;
 import com.capstone.rentit.payment.domain.Payment;
 import com.capstone.rentit.payment.domain.Wallet;
+import com.capstone.rentit.payment.domain.WalletLedgerEntry;
 import com.capstone.rentit.payment.dto.*;
 import com.capstone.rentit.payment.exception.*;
 import com.capstone.rentit.payment.repository.PaymentRepository;
+import com.capstone.rentit.payment.repository.WalletLedgerRepository;
 import com.capstone.rentit.payment.repository.WalletRepository;
 import com.capstone.rentit.payment.type.PaymentStatus;
 import com.capstone.rentit.payment.type.PaymentType;
@@ -14,10 +16,13 @@ import com.capstone.rentit.rental.repository.RentalRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +35,7 @@ import static org.mockito.ArgumentMatchers.*;
 class PaymentServiceTest {
 
     @Mock WalletRepository walletRepo;
+    @Mock WalletLedgerRepository ledgerRepo;
     @Mock PaymentRepository paymentRepo;
     @Mock RentalRepository rentalRepo;
     @Mock NhApiClient nhClient;
@@ -40,6 +46,7 @@ class PaymentServiceTest {
     static final long MEMBER_B   = 20L;
     static final long AMOUNT     = 5_000L;
     static final long RENTAL_ID  = 42L;
+    static final long PAYMENT_ID = 7L;
 
     static Wallet walletOf(long memberId, long balance) {
         return Wallet.builder()
@@ -70,14 +77,16 @@ class PaymentServiceTest {
             );
         }
 
-        @Test @DisplayName("Wallet 조회 시 DTO로 매핑되어 반환된다")
+        @Test @DisplayName("Wallet 조회 시 원장까지 반영한 잔액과 함께 DTO로 매핑되어 반환된다")
         void getAccount_shouldReturnDto() {
             Wallet w = walletOf(MEMBER_A, 0);
             given(walletRepo.findAccount(MEMBER_A)).willReturn(Optional.of(w));
+            given(walletRepo.findBalance(MEMBER_A)).willReturn(Optional.of(AMOUNT));
 
             WalletResponse dto = service.getAccount(MEMBER_A);
 
             assertAll(
+                    () -> assertThat(dto.balance()).isEqualTo(AMOUNT),
                     () -> assertThat(dto.finAcno()).isEqualTo(w.getFinAcno()),
                     () -> assertThat(dto.bankCode()).isEqualTo(w.getBankCode())
             );
@@ -93,101 +102,202 @@ class PaymentServiceTest {
     }
 
     // ────────────────────────────────────────────────────────────────────────────────
-    @Nested @DisplayName("1. 포인트 충전 (Top-Up)")
+    @Nested @DisplayName("1. 포인트 충전 (Top-Up) — 1단계")
     class TopUpTests {
 
-        @Test @DisplayName("충전 성공 시 Wallet 잔액이 증가하고 Payment가 APPROVED 된다")
-        void topUp_shouldIncreaseBalanceAndApprovePayment() {
+        @Test @DisplayName("충전 요청은 지갑을 잠그지 않고 기관거래고유번호와 함께 PENDING 결제만 남긴다")
+        void beginTopUp_shouldSavePendingPayment() {
             Wallet w = walletOf(MEMBER_A, 0);
-            given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(w));
-            given(paymentRepo.save(any())).willAnswer(inv -> inv.getArgument(0));
-            given(nhClient.drawingTransfer(anyString(), eq(AMOUNT), anyString()))
-                    .willReturn(new DrawingTransferResponse(mock(NhHeader.class), w.getFinAcno(), "OK"));
+            given(walletRepo.findAccount(MEMBER_A)).willReturn(Optional.of(w));
+            given(paymentRepo.save(any())).willAnswer(PaymentServiceTest::withId);
 
-            service.topUp(new TopUpRequest(MEMBER_A, AMOUNT));
+            service.beginTopUp(new TopUpRequest(MEMBER_A, AMOUNT));
 
-            assertThat(w.getBalance()).isEqualTo(AMOUNT);
             Payment saved = captureSavedPayment();
             assertAll(
                     () -> assertThat(saved.getType()).isEqualTo(PaymentType.TOP_UP),
-                    () -> assertThat(saved.getStatus()).isEqualTo(PaymentStatus.APPROVED)
+                    () -> assertThat(saved.getStatus()).isEqualTo(PaymentStatus.PENDING),
+                    () -> assertThat(saved.getFromMemberId()).isEqualTo(MEMBER_A),
+                    () -> assertThat(saved.getIstuno()).isEqualTo(
+                            NhHeader.isTunoOf(saved.getCreatedAt().toLocalDate(), PAYMENT_ID))
             );
+            then(walletRepo).should(never()).findForUpdate(anyLong());
+            then(ledgerRepo).shouldHaveNoInteractions();
+            then(nhClient).should(never()).drawingTransfer(any(), any(), anyLong(), any());
         }
 
-        @Test @DisplayName("NH 응답이 없으면 ExternalPaymentFailedException을 던진다")
-        void topUp_shouldThrowWhenExternalFails() {
-            Wallet w = walletOf(MEMBER_A, 0);
-            given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(w));
-            given(paymentRepo.save(any())).willAnswer(inv -> inv.getArgument(0));
-            given(nhClient.drawingTransfer(anyString(), anyLong(), anyString()))
-                    .willReturn(null);
+        @Test @DisplayName("NH 차단기가 열려 있으면 결제를 만들지 않고 바로 실패한다")
+        void beginTopUp_shouldFailFastWhenCircuitOpen() {
+            willThrow(new ExternalPaymentFailedException("NH 연결이 원활하지 않습니다."))
+                    .given(nhClient).ensureAvailable();
 
-            assertThatThrownBy(() -> service.topUp(new TopUpRequest(MEMBER_A, AMOUNT)))
+            assertThatThrownBy(() -> service.beginTopUp(new TopUpRequest(MEMBER_A, AMOUNT)))
                     .isInstanceOf(ExternalPaymentFailedException.class);
-            assertThat(w.getBalance()).isZero();
+            then(paymentRepo).shouldHaveNoInteractions();
         }
 
         @Test @DisplayName("Wallet이 없으면 WalletNotFoundException을 던진다")
-        void topUp_shouldThrowWhenWalletNotFound() {
-            given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.empty());
+        void beginTopUp_shouldThrowWhenWalletNotFound() {
+            given(walletRepo.findAccount(MEMBER_A)).willReturn(Optional.empty());
 
-            assertThatThrownBy(() -> service.topUp(new TopUpRequest(MEMBER_A, AMOUNT)))
+            assertThatThrownBy(() -> service.beginTopUp(new TopUpRequest(MEMBER_A, AMOUNT)))
                     .isInstanceOf(WalletNotFoundException.class);
         }
     }
 
     // ────────────────────────────────────────────────────────────────────────────────
-    @Nested @DisplayName("2. 포인트 인출 (Withdraw)")
+    @Nested @DisplayName("2. 포인트 인출 (Withdraw) — 1단계")
     class WithdrawTests {
 
-        @Test @DisplayName("인출 성공 시 Wallet 잔액이 감소하고 Payment가 APPROVED 된다")
-        void withdraw_shouldDecreaseBalanceAndApprovePayment() {
+        @Test @DisplayName("인출 요청은 잠근 지갑에서 먼저 차감하고 PENDING 결제를 남긴다")
+        void beginWithdraw_shouldDebitAndSavePendingPayment() {
             Wallet w = walletOf(MEMBER_A, AMOUNT);
             given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(w));
-            given(paymentRepo.save(any())).willAnswer(inv -> inv.getArgument(0));
-            given(nhClient.deposit(anyString(), eq(AMOUNT), anyString()))
-                    .willReturn(new DepositResponse(mock(NhHeader.class), w.getFinAcno(), "OK"));
+            given(paymentRepo.save(any())).willAnswer(PaymentServiceTest::withId);
+            given(ledgerRepo.appendDebit(eq(MEMBER_A), eq(AMOUNT), any())).willReturn(1);
 
-            service.withdraw(new WithdrawRequest(MEMBER_A, AMOUNT));
+            service.beginWithdraw(new WithdrawRequest(MEMBER_A, AMOUNT));
 
-            assertAll(
-                    () -> assertThat(w.getBalance()).isZero(),
-                    () -> assertThat(captureSavedPayment().getStatus()).isEqualTo(PaymentStatus.APPROVED)
-            );
+            Payment saved = captureSavedPayment();
+            assertThat(saved.getStatus()).isEqualTo(PaymentStatus.PENDING);
+            assertThat(saved.getToMemberId()).isEqualTo(MEMBER_A);
+            then(nhClient).should(never()).deposit(any(), any(), anyLong(), any());
+        }
+
+        @Test @DisplayName("NH 차단기가 열려 있으면 지갑을 잠그지 않고 바로 실패한다")
+        void beginWithdraw_shouldFailFastWhenCircuitOpen() {
+            willThrow(new ExternalPaymentFailedException("NH 연결이 원활하지 않습니다."))
+                    .given(nhClient).ensureAvailable();
+
+            assertThatThrownBy(() -> service.beginWithdraw(new WithdrawRequest(MEMBER_A, AMOUNT)))
+                    .isInstanceOf(ExternalPaymentFailedException.class);
+            then(walletRepo).shouldHaveNoInteractions();
+            then(paymentRepo).shouldHaveNoInteractions();
         }
 
-        @Test @DisplayName("잔액 부족 시 InsufficientBalanceException을 던진다")
-        void withdraw_shouldThrowWhenInsufficient() {
+        @Test @DisplayName("잔액 부족으로 출금이 추가되지 않으면 InsufficientBalanceException을 던진다")
+        void beginWithdraw_shouldThrowWhenInsufficient() {
             Wallet w = walletOf(MEMBER_A, 100);
             given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(w));
+            given(paymentRepo.save(any())).willAnswer(PaymentServiceTest::withId);
+            given(ledgerRepo.appendDebit(eq(MEMBER_A), eq(AMOUNT), any())).willReturn(0);
+            given(walletRepo.findBalance(MEMBER_A)).willReturn(Optional.of(100L));
 
-            assertThatThrownBy(() -> service.withdraw(new WithdrawRequest(MEMBER_A, AMOUNT)))
+            assertThatThrownBy(() -> service.beginWithdraw(new WithdrawRequest(MEMBER_A, AMOUNT)))
                     .isInstanceOf(InsufficientBalanceException.class);
         }
 
         @Test @DisplayName("Wallet이 없으면 WalletNotFoundException을 던진다")
-        void withdraw_shouldThrowWhenWalletNotFound() {
+        void beginWithdraw_shouldThrowWhenWalletNotFound() {
             given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.empty());
 
-            assertThatThrownBy(() -> service.withdraw(new WithdrawRequest(MEMBER_A, AMOUNT)))
+            assertThatThrownBy(() -> service.beginWithdraw(new WithdrawRequest(MEMBER_A, AMOUNT)))
                     .isInstanceOf(WalletNotFoundException.class);
         }
     }
 
+    // ────────────────────────────────────────────────────────────────────────────────
+    @Nested @DisplayName("2-1. NH 이체 결과 반영 — 2단계")
+    class TransferResultTests {
+
+        Payment pendingTopUp() {
+            Payment p = Payment.pending(PaymentType.TOP_UP, MEMBER_A, null, AMOUNT);
+            p.assignIstuno("20250101000000000001");
+            return p;
+        }
+
+        Payment pendingWithdraw() {
+            Payment p = Payment.pending(PaymentType.WITHDRAWAL, null, MEMBER_A, AMOUNT);
+            p.assignIstuno("20250101000000000002");
+            return p;
+        }
+
+        @Test @DisplayName("충전 성공은 원장에 입금하고 APPROVED 로 바꾼다")
+        void completeTopUp_shouldCreditAndApprove() {
+            Payment p = pendingTopUp();
+            given(paymentRepo.findForUpdate(PAYMENT_ID)).willReturn(Optional.of(p));
+            given(walletRepo.existsById(MEMBER_A)).willReturn(true);
+
+            assertThat(service.completeTransfer(PAYMENT_ID)).isTrue();
+
+            WalletLedgerEntry entry = captureLedgerEntry();
+            assertThat(entry.getAmount()).isEqualTo(AMOUNT);
+            assertThat(p.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+            assertThat(p.getIstuno()).isEqualTo("20250101000000000001");
+        }
+
+        @Test @DisplayName("인출 성공은 원장을 건드리지 않는다 (이미 차감됨)")
+        void completeWithdraw_shouldOnlyApprove() {
+            Payment p = pendingWithdraw();
+            given(paymentRepo.findForUpdate(PAYMENT_ID)).willReturn(Optional.of(p));
+
+            assertThat(service.completeTransfer(PAYMENT_ID)).isTrue();
+
+            assertThat(p.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+            then(ledgerRepo).shouldHaveNoInteractions();
+        }
+
+        @Test @DisplayName("인출 실패는 먼저 차감한 금액을 되돌리고 FAILED 로 바꾼다")
+        void failWithdraw_shouldRefund() {
+            Payment p = pendingWithdraw();
+            given(paymentRepo.findForUpdate(PAYMENT_ID)).willReturn(Optional.of(p));
+            given(walletRepo.existsById(MEMBER_A)).willReturn(true);
+
+            assertThat(service.failTransfer(PAYMENT_ID)).isTrue();
+
+            WalletLedgerEntry entry = captureLedgerEntry();
+            assertThat(entry.getMemberId()).isEqualTo(MEMBER_A);
+            assertThat(entry.getAmount()).isEqualTo(AMOUNT);
+            assertThat(p.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        }
+
+        @Test @DisplayName("이미 결과가 반영된 결제는 다시 반영하지 않는다")
+        void resultIsAppliedOnce() {
+            Payment p = pendingTopUp();
+            p.approve(p.getIstuno());
+            given(paymentRepo.findForUpdate(PAYMENT_ID)).willReturn(Optional.of(p));
+
+            assertThat(service.completeTransfer(PAYMENT_ID)).isFalse();
+            assertThat(service.failTransfer(PAYMENT_ID)).isFalse();
+
+            assertThat(p.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+            then(ledgerRepo).shouldHaveNoInteractions();
+        }
+
+        @Test @DisplayName("PENDING 결제만 NH 이체 대상으로 조회된다")
+        void findPendingTransfer() {
+            Wallet w = walletOf(MEMBER_A, 0);
+            given(paymentRepo.findById(PAYMENT_ID)).willReturn(Optional.of(pendingWithdraw()));
+            given(walletRepo.findAccount(MEMBER_A)).willReturn(Optional.of(w));
+
+            PendingTransfer transfer = service.findPendingTransfer(PAYMENT_ID).orElseThrow();
+
+            assertThat(transfer.type()).isEqualTo(PaymentType.WITHDRAWAL);
+            assertThat(transfer.memberId()).isEqualTo(MEMBER_A);
+            assertThat(transfer.finAcno()).isEqualTo(w.getFinAcno());
+            assertThat(transfer.istuno()).isEqualTo("20250101000000000002");
+
+            Payment approved = pendingWithdraw();
+            approved.approve(approved.getIstuno());
+            given(paymentRepo.findById(PAYMENT_ID)).willReturn(Optional.of(approved));
+            assertThat(service.findPendingTransfer(PAYMENT_ID)).isEmpty();
+        }
+    }
+
     // ────────────────────────────────────────────────────────────────────────────────
     @Nested @DisplayName("3. 대여비 흐름")
     class RentalFeeFlowTests {
 
-        @Test @DisplayName("요청 시 금액이 출금되고 Payment가 생성된다")
-        void requestRentalFee_shouldWithdrawAndSavePayment() {
+        @Test @DisplayName("요청 시 대여자 원장에 출금이 추가되고 Payment가 생성된다")
+        void requestRentalFee_shouldDebitAndSavePayment() {
             Wallet renter = walletOf(MEMBER_A, AMOUNT * 2);
             given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(renter));
             given(paymentRepo.save(any())).willAnswer(inv -> inv.getArgument(0));
+            given(ledgerRepo.appendDebit(eq(MEMBER_A), eq(AMOUNT), any())).willReturn(1);
 
             var req = new RentalPaymentRequest(MEMBER_A, MEMBER_B, AMOUNT);
             service.requestRentalFee(req, RENTAL_ID);
 
-            assertThat(renter.getBalance()).isEqualTo(AMOUNT);
             Payment saved = captureSavedPayment();
             assertAll(
                     () -> assertThat(saved.getType()).isEqualTo(PaymentType.RENTAL_FEE),
@@ -205,34 +315,48 @@ class PaymentServiceTest {
                     .isInstanceOf(PaymentNotFoundException.class);
         }
 
-        @Test @DisplayName("결제 승인 시 금액이 입금되고 Payment가 APPROVED 된다")
-        void payRentalFee_shouldDepositAndApprovePayment() {
+        @Test @DisplayName("결제 승인 시 소유자 지갑을 잠그지 않고 원장에 입금하며 Payment가 APPROVED 된다")
+        void payRentalFee_shouldCreditWithoutLockAndApprovePayment() {
             Payment p = Payment.create(PaymentType.RENTAL_FEE, MEMBER_A, MEMBER_B, AMOUNT, RENTAL_ID);
-            Wallet owner = walletOf(MEMBER_B, 0);
 
             given(paymentRepo.findByPaymentRentalId(RENTAL_ID)).willReturn(Optional.of(p));
-            given(walletRepo.findForUpdate(MEMBER_B)).willReturn(Optional.of(owner));
+            given(walletRepo.existsById(MEMBER_B)).willReturn(true);
 
             service.payRentalFee(RENTAL_ID);
 
+            WalletLedgerEntry entry = captureLedgerEntry();
             assertAll(
-                    () -> assertThat(owner.getBalance()).isEqualTo(AMOUNT),
+                    () -> assertThat(entry.getMemberId()).isEqualTo(MEMBER_B),
+                    () -> assertThat(entry.getAmount()).isEqualTo(AMOUNT),
                     () -> assertThat(p.getStatus()).isEqualTo(PaymentStatus.APPROVED)
             );
+            then(walletRepo).should(never()).findForUpdate(anyLong());
+        }
+
+        @Test @DisplayName("소유자 지갑이 없으면 WalletNotFoundException 을 던진다")
+        void payRentalFee_shouldThrowWhenOwnerWalletMissing() {
+            Payment p = Payment.create(PaymentType.RENTAL_FEE, MEMBER_A, MEMBER_B, AMOUNT, RENTAL_ID);
+            given(paymentRepo.findByPaymentRentalId(RENTAL_ID)).willReturn(Optional.of(p));
+            given(walletRepo.existsById(MEMBER_B)).willReturn(false);
+
+            assertThatThrownBy(() -> service.payRentalFee(RENTAL_ID))
+                    .isInstanceOf(WalletNotFoundException.class);
+            then(ledgerRepo).shouldHaveNoInteractions();
         }
 
-        @Test @DisplayName("결제 취소 시 금액이 환불되고 Payment가 CANCELED 된다")
+        @Test @DisplayName("결제 취소 시 대여자 원장에 환불되고 Payment가 CANCELED 된다")
         void cancelPayment_shouldRefundAndCancel() {
             Payment p = Payment.create(PaymentType.RENTAL_FEE, MEMBER_A, MEMBER_B, AMOUNT, RENTAL_ID);
-            Wallet renter = walletOf(MEMBER_A, 100);
 
             given(paymentRepo.findByPaymentRentalId(RENTAL_ID)).willReturn(Optional.of(p));
-            given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(renter));
+            given(walletRepo.existsById(MEMBER_A)).willReturn(true);
 
             service.cancelPayment(RENTAL_ID);
 
+            WalletLedgerEntry entry = captureLedgerEntry();
             assertAll(
-                    () -> assertThat(renter.getBalance()).isEqualTo(100 + AMOUNT),
+                    () -> assertThat(entry.getMemberId()).isEqualTo(MEMBER_A),
+                    () -> assertThat(entry.getAmount()).isEqualTo(AMOUNT),
                     () -> assertThat(p.getStatus()).isEqualTo(PaymentStatus.CANCELED)
             );
         }
@@ -242,15 +366,17 @@ class PaymentServiceTest {
     @Nested @DisplayName("4. 사물함 이용료 결제 (Locker Fee)")
     class LockerFeeTests {
 
-        @Test @DisplayName("정상 타입일 때 잔액이 감소한다")
-        void payLockerFee_shouldDecreaseBalance() {
+        @Test @DisplayName("정상 타입일 때 원장에 조건부 출금이 추가된다")
+        void payLockerFee_shouldDebit() {
             Wallet w = walletOf(MEMBER_A, AMOUNT);
             given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(w));
             given(paymentRepo.save(any())).willAnswer(inv -> inv.getArgument(0));
+            given(ledgerRepo.appendDebit(eq(MEMBER_A), eq(AMOUNT), any())).willReturn(1);
 
             service.payLockerFee(new LockerPaymentRequest(MEMBER_A, PaymentType.LOCKER_FEE_RENTER, AMOUNT));
 
-            assertThat(w.getBalance()).isZero();
+            then(ledgerRepo).should().appendDebit(eq(MEMBER_A), eq(AMOUNT), any());
+            assertThat(captureSavedPayment().getStatus()).isEqualTo(PaymentStatus.APPROVED);
         }
 
         @Test @DisplayName("잘못된 타입일 때 PaymentNotLockerException 을 던진다")
@@ -283,23 +409,30 @@ class PaymentServiceTest {
     @Nested @DisplayName("6. 잔액 확인 (assertCheckBalance)")
     class CheckBalanceTests {
 
-        @Test @DisplayName("충분한 잔액일 때 예외 없음")
+        @Test @DisplayName("충분한 잔액일 때 예외 없음 — 지갑을 잠그지 않는다")
         void assertCheckBalance_noException() {
-            Wallet w = walletOf(MEMBER_A, AMOUNT);
-            given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(w));
+            given(walletRepo.findBalance(MEMBER_A)).willReturn(Optional.of(AMOUNT));
 
             assertThatCode(() -> service.assertCheckBalance(MEMBER_A, AMOUNT))
                     .doesNotThrowAnyException();
+            then(walletRepo).should(never()).findForUpdate(anyLong());
         }
 
         @Test @DisplayName("잔액 부족 시 InsufficientBalanceException")
         void assertCheckBalance_throwWhenInsufficient() {
-            Wallet w = walletOf(MEMBER_A, 100);
-            given(walletRepo.findForUpdate(MEMBER_A)).willReturn(Optional.of(w));
+            given(walletRepo.findBalance(MEMBER_A)).willReturn(Optional.of(100L));
 
             assertThatThrownBy(() -> service.assertCheckBalance(MEMBER_A, AMOUNT))
                     .isInstanceOf(InsufficientBalanceException.class);
         }
+
+        @Test @DisplayName("지갑이 없으면 WalletNotFoundException")
+        void assertCheckBalance_throwWhenWalletMissing() {
+            given(walletRepo.findBalance(MEMBER_A)).willReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.assertCheckBalance(MEMBER_A, AMOUNT))
+                    .isInstanceOf(WalletNotFoundException.class);
+        }
     }
 
     // ────────────────────────────────────────────────────────────────────────────────
@@ -334,6 +467,31 @@ class PaymentServiceTest {
 
             assertThat(fee).isEqualTo(1000 + 500 * 1);
         }
+
+        @Test @DisplayName("calculateLockerFees: 순서대로 일괄 계산, 기준 시각이 없으면 0")
+        void calculateLockerFees_shouldKeepOrderAndZeroForNull() {
+            LocalDateTime end = LocalDateTime.now();
+            List<Long> fees = service.calculateLockerFees(
+                    Arrays.asList(end.minusHours(2), null, end.minusHours(1)), end);
+
+            assertThat(fees).containsExactly(1000L + 500 * 2, 0L, 1000L + 500);
+        }
+
+        @Test @DisplayName("getBalance: 지갑을 잠그지 않고 잔액만 조회")
+        void getBalance_shouldReadWithoutLock() {
+            given(walletRepo.findBalance(MEMBER_A)).willReturn(Optional.of(AMOUNT));
+
+            assertThat(service.getBalance(MEMBER_A)).isEqualTo(AMOUNT);
+            then(walletRepo).should(never()).findForUpdate(anyLong());
+        }
+
+        @Test @DisplayName("getBalance: 지갑이 없으면 예외")
+        void getBalance_whenWalletMissing_thenThrow() {
+            given(walletRepo.findBalance(MEMBER_A)).willReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.getBalance(MEMBER_A))
+                    .isInstanceOf(WalletNotFoundException.class);
+        }
     }
 
     // ────────────────────────────────────────────────────────────────────────────────
@@ -352,6 +510,20 @@ class PaymentServiceTest {
     }
 
     // ────────────────────────────────────────────────────────────────────────────────
+    // helper to capture appended ledger entry
+    private WalletLedgerEntry captureLedgerEntry() {
+        ArgumentCaptor<WalletLedgerEntry> cap = ArgumentCaptor.forClass(WalletLedgerEntry.class);
+        then(ledgerRepo).should().save(cap.capture());
+        return cap.getValue();
+    }
+
+    // IDENTITY 저장처럼 ID 를 채워 돌려준다
+    private static Payment withId(InvocationOnMock inv) {
+        Payment p = inv.getArgument(0);
+        ReflectionTestUtils.setField(p, "id", PAYMENT_ID);
+        return p;
+    }
+
     // helper to capture saved Payment
     private Payment captureSavedPayment() {
         ArgumentCaptor<Payment> cap = ArgumentCaptor.forClass(Payment.class);
@@ -0,0 +1,203 @@
+package com.capstone.rentit.payment.service;
+
+import com.capstone.rentit.payment.dto.DepositResponse;
+import com.capstone.rentit.payment.dto.DrawingTransferResponse;
+import com.capstone.rentit.payment.dto.NhHeader;
+import com.capstone.rentit.payment.dto.PendingTransfer;
+import com.capstone.rentit.payment.exception.ExternalPaymentFailedException;
+import com.capstone.rentit.payment.exception.NhResultUnknownException;
+import com.capstone.rentit.payment.exception.PaymentPendingException;
+import com.capstone.rentit.payment.service.PaymentTransferSaga.Outcome;
+import com.capstone.rentit.payment.type.PaymentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentTransferSagaTest {
+
+    @Mock PaymentService paymentService;
+    @Mock NhApiClient nhClient;
+
+    private PaymentTransferSaga saga;
+
+    static final long PAYMENT_ID = 7L;
+    static final long MEMBER = 10L;
+    static final long AMOUNT = 5_000L;
+    static final String FIN_ACNO = "199999999099999999999999";
+    static final String ISTUNO = "20250101000000000001";
+    static final String DUPLICATE = "DUPLICATE";
+
+    @BeforeEach
+    void setUp() {
+        saga = new PaymentTransferSaga(paymentService, nhClient, DUPLICATE);
+    }
+
+    private void pending(PaymentType type) {
+        given(paymentService.findPendingTransfer(PAYMENT_ID)).willReturn(Optional.of(
+                new PendingTransfer(PAYMENT_ID, type, MEMBER, FIN_ACNO, AMOUNT, ISTUNO)));
+    }
+
+    private static NhHeader header(String rpcd) {
+        return NhHeader.builder().IsTuno(ISTUNO).Rpcd(rpcd).Rsms(rpcd).build();
+    }
+
+    private void topUpReturns(NhHeader header) {
+        given(nhClient.drawingTransfer(ISTUNO, FIN_ACNO, AMOUNT, "RENTit 충전"))
+                .willReturn(new DrawingTransferResponse(header, FIN_ACNO, "20250101"));
+    }
+
+    @Nested
+    @DisplayName("settle — 요청 처리 중 NH 호출")
+    class Settle {
+
+        @Test
+        @DisplayName("NH 정상 응답이면 결과를 반영한다 (결제에 저장한 기관거래고유번호로 보낸다)")
+        void approves() {
+            pending(PaymentType.TOP_UP);
+            topUpReturns(header(NhHeader.SUCCESS_RPCD));
+
+            assertThat(saga.settle(PAYMENT_ID)).isEqualTo(PAYMENT_ID);
+
+            then(paymentService).should().completeTransfer(PAYMENT_ID);
+            then(paymentService).should(never()).failTransfer(anyLong());
+        }
+
+        @Test
+        @DisplayName("중복 응답은 같은 결제의 앞선 전송이 처리된 것이므로 승인한다")
+        void duplicateApproves() {
+            pending(PaymentType.TOP_UP);
+            topUpReturns(header(DUPLICATE));
+
+            assertThat(saga.settle(PAYMENT_ID)).isEqualTo(PAYMENT_ID);
+
+            then(paymentService).should().completeTransfer(PAYMENT_ID);
+            then(paymentService).should(never()).failTransfer(anyLong());
+        }
+
+        @Test
+        @DisplayName("NH 가 거절하면 실패로 반영한다 (인출이면 차감분 환불)")
+        void rejected() {
+            pending(PaymentType.WITHDRAWAL);
+            given(nhClient.deposit(ISTUNO, FIN_ACNO, AMOUNT, "RENTit 출금"))
+                    .willReturn(new DepositResponse(header("E0001"), FIN_ACNO, "20250101"));
+
+            assertThatThrownBy(() -> saga.settle(PAYMENT_ID))
+                    .isInstanceOf(ExternalPaymentFailedException.class);
+
+            then(paymentService).should().failTransfer(PAYMENT_ID);
+        }
+
+        @Test
+        @DisplayName("보내지 못했으면(연결 실패/차단기) 실패로 반영한다")
+        void notSent() {
+            pending(PaymentType.TOP_UP);
+            given(nhClient.drawingTransfer(anyString(), anyString(), anyLong(), anyString()))
+                    .willThrow(new ExternalPaymentFailedException("NH 연결 실패"));
+
+            assertThatThrownBy(() -> saga.settle(PAYMENT_ID))
+                    .isInstanceOf(ExternalPaymentFailedException.class);
+
+            then(paymentService).should().failTransfer(PAYMENT_ID);
+        }
+
+        @Test
+        @DisplayName("처리 여부를 모르면 PENDING 으로 두고 확인 중으로 응답한다")
+        void unknownStaysPending() {
+            pending(PaymentType.TOP_UP);
+            given(nhClient.drawingTransfer(anyString(), anyString(), anyLong(), anyString()))
+                    .willThrow(new NhResultUnknownException("NH 응답 시간 초과"));
+
+            assertThatThrownBy(() -> saga.settle(PAYMENT_ID))
+                    .isInstanceOf(PaymentPendingException.class);
+
+            then(paymentService).should(never()).completeTransfer(anyLong());
+            then(paymentService).should(never()).failTransfer(anyLong());
+        }
+
+        @Test
+        @DisplayName("이미 결과가 반영된 결제는 NH 를 부르지 않는다")
+        void alreadyResolved() {
+            given(paymentService.findPendingTransfer(PAYMENT_ID)).willReturn(Optional.empty());
+
+            assertThat(saga.settle(PAYMENT_ID)).isEqualTo(PAYMENT_ID);
+
+            then(nhClient).shouldHaveNoInteractions();
+        }
+    }
+
+    @Nested
+    @DisplayName("recover — 결과를 모르는 결제 확정")
+    class Recover {
+
+        @Test
+        @DisplayName("같은 번호로 다시 보내 정상 응답이면 승인한다")
+        void approvesOnSuccess() {
+            pending(PaymentType.TOP_UP);
+            topUpReturns(header(NhHeader.SUCCESS_RPCD));
+
+            assertThat(saga.recover(PAYMENT_ID)).isEqualTo(Outcome.APPROVED);
+
+            then(paymentService).should().recordRecoveryAttempt(PAYMENT_ID);
+            then(paymentService).should().completeTransfer(PAYMENT_ID);
+        }
+
+        @Test
+        @DisplayName("중복 거래 응답이면 처음 요청이 처리된 것이므로 승인한다")
+        void approvesOnDuplicate() {
+            pending(PaymentType.TOP_UP);
+            topUpReturns(header(DUPLICATE));
+
+            assertThat(saga.recover(PAYMENT_ID)).isEqualTo(Outcome.APPROVED);
+
+            then(paymentService).should().completeTransfer(PAYMENT_ID);
+        }
+
+        @Test
+        @DisplayName("중복이 아닌 거절이면 처음 요청도 처리되지 않은 것이므로 실패로 반영한다")
+        void failsOnOtherRejection() {
+            pending(PaymentType.TOP_UP);
+            topUpReturns(header("E0001"));
+
+            assertThat(saga.recover(PAYMENT_ID)).isEqualTo(Outcome.FAILED);
+
+            then(paymentService).should().failTransfer(PAYMENT_ID);
+        }
+
+        @Test
+        @DisplayName("중복 응답코드를 모르면 거절도 확정하지 않고 PENDING 으로 둔다")
+        void leavesPendingWithoutDuplicateCode() {
+            saga = new PaymentTransferSaga(paymentService, nhClient, "");
+            pending(PaymentType.TOP_UP);
+            topUpReturns(header("E0001"));
+
+            assertThat(saga.recover(PAYMENT_ID)).isEqualTo(Outcome.UNKNOWN);
+
+            then(paymentService).should(never()).completeTransfer(anyLong());
+            then(paymentService).should(never()).failTransfer(anyLong());
+        }
+
+        @Test
+        @DisplayName("NH 에 닿지 못하면 다음 주기로 미룬다")
+        void retriesLaterWhenUnreachable() {
+            pending(PaymentType.WITHDRAWAL);
+            given(nhClient.deposit(anyString(), anyString(), anyLong(), anyString()))
+                    .willThrow(new ExternalPaymentFailedException("NH 연결 실패"));
+
+            assertThat(saga.recover(PAYMENT_ID)).isEqualTo(Outcome.UNKNOWN);
+
+            then(paymentService).should(never()).failTransfer(anyLong());
+        }
+    }
+}
@@ -7,10 +7,14 @@ import com.capstone.rentit.locker.event.RentalLockerAction;
 import com.capstone.rentit.member.domain.Member;
 import com.capstone.rentit.member.domain.Student;
 import com.capstone.rentit.member.status.MemberRoleEnum;
+import com.capstone.rentit.notification.domain.RentalAlertLedger;
+import com.capstone.rentit.notification.type.NotificationType;
 import com.capstone.rentit.rental.domain.Rental;
+import com.capstone.rentit.rental.dto.EligibleRentalRow;
 import com.capstone.rentit.rental.status.RentalStatusEnum;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,7 +28,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -390,6 +396,94 @@ class CustomRentalRepositoryImplTest {
         assertThat(foundRentalOptional).isEmpty(); // Optional이 비어있음을 확인
     }
 
+    @Test
+    @DisplayName("10. findStartAlertTargets: 상태·기간이 맞고 발송 이력이 없는 대여만, 연관 엔티티를 fetch join 하여 반환")
+    void findStartAlertTargets_filtersStatusAndLedger() {
+        // given: startDate = requestDate + 1일
+        Member owner  = saveMember("alertOwner");
+        Member renter = saveMember("alertRenter");
+        LocalDateTime requestDate = LocalDateTime.now().minusDays(1);
+
+        Rental target    = saveRental(owner, renter, RentalStatusEnum.APPROVED,  requestDate);
+        saveRental(owner, renter, RentalStatusEnum.PICKED_UP, requestDate);             // 상태 불일치
+        Rental alerted   = saveRental(owner, renter, RentalStatusEnum.APPROVED,  requestDate);
+        em.persist(RentalAlertLedger.of(alerted.getRentalId(), NotificationType.RENT_START_D_0));
+        Rental otherType = saveRental(owner, renter, RentalStatusEnum.APPROVED,  requestDate);
+        em.persist(RentalAlertLedger.of(otherType.getRentalId(), NotificationType.RENT_START_D_3));
+        em.flush();
+        em.clear();
+
+        LocalDate day = requestDate.plusDays(1).toLocalDate();
+
+        // when
+        List<Rental> result = rentalRepository.findStartAlertTargets(RentalStatusEnum.APPROVED,
+                day.atStartOfDay(), day.atTime(LocalTime.MAX), NotificationType.RENT_START_D_0);
+
+        // then
+        assertThat(result).extracting(Rental::getRentalId)
+                .containsExactlyInAnyOrder(target.getRentalId(), otherType.getRentalId());
+        Rental first = result.get(0);
+        assertThat(Hibernate.isInitialized(first.getItem())).isTrue();
+        assertThat(Hibernate.isInitialized(first.getItem().getOwner())).isTrue();
+        assertThat(Hibernate.isInitialized(first.getRenterMember())).isTrue();
+    }
+
+    @Test
+    @DisplayName("11. findDueAlertTargets: dueDate 기준으로 PICKED_UP 대여만 반환")
+    void findDueAlertTargets_filtersByDueDate() {
+        // given: dueDate = requestDate + 7일
+        Member owner  = saveMember("dueOwner");
+        Member renter = saveMember("dueRenter");
+        LocalDateTime requestDate = LocalDateTime.now().minusDays(4);
+
+        Rental target = saveRental(owner, renter, RentalStatusEnum.PICKED_UP, requestDate);
+        saveRental(owner, renter, RentalStatusEnum.APPROVED, requestDate);
+        em.flush();
+        em.clear();
+
+        LocalDate day = requestDate.plusDays(7).toLocalDate();
+
+        // when
+        List<Rental> result = rentalRepository.findDueAlertTargets(RentalStatusEnum.PICKED_UP,
+                day.atStartOfDay(), day.atTime(LocalTime.MAX), NotificationType.RENT_END_D_3);
+
+        // then
+        assertThat(result).extracting(Rental::getRentalId).containsExactly(target.getRentalId());
+    }
+
+    @Test
+    @DisplayName("12. findEligibleRentalRows: eligible 조건 그대로, 물품명과 요금 기준 시각을 join 한 번으로 반환")
+    void findEligibleRentalRows_projectsItemNameAndFeeStart() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        Member owner  = saveMember("rowOwner");
+        Member renter = saveMember("rowRenter");
+        Item item = saveItem(owner, "row-item");
+
+        Rental target = saveRental(owner, renter, item, RentalStatusEnum.APPROVED, now.minusDays(1));
+        LocalDateTime leftAt = now.minusHours(3).withNano(0);
+        target.dropOffByOwner(leftAt);
+
+        // 제외 대상
+        saveRental(owner, renter, RentalStatusEnum.PICKED_UP, now.minusHours(2));
+        em.flush();
+        em.clear();
+
+        // when
+        List<EligibleRentalRow> pickUp =
+                rentalRepository.findEligibleRentalRows(renter.getMemberId(), RentalLockerAction.PICK_UP_BY_RENTER);
+        List<EligibleRentalRow> returnRows =
+                rentalRepository.findEligibleRentalRows(renter.getMemberId(), RentalLockerAction.RETURN_BY_RENTER);
+
+        // then
+        assertThat(pickUp).containsExactly(new EligibleRentalRow(
+                target.getRentalId(), item.getItemId(), "row-item", null, leftAt));
+        // 요금이 없는 action 은 기준 시각을 채우지 않는다.
+        assertThat(returnRows).hasSize(1)
+                .first()
+                .satisfies(row -> assertThat(row.feeStart()).isNull());
+    }
+
     // — 헬퍼 메서드: 중복 코드 방지 —
     private Member saveMember(String name) {
         Member m = Student.builder()                 // STUDENT 서브클래스 예시
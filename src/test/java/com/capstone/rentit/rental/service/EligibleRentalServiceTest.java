@@ -0,0 +1,146 @@
+package com.capstone.rentit.rental.service;
+
+import com.capstone.rentit.payment.service.PaymentService;
+import com.capstone.rentit.rental.dto.EligibleRentalRow;
+import com.capstone.rentit.rental.dto.RentalBriefResponseForLocker;
+import com.capstone.rentit.rental.repository.RentalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.capstone.rentit.locker.event.RentalLockerAction.PICK_UP_BY_RENTER;
+import static com.capstone.rentit.locker.event.RentalLockerAction.RETRIEVE_BY_OWNER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EligibleRentalServiceTest {
+
+    @Mock private RentalRepository rentalRepository;
+    @Mock private PaymentService paymentService;
+
+    private MutableClock clock;
+    private EligibleRentalService service;
+
+    private final LocalDateTime leftAt = LocalDateTime.of(2025, 5, 2, 10, 0);
+    private final EligibleRentalRow row = new EligibleRentalRow(123L, 555L, "test item", 4L, leftAt);
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-05-02T12:00:00Z"));
+        service = new EligibleRentalService(rentalRepository, paymentService, Duration.ofSeconds(10), 100, clock);
+    }
+
+    @Test
+    @DisplayName("행마다 요금을 일괄 계산하고 락 없이 읽은 잔액으로 결제 가능 여부를 채운다")
+    void mapsRowsWithBulkFeesAndBalance() {
+        EligibleRentalRow other = new EligibleRentalRow(124L, 556L, "other", 5L, leftAt.minusHours(1));
+        given(paymentService.getBalance(42L)).willReturn(1500L);
+        given(rentalRepository.findEligibleRentalRows(42L, PICK_UP_BY_RENTER)).willReturn(List.of(row, other));
+        given(paymentService.calculateLockerFees(eq(Arrays.asList(leftAt, leftAt.minusHours(1))), any()))
+                .willReturn(List.of(1000L, 1500L + 1));
+
+        List<RentalBriefResponseForLocker> dtos = service.findEligibleRentals(42L, PICK_UP_BY_RENTER);
+
+        assertThat(dtos).hasSize(2);
+        assertThat(dtos.get(0)).satisfies(dto -> {
+            assertThat(dto.getRentalId()).isEqualTo(123L);
+            assertThat(dto.getItemId()).isEqualTo(555L);
+            assertThat(dto.getItemName()).isEqualTo("test item");
+            assertThat(dto.getLockerId()).isEqualTo(4L);
+            assertThat(dto.getFee()).isEqualTo(1000L);
+            assertThat(dto.getBalance()).isEqualTo(1500L);
+            assertThat(dto.isPayable()).isTrue();
+        });
+        assertThat(dtos.get(1).isPayable()).isFalse();
+        then(paymentService).should(never()).findWallet(anyLong());
+    }
+
+    @Test
+    @DisplayName("조회 결과가 없으면 요금 계산 없이 빈 리스트")
+    void emptyRows() {
+        given(rentalRepository.findEligibleRentalRows(7L, RETRIEVE_BY_OWNER)).willReturn(List.of());
+
+        assertThat(service.findEligibleRentals(7L, RETRIEVE_BY_OWNER)).isEmpty();
+        then(paymentService).should(never()).calculateLockerFees(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("TTL 안에서는 대여 목록을 다시 조회하지 않고, 잔액은 매번 새로 읽는다")
+    void cachesRowsWithinTtl() {
+        given(rentalRepository.findEligibleRentalRows(42L, PICK_UP_BY_RENTER)).willReturn(List.of(row));
+        given(paymentService.calculateLockerFees(anyList(), any())).willReturn(List.of(1000L));
+        given(paymentService.getBalance(42L)).willReturn(500L, 5000L);
+
+        assertThat(service.findEligibleRentals(42L, PICK_UP_BY_RENTER).get(0).isPayable()).isFalse();
+        clock.advance(Duration.ofSeconds(9));
+        assertThat(service.findEligibleRentals(42L, PICK_UP_BY_RENTER).get(0).isPayable()).isTrue();
+        then(rentalRepository).should(times(1)).findEligibleRentalRows(42L, PICK_UP_BY_RENTER);
+
+        clock.advance(Duration.ofSeconds(2));
+        service.findEligibleRentals(42L, PICK_UP_BY_RENTER);
+        then(rentalRepository).should(times(2)).findEligibleRentalRows(42L, PICK_UP_BY_RENTER);
+    }
+
+    @Test
+    @DisplayName("대여 상태가 바뀐 회원의 캐시는 즉시 비운다")
+    void invalidateByMember() {
+        given(rentalRepository.findEligibleRentalRows(anyLong(), eq(PICK_UP_BY_RENTER))).willReturn(List.of(row));
+        given(paymentService.calculateLockerFees(anyList(), any())).willReturn(List.of(1000L));
+
+        service.findEligibleRentals(42L, PICK_UP_BY_RENTER);
+        service.findEligibleRentals(43L, PICK_UP_BY_RENTER);
+        assertThat(service.size()).isEqualTo(2);
+
+        service.invalidate(42L, null);
+        assertThat(service.size()).isEqualTo(1);
+
+        service.findEligibleRentals(42L, PICK_UP_BY_RENTER);
+        then(rentalRepository).should(times(2)).findEligibleRentalRows(42L, PICK_UP_BY_RENTER);
+
+        service.invalidateAll();
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("조회 도중 무효화가 일어나면 조회한 값을 캐시에 남기지 않는다")
+    void staleLoadIsNotCached() {
+        given(rentalRepository.findEligibleRentalRows(42L, PICK_UP_BY_RENTER)).willAnswer(inv -> {
+            service.invalidate(42L);
+            return List.of(row);
+        });
+        given(paymentService.calculateLockerFees(anyList(), any())).willReturn(List.of(1000L));
+
+        assertThat(service.findEligibleRentals(42L, PICK_UP_BY_RENTER)).hasSize(1);
+        assertThat(service.size()).isZero();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
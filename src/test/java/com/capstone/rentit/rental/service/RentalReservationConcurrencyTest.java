@@ -0,0 +1,189 @@
+package com.capstone.rentit.rental.service;
+
+import com.capstone.rentit.file.service.NcpObjectStorageService;
+import com.capstone.rentit.item.domain.Item;
+import com.capstone.rentit.item.repository.ItemRepository;
+import com.capstone.rentit.item.status.ItemStatusEnum;
+import com.capstone.rentit.locker.message.LockerDeviceProducer;
+import com.capstone.rentit.locker.message.LockerDeviceRequestListener;
+import com.capstone.rentit.login.provider.JwtTokenProvider;
+import com.capstone.rentit.member.domain.Student;
+import com.capstone.rentit.member.repository.MemberRepository;
+import com.capstone.rentit.member.status.MemberRoleEnum;
+import com.capstone.rentit.notification.service.FcmService;
+import com.capstone.rentit.notification.service.NotificationService;
+import com.capstone.rentit.payment.domain.Wallet;
+import com.capstone.rentit.payment.repository.PaymentRepository;
+import com.capstone.rentit.payment.repository.WalletLedgerRepository;
+import com.capstone.rentit.payment.repository.WalletRepository;
+import com.capstone.rentit.register.service.UnivCertService;
+import com.capstone.rentit.register.service.VerificationService;
+import com.capstone.rentit.rental.domain.Rental;
+import com.capstone.rentit.rental.dto.RentalRequestForm;
+import com.capstone.rentit.rental.exception.ItemAlreadyRentedException;
+import com.capstone.rentit.rental.repository.RentalRepository;
+import com.google.firebase.FirebaseApp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 물품에 대여 요청이 동시에 몰려도 조건부 UPDATE 로 정확히 한 건만 선점되는지 검증
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RentalReservationConcurrencyTest {
+
+    private static final int REQUESTS = 200;
+    private static final int THREADS = 32;
+
+    @MockitoBean private JwtTokenProvider jwtTokenProvider;
+    @MockitoBean private NcpObjectStorageService ncpObjectStorageService;
+    @MockitoBean private UnivCertService univCertService;
+    @MockitoBean private VerificationService verificationService;
+    @MockitoBean private LockerDeviceProducer lockerDeviceProducer;
+    @MockitoBean private LockerDeviceRequestListener lockerDeviceRequestListener;
+    @MockitoBean private FirebaseApp firebaseApp;
+    @MockitoBean private FcmService fcmService;
+    @MockitoBean private NotificationService notificationService;
+
+    @Autowired private RentalService rentalService;
+    @Autowired private RentalRepository rentalRepository;
+    @Autowired private ItemRepository itemRepository;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private WalletRepository walletRepository;
+    @Autowired private WalletLedgerRepository walletLedgerRepository;
+    @Autowired private PaymentRepository paymentRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    /** 공유 컨텍스트의 DB 에 남지 않도록 이 테스트가 만든 행만 지운다. */
+    private final List<Long> memberIds = new ArrayList<>();
+    private Long itemId;
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            if (itemId != null) {
+                List<Rental> rentals = rentalRepository.findAll().stream()
+                        .filter(r -> r.getItemId().equals(itemId))
+                        .toList();
+                rentals.forEach(r -> paymentRepository.findByPaymentRentalId(r.getRentalId())
+                        .ifPresent(paymentRepository::delete));
+                rentalRepository.deleteAll(rentals);
+                itemRepository.deleteById(itemId);
+            }
+            walletLedgerRepository.deleteAll(walletLedgerRepository.findAll().stream()
+                    .filter(e -> memberIds.contains(e.getMemberId()))
+                    .toList());
+            memberIds.stream().filter(walletRepository::existsById).forEach(walletRepository::deleteById);
+            memberRepository.deleteAllById(memberIds);
+        });
+    }
+
+    @Test
+    @DisplayName("동시 대여 요청 " + REQUESTS + "건 → 정확히 한 건만 성공, 대여도 한 건만 생성")
+    void concurrentRequests_exactlyOneWinner() throws Exception {
+        Long ownerId = saveMember("owner");
+        Item item = itemRepository.save(Item.builder()
+                .ownerId(ownerId)
+                .name("인기 물품")
+                .description("동시성 테스트")
+                .price(1000)
+                .status(ItemStatusEnum.AVAILABLE)
+                .damagedPolicy("NONE")
+                .returnPolicy("NONE")
+                .createdAt(LocalDateTime.now())
+                .build());
+        itemId = item.getItemId();
+
+        List<Long> renterIds = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            Long renterId = saveMember("renter" + i);
+            walletRepository.save(Wallet.builder().memberId(renterId).balance(100_000L).build());
+            renterIds.add(renterId);
+        }
+
+        AtomicInteger winners = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (Long renterId : renterIds) {
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    rentalService.requestRental(form(item.getItemId(), ownerId, renterId));
+                    winners.incrementAndGet();
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+
+        // 진 요청은 모두 "이미 대여 중" 으로 거절되어야 한다 (NPE·락 타임아웃 등은 실패).
+        assertThat(winners.get()).isEqualTo(1);
+        assertThat(failures).hasSize(REQUESTS - 1)
+                .allSatisfy(e -> assertThat(e).isInstanceOf(ItemAlreadyRentedException.class));
+
+        List<Rental> rentals = rentalRepository.findAll().stream()
+                .filter(r -> r.getItemId().equals(item.getItemId()))
+                .toList();
+        assertThat(rentals).hasSize(1);
+        assertThat(itemRepository.findById(item.getItemId()).orElseThrow().getStatus())
+                .isEqualTo(ItemStatusEnum.REQUESTED);
+    }
+
+    private Long saveMember(String name) {
+        Long memberId = memberRepository.save(Student.builder()
+                .email(name + "@concurrency.test")
+                .password("pwd")
+                .name(name)
+                .role(MemberRoleEnum.STUDENT)
+                .locked(false)
+                .createdAt(LocalDate.now())
+                .studentId(name)
+                .university("ConcurrencyUniv")
+                .nickname(name)
+                .phone("010-0000-0000")
+                .build()).getMemberId();
+        memberIds.add(memberId);
+        return memberId;
+    }
+
+    private RentalRequestForm form(Long itemId, Long ownerId, Long renterId) {
+        RentalRequestForm form = new RentalRequestForm();
+        form.setItemId(itemId);
+        form.setOwnerId(ownerId);
+        form.setRenterId(renterId);
+        form.setStartDate(LocalDateTime.now().plusDays(1));
+        form.setDueDate(LocalDateTime.now().plusDays(3));
+        return form;
+    }
+}
@@ -5,11 +5,13 @@ import com.capstone.rentit.item.exception.ItemNotFoundException;
 import com.capstone.rentit.item.status.ItemStatusEnum;
 import com.capstone.rentit.item.domain.Item;
 import com.capstone.rentit.item.repository.ItemRepository;
+import com.capstone.rentit.item.search.ItemCountCache;
 import com.capstone.rentit.locker.event.RentalLockerAction;
+import com.capstone.rentit.locker.exception.LockerUnavailableException;
+import com.capstone.rentit.locker.service.LockerService;
 import com.capstone.rentit.member.domain.Member;
 import com.capstone.rentit.member.dto.MemberDto;
 import com.capstone.rentit.notification.service.NotificationService;
-import com.capstone.rentit.payment.domain.Wallet;
 import com.capstone.rentit.payment.service.PaymentService;
 import com.capstone.rentit.rental.domain.Rental;
 import com.capstone.rentit.rental.dto.*;
@@ -42,6 +44,9 @@ class RentalServiceTest {
     @Mock FileStorageService   fileStorageService;
     @Mock PaymentService       paymentService;
     @Mock NotificationService  notificationService;
+    @Mock ItemCountCache       itemCountCache;
+    @Mock LockerService        lockerService;
+    @Mock EligibleRentalService eligibleRentalService;
 
     @InjectMocks RentalService rentalService;
 
@@ -104,11 +109,25 @@ class RentalServiceTest {
                 .hasMessageContaining("다른 사람이 대여 중이거나 승인 대기 중인 물품입니다.");
     }
 
+    @Test
+    @DisplayName("requestRental: 조건부 선점에 실패하면 ItemAlreadyRentedException, 대여는 저장되지 않음")
+    void requestRental_lostReservation() {
+        Item avail = Item.builder().itemId(100L).ownerId(999L).status(ItemStatusEnum.AVAILABLE).build();
+        given(itemRepository.findById(100L)).willReturn(Optional.of(avail));
+        given(itemRepository.reserveIfAvailable(100L)).willReturn(0);
+
+        assertThatThrownBy(() -> rentalService.requestRental(baseForm))
+                .isInstanceOf(ItemAlreadyRentedException.class);
+        then(rentalRepository).should(never()).save(any());
+        then(paymentService).should(never()).requestRentalFee(any(), any());
+    }
+
     @Test
     @DisplayName("requestRental: 정상 저장 후 ID 반환")
     void requestRental_success() {
         Item avail = Item.builder().itemId(100L).ownerId(999L).status(ItemStatusEnum.AVAILABLE).build();
         given(itemRepository.findById(100L)).willReturn(Optional.of(avail));
+        given(itemRepository.reserveIfAvailable(100L)).willReturn(1);
 
         Rental saved = Rental.builder()
                 .rentalId(1L)
@@ -212,76 +231,19 @@ class RentalServiceTest {
     // ---- findEligibleRentals ----
 
     @Test
-    @DisplayName("리포지토리에서 조회된 렌탈을 DTO 로 매핑하여 반환한다")
-    void findEligibleRentals_mapsEntityToDto() {
+    @DisplayName("키오스크 eligible 조회는 락 없는 읽기 전용 서비스로 위임한다")
+    void findEligibleRentals_delegatesToReadPath() {
         Long memberId = 42L;
         RentalLockerAction action = RentalLockerAction.PICK_UP_BY_RENTER;
-        long walletBalance = 20000L;
-        long lockerFee     = 1000L;
-
-        Item item = Item.builder()
-                .itemId(555L)
-                .ownerId(99L)
-                .name("test item")
-                .build();
-
-        Rental rental = Rental.builder()
-                .rentalId(123L)
-                .ownerId(99L)
-                .renterId(memberId)
-                .itemId(item.getItemId())
-                .item(item)
-                .status(RentalStatusEnum.LEFT_IN_LOCKER)
-                .requestDate(LocalDateTime.of(2025,5,1,10,30))
-                .dueDate(LocalDateTime.of(2025,5,8,10,30))
-                .startDate(LocalDateTime.of(2025,5,2,10,30))
-                .build();
-
-        Wallet wallet = Wallet.builder()
-                .memberId(memberId)
-                .balance(walletBalance)
-                .build();
-
-        given(paymentService.findWallet(memberId)).willReturn(wallet);
-        given(rentalRepository.findEligibleRentals(memberId, action))
-                .willReturn(List.of(rental));
-        given(paymentService.getLockerFeeByAction(
-                eq(action), eq(rental), any(LocalDateTime.class)))
-                .willReturn(lockerFee);
-
-        List<RentalBriefResponseForLocker> dtos =
-                rentalService.findEligibleRentals(memberId, action);
-
-        then(paymentService).should().findWallet(memberId);
-        then(rentalRepository).should().findEligibleRentals(memberId, action);
-        then(paymentService).should()
-                .getLockerFeeByAction(eq(action), eq(rental), any(LocalDateTime.class));
+        List<RentalBriefResponseForLocker> expected = List.of(
+                RentalBriefResponseForLocker.builder().rentalId(123L).fee(1000L).balance(20000L).payable(true).build());
+        given(eligibleRentalService.findEligibleRentals(memberId, action)).willReturn(expected);
 
-        assertThat(dtos)
-                .hasSize(1)
-                .first()
-                .satisfies(dto -> {
-                    assertThat(dto.getRentalId()).isEqualTo(123L);
-                    assertThat(dto.getItemId()).isEqualTo(555L);
-                    assertThat(dto.getBalance()).isEqualTo(walletBalance);
-                    assertThat(dto.getFee()).isEqualTo(lockerFee);
-                });
-    }
-
-    @Test
-    @DisplayName("리포지토리 조회 결과가 없으면 빈 리스트를 반환한다")
-    void findEligibleRentals_whenNoResults_thenReturnEmpty() {
-        Long memberId = 7L;
-        RentalLockerAction action = RentalLockerAction.RETURN_BY_RENTER;
-
-        given(rentalRepository.findEligibleRentals(memberId, action))
-                .willReturn(Collections.emptyList());
+        List<RentalBriefResponseForLocker> dtos = rentalService.findEligibleRentals(memberId, action);
 
-        List<RentalBriefResponseForLocker> dtos =
-                rentalService.findEligibleRentals(memberId, action);
-
-        then(rentalRepository).should().findEligibleRentals(memberId, action);
-        assertThat(dtos).isEmpty();
+        assertThat(dtos).isSameAs(expected);
+        then(paymentService).should(never()).findWallet(anyLong());
+        then(rentalRepository).should(never()).findEligibleRentals(anyLong(), any());
     }
 
     // ───────────────────────────────────────────────────────────────────────
@@ -408,6 +370,7 @@ class RentalServiceTest {
         assertThat(r.getDeviceId()).isEqualTo(555L);
         assertThat(r.getLockerId()).isEqualTo(2L);
         assertThat(r.getStatus()).isEqualTo(RentalStatusEnum.LEFT_IN_LOCKER);
+        then(lockerService).should().occupy(555L, 2L, 9L);
 
         assertThatThrownBy(() -> rentalService.dropOffToLocker(9L, 999L, 123L, 3L))
                 .isInstanceOf(RentalUnauthorizedException.class)
@@ -433,6 +396,8 @@ class RentalServiceTest {
         rentalService.pickUpByRenter(11L, 20L, 0);
         assertThat(r.getLockerId()).isNull();
         assertThat(r.getStatus()).isEqualTo(RentalStatusEnum.PICKED_UP);
+        then(lockerService).should().release(777L, 4L);
+        then(eligibleRentalService).should().invalidate(r.getOwnerId(), r.getRenterId());
 
         assertThatThrownBy(() -> rentalService.pickUpByRenter(11L, 999L, 0))
                 .isInstanceOf(RentalUnauthorizedException.class)
@@ -442,6 +407,20 @@ class RentalServiceTest {
     // ───────────────────────────────────────────────────────────────────────
     // ---- returnToLocker ----
 
+    @Test
+    @DisplayName("dropOffToLocker: 다른 대여에 배정된 칸이면 상태를 바꾸지 않는다")
+    void dropOff_lockerUnavailable() {
+        Rental r = buildBasicRental(9L, 10L, null, RentalStatusEnum.APPROVED);
+        given(rentalRepository.findById(9L)).willReturn(Optional.of(r));
+        willThrow(new LockerUnavailableException("이미 사용 중이거나 다른 대여에 배정된 사물함입니다."))
+                .given(lockerService).occupy(555L, 2L, 9L);
+
+        assertThatThrownBy(() -> rentalService.dropOffToLocker(9L, 10L, 555L, 2L))
+                .isInstanceOf(LockerUnavailableException.class);
+        assertThat(r.getLockerId()).isNull();
+        assertThat(r.getStatus()).isEqualTo(RentalStatusEnum.APPROVED);
+    }
+
     @Test
     @DisplayName("returnToLocker: 대여 없으면 RentalNotFoundException")
     void return_notFound() {
@@ -458,6 +437,7 @@ class RentalServiceTest {
         assertThat(r.getStatus()).isEqualTo(RentalStatusEnum.RETURNED_TO_LOCKER);
         assertThat(r.getDeviceId()).isEqualTo(444L);
         assertThat(r.getLockerId()).isEqualTo(6L);
+        then(lockerService).should().occupy(444L, 6L, 13L);
 
         assertThatThrownBy(() -> rentalService.returnToLocker(13L, 999L, 444L, 7L))
                 .isInstanceOf(RentalUnauthorizedException.class)